@@ -0,0 +1,305 @@
+//
+//  @(#)AutoSaver.java		10/2026
+//
+//  Copyright 2026 the jDip development team. All rights reserved.
+//  Use is subject to license terms.
+//
+//
+//  This program is free software; you can redistribute it and/or modify
+//  it under the terms of the GNU General Public License as published by
+//  the Free Software Foundation; either version 2 of the License, or
+//  (at your option) any later version.
+//
+//  This program is distributed in the hope that it will be useful,
+//  but WITHOUT ANY WARRANTY; without even the implied warranty of
+//  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//  GNU General Public License for more details.
+//
+//  You should have received a copy of the GNU General Public License
+//  along with this program; if not, write to the Free Software
+//  Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+//  Or from http://www.gnu.org/
+//
+package dip.gui;
+
+import dip.world.WorldArchive;
+
+import dip.misc.Log;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+*	Writes World snapshots (see WorldArchive.snapshot()) on a background
+*	thread, so that saving does not block the GUI.
+*	<p>
+*	A snapshot is taken by the caller, and then submitted. If snapshots are
+*	submitted faster than they can be written, only the most recent
+*	snapshot that has not yet been written is kept; intermediate
+*	snapshots are skipped. Each snapshot is written to a new file, which
+*	then replaces the target file, so an interrupted write never damages
+*	an earlier autosave.
+*	<p>
+*	The writer thread is created in the given ThreadGroup when a snapshot
+*	is submitted, and ends once no snapshots are pending; thus, threads
+*	in the group may be joined at exit to complete a write in progress.
+*	<p>
+*	The time taken, and bytes written, by the most recent save, and
+*	totals, are available; they are also logged (see dip.misc.Log).
+*	Times are in milliseconds.
+*	<p>
+*	This class is threadsafe.
+*/
+public class AutoSaver
+{
+	// instance variables
+	private final ThreadGroup threadGroup;
+	private Thread writer = null;
+	private WorldArchive.Snapshot pending = null;
+	private File pendingFile = null;
+	private long pendingSnapshotTime = 0L;
+	private File lastFile = null;			// of the most recently submitted snapshot
+	private File writing = null;			// file being written; null if none
+	private boolean isWritingDiscarded = false;	// if so, deleted once written
+	
+	// statistics
+	private int nSaved = 0;
+	private int nSkipped = 0;
+	private int nFailed = 0;
+	private long lastSnapshotTime = 0L;
+	private long lastLatency = 0L;
+	private long lastLength = 0L;
+	private long totalLength = 0L;
+	private IOException lastException = null;
+	
+	
+	/** Create an AutoSaver, whose writer thread is in the given ThreadGroup */
+	public AutoSaver(ThreadGroup threadGroup)
+	{
+		if(threadGroup == null)
+		{
+			throw new IllegalArgumentException();
+		}
+		
+		this.threadGroup = threadGroup;
+	}// AutoSaver()
+	
+	
+	/**
+	*	Submits a snapshot, to be written to the given file. The time taken
+	*	to take the snapshot (on the calling thread) is given, for reporting;
+	*	the save latency is measured from the time of the snapshot. Replaces
+	*	any snapshot that has been submitted, but not yet written.
+	*/
+	public synchronized void submit(WorldArchive.Snapshot snapshot, File file, long snapshotTime)
+	{
+		if(snapshot == null || file == null)
+		{
+			throw new IllegalArgumentException();
+		}
+		
+		if(pending != null)
+		{
+			nSkipped++;
+		}
+		
+		pending = snapshot;
+		pendingFile = file;
+		pendingSnapshotTime = snapshotTime;
+		lastFile = file;
+		
+		if(writer == null)
+		{
+			writer = new Thread(threadGroup, new Writer(), "jdipAutoSaver");
+			writer.setPriority(Thread.MIN_PRIORITY);
+			writer.start();
+		}
+	}// submit()
+	
+	
+	/** Discards the snapshot, if any, that has been submitted but not yet written. */
+	public synchronized void cancel()
+	{
+		pending = null;
+		pendingFile = null;
+	}// cancel()
+	
+	
+	/**
+	*	Discards the snapshot, if any, that has been submitted but not yet
+	*	written; and deletes the given file (if not null), and the file to 
+	*	which a snapshot was last submitted. For example, once a World has 
+	*	been saved, its autosave is no longer required. A file that is being
+	*	written is deleted once written.
+	*/
+	public synchronized void discard(File file)
+	{
+		cancel();
+		
+		if(file != null)
+		{
+			delete(file);
+		}
+		
+		if(lastFile != null && !lastFile.equals(file))
+		{
+			delete(lastFile);
+		}
+		
+		lastFile = null;
+	}// discard()
+	
+	
+	/** Deletes a file; or, if it is being written, once written. */
+	private void delete(File file)
+	{
+		if(file.equals(writing))
+		{
+			isWritingDiscarded = true;
+		}
+		else
+		{
+			file.delete();
+		}
+	}// delete()
+	
+	
+	/** True if a snapshot is pending, or being written. */
+	public synchronized boolean isBusy()
+	{
+		return (writer != null);
+	}// isBusy()
+	
+	
+	/** The number of snapshots written. */
+	public synchronized int getSaveCount()			{ return nSaved; }
+	
+	/** The number of snapshots replaced by later snapshots before they were written. */
+	public synchronized int getSkipCount()			{ return nSkipped; }
+	
+	/** The number of snapshots that could not be written. */
+	public synchronized int getFailureCount()		{ return nFailed; }
+	
+	/** The time taken to take the most recently written snapshot. */
+	public synchronized long getLastSnapshotTime()	{ return lastSnapshotTime; }
+	
+	/**
+	*	The time from the start of the most recently written snapshot,
+	*	until it had been written.
+	*/
+	public synchronized long getLastLatency()		{ return lastLatency; }
+	
+	/** The length, in bytes, of the most recently written snapshot. */
+	public synchronized long getLastLength()		{ return lastLength; }
+	
+	/** The total number of bytes written. */
+	public synchronized long getTotalLength()		{ return totalLength; }
+	
+	/** The exception thrown by the most recent failed write; null if none has failed. */
+	public synchronized IOException getLastException()	{ return lastException; }
+	
+	
+	/** 
+	*	Gets the next pending snapshot, or ends the writer if there is none.
+	*	The file last written is deleted, if it was discarded while written.
+	*/
+	private synchronized Job take()
+	{
+		if(writing != null && isWritingDiscarded)
+		{
+			writing.delete();
+		}
+		
+		writing = null;
+		isWritingDiscarded = false;
+		
+		if(pending == null)
+		{
+			writer = null;
+			return null;
+		}
+		
+		final Job job = new Job(pending, pendingFile, pendingSnapshotTime);
+		writing = pendingFile;
+		pending = null;
+		pendingFile = null;
+		return job;
+	}// take()
+	
+	
+	/** Records a completed write */
+	private synchronized void saved(long snapshotTime, long latency, long length)
+	{
+		nSaved++;
+		lastSnapshotTime = snapshotTime;
+		lastLatency = latency;
+		lastLength = length;
+		totalLength += length;
+	}// saved()
+	
+	
+	/** Records a failed write */
+	private synchronized void failed(IOException e)
+	{
+		nFailed++;
+		lastException = e;
+	}// failed()
+	
+	
+	/** Writes pending snapshots, until there are none. */
+	private class Writer implements Runnable
+	{
+		public void run()
+		{
+			Job job = take();
+			while(job != null)
+			{
+				final WorldArchive.Snapshot snapshot = job.snapshot;
+				final File file = job.file;
+				final long snapshotTime = job.snapshotTime;
+				
+				try
+				{
+					final long length = snapshot.save(file);
+					final long latency = System.currentTimeMillis() - snapshot.getTime();
+					saved(snapshotTime, latency, length);
+					Log.println("AutoSaver: saved "+file+": "+length+" bytes; snapshot ",
+						String.valueOf(snapshotTime), " ms; latency ", latency+" ms");
+				}
+				catch(IOException e)
+				{
+					failed(e);
+					Log.println("AutoSaver: cannot save "+file+": ", e);
+				}
+				catch(RuntimeException e)
+				{
+					// e.g., an archive TurnState that cannot be read
+					IOException ioe = new IOException(e.getMessage());
+					ioe.initCause(e);
+					failed(ioe);
+					Log.println("AutoSaver: cannot save "+file+": ", e);
+				}
+				
+				job = take();
+			}
+		}// run()
+	}// inner class Writer
+	
+	
+	/** A snapshot to be written, taken from the pending snapshot. */
+	private static class Job
+	{
+		final WorldArchive.Snapshot snapshot;
+		final File file;
+		final long snapshotTime;
+		
+		
+		Job(WorldArchive.Snapshot snapshot, File file, long snapshotTime)
+		{
+			this.snapshot = snapshot;
+			this.file = file;
+			this.snapshotTime = snapshotTime;
+		}// Job()
+	}// nested class Job
+	
+}// class AutoSaver
@@ -42,6 +42,8 @@ import javax.swing.*;
 */
 public class DefaultGUIGameSetup implements GUIGameSetup
 {
+	private static final long serialVersionUID = 1L;
+	
 	
 	/** Setup the game. */
 	public void setup(ClientFrame cf, World world)
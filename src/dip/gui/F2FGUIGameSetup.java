@@ -42,6 +42,8 @@ import javax.swing.*;
 */
 public class F2FGUIGameSetup implements GUIGameSetup
 {
+	private static final long serialVersionUID = 1L;
+	
 	// serialized data
 	private boolean[] enabledTabs = null;	// only null if never saved
 	private Power selectedPower = null;		// may be null
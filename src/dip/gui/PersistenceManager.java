@@ -31,6 +31,7 @@ import dip.gui.report.ResultWriter;
 import dip.world.InvalidWorldException;
 
 import dip.world.World;
+import dip.world.WorldArchive;
 import dip.world.Phase;
 import dip.world.TurnState;
 import dip.world.variant.VariantManager;
@@ -47,6 +48,8 @@ import dip.world.WorldFactory;
 import dip.world.variant.data.SymbolPack;
 
 import java.awt.Dimension;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
 import java.io.*;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -62,6 +65,20 @@ import java.util.*;
 *	that cannot be undone.
 *	<p>
 *	Also sets the main frame title.
+*	<p>
+*	Changes are also saved automatically, in the background (see AutoSaver),
+*	to an autosave file next to the game file (or, for a game that has not 
+*	been saved, in the default game directory). Bursts of changes are 
+*	combined: a game is autosaved once no changes have been made for 
+*	AUTOSAVE_DELAY, or AUTOSAVE_MAX_DELAY after the first unsaved change, 
+*	whichever is sooner. Autosave is off unless enabled in the general
+*	preferences (see GeneralPreferencePanel.getAutosave()).
+*	<p>
+*	The autosave file is deleted once the game is saved, or when the 
+*	game is closed and its changes are discarded. When a game is opened
+*	that has an autosave file newer than the game file, the user may 
+*	recover the autosaved changes. An autosave file may also be opened 
+*	like any other game file.
 */
 public class PersistenceManager
 {
@@ -77,6 +94,10 @@ public class PersistenceManager
 	private static final String CONFIRM_REWIND_TITLE = "PM.dialog.confirm.rewind.title";
 	private static final String CONFIRM_LOAD_TEXT = "PM.dialog.confirm.load.text";
 	private static final String CONFIRM_LOAD_TITLE = "PM.dialog.confirm.load.title";
+	private static final String CONFIRM_BUTTON_RECOVER = "PM.dialog.confirm.recover";
+	private static final String CONFIRM_BUTTON_DONTRECOVER = "PM.dialog.confirm.dontrecover";
+	private static final String CONFIRM_RECOVER_TEXT = "PM.dialog.confirm.recover.text";
+	private static final String CONFIRM_RECOVER_TITLE = "PM.dialog.confirm.recover.title";
 	
 	private static final String UNSAVED_NAME = "PM.noname";
 	//private static final String OVERWRITE_TEXT = "PM.dialog.overwrite.text.location";
@@ -90,12 +111,23 @@ public class PersistenceManager
 	private final static String WINDOW_MODIFIED = "windowModified";
 	private final static long   THREAD_WAIT = 7500L;
 	
+	/** Autosave once no changes have been made for this time (milliseconds) */
+	public final static int AUTOSAVE_DELAY = 5000;
+	/** Autosave at least this long (milliseconds) after the first unsaved change */
+	public final static long AUTOSAVE_MAX_DELAY = 60000L;
+	/** Appended to the game file name, for the autosave file */
+	public final static String AUTOSAVE_EXTENSION = ".autosave";
+	
 	// instance variables
 	private ClientFrame clientFrame = null;
 	private boolean isChanged = false;
 	private File fileName = null;
 	private PropertyChangeListener modListener = null;
 	private final ThreadGroup persistTG;
+	private final AutoSaver autoSaver;
+	private final javax.swing.Timer autosaveTimer;
+	private boolean isAutosaveEnabled = false;
+	private long firstChangeTime = 0L;
 	
 	/** Creates a new PersistenceManager object. */
 	public PersistenceManager(ClientFrame clientFrame)
@@ -105,6 +137,18 @@ public class PersistenceManager
 		// create the persistance-manager threadgroup
 		persistTG = new ThreadGroup(Thread.currentThread().getThreadGroup(), "jdipPMGroup");
 		
+		// autosaves are written by a thread in persistTG, so complete before exit
+		autoSaver = new AutoSaver(persistTG);
+		autosaveTimer = new javax.swing.Timer(AUTOSAVE_DELAY, new ActionListener()
+		{
+			public void actionPerformed(ActionEvent e)
+			{
+				autosave();
+			}// actionPerformed()
+		});
+		autosaveTimer.setRepeats(false);
+		isAutosaveEnabled = GeneralPreferencePanel.getAutosave();
+		
 		// by default, disable Save/Save As until we open/new something.
 		setSaveEnabled(false);
 		setTitle();
@@ -118,15 +162,20 @@ public class PersistenceManager
 				{
 					setChanged(true);
 				}
+				else
+				{
+					scheduleAutosave();
+				}
 			}// propertyChange()
 		};
 		clientFrame.addPropertyChangeListener(ClientFrame.EVT_MODIFIED_STATE, modListener);
 	}// PersistenceManager()
 	
-	/** Cleanup	*/
+	/** Cleanup. The autosave file, if any, is deleted. */
 	public void close()
 	{
 		clientFrame.removePropertyChangeListener(modListener);
+		discardAutosave();
 	}// close()
 	
 	/** 
@@ -142,6 +191,32 @@ public class PersistenceManager
 		return persistTG;
 	}// getPMThreadGroup()
 	
+	/** 
+	*	Enables or disables autosave. If disabled, pending autosaves 
+	*	(that have not started) are cancelled. This is set from the
+	*	general preferences.
+	*/
+	public void setAutosaveEnabled(boolean value)
+	{
+		isAutosaveEnabled = value;
+		if(!value)
+		{
+			cancelAutosave();
+		}
+	}// setAutosaveEnabled()
+	
+	/** If autosave is enabled. */
+	public boolean isAutosaveEnabled()
+	{
+		return isAutosaveEnabled;
+	}// isAutosaveEnabled()
+	
+	/** The AutoSaver, from which autosave statistics may be obtained. */
+	public AutoSaver getAutoSaver()
+	{
+		return autoSaver;
+	}// getAutoSaver()
+	
 	/** If any change has occured singe the last time we saved. */
 	public boolean isChanged()
 	{
@@ -161,6 +236,10 @@ public class PersistenceManager
 		{
 			GeneralPreferencePanel.saveWindowSettings(clientFrame);
 			
+			// no further autosaves; any being written are waited upon 
+			// (and then deleted), below
+			discardAutosave();
+			
 			// shutdown Batik renderer. This should stop the occasional
 			// IllegalComponentState exceptions when exiting during a 
 			// render.
@@ -209,17 +288,7 @@ public class PersistenceManager
 		World world = null;
 		if(confirmDialog())
 		{
-			try
-			{
-				world = readGameFile(file);
-			}
-			catch(Exception e)
-			{
-				ErrorDialog.displayFileIO(clientFrame, e, file.toString());
-			}
-			
-			openWorld(world, file);
-			return world;
+			world = openGameFile(file);
 		}
 		
 		return world;
@@ -244,25 +313,67 @@ public class PersistenceManager
 			// get file name
 			if(file != null)
 			{
-				World world = null;
-				
-				try
-				{
-					world = readGameFile(file);
-				}
-				catch(Exception e)
-				{
-					ErrorDialog.displayFileIO(clientFrame, e, file.toString());
-				}
-				
-				openWorld(world, file);
-				return world;
+				return openGameFile(file);
 			}
 		}
 		return null;
 	}// open()
 	
 	
+	/** 
+	*	Reads and opens a game file. If the game has an autosave file that
+	*	is newer than the game file, the user may recover it instead; the
+	*	recovered game is then marked as changed. Otherwise, the autosave 
+	*	file is deleted. Returns null if an error occurs.
+	*/
+	private World openGameFile(File file)
+	{
+		File source = file;
+		
+		final File autosaveFile = new File(file.getPath() + AUTOSAVE_EXTENSION);
+		if(autosaveFile.lastModified() > file.lastModified())
+		{
+			if(recoverDialog(autosaveFile))
+			{
+				source = autosaveFile;
+			}
+			else
+			{
+				autosaveFile.delete();
+			}
+		}
+		
+		World world = null;
+		
+		try
+		{
+			final World w = readGameFile(source);
+			
+			// the autosave file is replaced by the next autosave, and 
+			// deleted once saved; so its TurnStates must not be read later
+			if(w != null && source != file)
+			{
+				w.detachArchive(source);
+			}
+			
+			world = w;
+		}
+		catch(Exception e)
+		{
+			ErrorDialog.displayFileIO(clientFrame, e, source.toString());
+		}
+		
+		openWorld(world, file);
+		
+		if(world != null && source != file)
+		{
+			setChanged(true);
+		}
+		
+		return world;
+	}// openGameFile()
+	
+	
 	/** 
 	*	Basic operations performed whenever we read in a World. 
 	*	if passed World is null, does nothing.
@@ -707,6 +818,9 @@ public class PersistenceManager
 			
 			Log.println("PM::writeGameFile(): world saved ok.");
 			setChanged(false);
+			
+			// the autosave, if any, is now out of date
+			autoSaver.discard(getAutosaveFile());
 			return true;
 		}
 		catch(Exception e)
@@ -822,6 +936,12 @@ public class PersistenceManager
 				// save; however, if save is cancelled, cancel
 				return save();
 			}
+			else if(result == 0)
+			{
+				// don't save; changes (including any autosave) are discarded
+				discardAutosave();
+				return true;
+			}
 			else
 			{
 				return !(result == 3 || result == JOptionPane.CLOSED_OPTION);
@@ -875,11 +995,142 @@ public class PersistenceManager
 		return (result == 0);
 	}
 	
+	private boolean recoverDialog(File autosaveFile)
+	{
+		Object[] dlgOptions = 
+		{
+			Utils.getLocalString(CONFIRM_BUTTON_RECOVER),		// 0 
+			Box.createRigidArea(new Dimension(25,5)),			// 1 
+			Utils.getLocalString(CONFIRM_BUTTON_DONTRECOVER)	// 2 
+		};
+		
+		String message = Utils.getText( Utils.getLocalString(CONFIRM_RECOVER_TEXT), autosaveFile.getName());
+		String title = Utils.getLocalString(CONFIRM_RECOVER_TITLE);
+			
+		int result = JOptionPane.showOptionDialog(clientFrame, message, title, 
+						JOptionPane.OK_CANCEL_OPTION, JOptionPane.QUESTION_MESSAGE,
+						null, dlgOptions, dlgOptions[0]);
+		
+		// the result returned corresponds to 0-2, as specified in dlgOptions.
+		// of course, option 1 (a spacer) cannot be returned.
+		// closing the dialog recovers, as the safer choice.
+		
+		return (result != 2);
+	}// recoverDialog()
+	
 	private void setChanged(boolean value)
 	{
 		isChanged = value;
+		
+		if(value)
+		{
+			scheduleAutosave();
+		}
+		else
+		{
+			cancelAutosave();
+		}
+		
 		setTitle();	
-	}// setChanged()	
+	}// setChanged()
+	
+	
+	/** 
+	*	Schedules an autosave, AUTOSAVE_DELAY from now, unless this 
+	*	would be more than AUTOSAVE_MAX_DELAY after the first unsaved
+	*	change; in which case, the scheduled autosave is not delayed.
+	*/
+	private void scheduleAutosave()
+	{
+		if(!isAutosaveEnabled)
+		{
+			return;
+		}
+		
+		final long now = System.currentTimeMillis();
+		if(!autosaveTimer.isRunning())
+		{
+			firstChangeTime = now;
+			autosaveTimer.restart();
+		}
+		else if(now - firstChangeTime < AUTOSAVE_MAX_DELAY)
+		{
+			autosaveTimer.restart();
+		}
+	}// scheduleAutosave()
+	
+	
+	/** Cancels any scheduled, or pending, autosave. */
+	private void cancelAutosave()
+	{
+		autosaveTimer.stop();
+		autoSaver.cancel();
+	}// cancelAutosave()
+	
+	
+	/** 
+	*	Cancels any scheduled, or pending, autosave, and deletes the 
+	*	autosave file (once written, if it is being written).
+	*/
+	private void discardAutosave()
+	{
+		autosaveTimer.stop();
+		autoSaver.discard(getAutosaveFile());
+	}// discardAutosave()
+	
+	
+	/** 
+	*	Takes a snapshot of the World, which is then written in the
+	*	background. Must be called from the event thread.
+	*/
+	private void autosave()
+	{
+		final World w = clientFrame.getWorld();
+		final File file = getAutosaveFile();
+		if(!isAutosaveEnabled || !isChanged() || w == null || file == null)
+		{
+			return;
+		}
+		
+		try
+		{
+			final long startTime = System.currentTimeMillis();
+			
+			if(w.getGameSetup() instanceof GUIGameSetup)
+			{
+				((GUIGameSetup) w.getGameSetup()).save(clientFrame);
+			}
+			
+			final WorldArchive.Snapshot snapshot = WorldArchive.snapshot(w);
+			autoSaver.submit(snapshot, file, System.currentTimeMillis() - startTime);
+		}
+		catch(Exception e)
+		{
+			// autosave failures are logged, but not displayed
+			Log.println("PM::autosave(): cannot take snapshot: ", e);
+		}
+	}// autosave()
+	
+	
+	/** 
+	*	Gets the autosave file; null if the game has not been saved
+	*	and there is no default game directory, or there is no game.
+	*/
+	private File getAutosaveFile()
+	{
+		if(fileName != null)
+		{
+			return new File(fileName.getPath() + AUTOSAVE_EXTENSION);
+		}
+		
+		final File dir = GeneralPreferencePanel.getDefaultGameDir();
+		if(dir == null || dir.getPath().length() == 0 || clientFrame.getWorld() == null)
+		{
+			return null;
+		}
+		
+		return new File(dir, getSuggestedSaveName() + AUTOSAVE_EXTENSION);
+	}// getAutosaveFile()	
 	
 	
 	/**
@@ -81,6 +81,7 @@ public class GeneralPreferencePanel extends PreferencePanel
 	public static final String NODE_SAVE_WINDOW_SETTINGS	= "saveWindowSettings";
 	public static final String NODE_DEFAULT_GAME_DIR 		= "defaultGameDir";
 	public static final String NODE_SHOW_RESOLUTION_RESULTS = "showResolutionResults";
+	public static final String NODE_AUTOSAVE				= "autosave";
 	
 	// recent files (w/o #) [if enabled]
 	public static final String NODE_RECENT_FILE				= "lastFile";
@@ -110,6 +111,7 @@ public class GeneralPreferencePanel extends PreferencePanel
 	private JTextField	saveDir;						// default save-files directory
 	private JButton		browseSaveDir;					// browse button for setting directory
 	private JButton		clearMRU;						// clears most-recently-used file list
+	private JCheckBox	autosave;						// autosave changes in the background
 	
 	private JCheckBox		reverseSort;	// reverse the order sort direction
 	private AssocJComboBox	orderSorting;	// order sorting type
@@ -124,6 +126,7 @@ public class GeneralPreferencePanel extends PreferencePanel
 	private static final String GPP_SAVE_WINDOW_POS	= "GPP.save_window_pos";
 	private static final String GPP_SAVE_DIR_TEXT	= "GPP.save_dir_text";
 	private static final String GPP_SAVE_DIR_BUTTON = "GPP.save_dir_button";
+	private static final String GPP_AUTOSAVE		= "GPP.autosave";
 	
 	private static final String GPP_SHOW_RESOLUTION_RESULTS = "GPP.show_resolution_results";
 	private static final String GPP_CLEAR_MRU_BUTTON = "GPP.clearmru.button";
@@ -150,6 +153,8 @@ public class GeneralPreferencePanel extends PreferencePanel
 		
 		showResolution = new JCheckBox( Utils.getLocalString(GPP_SHOW_RESOLUTION_RESULTS) );
 		
+		autosave = new JCheckBox( Utils.getLocalString(GPP_AUTOSAVE) );
+		
 		saveDir = new JTextField();
 		saveDir.setEditable(false);
 		browseSaveDir = new JButton( Utils.getLocalString(GPP_SAVE_DIR_BUTTON) );
@@ -227,12 +232,12 @@ public class GeneralPreferencePanel extends PreferencePanel
 		
 		// layout 
 		int h1[] = { BORDER, 0,8, 0,8, 0,8, 0,3,0,7,  36, 	// upto row 12
-			0,3,0,10,  0,8, 0, BORDER };
+			0,3,0,10,  0,8, 0,8, 0, BORDER };
 		int w1[] = { BORDER, 10, 0, 5, 0, BORDER };
 		
 		HIGLayout l1 = new HIGLayout(w1, h1);
 		l1.setColumnWeight(3, 1);
-		l1.setRowWeight(19, 1);
+		l1.setRowWeight(21, 1);
 		setLayout(l1);
 		
 		
@@ -255,8 +260,11 @@ public class GeneralPreferencePanel extends PreferencePanel
 		add(saveDir, c.rcwh(15,3,1,1,"lr"));
 		add(browseSaveDir, c.rcwh(15,5,1,1,"lrtb"));
 		
+		// autosave
+		add(autosave, c.rcwh(17,2,4,1,"l"));
+		
 		// clear MRU
-		add(clrPanel, c.rcwh(17,2,4,1,"l"));
+		add(clrPanel, c.rcwh(19,2,4,1,"l"));
 		
 	}// GeneralPreferencePanel()
 	
@@ -293,6 +301,7 @@ public class GeneralPreferencePanel extends PreferencePanel
 		prefs.putBoolean(NODE_SAVE_WINDOW_SETTINGS, saveWindowSettings.isSelected());
 		prefs.put(NODE_DEFAULT_GAME_DIR, saveDir.getText());
 		prefs.putBoolean(NODE_SHOW_RESOLUTION_RESULTS, showResolution.isSelected());
+		prefs.putBoolean(NODE_AUTOSAVE, autosave.isSelected());
 		
 		// map settings
 		prefs.put(NODE_MAP_LABEL_LEVEL, (String) mapLabels.getSelectedValue());
@@ -302,6 +311,8 @@ public class GeneralPreferencePanel extends PreferencePanel
 		prefs.put(NODE_ORDER_SORTING, (String) orderSorting.getSelectedValue());
 		
 		try { prefs.flush(); } catch (BackingStoreException bse) {}
+		
+		cf.getPM().setAutosaveEnabled(autosave.isSelected());
 	}// apply()
 	
 	
@@ -316,6 +327,7 @@ public class GeneralPreferencePanel extends PreferencePanel
 		saveWindowSettings.setSelected(false);
 		showResolution.setSelected(false);
 		saveDir.setText("");
+		autosave.setSelected(false);
 		
 		reverseSort.setSelected(false);
 		orderSorting.reset();
@@ -339,6 +351,7 @@ public class GeneralPreferencePanel extends PreferencePanel
 		saveWindowSettings.setSelected(prefs.getBoolean(NODE_SAVE_WINDOW_SETTINGS, false));
 		showResolution.setSelected(prefs.getBoolean(NODE_SHOW_RESOLUTION_RESULTS, true));
 		saveDir.setText( prefs.get(NODE_DEFAULT_GAME_DIR, "")  );
+		autosave.setSelected(prefs.getBoolean(NODE_AUTOSAVE, false));
 		
 		reverseSort.setSelected(prefs.getBoolean(NODE_ORDER_SORTING_REVERSE, false));
 		
@@ -611,6 +624,9 @@ public class GeneralPreferencePanel extends PreferencePanel
 	/** Returns if we should automatically bring up the resolution results dialog */
 	public static boolean getShowResolutionResults() 	{ return getSetting(NODE_SHOW_RESOLUTION_RESULTS, true); }
 	
+	/** Returns if changes should be automatically saved, in the background (default: false) */
+	public static boolean getAutosave() 				{ return getSetting(NODE_AUTOSAVE, false); }
+	
 	
 	/** Returns a given setting from preferences */
 	private static boolean getSetting(String key, boolean defaultValue)
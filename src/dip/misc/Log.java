@@ -38,7 +38,8 @@ import java.util.Date;
 *	construction and Object.toString() invocations, which provides a significant
 *	speedup. 
 *	<p>
-*	This class is not really MT safe
+*	Output from multiple threads may be interleaved, but writes
+*	to the log file are synchronized.
 */
 public final class Log
 {
@@ -69,7 +70,7 @@ public final class Log
 	*	Set the File to which we will write (or append) a Log file, 
 	*	if null, write output to stdout.
 	*/
-	public static void setFile(File out)
+	public static synchronized void setFile(File out)
 	{
 		if(bw != null)
 		{
@@ -107,7 +108,7 @@ public final class Log
 	/**
 	*	Flushes and closes the log file (if writing to stdout, this has no effect)
 	*/
-	public static void close()
+	public static synchronized void close()
 	{
 		if(bw != null)
 		{
@@ -134,20 +135,23 @@ public final class Log
 	{
 		if(isLogging)
 		{
-			if(bw == null)
+			synchronized(Log.class)
 			{
-				System.out.print(s);
-			}
-			else
-			{
-				try
+				if(bw == null)
 				{
-					bw.write(s.toString());
-					bw.flush();
+					System.out.print(s);
 				}
-				catch(IOException e)
+				else
 				{
-					System.err.print(e);
+					try
+					{
+						bw.write(s.toString());
+						bw.flush();
+					}
+					catch(IOException e)
+					{
+						System.err.print(e);
+					}
 				}
 			}
 		}
@@ -163,21 +167,24 @@ public final class Log
 	{
 		if(isLogging)
 		{
-			if(bw == null)
-			{
-				System.out.println(s);
-			}
-			else
+			synchronized(Log.class)
 			{
-				try
+				if(bw == null)
 				{
-					bw.write(s.toString());
-					bw.newLine();
-					bw.flush();
+					System.out.println(s);
 				}
-				catch(IOException e)
+				else
 				{
-					System.err.println(e);
+					try
+					{
+						bw.write(s.toString());
+						bw.newLine();
+						bw.flush();
+					}
+					catch(IOException e)
+					{
+						System.err.println(e);
+					}
 				}
 			}
 		}
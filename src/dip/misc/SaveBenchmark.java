@@ -0,0 +1,178 @@
+//
+//  @(#)SaveBenchmark.java		10/2026
+//
+//  Copyright 2026 the jDip development team. All rights reserved.
+//  Use is subject to license terms.
+//
+//
+//  This program is free software; you can redistribute it and/or modify
+//  it under the terms of the GNU General Public License as published by
+//  the Free Software Foundation; either version 2 of the License, or
+//  (at your option) any later version.
+//
+//  This program is distributed in the hope that it will be useful,
+//  but WITHOUT ANY WARRANTY; without even the implied warranty of
+//  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//  GNU General Public License for more details.
+//
+//  You should have received a copy of the GNU General Public License
+//  along with this program; if not, write to the Free Software
+//  Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+//  Or from http://www.gnu.org/
+//
+package dip.misc;
+
+import dip.world.World;
+
+import java.io.*;
+
+/**
+*	Compares the saved game formats (XML and binary; see World.save()):
+*	a saved game is opened, and then saved and opened repeatedly in each
+*	format. File size and the best and mean save and open times are
+*	printed.
+*	<p>
+*	Usage: <code>java dip.misc.SaveBenchmark [-n:&lt;repetitions&gt;] &lt;game file&gt;</code>
+*/
+public class SaveBenchmark
+{
+	private static final String[] FORMAT_NAMES = { "XML", "binary" };
+	private static final boolean[] FORMATS = { false, true };
+	
+	private final World world;
+	private final int nTimes;
+	
+	
+	public static void main(String args[])
+	throws IOException
+	{
+		int nTimes = 10;
+		String fileName = null;
+		
+		for(int i=0; i<args.length; i++)
+		{
+			if(args[i].startsWith("-n:"))
+			{
+				try
+				{
+					nTimes = Integer.parseInt(args[i].substring(3));
+				}
+				catch(NumberFormatException e)
+				{
+					nTimes = -1;
+				}
+			}
+			else
+			{
+				fileName = args[i];
+			}
+		}
+		
+		if(fileName == null || nTimes <= 0)
+		{
+			System.err.println("USAGE: SaveBenchmark [-n:<repetitions>] <game file>");
+			System.exit(1);
+		}
+		
+		Log.setLogging(false);
+		SaveBenchmark sb = new SaveBenchmark(World.open(new File(fileName)), nTimes);
+		sb.run();
+	}// main()
+	
+	
+	/** Create a SaveBenchmark for the given World */
+	public SaveBenchmark(World world, int nTimes)
+	{
+		this.world = world;
+		this.nTimes = nTimes;
+	}// SaveBenchmark()
+	
+	
+	/** Run the benchmark for each format, and print the results */
+	public void run()
+	throws IOException
+	{
+		System.out.println("TurnStates: "+world.getAllTurnStates().size()+"; repetitions: "+nTimes);
+		System.out.println("format       size (bytes)   save best/mean (ms)   open best/mean (ms)");
+		
+		for(int i=0; i<FORMATS.length; i++)
+		{
+			File file = File.createTempFile("jdip", ".jdip");
+			file.deleteOnExit();
+			
+			try
+			{
+				long[] saveTimes = new long[nTimes];
+				long[] openTimes = new long[nTimes];
+				
+				for(int j=0; j<nTimes; j++)
+				{
+					long start = System.currentTimeMillis();
+					World.save(file, world, FORMATS[i]);
+					saveTimes[j] = System.currentTimeMillis() - start;
+				}
+				
+				for(int j=0; j<nTimes; j++)
+				{
+					long start = System.currentTimeMillis();
+					World.open(file);
+					openTimes[j] = System.currentTimeMillis() - start;
+				}
+				
+				System.out.println(pad(FORMAT_NAMES[i], 13)
+					+ pad(String.valueOf(file.length()), 15)
+					+ pad(getBest(saveTimes)+" / "+getMean(saveTimes), 22)
+					+ getBest(openTimes)+" / "+getMean(openTimes));
+			}
+			catch(IOException e)
+			{
+				System.out.println(pad(FORMAT_NAMES[i], 13)+"failed: "+e);
+			}
+			finally
+			{
+				file.delete();
+			}
+		}
+	}// run()
+	
+	
+	/** Lowest time */
+	private static long getBest(long[] times)
+	{
+		long best = Long.MAX_VALUE;
+		for(int i=0; i<times.length; i++)
+		{
+			best = Math.min(best, times[i]);
+		}
+		
+		return best;
+	}// getBest()
+	
+	
+	/** Mean time */
+	private static long getMean(long[] times)
+	{
+		long total = 0;
+		for(int i=0; i<times.length; i++)
+		{
+			total += times[i];
+		}
+		
+		return (total / times.length);
+	}// getMean()
+	
+	
+	/** Pads a String with spaces to the given width */
+	private static String pad(String s, int width)
+	{
+		StringBuffer sb = new StringBuffer(width);
+		sb.append(s);
+		while(sb.length() < width)
+		{
+			sb.append(' ');
+		}
+		
+		return sb.toString();
+	}// pad()
+	
+}// class SaveBenchmark
@@ -25,6 +25,7 @@ package dip.misc;
 import dip.order.*;
 import dip.order.result.*;
 
+import dip.world.InvalidWorldException;
 import dip.world.Unit;
 import dip.world.Province;
 import dip.world.Power;
@@ -32,7 +33,11 @@ import dip.world.Phase;
 import dip.world.Location;
 import dip.world.RuleOptions;
 import dip.world.World;
+import dip.world.WorldArchive;
 import dip.world.WorldFactory;
+import dip.world.WorldJournal;
+import dip.world.VictoryConditions;
+import dip.world.Coast;
 import dip.world.variant.VariantManager;
 import dip.world.variant.data.*;
 
@@ -41,11 +46,17 @@ import dip.world.Position;
 
 import dip.process.*;
 
+import dip.net.message.MID;
+import dip.net.message.PressMessage;
+
 import java.util.*;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 
 
 
@@ -200,13 +211,23 @@ public final class TestSuite
 	private static boolean isLogging = true;
 	private static boolean isPerfTest = false;
 	private static boolean isRegression = false;
+	private static boolean isEvalStats = false;
+	private static int partitionThreads = 0;		// 0: partitioned evaluation disabled
+	private static boolean isCached = false;
+	private static int batchThreads = 0;			// 0: batch adjudication disabled
+	private static boolean isMinimal = false;
+	private static boolean isSnapshot = false;
+	private static boolean isJournal = false;
+	private static boolean isRoundTrip = false;
 	
 	private static String inFileName = null;
 	
 	private List cases = new ArrayList(10);
 	private World world = null;
 	private TurnState templateTurnState;
+	private Variant variant = null;
 	private StdAdjudicator stdJudge = null;
+	private AdjudicationCache adjCache = null;
 	private List failedCaseNames = new ArrayList(10);
 	private static int benchTimes = 1;
 	
@@ -247,17 +268,67 @@ public final class TestSuite
 			}
 			else if(firstArg.equals("-statsonly"))
 			{
-				isAdjudicatorLogged = false;
-				isPerfTest = false;
-				isLogging = false;
+				setStatsOnly();
 			}
 			else if(firstArg.equals("-regress"))
 			{
-				isAdjudicatorLogged = false;
-				isPerfTest = false;
-				isLogging = false;
+				setStatsOnly();
 				isRegression = true;
 			}
+			else if(firstArg.startsWith("-partition"))
+			{
+				setStatsOnly();
+				if(firstArg.indexOf(":") != -1)
+				{
+					partitionThreads = getTimes(firstArg);
+				}
+				else
+				{
+					printUsageAndExit();
+				}
+			}
+			else if(firstArg.equals("-cache"))
+			{
+				setStatsOnly();
+				isCached = true;
+			}
+			else if(firstArg.startsWith("-batch"))
+			{
+				setStatsOnly();
+				if(firstArg.indexOf(":") != -1)
+				{
+					batchThreads = getTimes(firstArg);
+				}
+				else
+				{
+					printUsageAndExit();
+				}
+			}
+			else if(firstArg.equals("-minimal"))
+			{
+				setStatsOnly();
+				isMinimal = true;
+			}
+			else if(firstArg.equals("-snapshot"))
+			{
+				setStatsOnly();
+				isSnapshot = true;
+			}
+			else if(firstArg.equals("-journal"))
+			{
+				setStatsOnly();
+				isJournal = true;
+			}
+			else if(firstArg.equals("-roundtrip"))
+			{
+				setStatsOnly();
+				isRoundTrip = true;
+			}
+			else if(firstArg.equals("-evalstats"))
+			{
+				setStatsOnly();
+				isEvalStats = true;
+			}
 			else
 			{
 				printUsageAndExit();
@@ -289,14 +360,45 @@ public final class TestSuite
 		ts.evaluate();
 	}// main()
 	
+	/** Disables all logging; only statistics are shown (see -statsonly). */
+	private static void setStatsOnly()
+	{
+		isAdjudicatorLogged = false;
+		isPerfTest = false;
+		isLogging = false;
+	}// setStatsOnly()
+	
 	private static void printUsageAndExit()
 	{	
-		System.out.println("USAGE: TestSuite [-statsonly | -perftest | -brief] <test-input-file>");
+		System.out.println("USAGE: TestSuite [-statsonly | -perftest | -brief | -partition | -cache | -batch | -minimal | -snapshot | -journal | -roundtrip | -evalstats] <test-input-file>");
 		System.out.println("  All log output to stdout");
 		System.out.println("  -statsonly      disable all logging; only show statistics");
 		System.out.println("  -perftest:n     no logging or statistics; repeat all cases n times");
 		System.out.println("  -brief          disable internal adjudicator logging");
 		System.out.println("  -regress        run test cases in infinite loop; no logging or stats.");
+		System.out.println("  -partition:n    as -statsonly, but use partitioned evaluation with n threads");
+		System.out.println("                  (results must not differ from unpartitioned evaluation)");
+		System.out.println("  -cache          as -statsonly, but adjudicate a copy of each case, which must");
+		System.out.println("                  use the cached adjudication (see AdjudicationCache), with");
+		System.out.println("                  results that refer to the orders of the copy");
+		System.out.println("  -batch:n        as -statsonly, but adjudicate all cases again at once, using a");
+		System.out.println("                  BatchAdjudicator with n threads; results must not differ. This");
+		System.out.println("                  is done with the test Map, then with a new Map");
+		System.out.println("  -minimal        as -statsonly, but adjudicate each case again, with minimal");
+		System.out.println("                  results; next phase and retreat locations must not differ");
+		System.out.println("  -snapshot       as -statsonly, but take a WorldArchive snapshot of each case,");
+		System.out.println("                  then undo the resolution and remove the orders before the");
+		System.out.println("                  snapshot is saved; the saved World must be as when taken");
+		System.out.println("  -journal        as -statsonly, but save each case to a WorldJournal; then undo");
+		System.out.println("                  the resolution, remove the orders, resolve again, and save");
+		System.out.println("                  again; the World opened from the journal must not differ");
+		System.out.println("  -roundtrip      as -statsonly, but save each case in the binary format, to a");
+		System.out.println("                  WorldJournal, and to a WorldArchive, and open each again; the");
+		System.out.println("                  World opened must not differ, and must refer to its own");
+		System.out.println("                  orders and results. Every Order and Result class, and a");
+		System.out.println("                  press message, are saved too, and must not differ");
+		System.out.println("  -evalstats      compare standard and worklist order evaluation; both");
+		System.out.println("                  must pass. Prints iteration and evaluate() counts.");
 		System.out.println("");
 		System.out.println("  Examples:");
 		System.out.println("      java dip.misc.TestSuite datc.txt >out");
@@ -354,7 +456,7 @@ public final class TestSuite
 			
 			// load the default variant (Standard)
 			// error if it cannot be found!!
-			Variant variant = VariantManager.getVariant(variantName, VariantManager.VERSION_NEWEST);
+			variant = VariantManager.getVariant(variantName, VariantManager.VERSION_NEWEST);
 			if(variant == null)
 			{
 				throw new Exception("Cannot find variant "+variantName);
@@ -407,19 +509,12 @@ public final class TestSuite
 				{
 					Case currentCase = allCases[ccn];
 					
-					// world: setup
-					world.setTurnState(currentCase.getCurrentTurnState());
-					world.setTurnState(currentCase.getPreviousTurnState());
+					setupWorld(currentCase);
 					
 					stdJudge = new StdAdjudicator(OrderFactory.getDefault(), currentCase.getCurrentTurnState());
 					stdJudge.process();
 					
-					// cleanup: remove turnstates from world
-					world.removeAllTurnStates();
-					
-					// cleanup: clear results in currentTurnSTate
-					// this is absolutely essential!! 
-					currentCase.getCurrentTurnState().getResultList().clear();
+					cleanupWorld(currentCase);
 					
 					// print a '.' every 1000 iterations
 					rCount++;
@@ -442,41 +537,36 @@ public final class TestSuite
 				{
 					Case currentCase = allCases[ccn];
 					
-					// world: setup
-					world.setTurnState(currentCase.getCurrentTurnState());
-					world.setTurnState(currentCase.getPreviousTurnState());
+					setupWorld(currentCase);
 					
 					nOrders += currentCase.getOrders().length;
 					
 					// adjudicate
 					// we don't check results when in performance mode.
 					// 
-					stdJudge = new StdAdjudicator(OrderFactory.getDefault(), currentCase.getCurrentTurnState());
+					stdJudge = createAdjudicator(currentCase.getCurrentTurnState());
 					stdJudge.process();
 					
 					nCases++;
 					
-					// cleanup: remove turnstates from world
-					world.removeAllTurnStates();
-					
-					// cleanup: clear results in currentTurnSTate
-					// this is absolutely essential!! 
-					currentCase.getCurrentTurnState().getResultList().clear();
+					cleanupWorld(currentCase);
 				}
 			}
 		}
 		else
 		{
 			// 'typical' mode (testing). 
-			// we keep stats and may or may not have logging
+			// we keep stats and may or may not have logging. In some modes,
+			// each case is also checked further (see createCaseCheck()).
 			//
+			final CaseCheck check = createCaseCheck(allCases);
+			final boolean[] isPassed = new boolean[allCases.length];
+			
 			for(int ccn=0; ccn<allCases.length; ccn++)
 			{
 				Case currentCase = allCases[ccn];
 				
-				// world: setup
-				world.setTurnState(currentCase.getCurrentTurnState());
-				world.setTurnState(currentCase.getPreviousTurnState());
+				setupWorld(currentCase);
 				
 				// print case name
 				println("\n\n");
@@ -494,7 +584,7 @@ public final class TestSuite
 				// adjudicate
 				println("=ADJUDICATION==========================================================");
 				
-				stdJudge = new StdAdjudicator(OrderFactory.getDefault(), currentCase.getCurrentTurnState());
+				stdJudge = createAdjudicator(currentCase.getCurrentTurnState());
 				stdJudge.process();
 				
 				// print adjudication results, if not performance testing
@@ -530,26 +620,36 @@ public final class TestSuite
 				// check post conditions
 				println("=POST-STATE============================================================");
 				
-				if(compareState(currentCase, stdJudge.getNextTurnState()))
+				isPassed[ccn] = compareState(currentCase, stdJudge.getNextTurnState());
+				
+				if(check != null)
+				{
+					isPassed[ccn] &= check.check(currentCase, ccn);
+				}
+				
+				println("=======================================================================");
+				
+				cleanupWorld(currentCase);
+			}
+			
+			if(check != null)
+			{
+				check.finish(allCases, isPassed);
+			}
+			
+			for(int ccn=0; ccn<allCases.length; ccn++)
+			{
+				if(isPassed[ccn])
 				{
 					nPass++;
 				}
 				else
 				{
 					nFail++;
-					failedCaseNames.add(currentCase.getName());
+					failedCaseNames.add(allCases[ccn].getName());
 				}
 				
-				println("=======================================================================");
-				
 				nCases++;
-				
-				// cleanup: remove turnstates from world
-				world.removeAllTurnStates();
-				
-				// cleanup: clear results in currentTurnSTate
-				// this is absolutely essential!! 
-				currentCase.getCurrentTurnState().getResultList().clear();
 			}
 		}
 		
@@ -627,6 +727,555 @@ public final class TestSuite
 		System.exit(nFail);
 	}// evaluate()
 	
+	/** 
+	*	Adds the current and previous TurnStates of the given Case to the
+	*	test World, replacing any TurnStates with the same Phases.
+	*/
+	private void setupWorld(Case c)
+	{
+		world.setTurnState(c.getCurrentTurnState());
+		world.setTurnState(c.getPreviousTurnState());
+	}// setupWorld()
+	
+	/**
+	*	Removes all TurnStates from the test World, and clears the results
+	*	of the current TurnState of the given Case. This is absolutely 
+	*	essential!! if the Case (or another with the same Phase) is 
+	*	adjudicated again.
+	*/
+	private void cleanupWorld(Case c)
+	{
+		world.removeAllTurnStates();
+		c.getCurrentTurnState().getResultList().clear();
+	}// cleanupWorld()
+	
+	/** 
+	*	Creates a new adjudicator, for the given TurnState.
+	*/
+	private StdAdjudicator createAdjudicator(TurnState ts)
+	{
+		final StdAdjudicator judge = new StdAdjudicator(OrderFactory.getDefault(), ts);
+		
+		if(partitionThreads > 0)
+		{
+			judge.setPartitionedEvaluation(true);
+			judge.setPartitionThreads(partitionThreads);
+		}
+		
+		if(isCached)
+		{
+			if(adjCache == null)
+			{
+				adjCache = new AdjudicationCache(1000);
+			}
+			
+			judge.setAdjudicationCache(adjCache);
+		}
+		
+		return judge;
+	}// createAdjudicator()
+	
+	/**
+	*	Creates the CaseCheck for the test mode, or returns null if each
+	*	case is only compared with its post-state.
+	*/
+	private CaseCheck createCaseCheck(Case[] allCases)
+	{
+		if(isCached)
+		{
+			return new CacheCheck();
+		}
+		else if(partitionThreads > 0)
+		{
+			return new PartitionCheck();
+		}
+		else if(batchThreads > 0)
+		{
+			return new BatchCheck(allCases.length);
+		}
+		else if(isMinimal)
+		{
+			return new MinimalCheck();
+		}
+		else if(isSnapshot)
+		{
+			return new SnapshotCheck();
+		}
+		else if(isJournal)
+		{
+			return new JournalCheck();
+		}
+		else if(isRoundTrip)
+		{
+			return new RoundTripCheck();
+		}
+		else if(isEvalStats)
+		{
+			return new EvalStatsCheck();
+		}
+		
+		return null;
+	}// createCaseCheck()
+	
+	/** Creates a temporary file, deleted on exit, with the given suffix. */
+	private File createTempFile(String suffix, String description)
+	{
+		try
+		{
+			final File file = File.createTempFile("TestSuite", suffix);
+			file.deleteOnExit();
+			return file;
+		}
+		catch(IOException e)
+		{
+			System.out.println("ERROR: cannot create "+description+" file: "+e);
+			System.exit(1);
+			return null;
+		}
+	}// createTempFile()
+	
+	/** Index of the given Order (not an equal Order) in the List, or -1 */
+	private int indexOfOrder(List list, Orderable order)
+	{
+		for(int i=0; i<list.size(); i++)
+		{
+			if(list.get(i) == order)
+			{
+				return i;
+			}
+		}
+		
+		return -1;
+	}// indexOfOrder()
+	
+	/**
+	*	Creates a copy (see Case.copy()) of each of the given Cases, each 
+	*	in its own World (see createCaseWorld()), since Cases may share a 
+	*	Phase. If isNewMap is true, the copies are parsed against a new 
+	*	World created from the variant, with a new Map whose lazily built
+	*	tables have not yet been used.
+	*/
+	private Case[] copyCases(Case[] cs, boolean isNewMap)
+	{
+		final World testWorld = world;
+		final TurnState testTemplate = templateTurnState;
+		final Case[] copies = new Case[cs.length];
+		try
+		{
+			if(isNewMap)
+			{
+				world = WorldFactory.getInstance().createWorld(variant);
+				templateTurnState = world.getLastTurnState();
+				world.removeTurnState(templateTurnState);
+				world.setRuleOptions(testWorld.getRuleOptions());
+			}
+			
+			for(int i=0; i<cs.length; i++)
+			{
+				copies[i] = cs[i].copy();
+				World caseWorld = createCaseWorld();
+				copies[i].getCurrentTurnState().setWorld(caseWorld);
+				copies[i].getPreviousTurnState().setWorld(caseWorld);
+				caseWorld.setTurnState(copies[i].getCurrentTurnState());
+				caseWorld.setTurnState(copies[i].getPreviousTurnState());
+			}
+		}
+		catch(InvalidWorldException e)
+		{
+			println("Init error: ", e);
+			System.exit(1);
+		}
+		finally
+		{
+			world = testWorld;
+			templateTurnState = testTemplate;
+		}
+		
+		return copies;
+	}// copyCases()
+	
+	/** 
+	*	Creates an empty World, with the same Map and rule options as the 
+	*	test World. Each World has its own VictoryConditions, which hold
+	*	the results of their last evaluation, since case Worlds may be 
+	*	adjudicated concurrently.
+	*/
+	private World createCaseWorld()
+	{
+		// World has no public constructor; an (empty) subclass is used.
+		World caseWorld = new World(world.getMap()) {};
+		caseWorld.setVariantInfo(world.getVariantInfo());
+		caseWorld.setVictoryConditions(new VictoryConditions(variant.getNumSCForVictory(), 
+			variant.getMaxYearsNoSCChange(), variant.getMaxGameTimeYears(), 
+			variant.getStartingPhase()));
+		return caseWorld;
+	}// createCaseWorld()
+	
+	/** 
+	*	The text of all Results of the given TurnState, one per line, 
+	*	in result-list order. TimeResults are omitted, since their 
+	*	text differs between adjudications.
+	*/
+	private String getResultText(TurnState ts)
+	{
+		StringBuffer sb = new StringBuffer(1024);
+		Iterator iter = ts.getResultList().iterator();
+		while(iter.hasNext())
+		{
+			Result r = (Result) iter.next();
+			if(!(r instanceof TimeResult))
+			{
+				sb.append(r);
+				sb.append('\n');
+			}
+		}
+		return sb.toString();
+	}// getResultText()
+	
+	/** The given lines (see getResultText()), sorted. */
+	private String sortLines(String text)
+	{
+		String[] lines = text.split("\n");
+		Arrays.sort(lines);
+		
+		StringBuffer sb = new StringBuffer(text.length() + 1);
+		for(int i=0; i<lines.length; i++)
+		{
+			sb.append(lines[i]);
+			sb.append('\n');
+		}
+		return sb.toString();
+	}// sortLines()
+	
+	/**
+	*	Returns true if each order referred to by an OrderResult of the
+	*	TurnState is one of its orders (by identity), or was created by
+	*	the adjudicator (and thus is not an order of the other TurnState).
+	*/
+	private boolean areResultOrdersOwn(TurnState ts, TurnState otherTS)
+	{
+		final List orders = ts.getAllOrders();
+		final List otherOrders = otherTS.getAllOrders();
+		final List results = ts.getResultList();
+		for(int i=0; i<results.size(); i++)
+		{
+			if(results.get(i) instanceof OrderResult)
+			{
+				Orderable order = ((OrderResult) results.get(i)).getOrder();
+				if(order != null && indexOfOrder(orders, order) < 0 
+					&& indexOfOrder(otherOrders, order) >= 0)
+				{
+					return false;
+				}
+			}
+		}
+		
+		return true;
+	}// areResultOrdersOwn()
+	
+	/** The result List, and the orders, of each TurnState of the World. */
+	private List getTurnStateContents(World w)
+	{
+		ArrayList list = new ArrayList();
+		Iterator iter = w.getAllTurnStates().iterator();
+		while(iter.hasNext())
+		{
+			TurnState ts = (TurnState) iter.next();
+			list.add(ts.getResultList());
+			list.addAll(ts.getAllOrders());
+		}
+		return list;
+	}// getTurnStateContents()
+	
+	/** True if both Lists have the same (not merely equal) elements, in order. */
+	private boolean isSameContents(List a, List b)
+	{
+		if(a == null || b == null || a.size() != b.size())
+		{
+			return false;
+		}
+		
+		for(int i=0; i<a.size(); i++)
+		{
+			if(a.get(i) != b.get(i))
+			{
+				return false;
+			}
+		}
+		
+		return true;
+	}// isSameContents()
+	
+	/**
+	*	An instance of every Order and Result class, for the Provinces and 
+	*	Powers of the World's Map. All but the last (a Result subclass) 
+	*	are written by OrderCodec or ResultCodec.
+	*/
+	private List getCodecSamples(World w)
+	{
+		final OrderFactory of = OrderFactory.getDefault();
+		final Province[] provs = w.getMap().getProvinces();
+		final Power[] powers = w.getMap().getPowers();
+		final Power p1 = powers[0];
+		final Power p2 = powers[powers.length - 1];
+		final Location l1 = new Location(provs[0], Coast.NONE);
+		final Location l2 = new Location(provs[1], Coast.SINGLE);
+		final Location l3 = new Location(provs[2], Coast.NORTH);
+		final Province[] route = { provs[0], provs[3], provs[2] };
+		
+		List list = new ArrayList();
+		
+		// orders
+		final Move move = of.createMove(p1, l1, Unit.Type.ARMY, l3);
+		final Move convoyedMove = of.createMove(p1, l1, Unit.Type.ARMY, l3, route);
+		final Support support = of.createSupport(p2, l2, Unit.Type.FLEET, l1, p1, Unit.Type.ARMY, l3);
+		final Support narrowed = of.createSupport(p2, l2, Unit.Type.FLEET, l1, p1, Unit.Type.ARMY);
+		narrowed.setNarrowingOrder(move);
+		list.add(of.createHold(p1, l1, Unit.Type.ARMY));
+		list.add(move);
+		list.add(convoyedMove);
+		list.add(of.createMove(p1, l1, Unit.Type.ARMY, l3, true));
+		list.add(support);
+		list.add(narrowed);
+		list.add(of.createConvoy(p2, l2, Unit.Type.FLEET, l1, p1, Unit.Type.ARMY, l3));
+		list.add(of.createRetreat(p1, l1, Unit.Type.ARMY, l3));
+		list.add(of.createDisband(p1, l1, Unit.Type.ARMY));
+		list.add(of.createBuild(p2, l2, Unit.Type.FLEET));
+		list.add(of.createRemove(p2, l2, Unit.Type.FLEET));
+		list.add(of.createWaive(p2, l2));
+		try
+		{
+			list.add(of.createDefineState(p1, l3, Unit.Type.WING));
+		}
+		catch(OrderException e)
+		{
+			throw new IllegalStateException(e.getMessage());
+		}
+		
+		// results
+		final BouncedResult bounced = new BouncedResult(move);
+		bounced.setBouncer(provs[2]);
+		bounced.setAttackStrength(2);
+		bounced.setDefenseStrength(3);
+		final DislodgedResult dislodged = new DislodgedResult(support, "dislodged", new Location[] { l1, l3 });
+		dislodged.setDislodger(provs[0]);
+		dislodged.setAttackStrength(3);
+		dislodged.setDefenseStrength(1);
+		list.add(new Result(p1, "result"));
+		list.add(new Result("result for all"));
+		list.add(new TimeResult(p2, "TimeResult.Message"));
+		list.add(new OrderResult(move, "order result"));
+		list.add(new OrderResult(move, OrderResult.ResultType.VALIDATION_FAILURE, "failed validation"));
+		list.add(new OrderResult(support, OrderResult.ResultType.SUCCESS, null));
+		list.add(new OrderResult(support, OrderResult.ResultType.FAILURE, "failed"));
+		list.add(new OrderResult(move, OrderResult.ResultType.TEXT, "text"));
+		list.add(bounced);
+		list.add(new ConvoyPathResult(convoyedMove, route));
+		list.add(new DependentMoveFailedResult(support, move));
+		list.add(dislodged);
+		list.add(new DislodgedResult(move, null));
+		list.add(new SubstitutedResult(support, move, "substituted"));
+		
+		// serialized, rather than written by ResultCodec
+		list.add(new TestResult(p2, "serialized"));
+		
+		for(int i=0; i<list.size()-1; i++)
+		{
+			Object obj = list.get(i);
+			if(!OrderCodec.isCodable(obj) && !ResultCodec.isCodable(obj))
+			{
+				throw new IllegalStateException("not written by OrderCodec or ResultCodec: "+obj);
+			}
+		}
+		
+		return list;
+	}// getCodecSamples()
+	
+	/**
+	*	True if both objects are of the same class, with the same fields
+	*	(including inherited, but not transient, fields). Lists and arrays are
+	*	compared by element. Powers and Provinces are compared by name, as 
+	*	each World opened has its own Map; Strings, wrappers and Coasts by 
+	*	equals().
+	*/
+	private boolean isSameFields(Object a, Object b)
+	{
+		if(a == null || b == null)
+		{
+			return (a == b);
+		}
+		else if(a.getClass() != b.getClass())
+		{
+			return false;
+		}
+		else if(a instanceof String || a instanceof Number || a instanceof Boolean 
+			|| a instanceof Character || a instanceof Coast)
+		{
+			return a.equals(b);
+		}
+		else if(a instanceof Power || a instanceof Province)
+		{
+			return a.toString().equals(b.toString());
+		}
+		else if(a instanceof List)
+		{
+			return isSameFields(((List) a).toArray(), ((List) b).toArray());
+		}
+		else if(a instanceof Object[])
+		{
+			Object[] aa = (Object[]) a;
+			Object[] ba = (Object[]) b;
+			if(aa.length != ba.length)
+			{
+				return false;
+			}
+			
+			for(int i=0; i<aa.length; i++)
+			{
+				if(!isSameFields(aa[i], ba[i]))
+				{
+					return false;
+				}
+			}
+			
+			return true;
+		}
+		
+		try
+		{
+			Class c = a.getClass();
+			while(c != null)
+			{
+				Field[] fields = c.getDeclaredFields();
+				for(int i=0; i<fields.length; i++)
+				{
+					final int mod = fields[i].getModifiers();
+					if(!Modifier.isStatic(mod) && !Modifier.isTransient(mod))
+					{
+						fields[i].setAccessible(true);
+						if(!isSameFields(fields[i].get(a), fields[i].get(b)))
+						{
+							return false;
+						}
+					}
+				}
+				
+				c = c.getSuperclass();
+			}
+		}
+		catch(IllegalAccessException e)
+		{
+			throw new IllegalStateException(e.getMessage());
+		}
+		
+		return true;
+	}// isSameFields()
+	
+	/**
+	*	A description of each TurnState of the World (its Position, 
+	*	whether it is resolved, orders, and results), for comparison.
+	*/
+	private String getWorldText(World w)
+	{
+		StringBuffer sb = new StringBuffer(4096);
+		Iterator iter = w.getAllTurnStates().iterator();
+		while(iter.hasNext())
+		{
+			TurnState ts = (TurnState) iter.next();
+			sb.append(getPositionText(ts));
+			sb.append(ts.isResolved() ? "resolved\n" : "not resolved\n");
+			
+			Iterator orderIter = ts.getAllOrders().iterator();
+			while(orderIter.hasNext())
+			{
+				sb.append(orderIter.next());
+				sb.append('\n');
+			}
+			
+			sb.append(getResultText(ts));
+		}
+		return sb.toString();
+	}// getWorldText()
+	
+	/** 
+	*	A description of the Phase, units, dislodged units, and supply 
+	*	center owners of the given TurnState, for comparison; or "[none]"
+	*	if the TurnState is null (the game has been won).
+	*/
+	private String getPositionText(TurnState ts)
+	{
+		if(ts == null)
+		{
+			return "[none]";
+		}
+		
+		final Position pos = ts.getPosition();
+		StringBuffer sb = new StringBuffer(1024);
+		sb.append(ts.getPhase());
+		sb.append('\n');
+		
+		final Province[] provs = pos.getProvinces();
+		for(int i=0; i<provs.length; i++)
+		{
+			if(pos.hasUnit(provs[i]))
+			{
+				sb.append(new UnitPos(pos, provs[i], false));
+				sb.append('\n');
+			}
+			
+			if(pos.hasDislodgedUnit(provs[i]))
+			{
+				sb.append(new UnitPos(pos, provs[i], true));
+				sb.append('\n');
+			}
+			
+			if(pos.getSupplyCenterOwner(provs[i]) != null)
+			{
+				sb.append(provs[i].getShortName());
+				sb.append(": ");
+				sb.append(pos.getSupplyCenterOwner(provs[i]).getName());
+				sb.append('\n');
+			}
+		}
+		
+		return sb.toString();
+	}// getPositionText()
+	
+	/** 
+	*	A description of the valid retreat locations of each dislodged unit
+	*	in the given TurnState, as determined by the given Results of the 
+	*	prior phase; or "[none]" if the TurnState is null.
+	*/
+	private String getRetreatText(TurnState ts, List priorResults)
+	{
+		if(ts == null)
+		{
+			return "[none]";
+		}
+		
+		final Position pos = ts.getPosition();
+		final RetreatChecker rc = new RetreatChecker(ts, priorResults);
+		StringBuffer sb = new StringBuffer(256);
+		
+		final Province[] provs = pos.getDislodgedUnitProvinces();
+		for(int i=0; i<provs.length; i++)
+		{
+			Location from = new Location(provs[i], pos.getDislodgedUnit(provs[i]).getCoast());
+			Location[] locs = rc.getValidLocations(from);
+			
+			sb.append(from);
+			sb.append(':');
+			for(int j=0; j<locs.length; j++)
+			{
+				sb.append(' ');
+				sb.append(locs[j]);
+			}
+			sb.append('\n');
+		}
+		
+		return sb.toString();
+	}// getRetreatText()
+	
 	/** Briefly print performance stats for cut/paste */
 	private void printPerfStatsBrief(int nIter, int nOrder, float timeTotal, float thruput)
 	{
@@ -871,6 +1520,545 @@ public final class TestSuite
 	}// printSet()
 	
 	
+	/** A Result subclass, which is serialized, rather than written by ResultCodec. */
+	private static class TestResult extends Result
+	{
+		private static final long serialVersionUID = 1L;
+		
+		public TestResult(Power power, String message)
+		{
+			super(power, message);
+		}// TestResult()
+	}// inner class TestResult
+	
+	
+	/** A PressMessage, which is serialized; the Phase and Powers are written by WorldCodec. */
+	private static class TestPressMessage implements PressMessage, Serializable
+	{
+		private static final long serialVersionUID = 1L;
+		
+		private final Power from;
+		private final Power[] to;
+		private final String message;
+		private final Phase phase;
+		private final long timeSent;
+		private boolean isRead = false;
+		private boolean isRepliedTo = false;
+		
+		public TestPressMessage(World w, String message)
+		{
+			final Power[] powers = w.getMap().getPowers();
+			this.from = powers[0];
+			this.to = new Power[] { powers[1], powers[powers.length - 1] };
+			this.message = message;
+			this.phase = w.getLastTurnState().getPhase();
+			this.timeSent = 1000L;
+		}// TestPressMessage()
+		
+		public MID getFrom()					{ return new MID(from, null); }
+		public MID[] getTo()					{ return new MID[] { new MID(to[0], null), new MID(to[1], null) }; }
+		public String getSubject()				{ return null; }
+		public String getMessage()				{ return message; }
+		public Phase getPhase()					{ return phase; }
+		public long getTimeReceived()			{ return timeSent; }
+		public long getTimeSent()				{ return timeSent; }
+		public boolean isRead()					{ return isRead; }
+		public boolean isRepliedTo()			{ return isRepliedTo; }
+		public void setRead(boolean value)		{ isRead = value; }
+		public void setRepliedTo(boolean value)	{ isRepliedTo = value; }
+	}// inner class TestPressMessage
+	
+	
+	/**
+	*	A further check of each case, in some test modes (see 
+	*	createCaseCheck()). It is made after the case has been adjudicated
+	*	as usual, and compared with its post-state; a case only passes if
+	*	both pass.
+	*/
+	private abstract class CaseCheck
+	{
+		/**
+		*	Checks the given case, which has been adjudicated by stdJudge; 
+		*	the test World is still set up for the case. If the case fails,
+		*	the reason is printed, and false is returned.
+		*/
+		public abstract boolean check(Case currentCase, int caseNum);
+		
+		/**
+		*	Called once all cases have been checked; any case that fails a
+		*	check of all cases is set as failed in isPassed.
+		*/
+		public void finish(Case[] allCases, boolean[] isPassed)
+		{
+		}// finish()
+	}// inner class CaseCheck
+	
+	
+	/**
+	*	Cache mode. A copy of each case (with equal, but not the same, 
+	*	orders) is adjudicated; the cached adjudication must be used, with 
+	*	the same results and next Position, and the results must refer to 
+	*	the orders of the copy.
+	*/
+	private class CacheCheck extends CaseCheck
+	{
+		public boolean check(Case currentCase, int caseNum)
+		{
+			final TurnState firstTS = stdJudge.getTurnState();
+			final String firstResults = getResultText(firstTS);
+			final String firstPosition = getPositionText(stdJudge.getNextTurnState());
+			
+			Case copy = currentCase.copy();
+			TurnState ts = copy.getCurrentTurnState();
+			setupWorld(copy);
+			StdAdjudicator judge = createAdjudicator(ts);
+			judge.process();
+			
+			boolean isCacheOK = (judge.isCacheHit() 
+				&& firstResults.equals(getResultText(ts))
+				&& firstPosition.equals(getPositionText(judge.getNextTurnState())));
+			if(!isCacheOK)
+			{
+				System.out.println("  cached adjudication not used, or results differ: "+currentCase.getName());
+			}
+			else if(!areResultOrdersOwn(ts, firstTS))
+			{
+				System.out.println("  cached results refer to orders of another TurnState: "+currentCase.getName());
+				isCacheOK = false;
+			}
+			
+			return isCacheOK;
+		}// check()
+	}// inner class CacheCheck
+	
+	
+	/**
+	*	Partitioned evaluation mode. A copy of each case is adjudicated 
+	*	without partitioned evaluation; the results must be the same 
+	*	(partition results are merged in a different order), as must the 
+	*	next Position.
+	*/
+	private class PartitionCheck extends CaseCheck
+	{
+		public boolean check(Case currentCase, int caseNum)
+		{
+			final String partResults = sortLines(getResultText(stdJudge.getTurnState()));
+			final String partPosition = getPositionText(stdJudge.getNextTurnState());
+			
+			Case copy = currentCase.copy();
+			TurnState ts = copy.getCurrentTurnState();
+			setupWorld(copy);
+			StdAdjudicator serialJudge = new StdAdjudicator(OrderFactory.getDefault(), ts);
+			serialJudge.process();
+			
+			final boolean isPartitionOK = (partResults.equals(sortLines(getResultText(ts)))
+				&& partPosition.equals(getPositionText(serialJudge.getNextTurnState())));
+			if(!isPartitionOK)
+			{
+				System.out.println("  partitioned results differ from unpartitioned results: "+currentCase.getName());
+			}
+			
+			return isPartitionOK;
+		}// check()
+	}// inner class PartitionCheck
+	
+	
+	/**
+	*	Batch mode. Once each case has been adjudicated, a copy (see 
+	*	Case.copy()) of each case is adjudicated, all at once, by a 
+	*	BatchAdjudicator, with the same results and the same next Position.
+	*	Each copy has its own World, since cases may share a Phase.
+	*	<p>
+	*	This is done twice: first with the Map of the test World, whose 
+	*	lazily built tables (distances, convoy paths, etc.) have been 
+	*	built by the sequential adjudications; then with a new Map (see 
+	*	copyCases()), so that its tables are built concurrently.
+	*/
+	private class BatchCheck extends CaseCheck
+	{
+		private final String[] seqResults;
+		private final String[] seqPositions;
+		
+		public BatchCheck(int nCases)
+		{
+			seqResults = new String[nCases];
+			seqPositions = new String[nCases];
+		}// BatchCheck()
+		
+		public boolean check(Case currentCase, int caseNum)
+		{
+			seqResults[caseNum] = getResultText(currentCase.getCurrentTurnState());
+			seqPositions[caseNum] = getPositionText(stdJudge.getNextTurnState());
+			return true;
+		}// check()
+		
+		public void finish(Case[] allCases, boolean[] isPassed)
+		{
+			// adjudicate all case copies at once; first with the test Map, then
+			// with a new Map
+			for(int pass=0; pass<2; pass++)
+			{
+				final boolean isNewMap = (pass == 1);
+				final Case[] copies = copyCases(allCases, isNewMap);
+				final TurnState[] turnStates = new TurnState[copies.length];
+				for(int ccn=0; ccn<copies.length; ccn++)
+				{
+					turnStates[ccn] = copies[ccn].getCurrentTurnState();
+				}
+				
+				BatchAdjudicator batch = new BatchAdjudicator(OrderFactory.getDefault(), batchThreads);
+				BatchAdjudicator.BatchResult[] batchResults = batch.process(turnStates);
+				
+				final String mapName = (isNewMap) ? " (new Map)" : "";
+				for(int ccn=0; ccn<allCases.length; ccn++)
+				{
+					BatchAdjudicator.BatchResult br = batchResults[ccn];
+					
+					if(br.getException() != null)
+					{
+						System.out.println("  batch adjudication failed"+mapName+": "+
+							allCases[ccn].getName()+": "+br.getException());
+						isPassed[ccn] = false;
+					}
+					else if( !seqResults[ccn].equals(getResultText(br.getTurnState()))
+							|| !seqPositions[ccn].equals(getPositionText(br.getNextTurnState())) )
+					{
+						System.out.println("  batch results differ from sequential results"+mapName+": "+
+							allCases[ccn].getName());
+						isPassed[ccn] = false;
+					}
+				}
+			}
+		}// finish()
+	}// inner class BatchCheck
+	
+	
+	/**
+	*	Minimal results mode. A copy (see Case.copy()) of each case is 
+	*	adjudicated with minimal results (see StdAdjudicator.setResultsMinimal()).
+	*	The copy must pass too, with the same next Position, and the same 
+	*	valid retreat locations (which depend upon prior-phase results, such
+	*	as standoffs) for each dislodged unit.
+	*/
+	private class MinimalCheck extends CaseCheck
+	{
+		public boolean check(Case currentCase, int caseNum)
+		{
+			final String position = getPositionText(stdJudge.getNextTurnState());
+			final String retreats = getRetreatText(stdJudge.getNextTurnState(), 
+				currentCase.getCurrentTurnState().getResultList());
+			
+			Case copy = currentCase.copy();
+			setupWorld(copy);
+			StdAdjudicator judge = new StdAdjudicator(OrderFactory.getDefault(), copy.getCurrentTurnState());
+			judge.setResultsMinimal(true);
+			judge.process();
+			
+			boolean isPassed = compareState(copy, judge.getNextTurnState());
+			if( !position.equals(getPositionText(judge.getNextTurnState()))
+				|| !retreats.equals(getRetreatText(judge.getNextTurnState(), 
+					copy.getCurrentTurnState().getResultList())) )
+			{
+				System.out.println("  minimal results: next phase differs: "+currentCase.getName());
+				isPassed = false;
+			}
+			
+			return isPassed;
+		}// check()
+	}// inner class MinimalCheck
+	
+	
+	/**
+	*	Snapshot mode. A Snapshot (see WorldArchive.snapshot()) of the World
+	*	is taken, once each case has been adjudicated. Before the Snapshot 
+	*	is saved (as by the AutoSaver, while the World is in use), the 
+	*	resolution is undone as by UndoResolve (the results are cleared, the
+	*	TurnState is set as not resolved, and the next TurnState is removed),
+	*	and the orders are removed (in place). The saved World must be as it
+	*	was when the Snapshot was taken. The saved World is compared after 
+	*	it has been detached from the saved file (see World.detachArchive()),
+	*	and the file deleted, as when an autosave is recovered.
+	*/
+	private class SnapshotCheck extends CaseCheck
+	{
+		private final File archiveFile = createTempFile(".jdip", "snapshot");
+		
+		public boolean check(Case currentCase, int caseNum)
+		{
+			final TurnState ts = currentCase.getCurrentTurnState();
+			final TurnState nextTS = stdJudge.getNextTurnState();
+			if(nextTS != null)
+			{
+				world.setTurnState(nextTS);
+			}
+			
+			boolean isPassed = true;
+			final String expected = getWorldText(world);
+			
+			try
+			{
+				WorldArchive.Snapshot snapshot = WorldArchive.snapshot(world);
+				
+				// undo the resolution, and remove the orders
+				ts.setResultList(new LinkedList());
+				ts.setResolved(false);
+				if(nextTS != null)
+				{
+					world.removeTurnState(nextTS);
+				}
+				
+				final Power[] powers = world.getMap().getPowers();
+				for(int i=0; i<powers.length; i++)
+				{
+					ts.getOrders(powers[i]).clear();
+				}
+				
+				snapshot.save(archiveFile);
+				final World saved = WorldArchive.open(archiveFile);
+				saved.detachArchive(archiveFile);
+				archiveFile.delete();
+				
+				if(!expected.equals(getWorldText(saved)))
+				{
+					System.out.println("  snapshot differs from the World when taken: "+currentCase.getName());
+					isPassed = false;
+				}
+			}
+			catch(IOException e)
+			{
+				System.out.println("  snapshot failed: "+currentCase.getName()+": "+e);
+				isPassed = false;
+			}
+			catch(IllegalStateException e)
+			{
+				// a TurnState could not be read from the saved file
+				System.out.println("  snapshot failed: "+currentCase.getName()+": "+e);
+				isPassed = false;
+			}
+			
+			return isPassed;
+		}// check()
+		
+		public void finish(Case[] allCases, boolean[] isPassed)
+		{
+			archiveFile.delete();
+		}// finish()
+	}// inner class SnapshotCheck
+	
+	
+	/**
+	*	Journal mode. The World is saved to a WorldJournal, once each case 
+	*	has been adjudicated. The resolution is then undone as by UndoResolve
+	*	(the results are cleared, the TurnState is set as not resolved, and 
+	*	the next TurnState is removed), the orders are removed, and the case
+	*	is adjudicated again and saved again; the resolved TurnState must be
+	*	journaled again. The World opened from the journal must be the same 
+	*	as the World.
+	*/
+	private class JournalCheck extends CaseCheck
+	{
+		private final File journalFile = createTempFile(".jdj", "journal");
+		
+		public boolean check(Case currentCase, int caseNum)
+		{
+			final TurnState ts = currentCase.getCurrentTurnState();
+			TurnState nextTS = stdJudge.getNextTurnState();
+			boolean isPassed = true;
+			
+			try
+			{
+				final WorldJournal journal = new WorldJournal(journalFile);
+				if(nextTS != null)
+				{
+					world.setTurnState(nextTS);
+				}
+				journal.save(world);
+				
+				// undo the resolution, and remove the orders
+				ts.setResultList(new LinkedList());
+				ts.setResolved(false);
+				if(nextTS != null)
+				{
+					world.removeTurnState(nextTS);
+				}
+				
+				final Power[] powers = world.getMap().getPowers();
+				for(int i=0; i<powers.length; i++)
+				{
+					ts.getOrders(powers[i]).clear();
+				}
+				
+				// resolve again
+				StdAdjudicator judge = new StdAdjudicator(OrderFactory.getDefault(), ts);
+				judge.process();
+				nextTS = judge.getNextTurnState();
+				if(nextTS != null)
+				{
+					world.setTurnState(nextTS);
+				}
+				journal.save(world);
+				
+				if(!getWorldText(world).equals(getWorldText(new WorldJournal(journalFile).open())))
+				{
+					System.out.println("  journaled World differs from the World: "+currentCase.getName());
+					isPassed = false;
+				}
+			}
+			catch(IOException e)
+			{
+				System.out.println("  journal failed: "+currentCase.getName()+": "+e);
+				isPassed = false;
+			}
+			
+			return isPassed;
+		}// check()
+		
+		public void finish(Case[] allCases, boolean[] isPassed)
+		{
+			journalFile.delete();
+		}// finish()
+	}// inner class JournalCheck
+	
+	
+	/**
+	*	Round-trip mode. The World is saved in the binary format (see 
+	*	WorldCodec), to a WorldJournal, and to a WorldArchive, and opened 
+	*	again (see World.open()), once each case has been adjudicated. The
+	*	global state refers to the result List and orders of each TurnState,
+	*	as the undo history does (see UndoResolve and UndoAddOrder), and an 
+	*	instance of every Order and Result class (see getCodecSamples()); the
+	*	PressStore has a press message, which is not written by OrderCodec 
+	*	or ResultCodec, so is serialized. Each World opened must be the same
+	*	as the World, its global state must refer to its own TurnStates' 
+	*	result Lists and orders, and the samples and press messages opened
+	*	must have the same fields.
+	*/
+	private class RoundTripCheck extends CaseCheck
+	{
+		private final File worldFile = createTempFile(".jdip", "round-trip");
+		private final File journalFile = createTempFile(".jdj", "round-trip");
+		private final File archiveFile = createTempFile(".jdip", "round-trip");
+		
+		public boolean check(Case currentCase, int caseNum)
+		{
+			final TurnState nextTS = stdJudge.getNextTurnState();
+			boolean isPassed = true;
+			if(nextTS != null)
+			{
+				world.setTurnState(nextTS);
+			}
+			
+			final List samples = getCodecSamples(world);
+			final List state = new ArrayList(2);
+			state.add(getTurnStateContents(world));
+			state.add(samples);
+			world.setGlobalState(state);
+			world.getPressStore().storeMessage(new TestPressMessage(world, currentCase.getName()));
+			
+			try
+			{
+				World.save(worldFile, world, true);
+				new WorldJournal(journalFile).save(world);
+				WorldArchive.save(archiveFile, world);
+				
+				final String expected = getWorldText(world);
+				final File[] files = { worldFile, journalFile, archiveFile };
+				for(int i=0; i<files.length; i++)
+				{
+					final World opened = World.open(files[i]);
+					if(!expected.equals(getWorldText(opened)))
+					{
+						System.out.println("  opened World differs from the World: "+currentCase.getName()+" ("+files[i].getName()+")");
+						isPassed = false;
+					}
+					
+					final List openedState = (List) opened.getGlobalState();
+					if(!isSameContents((List) openedState.get(0), getTurnStateContents(opened)))
+					{
+						System.out.println("  opened World refers to copies of its orders or results: "+currentCase.getName()+" ("+files[i].getName()+")");
+						isPassed = false;
+					}
+					
+					if( !isSameFields(samples, openedState.get(1))
+						|| !isSameFields(Arrays.asList(world.getPressStore().getAllMessages()), 
+							Arrays.asList(opened.getPressStore().getAllMessages())) )
+					{
+						System.out.println("  opened orders, results, or press messages differ: "+currentCase.getName()+" ("+files[i].getName()+")");
+						isPassed = false;
+					}
+				}
+			}
+			catch(IOException e)
+			{
+				System.out.println("  round-trip failed: "+currentCase.getName()+": "+e);
+				isPassed = false;
+			}
+			
+			world.setGlobalState(null);
+			
+			return isPassed;
+		}// check()
+		
+		public void finish(Case[] allCases, boolean[] isPassed)
+		{
+			worldFile.delete();
+			journalFile.delete();
+			archiveFile.delete();
+		}// finish()
+	}// inner class RoundTripCheck
+	
+	
+	/**
+	*	Evaluation statistics mode. Each case is adjudicated again, using 
+	*	worklist evaluation, which must pass too; the iterations and 
+	*	evaluate() calls of standard and worklist evaluation are printed.
+	*/
+	private class EvalStatsCheck extends CaseCheck
+	{
+		private final int[] totals = new int[4];
+		
+		public EvalStatsCheck()
+		{
+			System.out.println("\nEvaluation statistics for \""+inFileName+"\":");
+			System.out.println("    [iterations / evaluate() calls]");
+			System.out.println("    standard\tworklist\tcase");
+		}// EvalStatsCheck()
+		
+		public boolean check(Case currentCase, int caseNum)
+		{
+			int[] counts = new int[4];
+			counts[0] = stdJudge.getIterationCount();
+			counts[1] = stdJudge.getEvaluationCount();
+			
+			cleanupWorld(currentCase);
+			setupWorld(currentCase);
+			
+			StdAdjudicator judge = new StdAdjudicator(OrderFactory.getDefault(), currentCase.getCurrentTurnState());
+			judge.setWorklistEvaluation(true);
+			judge.process();
+			
+			counts[2] = judge.getIterationCount();
+			counts[3] = judge.getEvaluationCount();
+			
+			for(int i=0; i<totals.length; i++)
+			{
+				totals[i] += counts[i];
+			}
+			
+			System.out.println("    "+counts[0]+" / "+counts[1]+"\t"+counts[2]+" / "+counts[3]+
+				"\t"+currentCase.getName());
+			
+			return compareState(currentCase, judge.getNextTurnState());
+		}// check()
+		
+		public void finish(Case[] allCases, boolean[] isPassed)
+		{
+			System.out.println("    ----------------------------------------");
+			System.out.println("    "+totals[0]+" / "+totals[1]+"\t"+totals[2]+" / "+totals[3]+"\t[total]");
+		}// finish()
+	}// inner class EvalStatsCheck
+	
+	
 	/** 
 	*	Private inner class, usually contained in Sets, that 
 	*	is comparable, for determining if the end-state is
@@ -963,6 +2151,11 @@ public final class TestSuite
 		private TurnState currentTS = null;
 		private TurnState previousTS = null;
 		
+		// case text; see copy()
+		private final String phaseName;
+		private final List pre, ord, post, supplySCOwnersList, preDislodgedList, 
+			postDislodgedList, orderResultList;
+		
 		// tsTemplate: template turnstate to create the current, and (if needed) previous
 		// turnstates.
 		public Case(String name, String phaseName, List pre, List ord, 
@@ -970,6 +2163,15 @@ public final class TestSuite
 					List postDislodgedList, List orderResultList)
 		{
 			this.name = name;
+			this.phaseName = phaseName;
+			this.pre = pre;
+			this.ord = ord;
+			this.post = post;
+			this.supplySCOwnersList = supplySCOwnersList;
+			this.preDislodgedList = preDislodgedList;
+			this.postDislodgedList = postDislodgedList;
+			this.orderResultList = orderResultList;
+			
 			List temp = new ArrayList(50);
 			Iterator iter = null;
 			of = OrderParser.getInstance();
@@ -1217,6 +2419,17 @@ public final class TestSuite
 		public Phase getPhase() 				{ return phase; }
 		public Order[] getOrders()		 		{ return orders; }
 		public OrderResult[] getResults()		{ return results; }
+		/** 
+		*	Creates an identical Case, with newly parsed Orders. This is used
+		*	when a case is adjudicated more than once, since Orders retain 
+		*	some state (e.g., convoy intent) once they have been adjudicated.
+		*/
+		public Case copy()
+		{
+			return new Case(name, phaseName, pre, ord, post, supplySCOwnersList, 
+				preDislodgedList, postDislodgedList, orderResultList);
+		}// copy()
+		
 		public TurnState getCurrentTurnState() 			{ return currentTS; }
 		public TurnState getPreviousTurnState() 		{ return previousTS; }
 		
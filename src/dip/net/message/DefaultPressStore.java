@@ -36,8 +36,10 @@ import java.util.ArrayList;
 *	Support for the retrieval of select messages is not yet specified.
 *	
 */
-public class DefaultPressStore implements PressStore
+public class DefaultPressStore implements PressStore, java.io.Serializable
 {
+	private static final long serialVersionUID = 1L;
+	
 	// serialized fields
 	protected List messages;
 	
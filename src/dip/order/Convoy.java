@@ -320,7 +320,7 @@ public class Convoy extends Order
 			if(!foundMatchingMove)
 			{
 				thisOS.setEvalState(Tristate.FAILURE);
-				adjudicator.addResult(thisOS, ResultType.FAILURE, Utils.getLocalString(CONVOY_VER_NOMOVE));
+				adjudicator.addResult(thisOS, ResultType.FAILURE, CONVOY_VER_NOMOVE, null);
 			}
 		}
 		
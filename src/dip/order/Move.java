@@ -635,13 +635,13 @@ public class Move extends Order
 							{
 								// we don't fail, but mention that there is no convoy route. (text order result)
 								_isConvoyIntent = false;
-								adjudicator.addResult(thisOS, Utils.getLocalString(MOVE_VER_NO_ROUTE));
+								adjudicator.addResult(thisOS, ResultType.TEXT, MOVE_VER_NO_ROUTE, null);
 							}
 							else
 							{
 								// all paths failed.
 								thisOS.setEvalState(Tristate.FAILURE);
-								adjudicator.addResult(thisOS, ResultType.FAILURE, Utils.getLocalString(MOVE_VER_NO_ROUTE));
+								adjudicator.addResult(thisOS, ResultType.FAILURE, MOVE_VER_NO_ROUTE, null);
 							}
 						}
 					}
@@ -657,12 +657,12 @@ public class Move extends Order
 							if(isViaConvoy() && _hasLandRoute)
 							{
 								_isConvoyIntent = false;
-								adjudicator.addResult(thisOS, Utils.getLocalString(MOVE_VER_NO_ROUTE));
+								adjudicator.addResult(thisOS, ResultType.TEXT, MOVE_VER_NO_ROUTE, null);
 							}
 							else
 							{
 								thisOS.setEvalState(Tristate.FAILURE);
-								adjudicator.addResult(thisOS, ResultType.FAILURE, Utils.getLocalString(MOVE_VER_NO_ROUTE));
+								adjudicator.addResult(thisOS, ResultType.FAILURE, MOVE_VER_NO_ROUTE, null);
 							}
 						}
 					}
@@ -681,7 +681,8 @@ public class Move extends Order
 					final Province destProv = getDest().getProvince();
 					final Position pos = adjudicator.getTurnState().getPosition();
 					Path.FAPEvaluator evaluator = new Path.FleetFAPEvaluator(pos);
-					Province[][] paths = Path.findAllSeaPaths(evaluator, srcProv, destProv);
+					Province[][] paths = Path.findAllSeaPaths(adjudicator.getTurnState().getWorld().getMap(),
+						evaluator, srcProv, destProv);
 					
 					// now, we need to evaluate each path, to see if that province
 					// has a fleet of the same power as this order in any legal path.
@@ -692,7 +693,7 @@ public class Move extends Order
 						if(p != null)
 						{
 							_isConvoyIntent = true;
-							adjudicator.addResult(thisOS, ResultType.TEXT, Utils.getLocalString(MOVE_VER_CONVOY_INTENT, p));
+							adjudicator.addResult(thisOS, ResultType.TEXT, MOVE_VER_CONVOY_INTENT, new Object[] {p});
 							break;
 						}
 					}
@@ -1069,7 +1070,7 @@ public class Move extends Order
 				{
 					// 2.a
 					thisOS.setEvalState(Tristate.FAILURE);
-					adjudicator.addResult(thisOS, ResultType.FAILURE, Utils.getLocalString(MOVE_EVAL_BAD_ROUTE));
+					adjudicator.addResult(thisOS, ResultType.FAILURE, MOVE_EVAL_BAD_ROUTE, null);
 					return;
 				}
 				else if(convoyPathResult == Tristate.UNCERTAIN)
@@ -1159,7 +1160,7 @@ public class Move extends Order
 					Log.println("    -- they're better than us!");
 					isBetterThanAllOtherMoves = false;
 					thisOS.setEvalState(Tristate.FAILURE);
-					adjudicator.addResult(thisOS, ResultType.FAILURE, Utils.getLocalString(MOVE_FAILED));
+					adjudicator.addResult(thisOS, ResultType.FAILURE, MOVE_FAILED, null);
 					return;
 				}
 				else // other order is UNCERTAIN or FAILURE eval state
@@ -1272,7 +1273,7 @@ public class Move extends Order
 						if( !isBwoss || isDestSamePower(hthOS) )
 						{
 							thisOS.setEvalState(Tristate.FAILURE); // we fail--no self dislodgement!
-							adjudicator.addResult(thisOS, ResultType.FAILURE, Utils.getLocalString(MOVE_FAILED_NO_SELF_DISLODGE));
+							adjudicator.addResult(thisOS, ResultType.FAILURE, MOVE_FAILED_NO_SELF_DISLODGE, null);
 						}
 						else
 						{
@@ -1339,7 +1340,7 @@ public class Move extends Order
 							{
 								Log.println("           and failed, so we can't self-dislodged!.");
 								thisOS.setEvalState(Tristate.FAILURE);
-								adjudicator.addResult(thisOS, ResultType.FAILURE, Utils.getLocalString(MOVE_FAILED_NO_SELF_DISLODGE));
+								adjudicator.addResult(thisOS, ResultType.FAILURE, MOVE_FAILED_NO_SELF_DISLODGE, null);
 							}
 						}
 						else
@@ -1374,7 +1375,7 @@ public class Move extends Order
 							{
 								thisOS.setEvalState(Tristate.FAILURE);
 								Log.println("       Failed. (not better w/o self support)");
-								adjudicator.addResult(thisOS, ResultType.FAILURE, Utils.getLocalString(MOVE_FAILED));
+								adjudicator.addResult(thisOS, ResultType.FAILURE, MOVE_FAILED, null);
 							}
 						}
 					}
@@ -1389,7 +1390,7 @@ public class Move extends Order
 						if(!isBwoss || isDestSamePower(destOS))
 						{
 							thisOS.setEvalState(Tristate.FAILURE); 
-							adjudicator.addResult(thisOS, ResultType.FAILURE, Utils.getLocalString(MOVE_FAILED_NO_SELF_DISLODGE));
+							adjudicator.addResult(thisOS, ResultType.FAILURE, MOVE_FAILED_NO_SELF_DISLODGE, null);
 						}
 						else
 						{
@@ -0,0 +1,285 @@
+//
+//  @(#)OrderCodec.java		10/2026
+//
+//  Copyright 2026 the jDip development team. All rights reserved.
+//  Use is subject to license terms.
+//
+//
+//  This program is free software; you can redistribute it and/or modify
+//  it under the terms of the GNU General Public License as published by
+//  the Free Software Foundation; either version 2 of the License, or
+//  (at your option) any later version.
+//
+//  This program is distributed in the hope that it will be useful,
+//  but WITHOUT ANY WARRANTY; without even the implied warranty of
+//  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//  GNU General Public License for more details.
+//
+//  You should have received a copy of the GNU General Public License
+//  along with this program; if not, write to the Free Software
+//  Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+//  Or from http://www.gnu.org/
+//
+package dip.order;
+
+import dip.world.GameDataInput;
+import dip.world.GameDataOutput;
+import dip.world.Province;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+*	Hand-written serialization of the standard Order classes, for the
+*	binary World format. Fields are written directly, as primitives
+*	(Powers, Locations, etc. as indices into the Map; see GameDataOutput),
+*	and Orders are created directly when read, without reflection.
+*	<p>
+*	Only the standard Order classes themselves (not subclasses) are
+*	written by OrderCodec; see isCodable(). Each Order is written as its
+*	type (as returned by getType()), then its fields; the type must be
+*	given to read().
+*/
+public final class OrderCodec
+{
+	// types; these must not be changed, as they are written.
+	private static final int HOLD			= 1;
+	private static final int MOVE			= 2;
+	private static final int SUPPORT		= 3;
+	private static final int CONVOY			= 4;
+	private static final int RETREAT		= 5;
+	private static final int DISBAND		= 6;
+	private static final int BUILD			= 7;
+	private static final int REMOVE			= 8;
+	private static final int WAIVE			= 9;
+	private static final int DEFINE_STATE	= 10;
+	
+	// Move flags
+	private static final int FLAG_VIA_CONVOY			= 0x01;
+	private static final int FLAG_CONVOY_INTENT			= 0x02;
+	private static final int FLAG_ADJ_WITH_CONVOY		= 0x04;
+	private static final int FLAG_FMT_ADJ_WITH_CONVOY	= 0x08;
+	private static final int FLAG_LAND_ROUTE			= 0x10;
+	
+	
+	/** OrderCodec cannot be instantiated. */
+	private OrderCodec()
+	{
+	}// OrderCodec()
+	
+	
+	/** 
+	*	Returns the type of the given object, if it can be written 
+	*	by OrderCodec; otherwise, 0. 
+	*/
+	public static int getType(Object obj)
+	{
+		if(obj == null)
+		{
+			return 0;
+		}
+		
+		final Class c = obj.getClass();
+		if(c == Hold.class)				{ return HOLD; }
+		else if(c == Move.class)		{ return MOVE; }
+		else if(c == Support.class)		{ return SUPPORT; }
+		else if(c == Convoy.class)		{ return CONVOY; }
+		else if(c == Retreat.class)		{ return RETREAT; }
+		else if(c == Disband.class)		{ return DISBAND; }
+		else if(c == Build.class)		{ return BUILD; }
+		else if(c == Remove.class)		{ return REMOVE; }
+		else if(c == Waive.class)		{ return WAIVE; }
+		else if(c == DefineState.class)	{ return DEFINE_STATE; }
+		
+		return 0;
+	}// getType()
+	
+	
+	/** Returns true if the given object can be written by OrderCodec. */
+	public static boolean isCodable(Object obj)
+	{
+		return (getType(obj) != 0);
+	}// isCodable()
+	
+	
+	/** 
+	*	Writes the fields of an Order (but not its type). 
+	*
+	*	@throws IllegalArgumentException if the Order cannot be written
+	*/
+	public static void write(GameDataOutput out, Order order)
+	throws IOException
+	{
+		final int type = getType(order);
+		if(type == 0)
+		{
+			throw new IllegalArgumentException("cannot write: "+order);
+		}
+		
+		out.writePower(order.power);
+		out.writeLocation(order.src);
+		out.writeUnitType(order.srcUnitType);
+		
+		switch(type)
+		{
+			case MOVE:
+			case RETREAT:
+				writeMove(out, (Move) order);
+				break;
+			case SUPPORT:
+				Support support = (Support) order;
+				out.writeLocation(support.supSrc);
+				out.writeLocation(support.supDest);
+				out.writeUnitType(support.supUnitType);
+				out.writePower(support.supPower);
+				out.writeObject(support.narrowingOrder);
+				break;
+			case CONVOY:
+				Convoy convoy = (Convoy) order;
+				out.writeLocation(convoy.convoySrc);
+				out.writeLocation(convoy.convoyDest);
+				out.writeUnitType(convoy.convoyUnitType);
+				out.writePower(convoy.convoyPower);
+				break;
+			default:
+				// no other fields
+				break;
+		}
+	}// write()
+	
+	
+	/** 
+	*	Reads an Order of the given type, written by write(). 
+	*
+	*	@throws StreamCorruptedException if the type is not valid
+	*/
+	public static Order read(GameDataInput in, int type)
+	throws IOException, ClassNotFoundException
+	{
+		final Order order;
+		switch(type)
+		{
+			case HOLD:			order = new Hold();			break;
+			case MOVE:			order = new Move();			break;
+			case SUPPORT:		order = new Support();		break;
+			case CONVOY:		order = new Convoy();		break;
+			case RETREAT:		order = new Retreat();		break;
+			case DISBAND:		order = new Disband();		break;
+			case BUILD:			order = new Build();		break;
+			case REMOVE:		order = new Remove();		break;
+			case WAIVE:			order = new Waive();		break;
+			case DEFINE_STATE:	order = new DefineState();	break;
+			default:
+				throw new StreamCorruptedException("bad Order type: "+type);
+		}
+		
+		order.power = in.readPower();
+		order.src = in.readLocation();
+		order.srcUnitType = in.readUnitType();
+		
+		switch(type)
+		{
+			case MOVE:
+			case RETREAT:
+				readMove(in, (Move) order);
+				break;
+			case SUPPORT:
+				Support support = (Support) order;
+				support.supSrc = in.readLocation();
+				support.supDest = in.readLocation();
+				support.supUnitType = in.readUnitType();
+				support.supPower = in.readPower();
+				support.narrowingOrder = (Order) in.readObject();
+				break;
+			case CONVOY:
+				Convoy convoy = (Convoy) order;
+				convoy.convoySrc = in.readLocation();
+				convoy.convoyDest = in.readLocation();
+				convoy.convoyUnitType = in.readUnitType();
+				convoy.convoyPower = in.readPower();
+				break;
+			default:
+				// no other fields
+				break;
+		}
+		
+		return order;
+	}// read()
+	
+	
+	/** Writes the fields of a Move (or Retreat) */
+	private static void writeMove(GameDataOutput out, Move move)
+	throws IOException
+	{
+		out.writeLocation(move.dest);
+		
+		int flags = 0;
+		flags |= (move._isViaConvoy) ? FLAG_VIA_CONVOY : 0;
+		flags |= (move._isConvoyIntent) ? FLAG_CONVOY_INTENT : 0;
+		flags |= (move._isAdjWithPossibleConvoy) ? FLAG_ADJ_WITH_CONVOY : 0;
+		flags |= (move._fmtIsAdjWithConvoy) ? FLAG_FMT_ADJ_WITH_CONVOY : 0;
+		flags |= (move._hasLandRoute) ? FLAG_LAND_ROUTE : 0;
+		out.writeByte(flags);
+		
+		// convoy routes: -1 if none
+		final List routes = move.convoyRoutes;
+		if(routes == null)
+		{
+			out.writeShort(-1);
+			return;
+		}
+		
+		out.writeShort(routes.size());
+		for(int i=0; i<routes.size(); i++)
+		{
+			final Province[] route = (Province[]) routes.get(i);
+			out.writeShort(route.length);
+			for(int j=0; j<route.length; j++)
+			{
+				out.writeProvince(route[j]);
+			}
+		}
+	}// writeMove()
+	
+	
+	/** Reads the fields of a Move (or Retreat) */
+	private static void readMove(GameDataInput in, Move move)
+	throws IOException
+	{
+		move.dest = in.readLocation();
+		
+		final int flags = in.readUnsignedByte();
+		move._isViaConvoy = ((flags & FLAG_VIA_CONVOY) != 0);
+		move._isConvoyIntent = ((flags & FLAG_CONVOY_INTENT) != 0);
+		move._isAdjWithPossibleConvoy = ((flags & FLAG_ADJ_WITH_CONVOY) != 0);
+		move._fmtIsAdjWithConvoy = ((flags & FLAG_FMT_ADJ_WITH_CONVOY) != 0);
+		move._hasLandRoute = ((flags & FLAG_LAND_ROUTE) != 0);
+		
+		final int nRoutes = in.readShort();
+		if(nRoutes < 0)
+		{
+			return;
+		}
+		
+		move.convoyRoutes = new ArrayList(nRoutes);
+		for(int i=0; i<nRoutes; i++)
+		{
+			final int length = in.readShort();
+			if(length < 0)
+			{
+				throw new StreamCorruptedException("bad convoy route length: "+length);
+			}
+			
+			final Province[] route = new Province[length];
+			for(int j=0; j<length; j++)
+			{
+				route[j] = in.readProvince();
+			}
+			
+			move.convoyRoutes.add(route);
+		}
+	}// readMove()
+	
+}// class OrderCodec
@@ -1005,7 +1005,7 @@ public class OrderParser
 		}
 		else if(provinces.length == 1)
 		{
-			return new Location(provinces[0], coast);
+			return map.getLocation(provinces[0], coast);
 		}
 		else if(provinces.length == 2)
 		{
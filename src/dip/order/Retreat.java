@@ -260,7 +260,7 @@ public class Retreat extends Move
 							// only can be less when considering DPBs
 							Log.println("    FAILURE! (<)", depMoveOS.getOrder());
 							evalResult = Tristate.FAILURE;
-							adjudicator.addResult(thisOS, ResultType.FAILURE, Utils.getLocalString(RETREAT_FAIL_DPB));
+							adjudicator.addResult(thisOS, ResultType.FAILURE, RETREAT_FAIL_DPB, null);
 							isStrongerThanAllOthers = false;
 							break;
 						}
@@ -269,7 +269,7 @@ public class Retreat extends Move
 							// the usual case
 							Log.println("    FAILURE! (==)", depMoveOS.getOrder());
 							evalResult = Tristate.FAILURE;
-							adjudicator.addResult(thisOS, ResultType.FAILURE, Utils.getLocalString(RETREAT_FAIL_MULTIPLE));
+							adjudicator.addResult(thisOS, ResultType.FAILURE, RETREAT_FAIL_MULTIPLE, null);
 							isStrongerThanAllOthers = false;
 							break;
 						}
@@ -376,7 +376,7 @@ public class Support extends Order
 	*/
 	public void verify(Adjudicator adjudicator)
 	{
-		String failureText = null;					
+		String failureKey = null;	// il8n key of failure message
 		boolean isMatched = false;
 		
 		final OrderState matchingOS = adjudicator.findOrderStateBySrc(getSupportedSrc());
@@ -384,13 +384,13 @@ public class Support extends Order
 		
 		if(matchingOS == null)
 		{
-			failureText = Utils.getLocalString(SUPPORT_VER_FAILTEXT);
+			failureKey = SUPPORT_VER_FAILTEXT;
 		}
 		else if(isSupportingHold())
 		{
 			// Support: supporting a unit that is not moving (Hold/Support/Convoy)
 			//
-			failureText = Utils.getLocalString(SUPPORT_VER_MOVE_ERR);
+			failureKey = SUPPORT_VER_MOVE_ERR;
 			
 			if( !(matchingOS.getOrder() instanceof Move) )
 			{
@@ -400,7 +400,7 @@ public class Support extends Order
 		else
 		{
 			// Support: supporting a Move
-			failureText = Utils.getLocalString(SUPPORT_VER_NOMATCH);
+			failureKey = SUPPORT_VER_NOMATCH;
 			if(matchingOS.getOrder() instanceof Move)
 			{
 				Move matchingMove = (Move) matchingOS.getOrder();
@@ -416,7 +416,7 @@ public class Support extends Order
 						}
 						else
 						{
-							failureText = Utils.getLocalString(SUPPORT_VER_MOVE_BADCOAST);
+							failureKey = SUPPORT_VER_MOVE_BADCOAST;
 						}
 					}
 					else
@@ -430,7 +430,7 @@ public class Support extends Order
 		if(!isMatched)
 		{
 			thisOS.setEvalState(Tristate.FAILURE);
-			adjudicator.addResult(thisOS, ResultType.FAILURE, failureText);
+			adjudicator.addResult(thisOS, ResultType.FAILURE, failureKey, null);
 		}
 		
 		// we have been verified.
@@ -721,11 +721,11 @@ public class Support extends Order
 				if(mod < 0){
 					Log.println(" Unable to support through difficult passable border");
 					adjudicator.addResult(thisOS, ResultType.FAILURE, 
-							Utils.getLocalString(SUPPORT_DIFF_PASS));		
+							SUPPORT_DIFF_PASS, null);		
 				} else {
 					Log.println(" ** support cut by move from ", cuttingMove.getSource());				
 					adjudicator.addResult(thisOS, ResultType.FAILURE, 
-							Utils.getLocalString(SUPPORT_EVAL_CUT, cuttingMove.getSource().getProvince()));
+							SUPPORT_EVAL_CUT, new Object[] {cuttingMove.getSource().getProvince()});
 				}
 				
 			}
@@ -35,6 +35,8 @@ import java.io.Serializable;
 */
 public class OrderResult extends Result
 {
+	private static final long serialVersionUID = 6943183108907844824L;
+	
 	// instance fields
 	/** The ResultType */
 	protected ResultType resultType = null;
@@ -73,6 +75,19 @@ public class OrderResult extends Result
 		this.order = order;
 	}// OrderResult()
 	
+	
+	/** 
+	*	Create an OrderResult with the given Order, ResultType, and a deferred 
+	*	message; the message is the il8n resource for the given key, formatted
+	*	with the given arguments (which may be null). A null key indicates 
+	*	no message. A null Order or ResultType is not permissable.
+	*/
+	public OrderResult(Orderable order, ResultType type, String key, Object[] args)
+	{
+		this(order, type, null);
+		setMessage(key, args);
+	}// OrderResult()
+	
 	/** Get the ResultType. Never returns null. */
 	public ResultType getResultType()
 	{
@@ -95,7 +110,7 @@ public class OrderResult extends Result
 		sb.append("] [order: ");
 		sb.append(order);
 		sb.append("] ");
-		sb.append(message);
+		sb.append(getMessageText());
 		return sb.toString();
 	}// toString()
 	
@@ -171,7 +186,7 @@ public class OrderResult extends Result
 			}
 			
 			// 4: compare message 
-			return this.message.compareTo(result.message);
+			return this.getMessageText().compareTo(result.getMessageText());
 		}
 		else
 		{
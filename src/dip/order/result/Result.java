@@ -24,7 +24,10 @@ package dip.order.result;
 import dip.order.OrderFormat;
 import dip.order.OrderFormatOptions;
 import dip.world.Power;
+import dip.misc.Utils;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 
 /**
@@ -34,10 +37,16 @@ import java.io.Serializable;
 *		Result and subclasses have a toString() method, which is intended
 *		for debugging. To obtain a properly-formatted localized message, use
 *		getMessage().
+*		<p>
+*		Results may be created with an il8n resource key and arguments, 
+*		rather than a message. The message is then not formatted until 
+*		it is first required (or the Result is serialized). This is 
+*		considerably faster when the message is never used.
 */
 public class Result extends Object implements Serializable, Comparable
 {
 	// constants
+	private static final long serialVersionUID = 4358973618544082588L;
 	private static final OrderFormatOptions DEFAULT_OFO = OrderFormatOptions.createDefault();
 	
 	// instance variables
@@ -46,6 +55,11 @@ public class Result extends Object implements Serializable, Comparable
 	/** The Message text; this must <b>never</b> be null */
 	protected String message = "";	// message is never null
 	
+	// deferred message: il8n key and arguments (args may be null). 
+	// Once formatted, the key and args are set to null.
+	private transient String messageKey = null;
+	private transient Object[] messageArgs = null;
+	
 	/** no-arg constructor for subclasses */
 	protected Result()
 	{
@@ -76,6 +90,51 @@ public class Result extends Object implements Serializable, Comparable
 		this(null, message);
 	}// Result()
 	
+	
+	/**
+	*	Create a Result, for the given Power (or null, if for all Powers),
+	*	with a deferred message. The message is the il8n resource for the 
+	*	given key, formatted with the given arguments (which may be null), 
+	*	and is not formatted until required.
+	*/
+	public Result(Power power, String key, Object[] args)
+	{
+		this.power = power;
+		setMessage(key, args);
+	}// Result()
+	
+	
+	/**
+	*	Sets a deferred message. The message is the il8n resource for
+	*	the given key, formatted with the given arguments (which may be 
+	*	null). A null key indicates that there is no message.
+	*/
+	protected final synchronized void setMessage(String key, Object[] args)
+	{
+		messageKey = key;
+		messageArgs = args;
+		message = "";
+	}// setMessage()
+	
+	
+	/**
+	*	Returns the message text, formatting a deferred message if 
+	*	required. Never returns null. Subclasses should use this, 
+	*	rather than accessing the <code>message</code> field directly.
+	*/
+	protected final synchronized String getMessageText()
+	{
+		if(messageKey != null)
+		{
+			message = (messageArgs == null) ? Utils.getLocalString(messageKey) 
+				: Utils.getLocalString(messageKey, messageArgs);
+			messageKey = null;
+			messageArgs = null;
+		}
+		
+		return message;
+	}// getMessageText()
+	
 	/** Get the Power (or null if none) for whom this result is intended. */
 	public Power getPower() 			{ return power; }
 	
@@ -102,7 +161,7 @@ public class Result extends Object implements Serializable, Comparable
 	*/
 	public String getMessage(OrderFormatOptions ofo)
 	{
-		return message;
+		return getMessageText();
 	}// getMessage()
 	
 	/** For debugging. Use getPower() and getMessage() for general use. */
@@ -120,7 +179,7 @@ public class Result extends Object implements Serializable, Comparable
 		}
 		
 		sb.append(": ");
-		sb.append(message);
+		sb.append(getMessageText());
 		return sb.toString();
 	}// toString()
 	
@@ -156,8 +215,17 @@ public class Result extends Object implements Serializable, Comparable
 		}
 		
 		// finally: compare messages
-		return ((compareResult != 0) ? compareResult : message.compareTo(result.message));
+		return ((compareResult != 0) ? compareResult : getMessageText().compareTo(result.getMessageText()));
 	}// compareTo()
 	
 	
+	/** Deferred messages are formatted before serialization. */
+	private void writeObject(ObjectOutputStream out)
+	throws IOException
+	{
+		getMessageText();
+		out.defaultWriteObject();
+	}// writeObject()
+	
+	
 }// class Result
@@ -0,0 +1,407 @@
+//
+//  @(#)ResultCodec.java		10/2026
+//
+//  Copyright 2026 the jDip development team. All rights reserved.
+//  Use is subject to license terms.
+//
+//
+//  This program is free software; you can redistribute it and/or modify
+//  it under the terms of the GNU General Public License as published by
+//  the Free Software Foundation; either version 2 of the License, or
+//  (at your option) any later version.
+//
+//  This program is distributed in the hope that it will be useful,
+//  but WITHOUT ANY WARRANTY; without even the implied warranty of
+//  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//  GNU General Public License for more details.
+//
+//  You should have received a copy of the GNU General Public License
+//  along with this program; if not, write to the Free Software
+//  Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+//  Or from http://www.gnu.org/
+//
+package dip.order.result;
+
+import dip.order.Orderable;
+import dip.world.GameDataInput;
+import dip.world.GameDataOutput;
+import dip.world.Location;
+import dip.world.Province;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.util.Map;
+
+/**
+*	Hand-written serialization of the standard Result classes, for the
+*	binary World format; see dip.order.OrderCodec. Deferred messages are
+*	formatted before they are written (as when serialized). Orders are
+*	written with writeObject(), so that an Order referred to by several
+*	Results (and order lists) is written only once.
+*	<p>
+*	Only the standard Result classes themselves (not subclasses), with a
+*	standard ResultType, are written by ResultCodec; see isCodable().
+*	The same Results can also be copied, with their Orders replaced 
+*	(see copy()); this is used by dip.process.AdjudicationCache.
+*/
+public final class ResultCodec
+{
+	// types; these must not be changed, as they are written.
+	private static final int RESULT					= 1;
+	private static final int ORDER_RESULT			= 2;
+	private static final int BOUNCED				= 3;
+	private static final int CONVOY_PATH			= 4;
+	private static final int DEPENDENT_MOVE_FAILED	= 5;
+	private static final int DISLODGED				= 6;
+	private static final int SUBSTITUTED			= 7;
+	private static final int TIME					= 8;
+	
+	// ResultTypes, by written index; the order must not be changed.
+	private static final OrderResult.ResultType[] RESULT_TYPES = {
+		OrderResult.ResultType.VALIDATION_FAILURE,
+		OrderResult.ResultType.SUCCESS,
+		OrderResult.ResultType.FAILURE,
+		OrderResult.ResultType.DISLODGED,
+		OrderResult.ResultType.CONVOY_PATH_TAKEN,
+		OrderResult.ResultType.TEXT,
+		OrderResult.ResultType.SUBSTITUTED
+	};
+	
+	
+	/** ResultCodec cannot be instantiated. */
+	private ResultCodec()
+	{
+	}// ResultCodec()
+	
+	
+	/** 
+	*	Returns the type of the given object, if it can be written 
+	*	by ResultCodec; otherwise, 0. 
+	*/
+	public static int getType(Object obj)
+	{
+		if(obj == null)
+		{
+			return 0;
+		}
+		
+		final Class c = obj.getClass();
+		if(c == Result.class)		{ return RESULT; }
+		else if(c == TimeResult.class)	{ return TIME; }
+		else if(!(obj instanceof OrderResult))	{ return 0; }
+		
+		final OrderResult or = (OrderResult) obj;
+		if(getResultTypeIndex(or.resultType) < 0)
+		{
+			return 0;
+		}
+		
+		if(c == OrderResult.class)					{ return ORDER_RESULT; }
+		else if(c == SubstitutedResult.class)		{ return SUBSTITUTED; }
+		else if(or.order == null)					{ return 0; }
+		else if(c == BouncedResult.class)			{ return BOUNCED; }
+		else if(c == ConvoyPathResult.class)		{ return CONVOY_PATH; }
+		else if(c == DependentMoveFailedResult.class)	{ return DEPENDENT_MOVE_FAILED; }
+		else if(c == DislodgedResult.class)			{ return DISLODGED; }
+		
+		return 0;
+	}// getType()
+	
+	
+	/** Returns true if the given object can be written by ResultCodec. */
+	public static boolean isCodable(Object obj)
+	{
+		return (getType(obj) != 0);
+	}// isCodable()
+	
+	
+	/** 
+	*	Writes the fields of a Result (but not its type). 
+	*
+	*	@throws IllegalArgumentException if the Result cannot be written
+	*/
+	public static void write(GameDataOutput out, Result result)
+	throws IOException
+	{
+		final int type = getType(result);
+		if(type == 0)
+		{
+			throw new IllegalArgumentException("cannot write: "+result);
+		}
+		
+		out.writePower(result.power);
+		out.writeObject(result.getMessageText());
+		
+		if(type == TIME)
+		{
+			out.writeLong(((TimeResult) result).getGMTMillis());
+			return;
+		}
+		else if(type == RESULT)
+		{
+			return;
+		}
+		
+		final OrderResult or = (OrderResult) result;
+		out.writeByte(getResultTypeIndex(or.resultType));
+		out.writeObject(or.order);
+		
+		switch(type)
+		{
+			case BOUNCED:
+				BouncedResult br = (BouncedResult) result;
+				out.writeProvince(br.getBouncer());
+				out.writeInt(br.getAttackStrength());
+				out.writeInt(br.getDefenseStrength());
+				break;
+			case CONVOY_PATH:
+				Province[] path = ((ConvoyPathResult) result).getConvoyPath();
+				out.writeShort(path.length);
+				for(int i=0; i<path.length; i++)
+				{
+					out.writeProvince(path[i]);
+				}
+				break;
+			case DEPENDENT_MOVE_FAILED:
+				out.writeObject(((DependentMoveFailedResult) result).getDependentOrder());
+				break;
+			case DISLODGED:
+				DislodgedResult dr = (DislodgedResult) result;
+				Location[] locs = dr.getRetreatLocations();
+				out.writeShort((locs == null) ? -1 : locs.length);
+				for(int i=0; locs != null && i<locs.length; i++)
+				{
+					out.writeLocation(locs[i]);
+				}
+				out.writeProvince(dr.getDislodger());
+				out.writeInt(dr.getAttackStrength());
+				out.writeInt(dr.getDefenseStrength());
+				break;
+			case SUBSTITUTED:
+				out.writeObject(((SubstitutedResult) result).getSubstitutedOrder());
+				break;
+			default:
+				// no other fields
+				break;
+		}
+	}// write()
+	
+	
+	/** 
+	*	Reads a Result of the given type, written by write(). 
+	*
+	*	@throws StreamCorruptedException if the data is not valid
+	*/
+	public static Result read(GameDataInput in, int type)
+	throws IOException, ClassNotFoundException
+	{
+		final dip.world.Power power = in.readPower();
+		final String message = (String) in.readObject();
+		
+		final Result result;
+		if(type == RESULT)
+		{
+			result = new Result(power, (String) null);
+		}
+		else if(type == TIME)
+		{
+			result = new TimeResult(power, message, in.readLong());
+		}
+		else
+		{
+			final int rtIdx = in.readUnsignedByte();
+			if(rtIdx >= RESULT_TYPES.length)
+			{
+				throw new StreamCorruptedException("bad ResultType: "+rtIdx);
+			}
+			
+			final Orderable order = (Orderable) in.readObject();
+			result = readOrderResult(in, type, order);
+			((OrderResult) result).resultType = RESULT_TYPES[rtIdx];
+			((OrderResult) result).order = order;
+		}
+		
+		result.power = power;
+		result.message = message;
+		return result;
+	}// read()
+	
+	
+	/** Reads the fields of an OrderResult (or subclass) after the Order */
+	private static OrderResult readOrderResult(GameDataInput in, int type, Orderable order)
+	throws IOException, ClassNotFoundException
+	{
+		if(type != ORDER_RESULT && type != SUBSTITUTED && order == null)
+		{
+			throw new StreamCorruptedException("null Order");
+		}
+		
+		switch(type)
+		{
+			case ORDER_RESULT:
+				return new OrderResult();
+			case BOUNCED:
+				BouncedResult br = new BouncedResult(order);
+				br.setBouncer(in.readProvince());
+				br.setAttackStrength(readStrength(in));
+				br.setDefenseStrength(readStrength(in));
+				return br;
+			case CONVOY_PATH:
+				final int pathLength = in.readShort();
+				if(pathLength < 3)
+				{
+					throw new StreamCorruptedException("bad convoy path length: "+pathLength);
+				}
+				
+				Province[] path = new Province[pathLength];
+				for(int i=0; i<path.length; i++)
+				{
+					path[i] = in.readProvince();
+				}
+				return new ConvoyPathResult(order, path);
+			case DEPENDENT_MOVE_FAILED:
+				return new DependentMoveFailedResult(order, readOrder(in));
+			case DISLODGED:
+				final int nLocs = in.readShort();
+				Location[] locs = null;
+				if(nLocs >= 0)
+				{
+					locs = new Location[nLocs];
+					for(int i=0; i<locs.length; i++)
+					{
+						locs[i] = in.readLocation();
+					}
+				}
+				DislodgedResult dr = new DislodgedResult(order, locs);
+				dr.setDislodger(in.readProvince());
+				dr.setAttackStrength(readStrength(in));
+				dr.setDefenseStrength(readStrength(in));
+				return dr;
+			case SUBSTITUTED:
+				return new SubstitutedResult(order, readOrder(in), (String) null);
+			default:
+				throw new StreamCorruptedException("bad Result type: "+type);
+		}
+	}// readOrderResult()
+	
+	
+	/**
+	*	Copies a Result, replacing each Order it refers to with the Order
+	*	that it is mapped to (by identity) in the given Map; Orders that are
+	*	not mapped are kept. Deferred messages are formatted, and the 
+	*	formatted message is copied. Results that do not refer to an Order
+	*	(Result and TimeResult) are returned, rather than copied.
+	*
+	*	@throws IllegalArgumentException if the Result cannot be written
+	*/
+	public static Result copy(Result result, Map orderMap)
+	{
+		final int type = getType(result);
+		if(type == 0)
+		{
+			throw new IllegalArgumentException("cannot copy: "+result);
+		}
+		else if(type == RESULT || type == TIME)
+		{
+			return result;
+		}
+		
+		final OrderResult or = (OrderResult) result;
+		final Orderable order = getMappedOrder(or.order, orderMap);
+		
+		final OrderResult copy;
+		switch(type)
+		{
+			case ORDER_RESULT:
+				copy = new OrderResult();
+				break;
+			case BOUNCED:
+				BouncedResult br = (BouncedResult) result;
+				BouncedResult brCopy = new BouncedResult(order);
+				brCopy.setBouncer(br.getBouncer());
+				brCopy.setAttackStrength(br.getAttackStrength());
+				brCopy.setDefenseStrength(br.getDefenseStrength());
+				copy = brCopy;
+				break;
+			case CONVOY_PATH:
+				copy = new ConvoyPathResult(order, ((ConvoyPathResult) result).getConvoyPath());
+				break;
+			case DEPENDENT_MOVE_FAILED:
+				copy = new DependentMoveFailedResult(order, getMappedOrder(
+					((DependentMoveFailedResult) result).getDependentOrder(), orderMap));
+				break;
+			case DISLODGED:
+				DislodgedResult dr = (DislodgedResult) result;
+				DislodgedResult drCopy = new DislodgedResult(order, dr.getRetreatLocations());
+				drCopy.setDislodger(dr.getDislodger());
+				drCopy.setAttackStrength(dr.getAttackStrength());
+				drCopy.setDefenseStrength(dr.getDefenseStrength());
+				copy = drCopy;
+				break;
+			case SUBSTITUTED:
+				copy = new SubstitutedResult(order, getMappedOrder(
+					((SubstitutedResult) result).getSubstitutedOrder(), orderMap), (String) null);
+				break;
+			default:
+				throw new IllegalArgumentException("cannot copy: "+result);
+		}
+		
+		copy.resultType = or.resultType;
+		copy.order = order;
+		copy.power = result.power;
+		copy.message = result.getMessageText();
+		return copy;
+	}// copy()
+	
+	
+	/** The Order mapped to the given Order; the given Order if it is not mapped. */
+	private static Orderable getMappedOrder(Orderable order, Map orderMap)
+	{
+		final Orderable mapped = (Orderable) orderMap.get(order);
+		return (mapped == null) ? order : mapped;
+	}// getMappedOrder()
+	
+	
+	/** Reads a non-null Orderable */
+	private static Orderable readOrder(GameDataInput in)
+	throws IOException, ClassNotFoundException
+	{
+		final Orderable order = (Orderable) in.readObject();
+		if(order == null)
+		{
+			throw new StreamCorruptedException("null Order");
+		}
+		
+		return order;
+	}// readOrder()
+	
+	
+	/** Reads an attack or defense strength (-1 if not set) */
+	private static int readStrength(GameDataInput in)
+	throws IOException
+	{
+		final int value = in.readInt();
+		if(value < -1)
+		{
+			throw new StreamCorruptedException("bad strength: "+value);
+		}
+		
+		return value;
+	}// readStrength()
+	
+	
+	/** Index of a standard ResultType; -1 if not standard (or null) */
+	private static int getResultTypeIndex(OrderResult.ResultType rt)
+	{
+		for(int i=0; i<RESULT_TYPES.length; i++)
+		{
+			if(RESULT_TYPES[i] == rt)
+			{
+				return i;
+			}
+		}
+		
+		return -1;
+	}// getResultTypeIndex()
+	
+}// class ResultCodec
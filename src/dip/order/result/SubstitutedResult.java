@@ -36,6 +36,8 @@ import dip.order.Orderable;
 */
 public class SubstitutedResult extends OrderResult
 {
+	private static final long serialVersionUID = 4411332887669500234L;
+	
 	private Orderable newOrder = null;
 	
 	
@@ -64,6 +66,18 @@ public class SubstitutedResult extends OrderResult
 	}// SubstitutedResult()
 	
 	
+	/** 
+	*	Create a SubstitutedResult with a deferred message; the message is the 
+	*	il8n resource for the given key, formatted with the given arguments
+	*	(which may be null). 
+	*/
+	public SubstitutedResult(Orderable oldOrder, Orderable newOrder, String key, Object[] args)
+	{
+		this(oldOrder, newOrder, null);
+		setMessage(key, args);
+	}// SubstitutedResult()
+	
+	
 	/**
 	*	Returns the substituted (new) order that replaces the 
 	*	old order (or no order, if an order was created).
@@ -85,7 +99,7 @@ public class SubstitutedResult extends OrderResult
 		sb.append("] [new order: ");
 		sb.append(newOrder);
 		sb.append("] ");
-		sb.append(message);
+		sb.append(getMessageText());
 		return sb.toString();
 	}// toString()
 }// class SubstitutedResult
@@ -37,6 +37,8 @@ import java.util.Date;
 */
 public class TimeResult extends Result
 {
+	private static final long serialVersionUID = -4100464852508250915L;
+	
 	// instance variables
 	private final long timeStamp;	// milliseconds since midnight, January 1, 1970 UTC.
 	
@@ -55,6 +57,14 @@ public class TimeResult extends Result
 	}// Result()
 	
 	
+	/** A TimeStamped result, with the given timestamp; used by ResultCodec. */
+	TimeResult(Power power, String resource, long timeStamp)
+	{
+		super(power, resource);
+		this.timeStamp = timeStamp;
+	}// TimeResult()
+	
+	
 	/** A TimeStamped result, applicable to all powers. */
 	public TimeResult(String resource)
 	{
@@ -0,0 +1,459 @@
+//
+//  @(#)AdjudicationCache.java	10/2026
+//
+//  Copyright 2026 the jDip development team. All rights reserved.
+//  Use is subject to license terms.
+//
+//
+//  This program is free software; you can redistribute it and/or modify
+//  it under the terms of the GNU General Public License as published by
+//  the Free Software Foundation; either version 2 of the License, or
+//  (at your option) any later version.
+//
+//  This program is distributed in the hope that it will be useful,
+//  but WITHOUT ANY WARRANTY; without even the implied warranty of
+//  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//  GNU General Public License for more details.
+//
+//  You should have received a copy of the GNU General Public License
+//  along with this program; if not, write to the Free Software
+//  Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+//  Or from http://www.gnu.org/
+//
+package dip.process;
+
+import dip.order.OrderFormatOptions;
+import dip.order.Move;
+import dip.order.Orderable;
+import dip.order.result.OrderResult;
+import dip.order.result.Result;
+import dip.order.result.ResultCodec;
+import dip.world.Phase;
+import dip.world.Position;
+import dip.world.TurnState;
+import dip.world.World;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+*	A bounded cache of adjudication results. A StdAdjudicator with a cache
+*	(see StdAdjudicator.setAdjudicationCache()) that is asked to adjudicate
+*	a TurnState identical to one it (or another adjudicator sharing the
+*	cache) has already adjudicated, does not adjudicate it again; instead,
+*	the results and next TurnState are copied from the cache. This is useful
+*	when the same orders are adjudicated repeatedly, for example by "what-if"
+*	queries during AI search, or order previews.
+*	<p>
+*	Entries are keyed by the Zobrist hash of the Position (see
+*	Position.getHash()), the Phase, and a hash of the set of orders (see
+*	getOrderSetHash()). Retreats also depend upon the results of the
+*	previous TurnState (see RetreatChecker), so for a Retreat phase, a 
+*	hash of those results (see getMoveResultsHash()) is also part of the
+*	key. As with any hashed transposition table, different
+*	TurnStates with identical 64-bit hashes are not detected; the probability
+*	of this is negligible. Entries are only used for TurnStates of the same
+*	World, and for adjudicators with the same result options (order format
+*	and minimal results).
+*	<p>
+*	Cached results are copied (see ResultCodec.copy()) so that they refer
+*	to the orders of the TurnState they are added to, rather than to the
+*	equal orders of the TurnState that was adjudicated. Orders created by
+*	the adjudicator (e.g., a Hold for a unit without an order) are not in
+*	any TurnState, and are shared. Adjudications with results that cannot
+*	be copied are not cached.
+*	<p>
+*	When the cache is full, the least-recently used entry is discarded.
+*	<p>
+*	This class is threadsafe; a cache may be shared by several adjudicators.
+*/
+public class AdjudicationCache
+{
+	// instance variables
+	private final int maxSize;
+	private final LinkedHashMap entries;
+	private int nHits = 0;
+	private int nMisses = 0;
+	
+	
+	/** Create an AdjudicationCache that holds at most maxSize entries. */
+	public AdjudicationCache(int maxSize)
+	{
+		if(maxSize < 1)
+		{
+			throw new IllegalArgumentException("maxSize < 1");
+		}
+		
+		this.maxSize = maxSize;
+		this.entries = new LinkedHashMap(16, 0.75f, true)
+		{
+			protected boolean removeEldestEntry(Map.Entry eldest)
+			{
+				return (size() > AdjudicationCache.this.maxSize);
+			}// removeEldestEntry()
+		};
+	}// AdjudicationCache()
+	
+	
+	/**
+	*	Returns a 64-bit hash of an order. Orders that are equal have
+	*	the same hash.
+	*/
+	public static long getOrderHash(Orderable order)
+	{
+		// the full text describes all parameters of an order
+		// (including explicit convoy routes)
+		final String text = order.getClass().getName() + ':' + order.toFullString();
+		
+		// FNV-1a
+		long hash = 0xCBF29CE484222325L;
+		for(int i=0; i<text.length(); i++)
+		{
+			hash ^= text.charAt(i);
+			hash *= 0x100000001B3L;
+		}
+		
+		return hash;
+	}// getOrderHash()
+	
+	
+	/**
+	*	Returns a 64-bit hash of a List of orders. The hash does not
+	*	depend upon the order of the List.
+	*/
+	public static long getOrderSetHash(List orders)
+	{
+		long hash = 0L;
+		
+		final int size = orders.size();
+		for(int i=0; i<size; i++)
+		{
+			// a sum, rather than an exclusive-or, so that
+			// duplicate orders do not cancel each other
+			hash += getOrderHash( (Orderable) orders.get(i) );
+		}
+		
+		return hash;
+	}// getOrderSetHash()
+	
+	
+	/**
+	*	Returns a 64-bit hash of the Move results of a List of results:
+	*	those that determine where a dislodged unit may retreat (see 
+	*	RetreatChecker). The hash does not depend upon the order of 
+	*	the List.
+	*/
+	public static long getMoveResultsHash(List results)
+	{
+		long hash = 0L;
+		
+		final int size = results.size();
+		for(int i=0; i<size; i++)
+		{
+			final Object obj = results.get(i);
+			if(obj instanceof OrderResult && ((OrderResult) obj).getOrder() instanceof Move)
+			{
+				final OrderResult or = (OrderResult) obj;
+				final OrderResult.ResultType type = or.getResultType();
+				
+				int typeCode = 0;
+				if(type == OrderResult.ResultType.SUCCESS)
+				{
+					typeCode = 1;
+				}
+				else if(type == OrderResult.ResultType.CONVOY_PATH_TAKEN)
+				{
+					typeCode = 2;
+				}
+				else if(type == OrderResult.ResultType.VALIDATION_FAILURE)
+				{
+					typeCode = 3;
+				}
+				
+				// every Move counts, even without a typed result:
+				// a failed Move may be a standoff
+				hash += getOrderHash(or.getOrder()) * (2 * typeCode + 1);
+			}
+		}
+		
+		return hash;
+	}// getMoveResultsHash()
+	
+	
+	/** The maximum number of entries. */
+	public int getMaxSize()
+	{
+		return maxSize;
+	}// getMaxSize()
+	
+	
+	/** The number of entries. */
+	public synchronized int size()
+	{
+		return entries.size();
+	}// size()
+	
+	
+	/** The number of adjudications that were found in the cache. */
+	public synchronized int getHitCount()
+	{
+		return nHits;
+	}// getHitCount()
+	
+	
+	/** The number of adjudications that were not found in the cache. */
+	public synchronized int getMissCount()
+	{
+		return nMisses;
+	}// getMissCount()
+	
+	
+	/** Removes all entries, and clears the hit and miss counts. */
+	public synchronized void clear()
+	{
+		entries.clear();
+		nHits = 0;
+		nMisses = 0;
+	}// clear()
+	
+	
+	/** Get the entry for a key; null if there is none. */
+	synchronized Entry get(Key key)
+	{
+		Entry entry = (Entry) entries.get(key);
+		if(entry == null)
+		{
+			nMisses++;
+		}
+		else
+		{
+			nHits++;
+		}
+		
+		return entry;
+	}// get()
+	
+	
+	/** Add an entry */
+	synchronized void put(Key key, Entry entry)
+	{
+		entries.put(key, entry);
+	}// put()
+	
+	
+	/** Returns true if the given results can be cached; see ResultCodec.copy(). */
+	static boolean isCacheable(List results)
+	{
+		final int size = results.size();
+		for(int i=0; i<size; i++)
+		{
+			if(!ResultCodec.isCodable(results.get(i)))
+			{
+				return false;
+			}
+		}
+		
+		return true;
+	}// isCacheable()
+	
+	
+	/**
+	*	Copies a TurnState created by adjudication: its Phase, Position,
+	*	results, and flags. Orders (of which there are none) are not copied.
+	*/
+	static TurnState copyTurnState(TurnState ts, World world)
+	{
+		TurnState copy = new TurnState(ts.getPhase());
+		copy.setPosition( (Position) ts.getPosition().clone() );
+		copy.setWorld(world);
+		copy.setResultList( new ArrayList(ts.getResultList()) );
+		copy.setSCOwnerChanged(ts.getSCOwnerChanged());
+		copy.setEnded(ts.isEnded());
+		copy.setResolved(ts.isResolved());
+		return copy;
+	}// copyTurnState()
+	
+	
+	/** The key of an entry: what was adjudicated, and how. */
+	static final class Key
+	{
+		private final World world;
+		private final Phase phase;
+		private final long positionHash;
+		private final long orderSetHash;
+		private final long previousResultsHash;		// Retreat phases only
+		private final OrderFormatOptions orderFormat;
+		private final boolean isResultsMinimal;
+		
+		
+		/** Create a Key for the given TurnState (and orders) */
+		public Key(TurnState ts, OrderFormatOptions orderFormat, boolean isResultsMinimal)
+		{
+			this.world = ts.getWorld();
+			this.phase = ts.getPhase();
+			this.positionHash = ts.getPosition().getHash();
+			this.orderSetHash = getOrderSetHash(ts.getAllOrders());
+			this.previousResultsHash = (phase.getPhaseType() == Phase.PhaseType.RETREAT) 
+				? getPreviousResultsHash(ts) : 0L;
+			this.orderFormat = orderFormat;
+			this.isResultsMinimal = isResultsMinimal;
+		}// Key()
+		
+		
+		/** The Move results hash of the previous TurnState; 0 if there is none. */
+		private static long getPreviousResultsHash(TurnState ts)
+		{
+			final TurnState previous = ts.getWorld().getPreviousTurnState(ts);
+			return (previous == null) ? 0L : getMoveResultsHash(previous.getResultList());
+		}// getPreviousResultsHash()
+		
+		
+		public int hashCode()
+		{
+			final long hash = positionHash ^ (orderSetHash * 31) ^ previousResultsHash;
+			return (int) (hash ^ (hash >>> 32));
+		}// hashCode()
+		
+		
+		public boolean equals(Object obj)
+		{
+			if(obj instanceof Key)
+			{
+				Key key = (Key) obj;
+				return (positionHash == key.positionHash
+						&& orderSetHash == key.orderSetHash
+						&& previousResultsHash == key.previousResultsHash
+						&& world == key.world
+						&& orderFormat == key.orderFormat
+						&& isResultsMinimal == key.isResultsMinimal
+						&& phase.equals(key.phase));
+			}
+			
+			return false;
+		}// equals()
+	}// nested class Key
+	
+	
+	/**
+	*	The result of an adjudication: the orders adjudicated, results
+	*	added to the TurnState, TurnState flags, and a copy of the next
+	*	TurnState (if any).
+	*/
+	static final class Entry
+	{
+		private final Orderable[] orders;
+		private final List results;
+		private final boolean isEnded;
+		private final boolean isResolved;
+		private final TurnState nextTurnState;
+		
+		
+		/** Create an Entry; the next TurnState (which may be null) is copied. */
+		public Entry(List results, TurnState ts, TurnState nextTurnState)
+		{
+			final List allOrders = ts.getAllOrders();
+			this.orders = (Orderable[]) allOrders.toArray(new Orderable[allOrders.size()]);
+			this.results = new ArrayList(results);
+			this.isEnded = ts.isEnded();
+			this.isResolved = ts.isResolved();
+			this.nextTurnState = (nextTurnState == null) ? null
+				: copyTurnState(nextTurnState, nextTurnState.getWorld());
+		}// Entry()
+		
+		
+		/**
+		*	Maps each order of this Entry to an equal order of the given
+		*	TurnState. An order is preferably mapped to an equal order; 
+		*	otherwise (as validation may have normalized the adjudicated 
+		*	order, e.g., its coasts), to an order of the same class, Power,
+		*	and source Province. Returns null if an order cannot be mapped.
+		*/
+		public Map mapOrders(TurnState ts)
+		{
+			final List tsOrders = ts.getAllOrders();
+			if(tsOrders.size() != orders.length)
+			{
+				return null;
+			}
+			
+			final boolean[] isMapped = new boolean[orders.length];
+			final Map orderMap = new IdentityHashMap(orders.length * 2);
+			for(int i=0; i<orders.length; i++)
+			{
+				final int idx = findOrder(orders[i], tsOrders, isMapped);
+				if(idx < 0)
+				{
+					return null;
+				}
+				
+				isMapped[idx] = true;
+				orderMap.put(orders[i], tsOrders.get(idx));
+			}
+			
+			return orderMap;
+		}// mapOrders()
+		
+		
+		/**
+		*	Applies this Entry to a TurnState: results are copied (with the 
+		*	orders of the TurnState; see mapOrders()) and added, and flags set,
+		*	and a copy of the next TurnState (or null) is returned.
+		*/
+		public TurnState apply(TurnState ts, Map orderMap)
+		{
+			final List resultList = ts.getResultList();
+			final int size = results.size();
+			for(int i=0; i<size; i++)
+			{
+				resultList.add( ResultCodec.copy((Result) results.get(i), orderMap) );
+			}
+			
+			if(isEnded)
+			{
+				ts.setEnded(true);
+			}
+			
+			if(isResolved)
+			{
+				ts.setResolved(true);
+			}
+			
+			return (nextTurnState == null) ? null
+				: copyTurnState(nextTurnState, ts.getWorld());
+		}// apply()
+		
+		
+		/** 
+		*	Index of the unmapped order in the List that an order is mapped 
+		*	to (see mapOrders()); -1 if none.
+		*/
+		private static int findOrder(Orderable order, List tsOrders, boolean[] isMapped)
+		{
+			int match = -1;
+			for(int i=0; i<isMapped.length; i++)
+			{
+				if(!isMapped[i])
+				{
+					final Orderable o = (Orderable) tsOrders.get(i);
+					if(o.equals(order))
+					{
+						return i;
+					}
+					else if(match < 0
+						&& o.getClass() == order.getClass()
+						&& o.getPower() == order.getPower()
+						&& o.getSource().getProvince() == order.getSource().getProvince())
+					{
+						match = i;
+					}
+				}
+			}
+			
+			return match;
+		}// findOrder()
+	}// nested class Entry
+	
+}// class AdjudicationCache
@@ -0,0 +1,267 @@
+//
+//  @(#)AdjudicationStats.java	10/2026
+//
+//  Copyright 2026 the jDip development team. All rights reserved.
+//  Use is subject to license terms.
+//
+//
+//  This program is free software; you can redistribute it and/or modify
+//  it under the terms of the GNU General Public License as published by
+//  the Free Software Foundation; either version 2 of the License, or
+//  (at your option) any later version.
+//
+//  This program is distributed in the hope that it will be useful,
+//  but WITHOUT ANY WARRANTY; without even the implied warranty of
+//  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//  GNU General Public License for more details.
+//
+//  You should have received a copy of the GNU General Public License
+//  along with this program; if not, write to the Free Software
+//  Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+//  Or from http://www.gnu.org/
+//
+package dip.process;
+
+/**
+*	Statistics for adjudication. A StdAdjudicator with statistics reporting
+*	enabled (see StdAdjudicator.setStatReporting()) creates an
+*	AdjudicationStats for each call to process(); see StdAdjudicator.getStats().
+*	<p>
+*	AdjudicationStats may be combined with add(). Statistics for every
+*	process() call (with statistics reporting enabled) within this JVM are
+*	combined; see getProcessTotals().
+*	<p>
+*	Times are wall-clock times, in milliseconds (System.currentTimeMillis()).
+*	A single phase is usually adjudicated in well under a millisecond, so 
+*	times are only meaningful when combined over many process() calls, as 
+*	for getProcessTotals(). For a Movement phase, time
+*	is divided into stages: order mapping (the creation of OrderStates),
+*	validation, dependency determination, verification, evaluation, paradox
+*	breaking, and resolution (everything after evaluation, including the
+*	creation of the next TurnState). Retreat and Adjustment phases are not
+*	divided; all their time is retreat/adjustment time.
+*	<p>
+*	This class is threadsafe.
+*/
+public class AdjudicationStats
+{
+	// stages
+	static final int STAGE_MAPPING = 0;
+	static final int STAGE_VALIDATION = 1;
+	static final int STAGE_DEPENDENCIES = 2;
+	static final int STAGE_VERIFICATION = 3;
+	static final int STAGE_EVALUATION = 4;
+	static final int STAGE_PARADOX = 5;
+	static final int STAGE_RESOLUTION = 6;
+	static final int STAGE_RETREAT_ADJUSTMENT = 7;
+	private static final int N_STAGES = 8;
+	
+	private static final String[] STAGE_NAMES = {
+		"mapping", "validation", "dependencies", "verification",
+		"evaluation", "paradox", "resolution", "retreat/adjustment" };
+	
+	// all statistics, for this JVM
+	private static final AdjudicationStats processTotals = new AdjudicationStats();
+	
+	// instance variables
+	private final long[] stageTime = new long[N_STAGES];
+	private long totalTime = 0;
+	private int nProcessed = 0;
+	private int nIterations = 0;
+	private int nEvaluations = 0;
+	private int nParadoxAttempts = 0;
+	private int nSzykman = 0;
+	private int nOrderStates = 0;
+	
+	
+	/** Create an empty AdjudicationStats */
+	public AdjudicationStats()
+	{
+	}// AdjudicationStats()
+	
+	
+	/**
+	*	Returns a copy of the combined statistics of every process() call,
+	*	in this JVM, made by a StdAdjudicator with statistics reporting enabled.
+	*/
+	public static AdjudicationStats getProcessTotals()
+	{
+		AdjudicationStats stats = new AdjudicationStats();
+		stats.add(processTotals);
+		return stats;
+	}// getProcessTotals()
+	
+	
+	/** Clears the statistics returned by getProcessTotals(). */
+	public static void clearProcessTotals()
+	{
+		processTotals.clear();
+	}// clearProcessTotals()
+	
+	
+	/** Adds the given statistics to the process totals. */
+	static void addToProcessTotals(AdjudicationStats stats)
+	{
+		processTotals.add(stats);
+	}// addToProcessTotals()
+	
+	
+	/** Adds the given statistics to these statistics. */
+	public void add(AdjudicationStats stats)
+	{
+		if(stats == null)
+		{
+			throw new IllegalArgumentException();
+		}
+		
+		// copy first, to avoid holding both locks
+		final long[] otherStageTime = new long[N_STAGES];
+		final long otherTotalTime;
+		final int[] counts;
+		
+		synchronized(stats)
+		{
+			System.arraycopy(stats.stageTime, 0, otherStageTime, 0, N_STAGES);
+			otherTotalTime = stats.totalTime;
+			counts = new int[] { stats.nProcessed, stats.nIterations, stats.nEvaluations,
+				stats.nParadoxAttempts, stats.nSzykman, stats.nOrderStates };
+		}
+		
+		synchronized(this)
+		{
+			for(int i=0; i<N_STAGES; i++)
+			{
+				stageTime[i] += otherStageTime[i];
+			}
+			
+			totalTime += otherTotalTime;
+			nProcessed += counts[0];
+			nIterations += counts[1];
+			nEvaluations += counts[2];
+			nParadoxAttempts += counts[3];
+			nSzykman += counts[4];
+			nOrderStates += counts[5];
+		}
+	}// add()
+	
+	
+	/** Clears all statistics. */
+	public synchronized void clear()
+	{
+		for(int i=0; i<N_STAGES; i++)
+		{
+			stageTime[i] = 0;
+		}
+		
+		totalTime = 0;
+		nProcessed = 0;
+		nIterations = 0;
+		nEvaluations = 0;
+		nParadoxAttempts = 0;
+		nSzykman = 0;
+		nOrderStates = 0;
+	}// clear()
+	
+	
+	/** The number of process() calls included. */
+	public synchronized int getProcessCount()				{ return nProcessed; }
+	
+	/** Total time, in milliseconds. */
+	public synchronized long getTotalTime()				{ return totalTime; }
+	
+	/** Time spent creating OrderStates (and checking Power orders), in milliseconds. */
+	public synchronized long getMappingTime()				{ return stageTime[STAGE_MAPPING]; }
+	
+	/** Time spent validating orders, in milliseconds. */
+	public synchronized long getValidationTime()			{ return stageTime[STAGE_VALIDATION]; }
+	
+	/** Time spent determining order dependencies, in milliseconds. */
+	public synchronized long getDependencyTime()			{ return stageTime[STAGE_DEPENDENCIES]; }
+	
+	/** Time spent verifying orders, in milliseconds. */
+	public synchronized long getVerificationTime()			{ return stageTime[STAGE_VERIFICATION]; }
+	
+	/** Time spent evaluating orders, in milliseconds. */
+	public synchronized long getEvaluationTime()			{ return stageTime[STAGE_EVALUATION]; }
+	
+	/** 
+	*	Time spent breaking paradoxes, in milliseconds. For partitioned 
+	*	evaluation, this is included in the evaluation time instead.
+	*/
+	public synchronized long getParadoxTime()				{ return stageTime[STAGE_PARADOX]; }
+	
+	/** Time spent after evaluation of a Movement phase, in milliseconds. */
+	public synchronized long getResolutionTime()			{ return stageTime[STAGE_RESOLUTION]; }
+	
+	/** Time spent adjudicating Retreat and Adjustment phases, in milliseconds. */
+	public synchronized long getRetreatAdjustmentTime()	{ return stageTime[STAGE_RETREAT_ADJUSTMENT]; }
+	
+	/** The number of evaluation iterations (see StdAdjudicator.getIterationCount()). */
+	public synchronized int getIterationCount()			{ return nIterations; }
+	
+	/** The number of times Order.evaluate() was called. */
+	public synchronized int getEvaluationCount()			{ return nEvaluations; }
+	
+	/** The number of attempts made to break a paradox. */
+	public synchronized int getParadoxAttemptCount()		{ return nParadoxAttempts; }
+	
+	/** The number of moves failed by the Szykman rule. */
+	public synchronized int getSzykmanCount()				{ return nSzykman; }
+	
+	/** The number of OrderStates used. */
+	public synchronized int getOrderStateCount()			{ return nOrderStates; }
+	
+	
+	/** Adds time (in milliseconds) to the given stage. */
+	synchronized void addTime(int stage, long time)
+	{
+		stageTime[stage] += time;
+	}// addTime()
+	
+	/** Sets the statistics for a completed process() call. */
+	synchronized void setProcessed(long totalTime, int nIterations, int nEvaluations,
+		int nParadoxAttempts, int nSzykman, int nOrderStates)
+	{
+		this.nProcessed = 1;
+		this.totalTime = totalTime;
+		this.nIterations = nIterations;
+		this.nEvaluations = nEvaluations;
+		this.nParadoxAttempts = nParadoxAttempts;
+		this.nSzykman = nSzykman;
+		this.nOrderStates = nOrderStates;
+	}// setProcessed()
+	
+	
+	/** For debugging. */
+	public synchronized String toString()
+	{
+		StringBuffer sb = new StringBuffer(256);
+		sb.append("AdjudicationStats[processed=");
+		sb.append(nProcessed);
+		sb.append(", total=");
+		sb.append(totalTime);
+		
+		for(int i=0; i<N_STAGES; i++)
+		{
+			sb.append(", ");
+			sb.append(STAGE_NAMES[i]);
+			sb.append('=');
+			sb.append(stageTime[i]);
+		}
+		
+		sb.append(", iterations=");
+		sb.append(nIterations);
+		sb.append(", evaluations=");
+		sb.append(nEvaluations);
+		sb.append(", paradoxAttempts=");
+		sb.append(nParadoxAttempts);
+		sb.append(", szykman=");
+		sb.append(nSzykman);
+		sb.append(", orderStates=");
+		sb.append(nOrderStates);
+		sb.append(']');
+		return sb.toString();
+	}// toString()
+	
+	
+}// class AdjudicationStats
@@ -97,6 +97,9 @@ public interface Adjudicator
 	/** 
 	*	Find the OrderState with the given source Province. Returns null if
 	*	no corresponding order was found.
+	*	<p>
+	*	This is called very frequently during Order evaluation, and should
+	*	be a constant-time lookup (e.g., an array indexed by Province.getIndex()).
 	*/
 	public OrderState findOrderStateBySrc(Province src);
 	
@@ -142,4 +145,12 @@ public interface Adjudicator
 	
 	/** Add a Result to the result list */
 	public void addResult(OrderState os, ResultType type, String message);
+	
+	/** 
+	*	Add a Result to the result list, with a deferred message. The 
+	*	message is the il8n resource for the given key, formatted with 
+	*	the given arguments (which may be null); it is not formatted 
+	*	until required.
+	*/
+	public void addResult(OrderState os, ResultType type, String key, Object[] args);
 }// interface Adjudicator
@@ -23,10 +23,8 @@
 package dip.process;
 
 import dip.world.Power;
-import dip.world.Province;
 import dip.world.TurnState;
 import dip.world.Position;
-import dip.world.Unit;
 import dip.world.RuleOptions;
 
 import java.util.List;
@@ -65,39 +63,12 @@ public class Adjustment
 		
 		AdjustmentInfo ai = new AdjustmentInfo(ruleOpts);
 		
-		Position position = turnState.getPosition();
-		final Province[] provinces = position.getProvinces();
+		final Position position = turnState.getPosition();
 		
-		for(int i=0; i<provinces.length; i++)
-		{
-			Province province = provinces[i];
-			
-			// tally units
-			Unit unit = position.getUnit(province);
-			if( unit != null
-				&& unit.getPower() == power ) 
-			{
-				ai.numUnits++;
-			}
-			
-			unit = position.getDislodgedUnit(province);
-			if( unit != null
-				&& unit.getPower() == power ) 
-			{
-				ai.numDislodgedUnits++;
-			}
-			
-			// tally supply centers
-			if(power == position.getSupplyCenterOwner(province))
-			{
-				ai.numSC++;
-				
-				if(power == position.getSupplyCenterHomePower(province))
-				{
-					ai.numHSC++;
-				}
-			}
-		}
+		ai.numUnits = position.getUnitCount(power);
+		ai.numDislodgedUnits = position.getDislodgedUnitCount(power);
+		ai.numSC = position.getOwnedSupplyCenterCount(power);
+		ai.numHSC = position.getOwnedHomeSupplyCenterCount(power);
 		
 		return ai;
 	}// getAdjustmentInfo()
@@ -124,52 +95,25 @@ public class Adjustment
 			adjMap.put(powers[i], new AdjustmentInfo(ruleOpts));
 		}
 		
-		// Iterate for all Powers
-		Position position = turnState.getPosition();
-		final Province[] provinces = position.getProvinces();
+		// Tally, for all Powers
+		final Position position = turnState.getPosition();
 		
-		for(int i=0; i<provinces.length; i++)
+		for(int i=0; i<powers.length; i++)
 		{
-			Province province = provinces[i];
-			boolean hasUnit = false;
+			final Power power = powers[i];
+			final AdjustmentInfo ai = adjMap.get(power);
 			
-			// tally units
-			Unit unit = position.getUnit(province);
-			if(unit != null)
-			{
-				adjMap.get(unit.getPower()).numUnits++;
-				hasUnit = true;
-			}
+			// units
+			ai.numUnits = position.getUnitCount(power);
+			ai.numDislodgedUnits = position.getDislodgedUnitCount(power);
 			
-			unit = position.getDislodgedUnit(province);
-			if(unit != null)
-			{
-				adjMap.get(unit.getPower()).numDislodgedUnits++;
-			}
+			// supply centers, and occupied supply centers
+			ai.numSC = position.getOwnedSupplyCenterCount(power);
+			ai.numOccSC = position.getOccupiedSupplyCenterCount(power);
 			
-			// tally supply centers
-			Power power = position.getSupplyCenterOwner(province);
-			if(power != null)
-			{
-				adjMap.get(power).numSC++;
-				
-				if(hasUnit)
-				{
-					adjMap.get(power).numOccSC++;
-				}
-				
-				
-				power = position.getSupplyCenterHomePower(province);
-				if(power != null)
-				{
-					adjMap.get(power).numHSC++;
-					
-					if(hasUnit)
-					{
-						adjMap.get(power).numOccHSC++;
-					}
-				}
-			}
+			// home supply centers (owned by any power), and occupied home supply centers
+			ai.numHSC = position.getHomeSupplyCenterWithOwnerCount(power);
+			ai.numOccHSC = position.getOccupiedHomeSupplyCenterCount(power);
 		}
 		
 		return adjMap;
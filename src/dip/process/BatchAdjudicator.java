@@ -0,0 +1,349 @@
+//
+//  @(#)BatchAdjudicator.java	10/2026
+//
+//  Copyright 2026 the jDip development team. All rights reserved.
+//  Use is subject to license terms.
+//
+//
+//  This program is free software; you can redistribute it and/or modify
+//  it under the terms of the GNU General Public License as published by
+//  the Free Software Foundation; either version 2 of the License, or
+//  (at your option) any later version.
+//
+//  This program is distributed in the hope that it will be useful,
+//  but WITHOUT ANY WARRANTY; without even the implied warranty of
+//  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//  GNU General Public License for more details.
+//
+//  You should have received a copy of the GNU General Public License
+//  along with this program; if not, write to the Free Software
+//  Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+//  Or from http://www.gnu.org/
+//
+package dip.process;
+
+import dip.world.TurnState;
+
+import dip.order.OrderFactory;
+import dip.order.OrderFormatOptions;
+
+import java.util.Collection;
+import java.util.List;
+
+
+/**
+*	Adjudicates many independent TurnStates (typically, one per game)
+*	concurrently, using a fixed number of worker threads.
+*	<p>
+*	Each TurnState is adjudicated by its own Adjudicator (a StdAdjudicator,
+*	unless createAdjudicator() is overridden). As with a single Adjudicator,
+*	results are added to each TurnState's result list, and the next TurnState
+*	is not added to the World.
+*	<p>
+*	TurnStates within a batch must not share a World, unless that World is
+*	not modified until the batch is complete, and no TurnState is in an
+*	adjustment phase; nor may their Worlds share VictoryConditions. 
+*	VictoryConditions are evaluated in adjustment phases, and are not 
+*	threadsafe. Logging (see dip.misc.Log) should be disabled; otherwise, 
+*	output from different games will be interleaved.
+*	<p>
+*	A BatchAdjudicator may be reused, but process() should not be called
+*	concurrently on the same instance.
+*/
+public class BatchAdjudicator
+{
+	private final OrderFactory orderFactory;
+	private final int nThreads;
+	private OrderFormatOptions orderFormat = null;
+	private boolean isPOCEnabled = false;
+	private boolean statReporting = false;
+	private boolean isWorklistEnabled = false;
+	
+	
+	/**
+	*	Create a BatchAdjudicator that uses one worker thread per
+	*	available processor.
+	*/
+	public BatchAdjudicator(OrderFactory orderFactory)
+	{
+		this(orderFactory, Runtime.getRuntime().availableProcessors());
+	}// BatchAdjudicator()
+	
+	
+	/** Create a BatchAdjudicator that uses (at most) the given number of worker threads. */
+	public BatchAdjudicator(OrderFactory orderFactory, int nThreads)
+	{
+		if(orderFactory == null || nThreads < 1)
+		{
+			throw new IllegalArgumentException();
+		}
+		
+		this.orderFactory = orderFactory;
+		this.nThreads = nThreads;
+	}// BatchAdjudicator()
+	
+	
+	/** The maximum number of worker threads used. */
+	public int getThreadCount()
+	{
+		return nThreads;
+	}// getThreadCount()
+	
+	/** Sets the order formatting options, for each Adjudicator. */
+	public void setOrderFormat(OrderFormatOptions ofo)
+	{
+		if(ofo == null)
+		{
+			throw new IllegalArgumentException();
+		}
+		
+		orderFormat = ofo;
+	}// setOrderFormat()
+	
+	/** Enable or disable reporting of failure statistics, for each Adjudicator. */
+	public void setStatReporting(boolean value)
+	{
+		statReporting = value;
+	}// setStatReporting()
+	
+	/** Enable or disable Power order checking, for each Adjudicator. */
+	public void setPowerOrderChecking(boolean value)
+	{
+		isPOCEnabled = value;
+	}// setPowerOrderChecking()
+	
+	/** Enable or disable worklist evaluation, for each StdAdjudicator. */
+	public void setWorklistEvaluation(boolean value)
+	{
+		isWorklistEnabled = value;
+	}// setWorklistEvaluation()
+	
+	
+	/**
+	*	Adjudicate the given Collection of TurnStates. Results are returned
+	*	in iteration order.
+	*/
+	public BatchResult[] process(Collection turnStates)
+	{
+		return process( (TurnState[]) turnStates.toArray(new TurnState[turnStates.size()]) );
+	}// process()
+	
+	
+	/**
+	*	Adjudicate the given TurnStates. This method blocks until all
+	*	TurnStates have been adjudicated. The returned array is in the
+	*	same order as the given TurnStates.
+	*	<p>
+	*	An exception thrown during the adjudication of a TurnState does
+	*	not affect the adjudication of other TurnStates; it is available
+	*	from BatchResult.getException().
+	*/
+	public BatchResult[] process(TurnState[] turnStates)
+	{
+		if(turnStates == null)
+		{
+			throw new IllegalArgumentException();
+		}
+		
+		final Batch batch = new Batch(turnStates);
+		final int nWorkers = Math.min(nThreads, turnStates.length);
+		
+		if(nWorkers <= 1)
+		{
+			// not worth starting a thread
+			batch.run();
+		}
+		else
+		{
+			Thread[] workers = new Thread[nWorkers];
+			for(int i=0; i<workers.length; i++)
+			{
+				workers[i] = new Thread(batch, "BatchAdjudicator-"+i);
+				workers[i].setDaemon(true);
+				workers[i].start();
+			}
+			
+			boolean isInterrupted = false;
+			for(int i=0; i<workers.length; i++)
+			{
+				while(workers[i].isAlive())
+				{
+					try
+					{
+						workers[i].join();
+					}
+					catch(InterruptedException e)
+					{
+						isInterrupted = true;
+					}
+				}
+			}
+			
+			if(isInterrupted)
+			{
+				Thread.currentThread().interrupt();
+			}
+		}
+		
+		if(batch.error != null)
+		{
+			throw batch.error;
+		}
+		
+		return batch.results;
+	}// process()
+	
+	
+	/**
+	*	Create and setup the Adjudicator for the given TurnState. This is
+	*	called from worker threads, and must be threadsafe.
+	*	<p>
+	*	By default, a StdAdjudicator is created.
+	*/
+	protected Adjudicator createAdjudicator(OrderFactory orderFactory, TurnState turnState)
+	{
+		StdAdjudicator stdJudge = new StdAdjudicator(orderFactory, turnState);
+		stdJudge.setWorklistEvaluation(isWorklistEnabled);
+		
+		if(orderFormat != null)
+		{
+			stdJudge.setOrderFormat(orderFormat);
+		}
+		
+		return stdJudge;
+	}// createAdjudicator()
+	
+	
+	/** Adjudicates a single TurnState */
+	private BatchResult adjudicate(TurnState turnState)
+	{
+		Adjudicator adjudicator = null;
+		try
+		{
+			adjudicator = createAdjudicator(orderFactory, turnState);
+			adjudicator.setStatReporting(statReporting);
+			adjudicator.setPowerOrderChecking(isPOCEnabled);
+			adjudicator.process();
+			return new BatchResult(turnState, adjudicator, null);
+		}
+		catch(RuntimeException e)
+		{
+			return new BatchResult(turnState, adjudicator, e);
+		}
+	}// adjudicate()
+	
+	
+	/**
+	*	The TurnStates to process, and their results. Worker threads
+	*	share a Batch, and take the next unprocessed TurnState until
+	*	none remain.
+	*/
+	private class Batch implements Runnable
+	{
+		private final TurnState[] turnStates;
+		private final BatchResult[] results;
+		private int nextIndex = 0;
+		private Error error = null;
+		
+		public Batch(TurnState[] turnStates)
+		{
+			this.turnStates = turnStates;
+			this.results = new BatchResult[turnStates.length];
+		}// Batch()
+		
+		/** Returns the index of the next TurnState to process, or -1 if none remain. */
+		private synchronized int next()
+		{
+			if(nextIndex < turnStates.length && error == null)
+			{
+				return nextIndex++;
+			}
+			
+			return -1;
+		}// next()
+		
+		public void run()
+		{
+			try
+			{
+				int idx = next();
+				while(idx >= 0)
+				{
+					results[idx] = adjudicate(turnStates[idx]);
+					idx = next();
+				}
+			}
+			catch(Error e)
+			{
+				synchronized(this)
+				{
+					if(error == null)
+					{
+						error = e;
+					}
+				}
+			}
+		}// run()
+	}// inner class Batch
+	
+	
+	/**
+	*	The outcome of adjudicating a single TurnState.
+	*/
+	public static class BatchResult
+	{
+		private final TurnState turnState;
+		private final Adjudicator adjudicator;
+		private final RuntimeException exception;
+		
+		private BatchResult(TurnState turnState, Adjudicator adjudicator, RuntimeException exception)
+		{
+			this.turnState = turnState;
+			this.adjudicator = adjudicator;
+			this.exception = exception;
+		}// BatchResult()
+		
+		/** The TurnState that was adjudicated. */
+		public TurnState getTurnState()
+		{
+			return turnState;
+		}// getTurnState()
+		
+		/**
+		*	The Adjudicator used; this may be <code>null</code> if the
+		*	Adjudicator could not be created.
+		*/
+		public Adjudicator getAdjudicator()
+		{
+			return adjudicator;
+		}// getAdjudicator()
+		
+		/** The Results of adjudication (the TurnState result list). */
+		public List getResults()
+		{
+			return turnState.getResultList();
+		}// getResults()
+		
+		/**
+		*	The next TurnState, or <code>null</code> if the game has been
+		*	won or an error occured.
+		*/
+		public TurnState getNextTurnState()
+		{
+			return (exception == null) ? adjudicator.getNextTurnState() : null;
+		}// getNextTurnState()
+		
+		/** Returns <code>true</code> if an unresolved paradox was detected. */
+		public boolean isUnresolvedParadox()
+		{
+			return (exception == null) ? adjudicator.isUnresolvedParadox() : false;
+		}// isUnresolvedParadox()
+		
+		/** The exception thrown during adjudication, or <code>null</code> if none. */
+		public RuntimeException getException()
+		{
+			return exception;
+		}// getException()
+	}// nested class BatchResult
+	
+}// class BatchAdjudicator
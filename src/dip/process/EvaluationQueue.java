@@ -0,0 +1,239 @@
+//
+//  @(#)EvaluationQueue.java	10/2026
+//
+//  Copyright 2026 the jDip development team. All rights reserved.
+//  Use is subject to license terms.
+//
+//
+//  This program is free software; you can redistribute it and/or modify
+//  it under the terms of the GNU General Public License as published by
+//  the Free Software Foundation; either version 2 of the License, or
+//  (at your option) any later version.
+//
+//  This program is distributed in the hope that it will be useful,
+//  but WITHOUT ANY WARRANTY; without even the implied warranty of
+//  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//  GNU General Public License for more details.
+//
+//  You should have received a copy of the GNU General Public License
+//  along with this program; if not, write to the Free Software
+//  Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+//  Or from http://www.gnu.org/
+//
+package dip.process;
+
+import dip.order.Move;
+
+/**
+*	Worklist of OrderStates awaiting evaluation, used by the
+*	worklist evaluation mode of StdAdjudicator.
+*	<p>
+*	OrderStates are evaluated in generations. An OrderState is queued
+*	(for the next generation) when the state of an OrderState it reads
+*	changes; an OrderState is never queued more than once at a time.
+*	If an OrderState that is still pending in the current generation
+*	is changed, it is not re-queued, since it will be evaluated with
+*	the new state anyway.
+*	<p>
+*	OrderStates that have no reader information ("global" readers) are
+*	queued for the next generation whenever any change at all occurs.
+*	<p>
+*	This class is not thread-safe; it is used by a single adjudicator.
+*	An EvaluationQueue may be reused (see attach()).
+*/
+final class EvaluationQueue
+{
+	private OrderState[] globalReaders = null;
+	private OrderState[] current = null;
+	private OrderState[] next = null;
+	private int currentSize = 0;
+	private int currentPos = 0;
+	private int nextSize = 0;
+	private boolean isChanged = false;
+	private int nMovesUnresolved = 0;
+	
+	
+	/** Create an EvaluationQueue. attach() must be called before use. */
+	EvaluationQueue()
+	{
+	}// EvaluationQueue()
+	
+	
+	/**
+	*	Prepares this EvaluationQueue for the given OrderStates. The queue is
+	*	attached to each OrderState, so that state changes are noted. The
+	*	queue is initially empty.
+	*	<p>
+	*	globalReaders are OrderStates which must be re-evaluated whenever
+	*	any OrderState changes.
+	*/
+	void attach(OrderState[] orderStates, OrderState[] globalReaders)
+	{
+		this.globalReaders = globalReaders;
+		
+		if(current == null || current.length < orderStates.length)
+		{
+			current = new OrderState[orderStates.length];
+			next = new OrderState[orderStates.length];
+		}
+		
+		currentSize = 0;
+		currentPos = 0;
+		nextSize = 0;
+		isChanged = false;
+		nMovesUnresolved = 0;
+		
+		for(int i=0; i<orderStates.length; i++)
+		{
+			OrderState os = orderStates[i];
+			os.isQueued = false;
+			os.setEvaluationQueue(this);
+			
+			if( os.getOrder() instanceof Move
+				&& os.getEvalState() == Tristate.UNCERTAIN )
+			{
+				nMovesUnresolved++;
+			}
+		}
+	}// attach()
+	
+	
+	/** Queue all the given OrderStates for the next generation. */
+	void addAll(OrderState[] orderStates)
+	{
+		for(int i=0; i<orderStates.length; i++)
+		{
+			add(orderStates[i]);
+		}
+	}// addAll()
+	
+	
+	/** Queue an OrderState for the next generation, if it is not already pending. */
+	void add(OrderState os)
+	{
+		if(!os.isQueued)
+		{
+			os.isQueued = true;
+			next[nextSize] = os;
+			nextSize++;
+		}
+	}// add()
+	
+	
+	/**
+	*	Makes the next generation current. Returns <code>false</code>
+	*	if there is nothing left to evaluate.
+	*/
+	boolean nextGeneration()
+	{
+		if(isChanged)
+		{
+			addAll(globalReaders);
+			isChanged = false;
+		}
+		
+		OrderState[] tmp = current;
+		current = next;
+		currentSize = nextSize;
+		currentPos = 0;
+		next = tmp;
+		nextSize = 0;
+		
+		return (currentSize > 0);
+	}// nextGeneration()
+	
+	
+	/**
+	*	For evaluation that does not use the worklist (but only needs to
+	*	know if anything changed): returns <code>true</code> if any 
+	*	OrderState has changed since attach() or the last call to this 
+	*	method. Queued OrderStates are discarded.
+	*/
+	boolean nextPass()
+	{
+		final boolean wasChanged = isChanged;
+		isChanged = false;
+		
+		for(int i=0; i<nextSize; i++)
+		{
+			next[i].isQueued = false;
+			next[i] = null;
+		}
+		
+		nextSize = 0;
+		return wasChanged;
+	}// nextPass()
+	
+	
+	/** Get the next OrderState to evaluate in the current generation; null if none remain. */
+	OrderState poll()
+	{
+		if(currentPos < currentSize)
+		{
+			OrderState os = current[currentPos];
+			current[currentPos] = null;
+			currentPos++;
+			os.isQueued = false;
+			return os;
+		}
+		
+		return null;
+	}// poll()
+	
+	
+	/** The number of Move orders that are still UNCERTAIN. */
+	int getUnresolvedMoveCount()
+	{
+		return nMovesUnresolved;
+	}// getUnresolvedMoveCount()
+	
+	
+	/** Called by an OrderState when its state changes. */
+	void changed(OrderState os)
+	{
+		isChanged = true;
+		
+		final OrderState[] readers = os.getReaders();
+		final int nReaders = os.getReaderCount();
+		for(int i=0; i<nReaders; i++)
+		{
+			add(readers[i]);
+		}
+	}// changed()
+	
+	
+	/** Called by an OrderState when its evaluation state is no longer UNCERTAIN. */
+	void resolved(OrderState os)
+	{
+		if(os.getOrder() instanceof Move)
+		{
+			nMovesUnresolved--;
+		}
+	}// resolved()
+	
+	
+	/** Detach this queue from the given OrderStates. */
+	void detach(OrderState[] orderStates)
+	{
+		for(int i=0; i<orderStates.length; i++)
+		{
+			orderStates[i].setEvaluationQueue(null);
+			orderStates[i].isQueued = false;
+		}
+		
+		for(int i=0; i<currentSize; i++)
+		{
+			current[i] = null;
+		}
+		
+		for(int i=0; i<nextSize; i++)
+		{
+			next[i] = null;
+		}
+		
+		globalReaders = null;
+		currentSize = 0;
+		nextSize = 0;
+	}// detach()
+	
+}// class EvaluationQueue
@@ -111,6 +111,12 @@ public final class OrderState
 	private boolean foundConvoyPath = false;	// if move found a convoy path
 	private boolean isVerified = false;			// has this order been verified() yet?
 	
+	// worklist evaluation support (see EvaluationQueue)
+	private OrderState[] readers = OS_EMPTY;	// OrderStates whose evaluation reads this OrderState
+	private int nReaders = 0;					// number of readers in use
+	private EvaluationQueue evalQueue = null;	// notified of changes; null if not in use
+	boolean isQueued = false;					// pending evaluation; maintained by EvaluationQueue
+	
 	
 	/** 
 	*	Create an OrderState. This is protected, because only subclasses of 
@@ -181,23 +187,23 @@ public final class OrderState
 	/** Set if this is part of a chain of circular movements. */
 	public void setCircular(boolean value)				{ isCircular = value; }
 	/** Set the dislodged state. */
-	public void setDislodgedState(Tristate value) 		{ dislodged = value; }
+	public void setDislodgedState(Tristate value) 		{ if(dislodged != value) { dislodged = value; changed(); } }
 	/** Set the maximum defense. */
-	public void setDefMax(int value)					{ defense_max = value; }
+	public void setDefMax(int value)					{ if(defense_max != value) { defense_max = value; changed(); } }
 	/** Set the certain defense. */
-	public void setDefCertain(int value)				{ defense_certain = value; }
+	public void setDefCertain(int value)				{ if(defense_certain != value) { defense_certain = value; changed(); } }
 	/** Set the maximum attack value. */
-	public void setAtkMax(int value)					{ attack_max = value; }
+	public void setAtkMax(int value)					{ if(attack_max != value) { attack_max = value; changed(); } }
 	/** Set the certain attack value. */
-	public void setAtkCertain(int value)				{ attack_certain = value; }
+	public void setAtkCertain(int value)				{ if(attack_certain != value) { attack_certain = value; changed(); } }
 	/** Set the attack max including self-support */
-	public void setAtkSelfSupportMax(int value)			{ selfsupport_atk_max = value; }
+	public void setAtkSelfSupportMax(int value)			{ if(selfsupport_atk_max != value) { selfsupport_atk_max = value; changed(); } }
 	/** Set the attack certain including self-support */
-	public void setAtkSelfSupportCertain(int value) 	{ selfsupport_atk_certain = value; }
+	public void setAtkSelfSupportCertain(int value) 	{ if(selfsupport_atk_certain != value) { selfsupport_atk_certain = value; changed(); } }
 	/** Set if we have found a convoy path */
 	public void setFoundConvoyPath(boolean value)		{ foundConvoyPath = value; }
 	/** Set the retreat strength */
-	public void setRetreatStrength(int value)			{ retreatStr = value; }
+	public void setRetreatStrength(int value)			{ if(retreatStr != value) { retreatStr = value; changed(); } }
 	/** Sets if an Order is legal. By default, orders are legal. */
 	public void setLegal(boolean value)					{ isLegal = value; }
 	/** Set if an order has been verified. Once set to true, cannot be set to false. */
@@ -223,7 +229,16 @@ public final class OrderState
 			throw new IllegalStateException("EvalState is irreversible, once set.");
 		}
 		
-		evalState = value; 
+		if(evalState != value)
+		{
+			evalState = value;
+			changed();
+			
+			if(evalQueue != null)
+			{
+				evalQueue.resolved(this);
+			}
+		}
 	}// setEvalState()
 	
 	/** if move is a head-to-head move, set which move we are moving head-to-head against here. */
@@ -233,7 +248,11 @@ public final class OrderState
 		{
 			throw new IllegalArgumentException("h2h orderstate must be set with a Move order");
 		}
-		headToHead = os;
+		if(headToHead != os)
+		{
+			headToHead = os;
+			changed();
+		}
 	}// setHeadToHead()
 	
 	/**
@@ -244,7 +263,11 @@ public final class OrderState
 	public void setDislodger(OrderState os)
 	{
 		assert(os.order instanceof Move && dislodged != Tristate.NO);
-		dislodgedBy = os;
+		if(dislodgedBy != os)
+		{
+			dislodgedBy = os;
+			changed();
+		}
 	}// setDislodger()
 	
 	
@@ -304,6 +327,102 @@ public final class OrderState
 	
 	
 	
+	/**
+	*	Adds an OrderState that reads the state of this OrderState during
+	*	evaluation. When this OrderState changes, and an EvaluationQueue is
+	*	attached, all readers are queued for re-evaluation.
+	*/
+	void addReader(OrderState os)
+	{
+		for(int i=0; i<nReaders; i++)
+		{
+			if(readers[i] == os)
+			{
+				return;
+			}
+		}
+		
+		if(nReaders == readers.length)
+		{
+			OrderState[] newReaders = new OrderState[readers.length + 4];
+			System.arraycopy(readers, 0, newReaders, 0, nReaders);
+			readers = newReaders;
+		}
+		
+		readers[nReaders] = os;
+		nReaders++;
+	}// addReader()
+	
+	/** 
+	*	Get the OrderStates that read the state of this OrderState. Only
+	*	the first getReaderCount() entries of the array are used.
+	*/
+	OrderState[] getReaders()
+	{
+		return readers;
+	}// getReaders()
+	
+	/** Get the number of OrderStates that read the state of this OrderState. */
+	int getReaderCount()
+	{
+		return nReaders;
+	}// getReaderCount()
+	
+	/** Attach (or detach, if null) the EvaluationQueue to notify of state changes. */
+	void setEvaluationQueue(EvaluationQueue value)
+	{
+		evalQueue = value;
+	}// setEvaluationQueue()
+	
+	/** 
+	*	Returns a copy of the evaluation state of this OrderState, which
+	*	may later be restored by restoreEvaluation(). Dependencies and 
+	*	readers are not copied.
+	*/
+	OrderState copyEvaluation()
+	{
+		final OrderState copy = new OrderState(order);
+		copy.setEvaluation(this);
+		return copy;
+	}// copyEvaluation()
+	
+	/** Restores the evaluation state returned by copyEvaluation(). */
+	void restoreEvaluation(OrderState copy)
+	{
+		setEvaluation(copy);
+	}// restoreEvaluation()
+	
+	/** Sets the evaluation state to that of the given OrderState. */
+	private void setEvaluation(OrderState os)
+	{
+		order = os.order;
+		defense_max = os.defense_max;
+		defense_certain = os.defense_certain;
+		attack_max = os.attack_max;
+		attack_certain = os.attack_certain;
+		selfsupport_atk_max = os.selfsupport_atk_max;
+		selfsupport_atk_certain = os.selfsupport_atk_certain;
+		retreatStr = os.retreatStr;
+		isCircular = os.isCircular;
+		isLegal = os.isLegal;
+		evalState = os.evalState;
+		dislodged = os.dislodged;
+		headToHead = os.headToHead;
+		dislodgedBy = os.dislodgedBy;
+		foundConvoyPath = os.foundConvoyPath;
+		isVerified = os.isVerified;
+	}// setEvaluation()
+	
+	/** Notifies the EvaluationQueue, if any, that our state has changed. */
+	private void changed()
+	{
+		if(evalQueue != null)
+		{
+			evalQueue.changed(this);
+		}
+	}// changed()
+	
+	
 	/** Convenicent method: get the order source Location */
 	public Location getSource()
 	{
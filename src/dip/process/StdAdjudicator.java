@@ -47,7 +47,6 @@ import dip.misc.Log;
 import dip.misc.Utils;
 
 import java.util.*;
-import java.text.MessageFormat;
 
 /**
 *
@@ -97,30 +96,43 @@ public class StdAdjudicator implements Adjudicator
 	private static final String STDADJ_POWER_ORDER_LIST_CORRUPT = "STDADJ_POWER_ORDER_LIST_CORRUPT";
 	private static final String STDADJ_INACTIVE_POWER_DISLODGED = "STDADJ_INACTIVE_POWER_DISLODGED";
 	
-	// messageformat statics [for performance enhancement]
-	// these are complex Choice formats
-	// ?? will this be threadsafe ?? 
-	private static final MessageFormat MFRemove = new MessageFormat(Utils.getLocalString(STDADJ_PREADJ_TOREMOVE));
-	private static final MessageFormat MFBuild = new MessageFormat(Utils.getLocalString(STDADJ_PREADJ_TOBUILD));
 	private static final OrderFormatOptions DEFAULT_OFO = OrderFormatOptions.createDefault();
+	private static final OrderState[] OS_EMPTY = new OrderState[0];
 	
 	// instance variables
 	private final OrderFactory orderFactory;
 	private OrderFormatOptions orderFormat = DEFAULT_OFO;
-	private final TurnState turnState;
-	private final Position position;
-	private final World world;
-	private final RuleOptions ruleOpts;
-	private final List resultList;
-	private final Map osMap;
+	private TurnState turnState;
+	private Position position;
+	private World world;
+	private RuleOptions ruleOpts;
+	private List resultList;
+	private OrderState[] osByProvince;		// OrderStates, indexed by source Province index
 	private final ArrayList substOrders;
-	
+	private EvaluationQueue evalQueue = null;
 	private OrderState[] orderStates = null;
 	private boolean isUnRezParadox = false;
 	private int paradoxBreakAttempt = 0;
 	private int syzkmanAppliedCount = 0;
+	private boolean isCircularBreakTried = false;
+	private int nSzykmanMoves = 0;				// moves failed by the Szykman rule
+	private AdjudicationStats stats = null;		// null unless reporting statistics
+	private long stageStart = 0;				// for stats: start of the current stage
 	private boolean statReporting = false;
 	private boolean isPOCEnabled = false;
+	private boolean isWorklistEnabled = false;
+	private boolean isResultsMinimal = false;
+	private boolean isPartitionEnabled = false;
+	private int nPartitionThreads = 1;
+	private boolean areReadersCalculated = false;
+	private StdAdjudicator[] partitions = null;	// null unless partitioned evaluation is in use
+	private boolean isPartition = false;		// true if this is a partition (see evaluatePartitions())
+	private BitSet szykmanAttempts = null;		// partitions: attempts in which the Szykman rule was applied
+	private int nRoundPasses = 0;				// passes (or generations) in the last successful evaluateOrders()
+	private AdjudicationCache cache = null;
+	private boolean isCacheHit = false;
+	private int iterationCount = 0;
+	private int evaluationCount = 0;
 	private TurnState nextTurnState = null;
 	
 	/** 
@@ -136,37 +148,120 @@ public class StdAdjudicator implements Adjudicator
 		this.world = ts.getWorld();
 		this.ruleOpts = world.getRuleOptions();
 		this.resultList = ts.getResultList();
-		this.osMap = new HashMap(119);
+		this.osByProvince = new OrderState[world.getMap().getProvinces().length];
 		this.substOrders = new ArrayList(16);
 	}// StdAdjudicator()
 	
 	
+	/**
+	*	Create a StdAdjudicator that evaluates a partition of the orders
+	*	of the given StdAdjudicator (see setPartitionedEvaluation()).
+	*	OrderStates are shared with the parent; Results are kept in a 
+	*	separate list, until merged by the parent.
+	*/
+	private StdAdjudicator(StdAdjudicator parent, OrderState[] orderStates)
+	{
+		this.orderFactory = parent.orderFactory;
+		this.orderFormat = parent.orderFormat;
+		this.turnState = parent.turnState;
+		this.position = parent.position;
+		this.world = parent.world;
+		this.ruleOpts = parent.ruleOpts;
+		this.resultList = new ArrayList(orderStates.length * 2);
+		this.osByProvince = parent.osByProvince;
+		this.substOrders = parent.substOrders;
+		this.orderStates = orderStates;
+		this.isWorklistEnabled = parent.isWorklistEnabled;
+		this.isResultsMinimal = parent.isResultsMinimal;
+		this.areReadersCalculated = true;
+		this.isPartition = true;
+		this.szykmanAttempts = new BitSet();
+	}// StdAdjudicator()
+	
+	
 	/** Process the orders. */
 	public void process()
 	{
 		Phase.PhaseType pt = turnState.getPhase().getPhaseType();
 		
+		final long startTime = (statReporting) ? System.currentTimeMillis() : 0L;
+		stats = (statReporting) ? new AdjudicationStats() : null;
+		stageStart = startTime;
+		
 		if(isPOCEnabled)
 		{
 			checkOrders();
 		}
 		
-		if(pt == Phase.PhaseType.MOVEMENT)
+		// use a cached adjudication, if there is one
+		isCacheHit = false;
+		AdjudicationCache.Key cacheKey = null;
+		final int nResults = resultList.size();
+		if(cache != null)
 		{
-			adjudicateMoves();
-		}
-		else if(pt == Phase.PhaseType.RETREAT)
-		{
-			adjudicateRetreats();
+			cacheKey = new AdjudicationCache.Key(turnState, orderFormat, isResultsMinimal);
+			AdjudicationCache.Entry entry = cache.get(cacheKey);
+			java.util.Map orderMap = (entry == null) ? null : entry.mapOrders(turnState);
+			if(orderMap != null)
+			{
+				validateCachedOrders(orderMap);
+				nextTurnState = entry.apply(turnState, orderMap);
+				orderStates = OS_EMPTY;
+				isCacheHit = true;
+			}
 		}
-		else if(pt == Phase.PhaseType.ADJUSTMENT)
+		
+		if(!isCacheHit)
 		{
-			adjudicateAdjustment();
+			if(pt == Phase.PhaseType.MOVEMENT)
+			{
+				adjudicateMoves();
+				endStage(AdjudicationStats.STAGE_RESOLUTION);
+			}
+			else if(pt == Phase.PhaseType.RETREAT)
+			{
+				adjudicateRetreats();
+				endStage(AdjudicationStats.STAGE_RETREAT_ADJUSTMENT);
+			}
+			else if(pt == Phase.PhaseType.ADJUSTMENT)
+			{
+				adjudicateAdjustment();
+				endStage(AdjudicationStats.STAGE_RETREAT_ADJUSTMENT);
+			}
+			else
+			{
+				// we could use an assertion here...
+				throw new IllegalStateException("cannot adjudicate phase: "+pt);
+			}
+			
+			final List newResults = resultList.subList(nResults, resultList.size());
+			if(cacheKey != null && !isUnRezParadox && AdjudicationCache.isCacheable(newResults))
+			{
+				AdjudicationCache.Entry entry = new AdjudicationCache.Entry(
+					newResults, turnState, nextTurnState);
+				cache.put(cacheKey, entry);
+				
+				// validation may normalize orders (e.g., coasts), changing their
+				// hash; if so, also add the entry for the validated orders, so
+				// that the same Orders may be adjudicated again.
+				AdjudicationCache.Key validatedKey = new AdjudicationCache.Key(turnState, orderFormat, isResultsMinimal);
+				if(!validatedKey.equals(cacheKey))
+				{
+					cache.put(validatedKey, entry);
+				}
+			}
 		}
-		else
+		
+		if(stats != null)
 		{
-			// we could use an assertion here...
-			throw new IllegalStateException("cannot adjudicate phase: "+pt);
+			stats.setProcessed(System.currentTimeMillis() - startTime, iterationCount, evaluationCount,
+				paradoxBreakAttempt, nSzykmanMoves, (orderStates == null) ? 0 : orderStates.length);
+			AdjudicationStats.addToProcessTotals(stats);
+			
+			if(Log.isLogging())
+			{
+				Log.println(stats);
+			}
 		}
 	}// process()
 	
@@ -183,12 +278,24 @@ public class StdAdjudicator implements Adjudicator
 	}// setOrderFormat()
 	
 	
-	/** Enable or disable reporting of failure statistics. */
+	/** 
+	*	Enable or disable reporting of failure statistics, and of adjudication
+	*	statistics (see getStats()).
+	*/
 	public void setStatReporting(boolean value)
 	{
 		statReporting = value;
 	}// setStatReporting()
 	
+	/** 
+	*	Returns the AdjudicationStats of the last call to process(), or
+	*	null if statistics reporting was not enabled. 
+	*/
+	public AdjudicationStats getStats()
+	{
+		return stats;
+	}// getStats()
+	
 	/**
 	*	If enabled, checks to make sure that each Power's 
 	*	list of orders only contains orders from that Power.
@@ -200,6 +307,123 @@ public class StdAdjudicator implements Adjudicator
 		isPOCEnabled = value;
 	}// setPowerOrderChecking()
 	
+	/**
+	*	If enabled, orders are evaluated with a worklist rather than
+	*	by repeatedly evaluating every order until no further progress
+	*	is made. After the first pass, only orders that depend upon an
+	*	OrderState that has changed are re-evaluated. Dependencies are
+	*	derived from the dependency lists created by 
+	*	Order.determineDependencies().
+	*	<p>
+	*	This is disabled by default.
+	*/
+	public void setWorklistEvaluation(boolean value)
+	{
+		isWorklistEnabled = value;
+	}// setWorklistEvaluation()
+	
+	/**
+	*	If enabled, only Results that indicate the outcome of an order
+	*	(OrderResults with a ResultType other than TEXT) are recorded, and 
+	*	those Results do not have messages. All other Results are discarded.
+	*	This is intended for callers that never display Results, such as 
+	*	AI players. Results used to create subsequent phases (e.g., for
+	*	retreat standoffs) are unaffected.
+	*	<p>
+	*	This is disabled by default.
+	*/
+	public void setResultsMinimal(boolean value)
+	{
+		isResultsMinimal = value;
+	}// setResultsMinimal()
+	
+	/**
+	*	If enabled, the orders of a Movement phase are partitioned into
+	*	independent groups before evaluation. Orders in different groups
+	*	cannot affect each other (e.g., a support in Scandinavia and a 
+	*	move in the Balkans), so each group is resolved on its own, 
+	*	including paradox resolution, and groups may be resolved 
+	*	concurrently. Results are merged in a fixed order, so they do not
+	*	depend upon the number of threads used.
+	*	<p>
+	*	The outcome is the same as for unpartitioned evaluation. If a 
+	*	paradox in any group cannot be resolved, all orders are evaluated
+	*	again, as a single group.
+	*	<p>
+	*	Partitioning requires precise dependency information (see 
+	*	calculateReaders()); if any order is not a Move, Support, Convoy,
+	*	or Hold, orders are evaluated as a single group.
+	*	<p>
+	*	This is disabled by default.
+	*/
+	public void setPartitionedEvaluation(boolean value)
+	{
+		isPartitionEnabled = value;
+	}// setPartitionedEvaluation()
+	
+	/**
+	*	Sets the maximum number of threads used to evaluate partitions
+	*	(see setPartitionedEvaluation()). By default, one thread (the 
+	*	calling thread) is used. Worker threads are started for each 
+	*	Movement phase, so they are only worthwhile when order evaluation
+	*	is very expensive (i.e., very many units). Logging (see 
+	*	dip.misc.Log) should be disabled when more than one thread is used.
+	*/
+	public void setPartitionThreads(int nThreads)
+	{
+		if(nThreads < 1)
+		{
+			throw new IllegalArgumentException();
+		}
+		
+		nPartitionThreads = nThreads;
+	}// setPartitionThreads()
+	
+	/** 
+	*	Returns the number of independent partitions the Movement phase 
+	*	orders were divided into, or 0 if partitioned evaluation was not used.
+	*/
+	public int getPartitionCount()
+	{
+		return (partitions == null) ? 0 : partitions.length;
+	}// getPartitionCount()
+	
+	/**
+	*	Sets the AdjudicationCache used by process(), or null (the default)
+	*	for none. If an identical TurnState has already been adjudicated 
+	*	(see AdjudicationCache), it is not adjudicated again: results 
+	*	(which refer to the TurnState's own orders), TurnState flags, and
+	*	the next TurnState are copied from the cache, and no OrderStates
+	*	are available (getOrderStates() returns an empty array); see 
+	*	isCacheHit(). Adjudications are added to the cache unless a paradox
+	*	could not be resolved, or a result cannot be copied.
+	*/
+	public void setAdjudicationCache(AdjudicationCache cache)
+	{
+		this.cache = cache;
+	}// setAdjudicationCache()
+	
+	/** Returns true if the last call to process() used a cached adjudication. */
+	public boolean isCacheHit()
+	{
+		return isCacheHit;
+	}// isCacheHit()
+	
+	/** 
+	*	Returns the number of evaluation iterations performed. For worklist 
+	*	evaluation, this is the number of generations evaluated.
+	*/
+	public int getIterationCount()
+	{
+		return iterationCount;
+	}// getIterationCount()
+	
+	/** Returns the number of times Order.evaluate() was called. */
+	public int getEvaluationCount()
+	{
+		return evaluationCount;
+	}// getEvaluationCount()
+	
 	/** Get all OrderStates */
 	public final OrderState[] getOrderStates()
 	{
@@ -219,7 +443,7 @@ public class StdAdjudicator implements Adjudicator
 	*/
 	public final OrderState findOrderStateBySrc(Location location)
 	{
-		return (OrderState) osMap.get(location.getProvince());
+		return osByProvince[location.getProvince().getIndex()];
 	}// findOrderStateBySrc()
 	
 	
@@ -229,9 +453,24 @@ public class StdAdjudicator implements Adjudicator
 	*/
 	public final OrderState findOrderStateBySrc(Province src)
 	{
-		return (OrderState) osMap.get(src);
+		return osByProvince[src.getIndex()];
 	}// findOrderStateBySrc()
 	
+	/** The number of OrderStates in the Province==>OrderState table; used for integrity checks. */
+	private int countMappedOrderStates()
+	{
+		int count = 0;
+		for(int i=0; i<osByProvince.length; i++)
+		{
+			if(osByProvince[i] != null)
+			{
+				count++;
+			}
+		}
+		
+		return count;
+	}// countMappedOrderStates()
+	
 	/**
 	*	Returns 'true' if The Orderstate in question is a support order
 	*	that is supporting a move against itself.		
@@ -274,6 +513,15 @@ public class StdAdjudicator implements Adjudicator
 	/** Add a Result to the result list */
 	public final void addResult(Result result)
 	{
+		if(isResultsMinimal)
+		{
+			if( !(result instanceof OrderResult) 
+				|| ((OrderResult) result).getResultType() == ResultType.TEXT )
+			{
+				return;
+			}
+		}
+		
 		resultList.add(result);
 	}// addResult()
 	
@@ -298,16 +546,41 @@ public class StdAdjudicator implements Adjudicator
 	/** Add a Result to the result list */
 	public final  void addResult(OrderState os, String message)
 	{
-		OrderResult ordResult = new OrderResult(os.getOrder(), message);
-		resultList.add(ordResult);
+		addResult(os, ResultType.TEXT, message);
 	}// addResult()
 	
 	
 	/** Add a Result to the result list */
 	public final  void addResult(OrderState os, ResultType type, String message)
 	{
-		OrderResult ordResult = new OrderResult(os.getOrder(), type, message);
-		resultList.add(ordResult);
+		if(isResultsMinimal)
+		{
+			if(type != ResultType.TEXT)
+			{
+				resultList.add(new OrderResult(os.getOrder(), type, null));
+			}
+		}
+		else
+		{
+			resultList.add(new OrderResult(os.getOrder(), type, message));
+		}
+	}// addResult()
+	
+	
+	/** Add a Result with a deferred message to the result list */
+	public final  void addResult(OrderState os, ResultType type, String key, Object[] args)
+	{
+		if(isResultsMinimal)
+		{
+			if(type != ResultType.TEXT)
+			{
+				resultList.add(new OrderResult(os.getOrder(), type, null));
+			}
+		}
+		else
+		{
+			resultList.add(new OrderResult(os.getOrder(), type, key, args));
+		}
 	}// addResult()
 	
 	
@@ -339,14 +612,66 @@ public class StdAdjudicator implements Adjudicator
 					// create an informative result
 					// {0} power, {1} order (formatted)
 					String orderText = order.toFormattedString(orderFormat);
-					addResult( new Result(Utils.getLocalString(
-						STDADJ_POWER_ORDER_LIST_CORRUPT, power, orderText)) );
+					addResult( new Result(null, STDADJ_POWER_ORDER_LIST_CORRUPT, new Object[] {power, orderText}) );
 				}
 			}
 		}
 	}// checkOrders()
 	
 	
+	/**
+	*	Validates the orders of the TurnState that are mapped to (see
+	*	AdjudicationCache.Entry.mapOrders()), but are not equal to, the
+	*	orders of a cached adjudication. Validation may normalize orders 
+	*	(e.g., coasts), so that they would be equal once adjudicated; this
+	*	normalizes them, as adjudication would. Validation failures are 
+	*	ignored, as they are already in the cached results.
+	*/
+	private void validateCachedOrders(java.util.Map orderMap)
+	{
+		ValidationOptions valOpts = null;
+		
+		Iterator iter = orderMap.entrySet().iterator();
+		while(iter.hasNext())
+		{
+			java.util.Map.Entry mapping = (java.util.Map.Entry) iter.next();
+			Orderable order = (Orderable) mapping.getValue();
+			if(!order.equals(mapping.getKey()))
+			{
+				if(valOpts == null)
+				{
+					valOpts = new ValidationOptions();
+					valOpts.setOption(ValidationOptions.KEY_GLOBAL_PARSING, ValidationOptions.VALUE_GLOBAL_PARSING_STRICT);
+				}
+				
+				try
+				{
+					order.validate(turnState, valOpts, ruleOpts);
+				}
+				catch(OrderException oe)
+				{
+					// already a VALIDATION_FAILURE result
+				}
+			}
+		}
+	}// validateCachedOrders()
+	
+	
+	/** 
+	*	If reporting statistics, adds the time since the end of the previous
+	*	stage to the given stage. 
+	*/
+	private void endStage(int stage)
+	{
+		if(stats != null)
+		{
+			final long now = System.currentTimeMillis();
+			stats.addTime(stage, now - stageStart);
+			stageStart = now;
+		}
+	}// endStage()
+	
+	
 	/** Adjudicates the Movement phase */
 	private void adjudicateMoves()
 	{
@@ -358,7 +683,7 @@ public class StdAdjudicator implements Adjudicator
 		// make sure that each location in the OrderState mapping has a corresponding unit,
 		// If an order exists for a province without a unit, the order is deleted.
 		List orderList = turnState.getAllOrders();
-		// temporary list for holding orders; ASSUME that we won't be adding too many orders.
+		// temporary list for holding orders
 		ArrayList osList = new ArrayList(orderList.size());
 		
 		Iterator iter = orderList.iterator();
@@ -371,20 +696,20 @@ public class StdAdjudicator implements Adjudicator
 			// check that a unit exists for this order
 			if( position.hasUnit(province) )
 			{
-				OrderState oldOS = (OrderState) osMap.get(province);
+				OrderState oldOS = osByProvince[province.getIndex()];
 				if(oldOS != null)
 				{
 					addResult( new OrderResult(oldOS.getOrder(), 
-									Utils.getLocalString(STDADJ_DUP_ORDER, os.getOrder())) );
+									ResultType.TEXT, STDADJ_DUP_ORDER, new Object[] {os.getOrder()}) );
 					osList.remove(oldOS);	// we don't want duplicates in osList
 				}
 				
-				osMap.put(province, os);
+				osByProvince[province.getIndex()] = os;
 				osList.add(os);
 			}
 			else
 			{
-				addResult(new OrderResult(order, Utils.getLocalString(STDADJ_MV_NO_UNIT)));
+				addResult(new OrderResult(order, ResultType.TEXT, STDADJ_MV_NO_UNIT, null));
 			}
 		}
 		
@@ -396,19 +721,19 @@ public class StdAdjudicator implements Adjudicator
 		for(int i=0; i<unitList.length; i++)
 		{
 			Province province = unitList[i];
-			if( !osMap.containsKey(province) )
+			if( osByProvince[province.getIndex()] == null )
 			{
 				Unit unit = position.getUnit(province);
-				Hold hold = orderFactory.createHold(unit.getPower(), new Location(province, unit.getCoast()), unit.getType());
+				Hold hold = orderFactory.createHold(unit.getPower(), world.getMap().getLocation(province, unit.getCoast()), unit.getType());
 				OrderState os = new OrderState(hold);
 				osList.add(os);
-				osMap.put(os.getSourceProvince(), os);
+				osByProvince[os.getSourceProvince().getIndex()] = os;
 				
 				// create a result detailing our creation of a new order.
 				addResult(new SubstitutedResult(
 					null,
 					hold,
-					Utils.getLocalString(STDADJ_MV_NO_ORDER, province) ));
+					STDADJ_MV_NO_ORDER, new Object[] {province} ));
 			}
 		}
 		
@@ -421,8 +746,9 @@ public class StdAdjudicator implements Adjudicator
 		orderList = null;
 		osList = null;
 		
-		// integrity check: osList && osMap should have the same number of entries.
-		assert (orderStates.length == osMap.size());
+		// integrity check: osList && osByProvince should have the same number of entries.
+		assert (orderStates.length == countMappedOrderStates());
+		endStage(AdjudicationStats.STAGE_MAPPING);
 		
 		// step 3: perform a complete validation of all orders
 		ValidationOptions valOpts = new ValidationOptions();
@@ -449,8 +775,7 @@ public class StdAdjudicator implements Adjudicator
 				// the adjudicator from using (or even knowing about) the invalid order
 				// 
 				addResult(os, ResultType.VALIDATION_FAILURE, 
-						Utils.getLocalString(STDADJ_MV_BAD, 
-						oe.getMessage()));
+						STDADJ_MV_BAD, new Object[] {oe.getMessage()});
 						
 				Hold hold = orderFactory.createHold(order.getPower(), order.getSource(), 
 							order.getSourceUnitType());
@@ -465,6 +790,7 @@ public class StdAdjudicator implements Adjudicator
 			}
 		}
 		
+		endStage(AdjudicationStats.STAGE_VALIDATION);
 		
 		// step 4: calculate dependencies
 		for(int osIdx=0; osIdx<orderStates.length; osIdx++)
@@ -474,6 +800,7 @@ public class StdAdjudicator implements Adjudicator
 			order.determineDependencies(this);
 		}
 		
+		endStage(AdjudicationStats.STAGE_DEPENDENCIES);
 		
 		// step 5: Order verification / automatic failures
 		/*
@@ -505,6 +832,7 @@ public class StdAdjudicator implements Adjudicator
 			
 		*/
 		verifyOrders();
+		endStage(AdjudicationStats.STAGE_VERIFICATION);
 		
 		
 		// step 6: 
@@ -543,14 +871,18 @@ public class StdAdjudicator implements Adjudicator
 			// Step 7: 
 			// evaluate all orders, until evaluation is complete OR 
 			// until we cannot break paradoxes any more (!)
-			boolean evaluationComplete = false;
-			while(!evaluationComplete)
+			if(isPartitionEnabled)
 			{
-				evaluationComplete = evaluateOrders(totalMoves, totalNonMoves);
-				if(!evaluationComplete)
-				{
-					evaluationComplete = !canBreakParadox();
-				}
+				partitions = createPartitions();
+			}
+			
+			if(partitions != null)
+			{
+				evaluatePartitions(totalMoves, totalNonMoves);
+			}
+			else
+			{
+				resolveOrders(totalMoves, totalNonMoves);
 			}
 			
 			
@@ -680,33 +1012,50 @@ public class StdAdjudicator implements Adjudicator
 		Phase nextPhase = oldPhase.getNext();
 		if(!areAnyUnitsDislodged && nextPhase.getPhaseType() == Phase.PhaseType.RETREAT)
 		{
-			addResult( new Result(Utils.getLocalString(STDADJ_SKIP_RETREAT)) );
+			addResult( new Result(null, STDADJ_SKIP_RETREAT, null) );
 			nextPhase = nextPhase.getNext();
 		}
 		
 		
 		// Step 12:
 		// Create the next TurnState. This is derived from the current turnstate,
-		// Position is cloned in such a way that all data except unit positions are cloned.
+		// Position is cloned in such a way that all data except dislodged units
+		// (of which there are none in a movement phase) are cloned. Since the 
+		// cloned Position shares unchanged data with the current Position, only 
+		// units that have moved or been dislodged are changed.
 		//
 		// all units that have moved, are moved. All units that have been dislodged, are dislodged.
 		// any other units stay in the same place.
 		Position nextPosition = null;
-		nextPosition = position.cloneExceptUnits();
+		nextPosition = position.cloneExceptDislodged();
 		
 		nextTurnState = new TurnState(nextPhase);
 		nextTurnState.setPosition(nextPosition);
 		nextTurnState.setWorld(turnState.getWorld());
 		
+		// remove units that have moved or been dislodged from their source province;
+		// this must be done first, since a unit may move into a vacated province.
+		for(int osIdx=0; osIdx<orderStates.length; osIdx++)
+		{
+			OrderState os = orderStates[osIdx];
+			if( os.getDislodgedState() == Tristate.YES 
+				|| (os.getOrder() instanceof Move && os.getEvalState() == Tristate.SUCCESS) )
+			{
+				nextPosition.setUnit(os.getSourceProvince(), null);
+			}
+		}
+		
 		// create units in the appropriate place.
+		// Units are shared (immutable); a moved unit is the shared unit at its new coast
+		final dip.world.Map map = world.getMap();
 		for(int osIdx=0; osIdx<orderStates.length; osIdx++)
 		{
 			OrderState os = orderStates[osIdx];
 			Order order = os.getOrder();
 			Province sourceProvince = os.getSourceProvince();
 			
-			// clone the old unit (from the old position)
-			Unit newUnit = (Unit) position.getUnit(sourceProvince).clone();
+			// the old unit (from the old position)
+			Unit newUnit = position.getUnit(sourceProvince);
 			
 			if(os.getDislodgedState() == Tristate.YES)
 			{
@@ -722,14 +1071,14 @@ public class StdAdjudicator implements Adjudicator
 					// notify the power of what happened.
 					// 
 					addResult(new OrderResult(os.getOrder(),
-						Utils.getLocalString(STDADJ_INACTIVE_POWER_DISLODGED)));
+						ResultType.TEXT, STDADJ_INACTIVE_POWER_DISLODGED, null));
 				}
 			}
 			else if( order instanceof Move 
 					 && os.getEvalState() == Tristate.SUCCESS)
 			{
 				Location dest = ((Move)order).getDest();
-				newUnit.setCoast( dest.getCoast() );
+				newUnit = map.getUnit(newUnit.getPower(), newUnit.getType(), dest.getCoast());
 				nextPosition.setUnit(dest.getProvince(), newUnit);
 				nextPosition.setLastOccupier(dest.getProvince(), newUnit.getPower());
 			}
@@ -798,7 +1147,7 @@ public class StdAdjudicator implements Adjudicator
 				Unit unit = nextPosition.getDislodgedUnit(prov);
 				if(unit != null)
 				{
-					if( rc.hasRetreats(new Location(prov, unit.getCoast())) )
+					if( rc.hasRetreats(world.getMap().getLocation(prov, unit.getCoast())) )
 					{
 						areAllDestroyed = false;
 					}
@@ -809,7 +1158,7 @@ public class StdAdjudicator implements Adjudicator
 						
 						// create unit destroyed message
 						addResult(new Result(unit.getPower(), 
-							Utils.getLocalString(STDADJ_MV_UNIT_DESTROYED, unit.getType().getFullName(), prov)));
+							STDADJ_MV_UNIT_DESTROYED, new Object[] {unit.getType().getFullName(), prov}));
 					}
 				}
 			}
@@ -819,7 +1168,7 @@ public class StdAdjudicator implements Adjudicator
 				// advance phase by 1. Inform players why.
 				Phase p = nextTurnState.getPhase().getNext();
 				nextTurnState.setPhase(p);
-				addResult( new Result(null, Utils.getLocalString(STDADJ_MV_PHASE_ADV_ALL_DESTROYED)) );
+				addResult( new Result(null, STDADJ_MV_PHASE_ADV_ALL_DESTROYED, null) );
 			}
 		}
 		
@@ -830,108 +1179,714 @@ public class StdAdjudicator implements Adjudicator
 	
 	
 	/** 
-	*	This may return null, if the game has ended and victory conditions have been met
-	*	during the Adjustment phase. During the movement phase, if victory conditions 
-	*	have been met, this will return the next TurnState.
+	*	This may return null, if the game has ended and victory conditions have been met
+	*	during the Adjustment phase. During the movement phase, if victory conditions 
+	*	have been met, this will return the next TurnState.
+	*/
+	public TurnState getNextTurnState()
+	{
+		return nextTurnState;
+	}// getNextTurnState()
+	
+	
+	/**
+	*	Step 7 of adjudicateMoves(): evaluates all orders, until evaluation
+	*	is complete OR until we cannot break paradoxes any more (!). Used
+	*	for all orders, or for each partition (see evaluatePartitions()).
+	*/
+	private void resolveOrders(final int totalMoveOrderCount, final int totalNonMoveOrderCount)
+	{
+		boolean evaluationComplete = false;
+		while(!evaluationComplete)
+		{
+			evaluationComplete = evaluateOrders(totalMoveOrderCount, totalNonMoveOrderCount);
+			
+			if(!evaluationComplete)
+			{
+				endStage(AdjudicationStats.STAGE_EVALUATION);
+				evaluationComplete = !canBreakParadox();
+				endStage(AdjudicationStats.STAGE_PARADOX);
+			}
+		}
+		
+		endStage(AdjudicationStats.STAGE_EVALUATION);
+	}// resolveOrders()
+	
+	
+	/**
+	*	Calls order.evaluate() for each order
+	*	performs multiple iterations, until all *move* orders are evaluated.
+	*	when all move orders have been evaluated, returns 'true'.
+	*	<p>
+	*	HOWEVER, if a paradox is detected, 'false' is returned.
+	*	<p>
+	*	paradox detection:
+	*	<ol>
+	*		<li>must supply INITIAL # of move orders / non-move orders to this method</li>
+	*		<li>each iteration:
+	*			<ol>
+	*				<li># of move orders evaluated is determined</li>
+	*				<li># of non-move orders evaluated is determined</li>
+	*				<li>if # of move orders AND # of non-move orders are 
+	*					both NOT increasing, AND no OrderState has changed 
+	*					during the iteration, we have a paradox.</li>
+	*			</ol>
+	*		</li>
+	*	</ol>
+	*	'invalid' move orders are never ever counted!!
+	*	<p>
+	*	If OrderStates keep changing without any more orders being evaluated
+	*	(this should not occur), a paradox is assumed after as many iterations
+	*	as there are orders.
+	*/
+	private boolean evaluateOrders(final int totalMoveOrderCount, final int totalNonMoveOrderCount)
+	{
+		if(isWorklistEnabled)
+		{
+			return evaluateOrdersWorklist(totalMoveOrderCount);
+		}
+		
+		// used only to detect OrderState changes
+		if(evalQueue == null)
+		{
+			evalQueue = new EvaluationQueue();
+		}
+		
+		final EvaluationQueue queue = evalQueue;
+		queue.attach(orderStates, OS_EMPTY);
+		
+		int lastNumMovesEvaluated = 0;
+		int lastNumNonMovesEvaluated = 0;
+		int iterations = 0;
+		int nStalled = 0;
+		
+		try
+		{
+			do {
+				int nMovesEvaluated = 0;
+				int nNonMovesEvaluated = 0;
+			
+				// for logging statistics only:
+				iterations++;
+				iterationCount++;
+			
+				for(int osIdx=0; osIdx<orderStates.length; osIdx++)
+				{
+					OrderState os = orderStates[osIdx];
+
+					// evaluate each order
+					os.getOrder().evaluate(this);
+					evaluationCount++;
+				
+					// determine how many orders are evaluated
+					if( os.getEvalState() != Tristate.UNCERTAIN )
+					{
+						if( os.getOrder() instanceof Move )
+						{
+							nMovesEvaluated++;
+						}
+						else
+						{
+							nNonMovesEvaluated++;
+						}
+					}
+				}
+			
+				// check for paradox
+				// NOTE: if totalMoveOrderCount == 0, we cannot have a paradox.
+				// 
+				final boolean isChanged = queue.nextPass();
+				if( totalMoveOrderCount > 0
+					&& nMovesEvaluated <= lastNumMovesEvaluated
+					&& nNonMovesEvaluated <= lastNumNonMovesEvaluated 
+					&& isStalled(isChanged, ++nStalled) )
+				{
+					if(Log.isLogging())
+					{
+						Log.println("**** PARADOX ****");
+						Log.println(" 	nMovesEvaluated = ",nMovesEvaluated);
+						Log.println(" 	lastNumMovesEvaluated = ",lastNumMovesEvaluated);
+						Log.println(" 	nNonMovesEvaluated = ",nNonMovesEvaluated);
+						Log.println(" 	lastNumNonMovesEvaluated = ",lastNumNonMovesEvaluated);
+					}
+				
+					return false;
+				}
+			
+				// print iteration statistics
+				if(Log.isLogging())
+				{
+					Log.println("-------- iteration statistics --------");
+					Log.println("    iteration: ",iterations);
+					Log.println("       orders: "+nNonMovesEvaluated+" of "+totalNonMoveOrderCount+" (non-move) evaluated");
+					Log.println("  move orders: "+nMovesEvaluated+" of "+totalMoveOrderCount+" evaluated");
+					Log.println("--------------------------------------");
+				}
+			
+				// set last evaluated, so next iteration can be compared.
+				if(nMovesEvaluated > lastNumMovesEvaluated || nNonMovesEvaluated > lastNumNonMovesEvaluated)
+				{
+					nStalled = 0;
+				}
+			
+				lastNumMovesEvaluated = nMovesEvaluated;
+				lastNumNonMovesEvaluated = nNonMovesEvaluated;
+			
+			} while(lastNumMovesEvaluated < totalMoveOrderCount);
+			
+			nRoundPasses = iterations;
+		}
+		finally
+		{
+			queue.detach(orderStates);
+		}
+		
+		return true;
+	}// evaluateOrders()
+	
+	
+	/**
+	*	For evaluateOrders(): given an iteration in which no more orders
+	*	were evaluated, returns true if evaluation is stuck (a paradox). 
+	*	nStalled is the number of consecutive such iterations.
+	*/
+	private boolean isStalled(boolean isChanged, int nStalled)
+	{
+		return (!isChanged || nStalled > orderStates.length);
+	}// isStalled()
+	
+	
+	/**
+	*	Worklist version of evaluateOrders(). 
+	*	<p>
+	*	All orders are evaluated once. Thereafter, an order is only 
+	*	re-evaluated if an OrderState that it reads has changed. When 
+	*	all move orders are evaluated, returns 'true'. If there is nothing
+	*	left to evaluate, but move orders remain unevaluated, we have a 
+	*	paradox, and 'false' is returned.
+	*/
+	private boolean evaluateOrdersWorklist(final int totalMoveOrderCount)
+	{
+		if(!areReadersCalculated)
+		{
+			calculateReaders();
+			areReadersCalculated = true;
+		}
+		
+		// orders without precise dependency information are re-evaluated
+		// after any change.
+		OrderState[] globalReaders = OS_EMPTY;
+		for(int osIdx=0; osIdx<orderStates.length; osIdx++)
+		{
+			if(!hasKnownReads(orderStates[osIdx].getOrder()))
+			{
+				OrderState[] tmp = new OrderState[globalReaders.length + 1];
+				System.arraycopy(globalReaders, 0, tmp, 0, globalReaders.length);
+				tmp[globalReaders.length] = orderStates[osIdx];
+				globalReaders = tmp;
+			}
+		}
+		
+		if(evalQueue == null)
+		{
+			evalQueue = new EvaluationQueue();
+		}
+		
+		final EvaluationQueue queue = evalQueue;
+		queue.attach(orderStates, globalReaders);
+		queue.addAll(orderStates);
+		boolean isRetained = false;
+		
+		try
+		{
+			int iterations = 0;
+			
+			while(queue.nextGeneration())
+			{
+				iterations++;
+				iterationCount++;
+				
+				OrderState os = queue.poll();
+				while(os != null)
+				{
+					os.getOrder().evaluate(this);
+					evaluationCount++;
+					os = queue.poll();
+				}
+				
+				if(Log.isLogging())
+				{
+					Log.println("-------- worklist statistics --------");
+					Log.println("   generation: ",iterations);
+					Log.println("  move orders: "+(totalMoveOrderCount - queue.getUnresolvedMoveCount())+
+						" of "+totalMoveOrderCount+" evaluated");
+					Log.println("-------------------------------------");
+				}
+				
+				if(queue.getUnresolvedMoveCount() <= 0)
+				{
+					break;
+				}
+			}
+			
+			if(queue.getUnresolvedMoveCount() > 0)
+			{
+				Log.println("**** PARADOX **** (worklist exhausted); unevaluated moves: ", 
+					queue.getUnresolvedMoveCount());
+				return false;
+			}
+			
+			// a partition may continue (see settlePartition())
+			nRoundPasses = iterations;
+			isRetained = isPartition;
+			return true;
+		}
+		finally
+		{
+			if(!isRetained)
+			{
+				queue.detach(orderStates);
+			}
+		}
+	}// evaluateOrdersWorklist()
+	
+	
+	/**
+	*	Returns true if the OrderStates read by the given order's evaluate() method
+	*	are known (see calculateReaders()). 
+	*/
+	private boolean hasKnownReads(Order order)
+	{
+		return (order instanceof Move 
+				|| order instanceof Support 
+				|| order instanceof Convoy 
+				|| order instanceof Hold);
+	}// hasKnownReads()
+	
+	
+	/**
+	*	Creates the reverse dependency ("reader") lists used by worklist
+	*	evaluation. For each OrderState, the OrderStates read by its
+	*	evaluate() method are determined; the OrderState is then added as
+	*	a reader of each. 
+	*	<p>
+	*	An OrderState always reads itself, as well as its dependent supports,
+	*	self-supports, moves to source, and moves to destination. Additionally:
+	*	<ul>
+	*		<li>Move: the order in the destination province, the head-to-head 
+	*			move (if any), the head-to-head moves of competing moves, and 
+	*			all Convoy orders that match the move.</li>
+	*		<li>Support: all Convoy orders that match a convoyed move against
+	*			the supporting unit.</li>
+	*	</ul>
+	*	<p>
+	*	This must be called after dependencies have been determined and orders
+	*	have been verified.
+	*/
+	private void calculateReaders()
+	{
+		for(int osIdx=0; osIdx<orderStates.length; osIdx++)
+		{
+			final OrderState os = orderStates[osIdx];
+			final Order order = os.getOrder();
+			
+			os.addReader(os);
+			addReader(os, os.getDependentSupports());
+			addReader(os, os.getDependentSelfSupports());
+			addReader(os, os.getDependentMovesToSource());
+			addReader(os, os.getDependentMovesToDestination());
+			
+			if(order instanceof Move)
+			{
+				final Move move = (Move) order;
+				
+				OrderState destOS = findOrderStateBySrc(move.getDest());
+				if(destOS != null)
+				{
+					destOS.addReader(os);
+				}
+				
+				if(os.getHeadToHead() != null)
+				{
+					os.getHeadToHead().addReader(os);
+				}
+				
+				final OrderState[] dml = os.getDependentMovesToDestination();
+				for(int i=0; i<dml.length; i++)
+				{
+					if(dml[i].getHeadToHead() != null)
+					{
+						dml[i].getHeadToHead().addReader(os);
+					}
+				}
+				
+				addReader(os, getConvoyList(move));
+			}
+			else if(order instanceof Support)
+			{
+				final OrderState[] mts = os.getDependentMovesToSource();
+				for(int i=0; i<mts.length; i++)
+				{
+					addReader(os, getConvoyList((Move) mts[i].getOrder()));
+				}
+			}
+		}
+	}// calculateReaders()
+	
+	
+	/** Adds the reader to each OrderState in the given array */
+	private void addReader(OrderState reader, OrderState[] osArray)
+	{
+		for(int i=0; i<osArray.length; i++)
+		{
+			osArray[i].addReader(reader);
+		}
+	}// addReader()
+	
+	/** Adds the reader to each OrderState in the given List */
+	private void addReader(OrderState reader, List osList)
+	{
+		for(int i=0; i<osList.size(); i++)
+		{
+			((OrderState) osList.get(i)).addReader(reader);
+		}
+	}// addReader()
+	
+	
+	/**
+	*	Divides the OrderStates into partitions; OrderStates in different
+	*	partitions never read each other's state. Partitions are ordered
+	*	by their first OrderState (in OrderState array order), and 
+	*	OrderStates within a partition retain their relative order. 
+	*	<p>
+	*	Returns null if partitioning is not possible, or if there would
+	*	only be a single partition.
+	*/
+	private StdAdjudicator[] createPartitions()
+	{
+		for(int osIdx=0; osIdx<orderStates.length; osIdx++)
+		{
+			if(!hasKnownReads(orderStates[osIdx].getOrder()))
+			{
+				return null;
+			}
+		}
+		
+		if(!areReadersCalculated)
+		{
+			calculateReaders();
+			areReadersCalculated = true;
+		}
+		
+		// union-find, over Province indices (each OrderState has a unique 
+		// source Province). 
+		final int[] root = new int[osByProvince.length];
+		for(int i=0; i<root.length; i++)
+		{
+			root[i] = i;
+		}
+		
+		for(int osIdx=0; osIdx<orderStates.length; osIdx++)
+		{
+			final OrderState os = orderStates[osIdx];
+			final OrderState[] readers = os.getReaders();
+			final int nReaders = os.getReaderCount();
+			final int a = findRoot(root, os.getSourceProvince().getIndex());
+			
+			for(int i=0; i<nReaders; i++)
+			{
+				final int b = findRoot(root, readers[i].getSourceProvince().getIndex());
+				if(a != b)
+				{
+					root[b] = a;
+				}
+			}
+		}
+		
+		// number the partitions, in order of appearance.
+		final int[] partNum = new int[root.length];
+		Arrays.fill(partNum, -1);
+		final int[] partSize = new int[orderStates.length];
+		int nParts = 0;
+		for(int osIdx=0; osIdx<orderStates.length; osIdx++)
+		{
+			final int r = findRoot(root, orderStates[osIdx].getSourceProvince().getIndex());
+			if(partNum[r] < 0)
+			{
+				partNum[r] = nParts;
+				nParts++;
+			}
+			
+			partSize[partNum[r]]++;
+		}
+		
+		Log.println("partitions: ", nParts);
+		
+		if(nParts <= 1)
+		{
+			return null;
+		}
+		
+		final OrderState[][] partOS = new OrderState[nParts][];
+		for(int i=0; i<nParts; i++)
+		{
+			partOS[i] = new OrderState[partSize[i]];
+			partSize[i] = 0;
+		}
+		
+		for(int osIdx=0; osIdx<orderStates.length; osIdx++)
+		{
+			final OrderState os = orderStates[osIdx];
+			final int p = partNum[findRoot(root, os.getSourceProvince().getIndex())];
+			partOS[p][partSize[p]] = os;
+			partSize[p]++;
+		}
+		
+		final StdAdjudicator[] parts = new StdAdjudicator[nParts];
+		for(int i=0; i<nParts; i++)
+		{
+			parts[i] = new StdAdjudicator(this, partOS[i]);
+		}
+		
+		return parts;
+	}// createPartitions()
+	
+	
+	/** Union-find: get the root of the given element, with path halving. */
+	private static int findRoot(int[] root, int i)
+	{
+		while(root[i] != i)
+		{
+			root[i] = root[root[i]];
+			i = root[i];
+		}
+		
+		return i;
+	}// findRoot()
+	
+	
+	/**
+	*	Partitioned version of step 7 of adjudicateMoves() (see 
+	*	resolveOrders()). Partitions are independent, so each partition is
+	*	resolved on its own, including paradox resolution; partitions may 
+	*	be resolved concurrently.
+	*	<p>
+	*	Unpartitioned evaluation breaks the paradoxes of all groups in the
+	*	same attempt, and stops once all moves are evaluated, after the
+	*	last attempt. A group resolved before the last attempt has thus 
+	*	been evaluated until nothing changed; a group resolved in the last 
+	*	attempt has been evaluated as many times as the slowest such group.
+	*	Once resolved, each partition is evaluated further (see 
+	*	settlePartition()) to reach the same state.
+	*	<p>
+	*	Results and counts are then merged, in partition order.
+	*	<p>
+	*	If a paradox cannot be resolved in any partition, the fallback 
+	*	paradox-breaking methods (see canBreakParadox()) would be tried 
+	*	separately for each partition, unlike unpartitioned evaluation. 
+	*	The partition results are then discarded, the OrderStates are 
+	*	restored, and all orders are evaluated again, unpartitioned.
+	*/
+	private void evaluatePartitions(final int totalMoveOrderCount, final int totalNonMoveOrderCount)
+	{
+		final StdAdjudicator[] parts = partitions;
+		final int nWorkers = Math.min(nPartitionThreads, parts.length);
+		
+		final OrderState[] savedStates = new OrderState[orderStates.length];
+		for(int osIdx=0; osIdx<orderStates.length; osIdx++)
+		{
+			savedStates[osIdx] = orderStates[osIdx].copyEvaluation();
+		}
+		
+		if(nWorkers > 1)
+		{
+			new PartitionWorkers(parts, nWorkers).resolve();
+		}
+		else
+		{
+			for(int i=0; i<parts.length; i++)
+			{
+				parts[i].resolvePartition();
+			}
+		}
+		
+		for(int i=0; i<parts.length; i++)
+		{
+			if(parts[i].isUnRezParadox)
+			{
+				evaluateUnpartitioned(savedStates, totalMoveOrderCount, totalNonMoveOrderCount);
+				return;
+			}
+		}
+		
+		// find the last paradox-breaking attempt, and the greatest number
+		// of passes made after it.
+		int lastAttempt = 0;
+		int nLastPasses = 0;
+		for(int i=0; i<parts.length; i++)
+		{
+			final StdAdjudicator part = parts[i];
+			if(!part.isUnRezParadox)
+			{
+				if(part.paradoxBreakAttempt > lastAttempt)
+				{
+					lastAttempt = part.paradoxBreakAttempt;
+					nLastPasses = part.nRoundPasses;
+				}
+				else if(part.paradoxBreakAttempt == lastAttempt)
+				{
+					nLastPasses = Math.max(nLastPasses, part.nRoundPasses);
+				}
+			}
+		}
+		
+		final BitSet szykmanAttempts = new BitSet();
+		for(int i=0; i<parts.length; i++)
+		{
+			final StdAdjudicator part = parts[i];
+			if(!part.isUnRezParadox)
+			{
+				if(part.paradoxBreakAttempt == lastAttempt)
+				{
+					part.settlePartition(nLastPasses - part.nRoundPasses);
+				}
+				else
+				{
+					part.settlePartition(part.orderStates.length + 1);
+				}
+			}
+			
+			szykmanAttempts.or(part.szykmanAttempts);
+		}
+		
+		// one Szykman notice for each attempt in which it was applied
+		for(int i=szykmanAttempts.nextSetBit(0); i>=0; i=szykmanAttempts.nextSetBit(i+1))
+		{
+			addResult(new Result(null, STDADJ_MV_SZYKMAN_NOTICE, null));
+		}
+		
+		for(int i=0; i<parts.length; i++)
+		{
+			final StdAdjudicator part = parts[i];
+			
+			resultList.addAll(part.resultList);
+			part.resultList.clear();
+			evaluationCount += part.evaluationCount;
+			iterationCount += part.iterationCount;
+			paradoxBreakAttempt = Math.max(paradoxBreakAttempt, part.paradoxBreakAttempt);
+			nSzykmanMoves += part.nSzykmanMoves;
+			isUnRezParadox |= part.isUnRezParadox;
+		}
+		
+		endStage(AdjudicationStats.STAGE_EVALUATION);
+	}// evaluatePartitions()
+	
+	
+	/**
+	*	Discards the partition results, restores the OrderStates saved before
+	*	partitioned evaluation, and evaluates all orders (see evaluatePartitions()).
+	*	Partition evaluation counts are kept.
+	*/
+	private void evaluateUnpartitioned(OrderState[] savedStates, 
+		final int totalMoveOrderCount, final int totalNonMoveOrderCount)
+	{
+		for(int i=0; i<partitions.length; i++)
+		{
+			evaluationCount += partitions[i].evaluationCount;
+			iterationCount += partitions[i].iterationCount;
+		}
+		
+		partitions = null;
+		
+		for(int osIdx=0; osIdx<orderStates.length; osIdx++)
+		{
+			orderStates[osIdx].restoreEvaluation(savedStates[osIdx]);
+		}
+		
+		Log.println("partitioned evaluation: unresolved paradox; evaluating all orders");
+		resolveOrders(totalMoveOrderCount, totalNonMoveOrderCount);
+	}// evaluateUnpartitioned()
+	
+	
+	/** 
+	*	Resolves this partition (see evaluatePartitions()). Orders are 
+	*	counted exactly as in adjudicateMoves().
 	*/
-	public TurnState getNextTurnState()
+	private void resolvePartition()
 	{
-		return nextTurnState;
-	}// getNextTurnState()
+		int totalMoves = 0;
+		int totalNonMoves = 0;
+		for(int osIdx=0; osIdx<orderStates.length; osIdx++)
+		{
+			if(orderStates[osIdx].getOrder() instanceof Move)
+			{
+				totalMoves++;
+			}
+			else
+			{
+				totalNonMoves++;
+			}
+		}
+		
+		resolveOrders(totalMoves, totalNonMoves);
+	}// resolvePartition()
 	
 	
 	/**
-	*	Calls order.evaluate() for each order
-	*	performs multiple iterations, until all *move* orders are evaluated.
-	*	when all move orders have been evaluated, returns 'true'.
-	*	<p>
-	*	HOWEVER, if a paradox is detected, 'false' is returned.
-	*	<p>
-	*	paradox detection:
-	*	<ol>
-	*		<li>must supply INITIAL # of move orders / non-move orders to this method</li>
-	*		<li>each iteration:
-	*			<ol>
-	*				<li># of move orders evaluated is determined</li>
-	*				<li># of non-move orders evaluated is determined</li>
-	*				<li>if # of move orders AND # of non-move orders are 
-	*					both NOT increasing, we have a paradox.</li>
-	*			</ol>
-	*		</li>
-	*	</ol>
-	*	'invalid' move orders are never ever counted!!
+	*	Evaluates this resolved partition further (see evaluatePartitions()):
+	*	at most maxPasses more passes (or worklist generations) are made, 
+	*	but fewer if nothing changes (or nothing remains to be evaluated).
 	*/
-	private boolean evaluateOrders(final int totalMoveOrderCount, final int totalNonMoveOrderCount)
+	private void settlePartition(int maxPasses)
 	{
-		int lastNumMovesEvaluated = 0;
-		int lastNumNonMovesEvaluated = 0;
-		int iterations = 0;
+		final EvaluationQueue queue = evalQueue;
+		if(!isWorklistEnabled)
+		{
+			// used only to detect OrderState changes
+			queue.attach(orderStates, OS_EMPTY);
+		}
 		
-		do {
-			int nMovesEvaluated = 0;
-			int nNonMovesEvaluated = 0;
-			
-			// for logging statistics only:
-			iterations++;
-			
-			for(int osIdx=0; osIdx<orderStates.length; osIdx++)
+		try
+		{
+			for(int i=0; i<maxPasses; i++)
 			{
-				OrderState os = orderStates[osIdx];
-
-				// evaluate each order
-				os.getOrder().evaluate(this);
-				
-				// determine how many orders are evaluated
-				if( os.getEvalState() != Tristate.UNCERTAIN )
+				if(isWorklistEnabled)
 				{
-					if( os.getOrder() instanceof Move )
+					if(!queue.nextGeneration())
 					{
-						nMovesEvaluated++;
+						break;
 					}
-					else
+					
+					iterationCount++;
+					OrderState os = queue.poll();
+					while(os != null)
 					{
-						nNonMovesEvaluated++;
+						os.getOrder().evaluate(this);
+						evaluationCount++;
+						os = queue.poll();
 					}
 				}
-			}
-			
-			// check for paradox
-			// NOTE: if totalMoveOrderCount == 0, we cannot have a paradox.
-			// 
-			if( totalMoveOrderCount > 0
-				&& nMovesEvaluated <= lastNumMovesEvaluated
-				&& nNonMovesEvaluated <= lastNumNonMovesEvaluated )
-			{
-				if(Log.isLogging())
+				else
 				{
-					Log.println("**** PARADOX ****");
-					Log.println(" 	nMovesEvaluated = ",nMovesEvaluated);
-					Log.println(" 	lastNumMovesEvaluated = ",lastNumMovesEvaluated);
-					Log.println(" 	nNonMovesEvaluated = ",nNonMovesEvaluated);
-					Log.println(" 	lastNumNonMovesEvaluated = ",lastNumNonMovesEvaluated);
+					iterationCount++;
+					for(int osIdx=0; osIdx<orderStates.length; osIdx++)
+					{
+						orderStates[osIdx].getOrder().evaluate(this);
+						evaluationCount++;
+					}
+					
+					if(!queue.nextPass())
+					{
+						break;
+					}
 				}
-				
-				return false;
-			}
-			
-			// print iteration statistics
-			if(Log.isLogging())
-			{
-				Log.println("-------- iteration statistics --------");
-				Log.println("    iteration: ",iterations);
-				Log.println("       orders: "+nNonMovesEvaluated+" of "+totalNonMoveOrderCount+" (non-move) evaluated");
-				Log.println("  move orders: "+nMovesEvaluated+" of "+totalMoveOrderCount+" evaluated");
-				Log.println("--------------------------------------");
 			}
-			
-			// set last evaluated, so next iteration can be compared.
-			lastNumMovesEvaluated = nMovesEvaluated;
-			lastNumNonMovesEvaluated = nNonMovesEvaluated;
-			
-		} while(lastNumMovesEvaluated < totalMoveOrderCount);
-		
-		return true;
-	}// evaluateOrders()
+		}
+		finally
+		{
+			queue.detach(orderStates);
+		}
+	}// settlePartition()
 	
 	
 	/**
@@ -951,15 +1906,20 @@ public class StdAdjudicator implements Adjudicator
 	*	This method must keep track of (through the class) which 
 	*	methods to break paradoxes have already been tried.
 	*	<p>
-	*	The algorithm, currently, is simple. First, we look for 
-	*	circular movement paradoxes, and attempt to re-resolve.
+	*	First, the paradoxes themselves are found: the groups of UNCERTAIN
+	*	orders that all depend upon each other (see findParadoxComponents()).
+	*	Each group that contains a circular movement is resolved by letting
+	*	the circular moves succeed; otherwise, the Szykman rule is applied 
+	*	to the convoyed moves in the group. All groups are resolved at once,
+	*	before re-evaluation.
 	*	<p>
-	*	If paradox(es) remain, we attempt to apply the Szykman rule
-	*	to break the paradox, until we succeed or still have a paradox.
+	*	If no group can be resolved this way (or the orders are such that 
+	*	the groups cannot be found), we fall back to the original approach:
+	*	circular movement paradoxes are resolved (once), and then the Szykman
+	*	rule is applied to all UNCERTAIN convoyed moves, up to 11 times.
 	*	<p>
-	*	If a paradox remain even after multiple applications of the
-	*	Syzkman rule, we return <code>false</code> and add a result 
-	*	indicating we have an unresolved paradox.
+	*	If the paradox cannot be broken, we return <code>false</code> and
+	*	add a result indicating we have an unresolved paradox.
 	*
 	*
 	*/
@@ -968,11 +1928,25 @@ public class StdAdjudicator implements Adjudicator
 		paradoxBreakAttempt++;
 		assert (paradoxBreakAttempt >= 1);
 		
+		boolean isBroken = breakParadoxComponents();
+		
+		if(!isBroken && !isCircularBreakTried)
+		{
+			isCircularBreakTried = true;
+			isBroken = breakCircularParadox();
+		}
+		
 		// prevent infinite loop.....
-		if(syzkmanAppliedCount > 10)
+		if(!isBroken && syzkmanAppliedCount <= 10)
+		{
+			syzkmanAppliedCount++;
+			isBroken = breakParadoxSzykman();
+		}
+		
+		if(!isBroken)
 		{
 			addResult( new Result(null, 
-					Utils.getLocalString(STDADJ_MV_UNRESOLVED_PARADOX, new Integer(paradoxBreakAttempt))) );
+					STDADJ_MV_UNRESOLVED_PARADOX, new Object[] {new Integer(paradoxBreakAttempt)}) );
 			
 			if(Log.isLogging())
 			{
@@ -992,32 +1966,243 @@ public class StdAdjudicator implements Adjudicator
 			return false;
 		}
 		
+		return true;
+	}// canBreakParadox()
+	
+	
+	/**
+	*	Breaks each paradox found by findParadoxComponents(). If a
+	*	paradox contains circular moves (see markCircularMoves()), they
+	*	succeed. Otherwise, the Szykman rule is applied: each UNCERTAIN
+	*	convoyed move, which depends upon an UNCERTAIN convoy order within 
+	*	the same paradox, fails.
+	*	<p>
+	*	Returns true if any OrderState was changed; false if no paradox
+	*	could be broken, or paradoxes could not be found.
+	*/
+	private boolean breakParadoxComponents()
+	{
+		for(int osIdx=0; osIdx<orderStates.length; osIdx++)
+		{
+			if(!hasKnownReads(orderStates[osIdx].getOrder()))
+			{
+				return false;
+			}
+		}
+		
+		if(!areReadersCalculated)
+		{
+			calculateReaders();
+			areReadersCalculated = true;
+		}
 		
-		if(paradoxBreakAttempt == 1)
+		final int[] component = findParadoxComponents();
+		final int nComponents = component[component.length - 1];
+		if(nComponents == 0)
 		{
-			breakCircularParadox();
-			return true;
+			return false;
 		}
-		else
+		
+		Log.println(":: paradoxes found: ", nComponents);
+		
+		// circular movement
+		final int nCircular = markCircularMoves();
+		final boolean[] isCircular = new boolean[nComponents];
+		if(nCircular > 0)
 		{
-			// try szykman
-			syzkmanAppliedCount++;
-			breakParadoxSzykman();
-			return true;
+			for(int osIdx=0; osIdx<orderStates.length; osIdx++)
+			{
+				final OrderState os = orderStates[osIdx];
+				final int c = component[os.getSourceProvince().getIndex()];
+				if(c >= 0 && os.isCircular())
+				{
+					isCircular[c] = true;
+				}
+			}
 		}
-	}// canBreakParadox()
+		
+		boolean isBroken = false;
+		boolean isSzykmanApplied = false;
+		
+		for(int osIdx=0; osIdx<orderStates.length; osIdx++)
+		{
+			final OrderState os = orderStates[osIdx];
+			final int c = component[os.getSourceProvince().getIndex()];
+			
+			if(c < 0 || os.getEvalState() != Tristate.UNCERTAIN)
+			{
+				continue;
+			}
+			
+			if(isCircular[c])
+			{
+				if(os.isCircular())
+				{
+					os.setEvalState(Tristate.SUCCESS);
+					isBroken = true;
+				}
+			}
+			else if(os.getOrder() instanceof Move && ((Move) os.getOrder()).isConvoying())
+			{
+				final List convoys = getConvoyList((Move) os.getOrder());
+				for(int i=0; i<convoys.size(); i++)
+				{
+					final OrderState convoyOS = (OrderState) convoys.get(i);
+					if( convoyOS.getEvalState() == Tristate.UNCERTAIN
+						&& component[convoyOS.getSourceProvince().getIndex()] == c )
+					{
+						if(!isSzykmanApplied)
+						{
+							addSzykmanNotice();
+							isSzykmanApplied = true;
+						}
+						
+						Log.println("    *** Syzkman rule applied to move: ", os.getOrder());
+						os.setEvalState(Tristate.FAILURE);
+						addResult(os, ResultType.FAILURE, STDADJ_MV_SZYKMAN_MOVE_FAILED, null);
+						nSzykmanMoves++;
+						isBroken = true;
+						break;
+					}
+				}
+			}
+		}
+		
+		return isBroken;
+	}// breakParadoxComponents()
+	
+	
+	/**
+	*	Finds the strongly-connected components of the graph of UNCERTAIN
+	*	OrderStates, in which each OrderState is linked to its readers (see
+	*	calculateReaders()). The OrderStates of a component with two or more
+	*	OrderStates all depend upon each other: they form a paradox.
+	*	<p>
+	*	Returns the component number of each OrderState, indexed by source 
+	*	Province index; -1 if the OrderState is not within such a component.
+	*	The last element is the number of components found (there is always
+	*	one more element than there are Provinces).
+	*	<p>
+	*	This is Tarjan's algorithm, without recursion.
+	*/
+	private int[] findParadoxComponents()
+	{
+		final int nProvinces = osByProvince.length;
+		final int[] component = new int[nProvinces + 1];
+		final int[] index = new int[nProvinces];		// visit order, from 1; 0 if not visited
+		final int[] lowLink = new int[nProvinces];
+		final boolean[] isOnStack = new boolean[nProvinces];
+		final OrderState[] stack = new OrderState[orderStates.length];
+		final OrderState[] path = new OrderState[orderStates.length];
+		final int[] nextReader = new int[orderStates.length];
+		int stackSize = 0;
+		int nVisited = 0;
+		int nComponents = 0;
+		
+		Arrays.fill(component, -1);
+		
+		for(int osIdx=0; osIdx<orderStates.length; osIdx++)
+		{
+			final OrderState start = orderStates[osIdx];
+			final int startIdx = start.getSourceProvince().getIndex();
+			if(start.getEvalState() != Tristate.UNCERTAIN || index[startIdx] != 0)
+			{
+				continue;
+			}
+			
+			nVisited++;
+			index[startIdx] = nVisited;
+			lowLink[startIdx] = nVisited;
+			stack[stackSize++] = start;
+			isOnStack[startIdx] = true;
+			path[0] = start;
+			nextReader[0] = 0;
+			int depth = 0;
+			
+			while(depth >= 0)
+			{
+				final OrderState os = path[depth];
+				final int p = os.getSourceProvince().getIndex();
+				
+				if(nextReader[depth] < os.getReaderCount())
+				{
+					final OrderState reader = os.getReaders()[nextReader[depth]];
+					final int r = reader.getSourceProvince().getIndex();
+					nextReader[depth]++;
+					
+					if(reader.getEvalState() != Tristate.UNCERTAIN)
+					{
+						continue;
+					}
+					
+					if(index[r] == 0)
+					{
+						nVisited++;
+						index[r] = nVisited;
+						lowLink[r] = nVisited;
+						stack[stackSize++] = reader;
+						isOnStack[r] = true;
+						
+						depth++;
+						path[depth] = reader;
+						nextReader[depth] = 0;
+					}
+					else if(isOnStack[r])
+					{
+						lowLink[p] = Math.min(lowLink[p], index[r]);
+					}
+				}
+				else
+				{
+					if(lowLink[p] == index[p])
+					{
+						// os is the root of a component; pop it.
+						final int end = stackSize;
+						OrderState member = null;
+						do
+						{
+							stackSize--;
+							member = stack[stackSize];
+							isOnStack[member.getSourceProvince().getIndex()] = false;
+						} while(member != os);
+						
+						if(end - stackSize > 1)
+						{
+							for(int i=stackSize; i<end; i++)
+							{
+								component[stack[i].getSourceProvince().getIndex()] = nComponents;
+							}
+							
+							nComponents++;
+						}
+					}
+					
+					depth--;
+					if(depth >= 0)
+					{
+						final int parent = path[depth].getSourceProvince().getIndex();
+						lowLink[parent] = Math.min(lowLink[parent], lowLink[p]);
+					}
+				}
+			}
+		}
+		
+		component[nProvinces] = nComponents;
+		return component;
+	}// findParadoxComponents()
 	
 	
 	/**
 	*	Attempts to break a Circular Movement (this includes swaps)
 	*	paradoxes. Note that this will break any chain of circular 
-	*	movements, where n >= 2.
+	*	movements, where n >= 2. Returns true if any OrderState was changed.
 	*/
-	private void breakCircularParadox()
+	private boolean breakCircularParadox()
 	{
 		final int nCircular = markCircularMoves();
 		Log.println(":: circular chains found: ",nCircular);
 		
+		boolean isBroken = false;
 		if(nCircular > 0)
 		{
 			for(int osIdx=0; osIdx<orderStates.length; osIdx++)
@@ -1027,9 +2212,12 @@ public class StdAdjudicator implements Adjudicator
 					&& os.isCircular() )
 				{
 					os.setEvalState(Tristate.SUCCESS);
+					isBroken = true;
 				}
 			}
 		}
+		
+		return isBroken;
 	}// breakCircularParadox()
 	
 	
@@ -1053,11 +2241,13 @@ public class StdAdjudicator implements Adjudicator
 	*				 break paradox again if it occurs again (using next fewest # of unresolved
 	*				 convoy orders).
 	*	</pre>
+	*	<p>
+	*	Returns true if any move failed.
 	*/
-	private void breakParadoxSzykman()
+	private boolean breakParadoxSzykman()
 	{
-		addResult(new Result(null, Utils.getLocalString(STDADJ_MV_SZYKMAN_NOTICE)));
 		Log.println("breakParadoxSzykman(): entered");
+		boolean isBroken = false;
 		
 		for(int osIdx=0; osIdx<orderStates.length; osIdx++)
 		{
@@ -1079,9 +2269,16 @@ public class StdAdjudicator implements Adjudicator
 						Log.println("    convoy: ",itos.getOrder(),"  evalstate:",itos.getEvalState());  
 						if(itos.getEvalState() == Tristate.UNCERTAIN)
 						{
+							if(!isBroken)
+							{
+								addSzykmanNotice();
+								isBroken = true;
+							}
+							
 							Log.println("    *** Syzkman rule applied to this move!!!");
 							os.setEvalState(Tristate.FAILURE);
-							addResult(os, ResultType.FAILURE, Utils.getLocalString(STDADJ_MV_SZYKMAN_MOVE_FAILED));
+							addResult(os, ResultType.FAILURE, STDADJ_MV_SZYKMAN_MOVE_FAILED, null);
+							nSzykmanMoves++;
 							break;
 						}
 					}
@@ -1089,9 +2286,28 @@ public class StdAdjudicator implements Adjudicator
 			}
 		}
 		Log.println("breakParadoxSzykman(): exit");
+		return isBroken;
 	}// breakParadoxSzykman()
 	
 	
+	/**
+	*	Adds the notice that the Szykman rule was applied. A partition 
+	*	instead notes the paradox-breaking attempt, so that the notice is
+	*	added (once per attempt) when partitions are merged.
+	*/
+	private void addSzykmanNotice()
+	{
+		if(isPartition)
+		{
+			szykmanAttempts.set(paradoxBreakAttempt);
+		}
+		else
+		{
+			addResult(new Result(null, STDADJ_MV_SZYKMAN_NOTICE, null));
+		}
+	}// addSzykmanNotice()
+	
+	
 	/** 
 	*	Verifies orders in a loop. Order verification can have dependencies,
 	*	but extreme caution should be taken when implementing Order.verify()
@@ -1166,20 +2382,20 @@ public class StdAdjudicator implements Adjudicator
 			// check that a unit exists for this order
 			if( position.hasDislodgedUnit(province) )
 			{
-				OrderState oldOS = (OrderState) osMap.get(province);
+				OrderState oldOS = osByProvince[province.getIndex()];
 				if(oldOS != null)
 				{
 					addResult(new OrderResult(oldOS.getOrder(),
-									Utils.getLocalString(STDADJ_DUP_ORDER, os.getOrder())));
+									ResultType.TEXT, STDADJ_DUP_ORDER, new Object[] {os.getOrder()}));
 					osList.remove(oldOS);	// we don't want duplicates in osList
 				}
 				
-				osMap.put(province, os);
+				osByProvince[province.getIndex()] = os;
 				osList.add(os);
 			}
 			else
 			{
-				addResult(new OrderResult(order, Utils.getLocalString(STDADJ_RET_BAD_UNIT)));
+				addResult(new OrderResult(order, ResultType.TEXT, STDADJ_RET_BAD_UNIT, null));
 			}
 		}		
 		
@@ -1191,16 +2407,16 @@ public class StdAdjudicator implements Adjudicator
 		for(int i=0; i<dislodgedUnitProvs.length; i++)
 		{
 			Province province = dislodgedUnitProvs[i];
-			if( !osMap.containsKey(province) )
+			if( osByProvince[province.getIndex()] == null )
 			{
 				Unit unit = position.getDislodgedUnit(province);
-				Disband disband = orderFactory.createDisband(unit.getPower(), new Location(province, unit.getCoast()), unit.getType());
+				Disband disband = orderFactory.createDisband(unit.getPower(), world.getMap().getLocation(province, unit.getCoast()), unit.getType());
 				OrderState os = new OrderState(disband);
 				addResult(new Result(unit.getPower(), 
-						Utils.getLocalString(STDADJ_RET_NO_ORDER, province)));
+						STDADJ_RET_NO_ORDER, new Object[] {province}));
 				
 				osList.add(os);
-				osMap.put(os.getSourceProvince(), os);
+				osByProvince[os.getSourceProvince().getIndex()] = os;
 			}
 		}
 		
@@ -1213,8 +2429,8 @@ public class StdAdjudicator implements Adjudicator
 		orderList = null;
 		osList = null;
 		
-		// integrity check: osList && osMap should have the same number of entries.
-		assert (orderStates.length == osMap.size());
+		// integrity check: osList && osByProvince should have the same number of entries.
+		assert (orderStates.length == countMappedOrderStates());
 		
 		// step 3: perform a complete validation of all orders
 		// use the most strict validation options
@@ -1238,7 +2454,7 @@ public class StdAdjudicator implements Adjudicator
 			{
 				// all illegal orders are changed to Disband orders
 				addResult(os, ResultType.VALIDATION_FAILURE, 
-							Utils.getLocalString(STDADJ_RET_VAL_FAIL, oe.getMessage()));
+							STDADJ_RET_VAL_FAIL, new Object[] {oe.getMessage()});
 				os.setOrder(orderFactory.createDisband(order.getPower(), order.getSource(), order.getSourceUnitType()));
 			}
 		}
@@ -1326,21 +2542,22 @@ public class StdAdjudicator implements Adjudicator
 		nextTurnState.setWorld(turnState.getWorld());
 		
 		// create units in the appropriate places
+		final dip.world.Map map = world.getMap();
 		for(int osIdx=0; osIdx<orderStates.length; osIdx++)
 		{
 			OrderState os = orderStates[osIdx];
 			Order order = os.getOrder();
 			Province sourceProvince = os.getSourceProvince();
 			
-			// clone the old unit (from the old position)
-			Unit newUnit = (Unit) position.getDislodgedUnit(sourceProvince).clone();
+			// the old unit (from the old position)
+			Unit newUnit = position.getDislodgedUnit(sourceProvince);
 			
 			if( order instanceof Retreat
 				&& os.getEvalState() == Tristate.SUCCESS )
 			{
 				Location dest = ((Move)order).getDest();
 				Province destProvince = dest.getProvince();
-				newUnit.setCoast( dest.getCoast() );
+				newUnit = map.getUnit(newUnit.getPower(), newUnit.getType(), dest.getCoast());
 				nextPosition.setUnit(destProvince, newUnit);
 				nextPosition.setLastOccupier(destProvince, newUnit.getPower());
 				
@@ -1438,19 +2655,19 @@ public class StdAdjudicator implements Adjudicator
 				
 				if(order instanceof Remove && adjAmount > 0)
 				{
-					addResult(new OrderResult(order, Utils.getLocalString(STDADJ_ADJ_IGNORED_MUST_BUILD)));
+					addResult(new OrderResult(order, ResultType.TEXT, STDADJ_ADJ_IGNORED_MUST_BUILD, null));
 				}
 				else if(order instanceof Build && adjAmount < 0)
 				{
-					addResult(new OrderResult(order, Utils.getLocalString(STDADJ_ADJ_IGNORED_MUST_REMOVE)));
+					addResult(new OrderResult(order, ResultType.TEXT, STDADJ_ADJ_IGNORED_MUST_REMOVE, null));
 				}
 				else if(adjAmount == 0)
 				{
-					addResult(new OrderResult(order, Utils.getLocalString(STDADJ_ADJ_IGNORED_NO_CHANGE)));
+					addResult(new OrderResult(order, ResultType.TEXT, STDADJ_ADJ_IGNORED_NO_CHANGE, null));
 				}
 				else if( orderCount >= Math.abs(adjAmount) )
 				{
-					addResult(new OrderResult(order, Utils.getLocalString(STDADJ_ADJ_IGNORED_TOO_MANY)));
+					addResult(new OrderResult(order, ResultType.TEXT, STDADJ_ADJ_IGNORED_TOO_MANY, null));
 				}
 				else
 				{
@@ -1459,10 +2676,10 @@ public class StdAdjudicator implements Adjudicator
 						order.validate(turnState, valOpts, ruleOpts);
 						
 						// we only add legal orders, that haven't *already* been added
-						if(osMap.get(order.getSource().getProvince()) == null)
+						if(osByProvince[order.getSource().getProvince().getIndex()] == null)
 						{
 							OrderState os = new OrderState(order);
-							osMap.put(os.getSourceProvince(), os);
+							osByProvince[os.getSourceProvince().getIndex()] = os;
 							osList.add(os);
 							orderCount++;
 						}
@@ -1471,8 +2688,7 @@ public class StdAdjudicator implements Adjudicator
 							// duplicate or duplicate for space; we already have 
 							// a valid order.
 							addResult(new OrderResult(order, ResultType.FAILURE, 
-									Utils.getLocalString(STDADJ_ADJ_IGNORED_DUPLICATE, 
-									order.getSource().getProvince())));
+									STDADJ_ADJ_IGNORED_DUPLICATE, new Object[] {order.getSource().getProvince()}));
 						}
 					}
 					catch(OrderWarning ow)
@@ -1482,7 +2698,7 @@ public class StdAdjudicator implements Adjudicator
 					catch(OrderException oe)
 					{
 						addResult(new OrderResult(order, ResultType.VALIDATION_FAILURE, 
-								Utils.getLocalString(STDADJ_ADJ_IGNORED_INVALID, oe.getMessage())));
+								STDADJ_ADJ_IGNORED_INVALID, new Object[] {oe.getMessage()}));
 					}
 				}
 			}// while(orders-for-power)
@@ -1492,7 +2708,7 @@ public class StdAdjudicator implements Adjudicator
 			if(ai.getAdjustmentAmount() > 0 && orderCount < ai.getAdjustmentAmount())
 			{
 				addResult( 	new Result(powers[i],
-							Utils.getLocalString(STDADJ_ADJ_BUILDS_UNUSED, new Integer(adjAmount - orderCount))) );
+							STDADJ_ADJ_BUILDS_UNUSED, new Object[] {new Integer(adjAmount - orderCount)}) );
 			}
 			
 			// While builds are optional (they may be waived), removes are not.
@@ -1504,7 +2720,7 @@ public class StdAdjudicator implements Adjudicator
 			int ordersToMake = adjAmount + orderCount;
 			if(ordersToMake < 0)
 			{
-				addResult(new Result(powers[i], Utils.getLocalString(STDADJ_ADJ_TOO_FEW_DISBANDS)));
+				addResult(new Result(powers[i], STDADJ_ADJ_TOO_FEW_DISBANDS, null));
 				createRemoveOrders(osList, powers[i], Math.abs(ordersToMake));
 			}
 		}// for(power)
@@ -1513,7 +2729,7 @@ public class StdAdjudicator implements Adjudicator
 		orderStates = (OrderState[]) osList.toArray(new OrderState[osList.size()]);
 		osList = null;	// prevent accidental re-use
 		
-		assert(osMap.size() == orderStates.length);
+		assert(countMappedOrderStates() == orderStates.length);
 		
 		// step 4: calculate dependencies
 		// NOTE: while no orders currently use this, it's here for future use (thus a variant
@@ -1544,7 +2760,9 @@ public class StdAdjudicator implements Adjudicator
 			// any frequency, reconsider approach
 			if(os.getEvalState() == Tristate.FAILURE)
 			{
-				osMap.remove(os);
+				// the OrderState is left in osByProvince; findOrderStateBySrc() 
+				// still returns it, as it did when OrderStates were in a Map 
+				// (osMap.remove(os) was keyed by OrderState, and removed nothing)
 				
 				// safe... can't use an index...
 				List list = Arrays.asList(orderStates);
@@ -1611,8 +2829,8 @@ public class StdAdjudicator implements Adjudicator
 			{
 				if(order instanceof Build)
 				{
-					Unit unit = new Unit(order.getPower(), order.getSourceUnitType());
-					unit.setCoast(order.getSource().getCoast());
+					Unit unit = world.getMap().getUnit(order.getPower(), 
+						order.getSourceUnitType(), order.getSource().getCoast());
 					nextPosition.setUnit(sourceProvince, unit);
 					nextPosition.setLastOccupier(sourceProvince, unit.getPower());
 				}
@@ -1639,7 +2857,7 @@ public class StdAdjudicator implements Adjudicator
 			if(ai.getSupplyCenterCount() == 0)
 			{
 				nextPosition.setEliminated(powers[i], true);
-				addResult(new Result(powers[i], Utils.getLocalString(STDADJ_ADJ_ELIMINATED, powers[i].getName())));
+				addResult(new Result(powers[i], STDADJ_ADJ_ELIMINATED, new Object[] {powers[i].getName()}));
 			}
 		}
 		
@@ -1671,13 +2889,13 @@ public class StdAdjudicator implements Adjudicator
 						<li>provinces in alphabetical order, by full name, after case conversion.
 					</ul>	
 		</ul>
-		These orders are added directly to osList and osMap
+		These orders are added directly to osList and osByProvince
 		<p>
 		This is not a high-performance method.....
 	*/
 	private void createRemoveOrders(List osList, Power power, int ordersToMake)
 	{
-		Path path = new Path(position);
+		final dip.world.Map map = world.getMap();
 		
 		// find home supply centers for power
 		// this depends upon the rule settings: if it's not VALUE_BUILDS_HOME_ONLY (typical)
@@ -1716,7 +2934,7 @@ public class StdAdjudicator implements Adjudicator
 							int hsDist = 9999;
 							for(int hsIdx=0; hsIdx<homeSupplyCenters.length; hsIdx++)
 							{
-								final int d = path.getMinDistance(province, homeSupplyCenters[hsIdx]);
+								final int d = map.getDistance(province, homeSupplyCenters[hsIdx]);
 								hsDist = (d < hsDist) ? d : hsDist;
 							}
 							
@@ -1737,7 +2955,7 @@ public class StdAdjudicator implements Adjudicator
 			
 			if(ties.size() == 0)
 			{
-				addResult(new Result(power, Utils.getLocalString(STDADJ_ADJ_NO_MORE_DISBANDS)));
+				addResult(new Result(power, STDADJ_ADJ_NO_MORE_DISBANDS, null));
 				return;	// exit if no more units!!
 			}
 			else 
@@ -1774,16 +2992,16 @@ public class StdAdjudicator implements Adjudicator
 	}// createRemoveOrders()
 	
 	
-	/** Creates a valid Disband order; adds to internal hashmap and given order list. */
+	/** Creates a valid Disband order; adds to internal Province table and given order list. */
 	private void createDisbandOrder(List osList, Province province)
 	{
 		Unit unit = position.getUnit(province);
-		Remove remove = orderFactory.createRemove(unit.getPower(), new Location(province, unit.getCoast()), unit.getType());
+		Remove remove = orderFactory.createRemove(unit.getPower(), world.getMap().getLocation(province, unit.getCoast()), unit.getType());
 		OrderState os = new OrderState(remove);
-		osMap.put(province, os);
+		osByProvince[province.getIndex()] = os;
 		osList.add(os);
 		addResult(new Result(unit.getPower(), 
-					Utils.getLocalString(STDADJ_ADJ_DISBAND_ORDER, unit.getType().getFullName(), province)));
+					STDADJ_ADJ_DISBAND_ORDER, new Object[] {unit.getType().getFullName(), province}));
 	}// createDisbandOrder()
 	
 	
@@ -1846,8 +3064,6 @@ public class StdAdjudicator implements Adjudicator
 		if(nextTurnState.getPhase().getPhaseType() == Phase.PhaseType.ADJUSTMENT)
 		{
 			boolean canSkipAdjustment = true;
-			Object[] args = new Object[1];
-			
 			Power[] powers = world.getMap().getPowers();
 			for(int i=0; i<powers.length; i++)
 			{
@@ -1860,31 +3076,32 @@ public class StdAdjudicator implements Adjudicator
 					
 					// write adjustment results
 					// NOTE: it's difficult to believe, but 1/3 of the time (more, before
-					// the patterns we cached as statics) of checkAdjustmentPhase() was spent
-					// in MessageFormat. (MFRemove/MFBuild). 
+					// the patterns were cached) of checkAdjustmentPhase() was spent
+					// in MessageFormat. These (complex Choice format) messages are now 
+					// deferred, and only formatted if used.
 					// 
 					// using String.valueOf() instead of new Integer() results in a MASSIVE
 					// speed improvment.
 					if( adjAmount < 0 )
 					{
-						args[0] = String.valueOf( -adjAmount );	// 'abs'
-						addResult(	new Result(powers[i], MFRemove.format(args)) );
+						addResult(	new Result(powers[i], STDADJ_PREADJ_TOREMOVE, 
+									new Object[] {String.valueOf( -adjAmount )}) );	// 'abs'
 					}
 					else if( adjAmount > 0 )
 					{
-						args[0] = String.valueOf(adjAmount);
-						addResult(	new Result(powers[i], MFBuild.format(args)) );
+						addResult(	new Result(powers[i], STDADJ_PREADJ_TOBUILD, 
+									new Object[] {String.valueOf(adjAmount)}) );
 					}
 					else
 					{
-						addResult( new Result(powers[i], Utils.getLocalString(STDADJ_PREADJ_TONEITHER)) );
+						addResult( new Result(powers[i], STDADJ_PREADJ_TONEITHER, null) );
 					}
 				}
 			}
 			
 			if(canSkipAdjustment)
 			{
-				addResult( new Result(Utils.getLocalString(STDADJ_SKIP_ADJUSTMENT)) );
+				addResult( new Result(null, STDADJ_SKIP_ADJUSTMENT, null) );
 				
 				// we RE-set the phase in nextTurnState.
 				Phase p = nextTurnState.getPhase().getNext();
@@ -2061,7 +3278,10 @@ public class StdAdjudicator implements Adjudicator
 				
 				while(nextMoveOS != null && !isChainCircular)
 				{
-					if( !nextMoveOS.isCircular() )
+					// a chain may lead into a circle that does not include the 
+					// first move (e.g., A->B, B->C, C->B); that circle will be found 
+					// when checking the moves within it.
+					if( !nextMoveOS.isCircular() && !chain.contains(nextMoveOS) )
 					{
 						chain.addLast(nextMoveOS);
 						
@@ -2137,5 +3357,112 @@ public class StdAdjudicator implements Adjudicator
 	}// markCircularMoves()
 	
 	
+	/**
+	*	Worker threads that resolve partitions concurrently (see 
+	*	evaluatePartitions()). The calling thread is one of the workers;
+	*	each worker takes the next unresolved partition until none remain.
+	*	resolve() returns when all partitions are resolved, and rethrows 
+	*	the first exception or error thrown by a worker.
+	*/
+	private static class PartitionWorkers implements Runnable
+	{
+		private final StdAdjudicator[] parts;
+		private final int nThreads;
+		private int nextIndex = 0;			// next partition to resolve
+		private Throwable failure = null;
+		
+		public PartitionWorkers(StdAdjudicator[] parts, int nThreads)
+		{
+			this.parts = parts;
+			this.nThreads = nThreads;
+		}// PartitionWorkers()
+		
+		/** Resolves all partitions; blocks until complete. */
+		public void resolve()
+		{
+			final Thread[] threads = new Thread[nThreads - 1];
+			for(int i=0; i<threads.length; i++)
+			{
+				threads[i] = new Thread(this, "StdAdjudicator-partition-"+i);
+				threads[i].setDaemon(true);
+				threads[i].start();
+			}
+			
+			run();
+			
+			boolean isInterrupted = false;
+			for(int i=0; i<threads.length; i++)
+			{
+				while(threads[i].isAlive())
+				{
+					try
+					{
+						threads[i].join();
+					}
+					catch(InterruptedException e)
+					{
+						isInterrupted = true;
+					}
+				}
+			}
+			
+			if(isInterrupted)
+			{
+				Thread.currentThread().interrupt();
+			}
+			
+			if(failure instanceof Error)
+			{
+				throw (Error) failure;
+			}
+			else if(failure != null)
+			{
+				throw (RuntimeException) failure;
+			}
+		}// resolve()
+		
+		public void run()
+		{
+			StdAdjudicator part = next();
+			while(part != null)
+			{
+				try
+				{
+					part.resolvePartition();
+				}
+				catch(RuntimeException e)
+				{
+					setFailure(e);
+				}
+				catch(Error e)
+				{
+					setFailure(e);
+				}
+				
+				part = next();
+			}
+		}// run()
+		
+		/** Returns the next partition to resolve, or null if none remain. */
+		private synchronized StdAdjudicator next()
+		{
+			if(nextIndex < parts.length && failure == null)
+			{
+				return parts[nextIndex++];
+			}
+			
+			return null;
+		}// next()
+		
+		private synchronized void setFailure(Throwable t)
+		{
+			if(failure == null)
+			{
+				failure = t;
+			}
+		}// setFailure()
+	}// nested class PartitionWorkers
+	
+	
 }// class StandardAdjudicator
 
@@ -27,13 +27,15 @@ package dip.process;
 *
 *	Trinary state object. Immutable.
 *	<p>
-*	This class is not serializable; if this is required, 
-*	readResolve() must be implemented to preserve the integrity
-*	of referential equality.
+*	Deserialized objects are resolved to the constants (see 
+*	readResolve()), to preserve the integrity of referential 
+*	equality.
 *
 */
-final public class Tristate
+final public class Tristate implements java.io.Serializable
 {
+	private static final long serialVersionUID = 1L;
+	
 	// constants
 	public static final Tristate TRUE		= new Tristate("True");
 	public static final Tristate FALSE		= new Tristate("False");
@@ -49,7 +51,7 @@ final public class Tristate
 	
 	
 	// instance variables
-	private transient String text = null;
+	private final String text;
 	
 	
 	/** Create a TriState object */
@@ -82,4 +84,21 @@ final public class Tristate
 		return ((value) ? TRUE : FALSE);
 	}// getTristate()
 	
+	
+	/** Assigns serialized objects to a single constant reference */
+	protected Object readResolve()
+	throws java.io.ObjectStreamException
+	{
+		if(TRUE.text.equals(text))
+		{
+			return TRUE;
+		}
+		else if(FALSE.text.equals(text))
+		{
+			return FALSE;
+		}
+		
+		return UNCERTAIN;
+	}// readResolve()
+	
 }// class Tristate
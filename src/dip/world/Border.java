@@ -101,6 +101,8 @@ import java.util.Arrays;
 */
 public class Border implements Serializable
 {
+	private static final long serialVersionUID = 7425904749954329092L;
+	
 	/** Constant indicating year was omitted */
 	private static final int YEAR_NOT_SPECIFIED	= 0;
 	/** Constant indicating year is ranged */
@@ -573,19 +575,7 @@ public class Border implements Serializable
 			if(yearModifier != YEAR_NOT_SPECIFIED)
 			{
 				nResults++;
-				final int theYear = phase.getYear();
-				if(yearModifier == YEAR_ODD)
-				{
-					failResults += ((theYear & 1) == 1) ? 1 : 0;
-				}
-				else if(yearModifier == YEAR_EVEN)
-				{
-					failResults += ((theYear & 1) == 1) ? 0 : 1;
-				}         
-				else
-				{
-					failResults += ((yearMin <= theYear) && (theYear <= yearMax)) ? 1 : 0;
-				}
+				failResults += isYearMatched(phase.getYear()) ? 1 : 0;
 			}
 		}
 		
@@ -602,6 +592,74 @@ public class Border implements Serializable
 	}// canTransit()
 	
 	
+	/** 
+	*	Returns true if the year matches the (specified) year criteria: 
+	*	odd or even years, or the year range.
+	*/
+	boolean isYearMatched(final int theYear)
+	{
+		if(yearModifier == YEAR_ODD)
+		{
+			return ((theYear & 1) == 1);
+		}
+		else if(yearModifier == YEAR_EVEN)
+		{
+			return ((theYear & 1) == 0);
+		}
+		
+		return ((yearMin <= theYear) && (theYear <= yearMax));
+	}// isYearMatched()
+	
+	
+	/** Returns true if year criteria were specified. */
+	boolean isYearSpecified()
+	{
+		return (yearModifier != YEAR_NOT_SPECIFIED);
+	}// isYearSpecified()
+	
+	
+	/** The from Locations; null if not specified. */
+	Location[] getFrom()
+	{
+		return from;
+	}// getFrom()
+	
+	
+	/** The unit types; null if not specified. */
+	Unit.Type[] getUnitTypes()
+	{
+		return unitTypes;
+	}// getUnitTypes()
+	
+	
+	/** The order classes; null if not specified. */
+	Class[] getOrderClasses()
+	{
+		return orderClasses;
+	}// getOrderClasses()
+	
+	
+	/** The seasons; null if not specified. */
+	Phase.SeasonType[] getSeasons()
+	{
+		return seasons;
+	}// getSeasons()
+	
+	
+	/** The phases; null if not specified. */
+	Phase.PhaseType[] getPhases()
+	{
+		return phases;
+	}// getPhases()
+	
+	
+	/** The base move modifier, regardless of from location. */
+	int getBaseMoveModifier()
+	{
+		return baseMoveModifier;
+	}// getBaseMoveModifier()
+	
+	
 	/** Gets the base move modifier. Requires a non-null from location. */
 	public int getBaseMoveModifier(Location moveFrom)
 	{
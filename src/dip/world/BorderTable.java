@@ -0,0 +1,450 @@
+//
+//  @(#)BorderTable.java	10/2026
+//
+//  Copyright 2026 the jDip development team. All rights reserved.
+//  Use is subject to license terms.
+//
+//
+//  This program is free software; you can redistribute it and/or modify
+//  it under the terms of the GNU General Public License as published by
+//  the Free Software Foundation; either version 2 of the License, or
+//  (at your option) any later version.
+//
+//  This program is distributed in the hope that it will be useful,
+//  but WITHOUT ANY WARRANTY; without even the implied warranty of
+//  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//  GNU General Public License for more details.
+//
+//  You should have received a copy of the GNU General Public License
+//  along with this program; if not, write to the Free Software
+//  Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+//  Or from http://www.gnu.org/
+//
+package dip.world;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+*	The Borders of a Province, compiled into bitmasks for fast transit 
+*	and base move modifier lookups.
+*	<p>
+*	Each Border is a bit (in Border order). For each criterion (from 
+*	Location, unit type, order class, season, and phase type), and each 
+*	value of that criterion, a mask holds the Borders that either match the 
+*	value, or do not specify that criterion. Intersecting the masks for 
+*	a transit gives the Borders that might prohibit it; the year criteria 
+*	(ranges, odd or even) are then checked for those Borders only. The first
+*	Border that remains prohibits transit, as per Border.canTransit().
+*	<p>
+*	A BorderTable is created by Province.createBorderTable(), when the Map
+*	is created, and is immutable. 
+*	Borders that cannot be compiled (more than 64 Borders, or values that
+*	are not constants) do not have a BorderTable; the Borders are then
+*	checked one at a time.
+*/
+final class BorderTable
+{
+	private static final int MAX_BORDERS = 64;
+	private static final int N_COASTS = countCoasts();
+	private static final Unit.Type[] UNIT_TYPES = {
+		Unit.Type.ARMY, Unit.Type.FLEET, Unit.Type.WING, Unit.Type.UNDEFINED };
+	
+	private final Border[] borders;
+	
+	// Borders with at least one (non-from) criterion; others never prohibit transit.
+	private final long canProhibit;
+	// Borders with year criteria
+	private final long hasYear;
+	// Borders with a non-zero base move modifier
+	private final long hasModifier;
+	
+	// Borders without from locations, and [from province][coast index] 
+	// masks for Borders with from locations.
+	private final long noFrom;
+	private final Province[] fromProvinces;
+	private final long[][] fromMasks;
+	
+	// masks by unit type (see UNIT_TYPES), season, and phase type 
+	// (see Phase.SeasonType.ALL and Phase.PhaseType.ALL).
+	private final long[] unitMasks;
+	private final long[] seasonMasks;
+	private final long[] phaseMasks;
+	
+	// masks for order classes; noOrderClass for classes not given.
+	private final Class[] orderClasses;
+	private final long[] orderMasks;
+	private final long noOrderClass;
+	
+	
+	/** 
+	*	Creates a BorderTable for the given Borders; returns null if 
+	*	the Borders cannot be compiled.
+	*/
+	static BorderTable create(Border[] borders)
+	{
+		if(borders.length > MAX_BORDERS)
+		{
+			return null;
+		}
+		
+		for(int i=0; i<borders.length; i++)
+		{
+			if( !areConstants(borders[i].getUnitTypes(), UNIT_TYPES)
+				|| !areConstants(borders[i].getSeasons(), Phase.SeasonType.ALL)
+				|| !areConstants(borders[i].getPhases(), Phase.PhaseType.ALL) )
+			{
+				return null;
+			}
+		}
+		
+		return new BorderTable(borders);
+	}// create()
+	
+	
+	/** Compile the given Borders */
+	private BorderTable(Border[] borders)
+	{
+		this.borders = borders;
+		
+		long tmpCanProhibit = 0L;
+		long tmpHasYear = 0L;
+		long tmpHasModifier = 0L;
+		long tmpNoFrom = 0L;
+		long tmpNoOrderClass = 0L;
+		
+		ArrayList fromList = new ArrayList();
+		ArrayList classList = new ArrayList();
+		
+		for(int i=0; i<borders.length; i++)
+		{
+			final Border border = borders[i];
+			final long bit = (1L << i);
+			
+			if( border.getUnitTypes() != null || border.getOrderClasses() != null
+				|| border.getSeasons() != null || border.getPhases() != null
+				|| border.isYearSpecified() )
+			{
+				tmpCanProhibit |= bit;
+			}
+			
+			if(border.isYearSpecified())
+			{
+				tmpHasYear |= bit;
+			}
+			
+			if(border.getBaseMoveModifier() != 0)
+			{
+				tmpHasModifier |= bit;
+			}
+			
+			final Location[] from = border.getFrom();
+			if(from == null)
+			{
+				tmpNoFrom |= bit;
+			}
+			else
+			{
+				for(int j=0; j<from.length; j++)
+				{
+					if(!fromList.contains(from[j].getProvince()))
+					{
+						fromList.add(from[j].getProvince());
+					}
+				}
+			}
+			
+			final Class[] classes = border.getOrderClasses();
+			if(classes == null)
+			{
+				tmpNoOrderClass |= bit;
+			}
+			else
+			{
+				for(int j=0; j<classes.length; j++)
+				{
+					if(!classList.contains(classes[j]))
+					{
+						classList.add(classes[j]);
+					}
+				}
+			}
+		}
+		
+		canProhibit = tmpCanProhibit;
+		hasYear = tmpHasYear;
+		hasModifier = tmpHasModifier;
+		noFrom = tmpNoFrom;
+		noOrderClass = tmpNoOrderClass;
+		
+		// from masks: a Border applies if any of its from Locations 
+		// matches loosely (see Location.equalsLoosely()).
+		fromProvinces = (Province[]) fromList.toArray(new Province[fromList.size()]);
+		fromMasks = new long[fromProvinces.length][N_COASTS];
+		for(int k=0; k<fromProvinces.length; k++)
+		{
+			for(int c=0; c<N_COASTS; c++)
+			{
+				final Location loc = new Location(fromProvinces[k], Coast.getCoast(c));
+				for(int i=0; i<borders.length; i++)
+				{
+					final Location[] from = borders[i].getFrom();
+					if(from != null)
+					{
+						for(int j=0; j<from.length; j++)
+						{
+							if(from[j].equalsLoosely(loc))
+							{
+								fromMasks[k][c] |= (1L << i);
+								break;
+							}
+						}
+					}
+				}
+			}
+		}
+		
+		// order class masks
+		orderClasses = (Class[]) classList.toArray(new Class[classList.size()]);
+		orderMasks = new long[orderClasses.length];
+		for(int k=0; k<orderClasses.length; k++)
+		{
+			long mask = noOrderClass;
+			for(int i=0; i<borders.length; i++)
+			{
+				final Class[] classes = borders[i].getOrderClasses();
+				if(classes != null && Arrays.asList(classes).contains(orderClasses[k]))
+				{
+					mask |= (1L << i);
+				}
+			}
+			
+			orderMasks[k] = mask;
+		}
+		
+		// unit type, season, and phase type masks
+		unitMasks = new long[UNIT_TYPES.length];
+		for(int k=0; k<UNIT_TYPES.length; k++)
+		{
+			for(int i=0; i<borders.length; i++)
+			{
+				if(matches(borders[i].getUnitTypes(), UNIT_TYPES[k]))
+				{
+					unitMasks[k] |= (1L << i);
+				}
+			}
+		}
+		
+		seasonMasks = new long[Phase.SeasonType.ALL.length];
+		for(int k=0; k<seasonMasks.length; k++)
+		{
+			for(int i=0; i<borders.length; i++)
+			{
+				if(matches(borders[i].getSeasons(), Phase.SeasonType.ALL[k]))
+				{
+					seasonMasks[k] |= (1L << i);
+				}
+			}
+		}
+		
+		phaseMasks = new long[Phase.PhaseType.ALL.length];
+		for(int k=0; k<phaseMasks.length; k++)
+		{
+			for(int i=0; i<borders.length; i++)
+			{
+				if(matches(borders[i].getPhases(), Phase.PhaseType.ALL[k]))
+				{
+					phaseMasks[k] |= (1L << i);
+				}
+			}
+		}
+	}// BorderTable()
+	
+	
+	/** 
+	*	Returns the first Border that prohibits transit, or null if 
+	*	transit is allowed. See Province.getTransit().
+	*/
+	Border getTransit(Location fromLoc, Unit.Type unit, Phase phase, Class orderClass)
+	{
+		long mask = canProhibit & getFromMask(fromLoc);
+		if(mask == 0L)
+		{
+			return null;
+		}
+		
+		final int unitIdx = indexOf(UNIT_TYPES, unit);
+		final int seasonIdx = indexOf(Phase.SeasonType.ALL, phase.getSeasonType());
+		final int phaseIdx = indexOf(Phase.PhaseType.ALL, phase.getPhaseType());
+		if(unitIdx < 0 || seasonIdx < 0 || phaseIdx < 0)
+		{
+			// not a constant; check each Border
+			return getTransitByBorder(mask, fromLoc, unit, phase, orderClass);
+		}
+		
+		mask &= unitMasks[unitIdx] & seasonMasks[seasonIdx] & phaseMasks[phaseIdx];
+		if(mask == 0L)
+		{
+			return null;
+		}
+		
+		mask &= getOrderMask(orderClass);
+		
+		// residual year check
+		long yearMask = mask & hasYear;
+		if(yearMask != 0L)
+		{
+			final int year = phase.getYear();
+			while(yearMask != 0L)
+			{
+				final int i = ProvinceSet.numberOfTrailingZeros(yearMask);
+				if(!borders[i].isYearMatched(year))
+				{
+					mask &= ~(1L << i);
+				}
+				
+				yearMask &= (yearMask - 1);
+			}
+		}
+		
+		return (mask == 0L) ? null : borders[ProvinceSet.numberOfTrailingZeros(mask)];
+	}// getTransit()
+	
+	
+	/** 
+	*	Returns the base move modifier of the first Border with a non-zero
+	*	modifier that applies to the from Location. See 
+	*	Province.getBaseMoveModifier().
+	*/
+	int getBaseMoveModifier(Location fromLoc)
+	{
+		final long mask = hasModifier & getFromMask(fromLoc);
+		return (mask == 0L) ? 0 : borders[ProvinceSet.numberOfTrailingZeros(mask)].getBaseMoveModifier();
+	}// getBaseMoveModifier()
+	
+	
+	/** Get the Borders that apply to the from Location */
+	private long getFromMask(Location fromLoc)
+	{
+		final Province province = fromLoc.getProvince();
+		for(int k=0; k<fromProvinces.length; k++)
+		{
+			if(fromProvinces[k] == province)
+			{
+				return noFrom | fromMasks[k][fromLoc.getCoast().getIndex()];
+			}
+		}
+		
+		return noFrom;
+	}// getFromMask()
+	
+	
+	/** Get the Borders that apply to the order class */
+	private long getOrderMask(Class orderClass)
+	{
+		for(int k=0; k<orderClasses.length; k++)
+		{
+			if(orderClasses[k] == orderClass)
+			{
+				return orderMasks[k];
+			}
+		}
+		
+		return noOrderClass;
+	}// getOrderMask()
+	
+	
+	/** Check each Border in the mask, in order. */
+	private Border getTransitByBorder(long mask, Location fromLoc, Unit.Type unit, 
+		Phase phase, Class orderClass)
+	{
+		while(mask != 0L)
+		{
+			final int i = ProvinceSet.numberOfTrailingZeros(mask);
+			if(!borders[i].canTransit(fromLoc, unit, phase, orderClass))
+			{
+				return borders[i];
+			}
+			
+			mask &= (mask - 1);
+		}
+		
+		return null;
+	}// getTransitByBorder()
+	
+	
+	/** True if values is null (not specified), or contains the value (by equals()). */
+	private static boolean matches(Object[] values, Object value)
+	{
+		if(values == null)
+		{
+			return true;
+		}
+		
+		for(int i=0; i<values.length; i++)
+		{
+			if(value.equals(values[i]))
+			{
+				return true;
+			}
+		}
+		
+		return false;
+	}// matches()
+	
+	
+	/** Index of the value (by equals()) in the constant array; -1 if not found. */
+	private static int indexOf(Object[] constants, Object value)
+	{
+		// constants are usually given; check identity first
+		for(int i=0; i<constants.length; i++)
+		{
+			if(constants[i] == value)
+			{
+				return i;
+			}
+		}
+		
+		for(int i=0; i<constants.length; i++)
+		{
+			if(constants[i].equals(value))
+			{
+				return i;
+			}
+		}
+		
+		return -1;
+	}// indexOf()
+	
+	
+	/** True if values is null, or each value is equal to a constant. */
+	private static boolean areConstants(Object[] values, Object[] constants)
+	{
+		if(values != null)
+		{
+			for(int i=0; i<values.length; i++)
+			{
+				if(indexOf(constants, values[i]) < 0)
+				{
+					return false;
+				}
+			}
+		}
+		
+		return true;
+	}// areConstants()
+	
+	
+	/** The number of Coast indices */
+	private static int countCoasts()
+	{
+		int n = 0;
+		while(Coast.getCoast(n) != null)
+		{
+			n++;
+		}
+		
+		return n;
+	}// countCoasts()
+	
+}// class BorderTable
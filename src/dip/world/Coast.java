@@ -43,8 +43,17 @@ import java.util.regex.Pattern;
 
 public final class Coast implements java.io.Serializable
 {
-	// transient data
-	transient static private Pattern[] patterns = null;
+	// coast normalization patterns (see normalize()). Patterns are threadsafe.
+	private static final Pattern[] patterns =
+	{
+		// match /xx, -xx, \xx coasts; also takes care of periods.
+		// also matches /x; will not match /xxx (or -xxx) 
+		Pattern.compile("\\s*[\\-\\\\/](\\p{Alnum}\\.?)(\\p{Alnum}\\.?)\\b"),
+		//
+		// match parenthetical coasts. 
+		//Pattern.compile("\\s*\\([^\\p{Alnum}]*(\\p{Alnum})[^\\p{Alnum}]*(\\p{Alnum})[^)]*\\)"),
+		Pattern.compile("\\s*\\(([.[^)]]*)(\\))\\s*")
+	};
 	
 	// internal constants
 	// TODO: these need to be properly internationalized.
@@ -320,21 +329,6 @@ public final class Coast implements java.io.Serializable
 	public static String normalize(String input)
 	throws OrderException
 	{
-		// create patterns, if we have none.
-		// these are threadsafe
-		if(patterns == null)
-		{
-			patterns = new Pattern[2];
-			
-			// match /xx, -xx, \xx coasts; also takes care of periods.
-			// also matches /x; will not match /xxx (or -xxx) 
-			patterns[0] = Pattern.compile("\\s*[\\-\\\\/](\\p{Alnum}\\.?)(\\p{Alnum}\\.?)\\b");
-			//
-			// match parenthetical coasts. 
-			//patterns[1] = Pattern.compile("\\s*\\([^\\p{Alnum}]*(\\p{Alnum})[^\\p{Alnum}]*(\\p{Alnum})[^)]*\\)");
-			patterns[1] = Pattern.compile("\\s*\\(([.[^)]]*)(\\))\\s*");
-		}
-		
 		// start matching.
 		String matchInput = input;
 		for(int i=0; i<patterns.length; i++)
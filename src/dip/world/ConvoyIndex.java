@@ -0,0 +1,234 @@
+//
+//  @(#)ConvoyIndex.java	10/2026
+//
+//  Copyright 2026 the jDip development team. All rights reserved.
+//  Use is subject to license terms.
+//
+//
+//  This program is free software; you can redistribute it and/or modify
+//  it under the terms of the GNU General Public License as published by
+//  the Free Software Foundation; either version 2 of the License, or
+//  (at your option) any later version.
+//
+//  This program is distributed in the hope that it will be useful,
+//  but WITHOUT ANY WARRANTY; without even the implied warranty of
+//  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//  GNU General Public License for more details.
+//
+//  You should have received a copy of the GNU General Public License
+//  along with this program; if not, write to the Free Software
+//  Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+//  Or from http://www.gnu.org/
+//
+package dip.world;
+
+/**
+*	The sea topology of a Map, as used for convoy path finding.
+*	<p>
+*	A Province is "convoyable" if it is a sea or a convoyable coast. 
+*	For each Province (by index), this holds the convoyable Provinces 
+*	that it touches (successors), and the convoyable Provinces that touch 
+*	it (predecessors). Convoyable Provinces are also divided into 
+*	connected groups ("components"); a convoy between two Provinces is 
+*	only possible if each touches a convoyable Province of the same 
+*	component.
+*	<p>
+*	Adjacency is 'touching' adjacency (see Coast.TOUCHING). The index does 
+*	not depend upon unit positions, and thus is created once per Map 
+*	(see Map.getConvoyIndex()). It is immutable once created.
+*/
+final class ConvoyIndex
+{
+	private static final int[] EMPTY = new int[0];
+	
+	private final Province[] provinces;
+	private final int[][] successors;
+	private final int[][] predecessors;
+	private final int[] component;		// -1 if not convoyable
+	
+	
+	/** Create the ConvoyIndex for the given Provinces (which must be in index order) */
+	ConvoyIndex(Province[] provinces)
+	{
+		final int len = provinces.length;
+		this.provinces = provinces;
+		successors = new int[len][];
+		predecessors = new int[len][];
+		component = new int[len];
+		
+		// successors; count predecessors
+		final int[] nPred = new int[len];
+		for(int i=0; i<len; i++)
+		{
+			final Location[] locs = provinces[i].getAdjacentLocations(Coast.TOUCHING);
+			int[] tmp = new int[locs.length];
+			int n = 0;
+			for(int j=0; j<locs.length; j++)
+			{
+				final Province p = locs[j].getProvince();
+				if(isConvoyable(p))
+				{
+					tmp[n] = p.getIndex();
+					n++;
+				}
+				
+				if(isConvoyable(provinces[i]))
+				{
+					nPred[p.getIndex()]++;
+				}
+			}
+			
+			successors[i] = trim(tmp, n);
+		}
+		
+		// predecessors
+		for(int i=0; i<len; i++)
+		{
+			predecessors[i] = (nPred[i] == 0) ? EMPTY : new int[nPred[i]];
+			nPred[i] = 0;
+		}
+		
+		for(int i=0; i<len; i++)
+		{
+			if(isConvoyable(provinces[i]))
+			{
+				final Location[] locs = provinces[i].getAdjacentLocations(Coast.TOUCHING);
+				for(int j=0; j<locs.length; j++)
+				{
+					final int p = locs[j].getProvince().getIndex();
+					predecessors[p][nPred[p]] = i;
+					nPred[p]++;
+				}
+			}
+		}
+		
+		// components: flood fill over convoyable provinces,
+		// following both successors and predecessors
+		java.util.Arrays.fill(component, -1);
+		final int[] stack = new int[len];
+		int nComponents = 0;
+		for(int i=0; i<len; i++)
+		{
+			if(component[i] == -1 && isConvoyable(provinces[i]))
+			{
+				component[i] = nComponents;
+				int top = 0;
+				stack[top++] = i;
+				
+				while(top > 0)
+				{
+					final int p = stack[--top];
+					top = push(successors[p], nComponents, stack, top);
+					top = push(predecessors[p], nComponents, stack, top);
+				}
+				
+				nComponents++;
+			}
+		}
+	}// ConvoyIndex()
+	
+	
+	/** Returns true if the Province is a sea or a convoyable coast */
+	static boolean isConvoyable(Province province)
+	{
+		return (province.isSea() || province.isConvoyableCoast());
+	}// isConvoyable()
+	
+	
+	/** The number of Provinces */
+	int getProvinceCount()
+	{
+		return provinces.length;
+	}// getProvinceCount()
+	
+	
+	/** Get the Province with the given index */
+	Province getProvince(int index)
+	{
+		return provinces[index];
+	}// getProvince()
+	
+	
+	/** 
+	*	Indices of the convoyable Provinces touched by the given Province.
+	*	The array must not be modified.
+	*/
+	int[] getSuccessors(int index)
+	{
+		return successors[index];
+	}// getSuccessors()
+	
+	
+	/** 
+	*	Indices of the convoyable Provinces that touch the given Province.
+	*	The array must not be modified.
+	*/
+	int[] getPredecessors(int index)
+	{
+		return predecessors[index];
+	}// getPredecessors()
+	
+	
+	/**
+	*	Returns <code>false</code> if no convoy route between src and dest
+	*	is possible, regardless of unit positions. If this returns 
+	*	<code>true</code>, a route may or may not exist.
+	*/
+	boolean isConnectable(Province src, Province dest)
+	{
+		final int[] srcSucc = successors[src.getIndex()];
+		final int[] destPred = predecessors[dest.getIndex()];
+		
+		for(int i=0; i<srcSucc.length; i++)
+		{
+			final int c = component[srcSucc[i]];
+			for(int j=0; j<destPred.length; j++)
+			{
+				if(component[destPred[j]] == c)
+				{
+					return true;
+				}
+			}
+		}
+		
+		return false;
+	}// isConnectable()
+	
+	
+	/** Push unlabeled convoyable provinces, labeling them; returns the new stack top */
+	private int push(int[] indices, int label, int[] stack, int top)
+	{
+		for(int i=0; i<indices.length; i++)
+		{
+			final int p = indices[i];
+			if(component[p] == -1)
+			{
+				component[p] = label;
+				stack[top] = p;
+				top++;
+			}
+		}
+		
+		return top;
+	}// push()
+	
+	
+	/** Trims an array to the given length */
+	private static int[] trim(int[] array, int len)
+	{
+		if(len == 0)
+		{
+			return EMPTY;
+		}
+		
+		if(len == array.length)
+		{
+			return array;
+		}
+		
+		int[] tmp = new int[len];
+		System.arraycopy(array, 0, tmp, 0, len);
+		return tmp;
+	}// trim()
+	
+}// class ConvoyIndex
@@ -0,0 +1,53 @@
+//
+//  @(#)GameDataInput.java		10/2026
+//
+//  Copyright 2026 the jDip development team. All rights reserved.
+//  Use is subject to license terms.
+//
+//
+//  This program is free software; you can redistribute it and/or modify
+//  it under the terms of the GNU General Public License as published by
+//  the Free Software Foundation; either version 2 of the License, or
+//  (at your option) any later version.
+//
+//  This program is distributed in the hope that it will be useful,
+//  but WITHOUT ANY WARRANTY; without even the implied warranty of
+//  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//  GNU General Public License for more details.
+//
+//  You should have received a copy of the GNU General Public License
+//  along with this program; if not, write to the Free Software
+//  Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+//  Or from http://www.gnu.org/
+//
+package dip.world;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+
+/**
+*	An ObjectInput that can also read game data objects written by
+*	a GameDataOutput. Locations are read as the canonical Locations
+*	of the Map (see Map.getLocation()).
+*	<p>
+*	Each method may return null (if null was written), and throws
+*	a StreamCorruptedException if the data is not valid for the Map.
+*/
+public interface GameDataInput extends ObjectInput
+{
+	/** Reads a Power of the Map */
+	public Power readPower() throws IOException;
+	
+	/** Reads a Province of the Map */
+	public Province readProvince() throws IOException;
+	
+	/** Reads a Location of the Map */
+	public Location readLocation() throws IOException;
+	
+	/** Reads a Unit Type */
+	public Unit.Type readUnitType() throws IOException;
+	
+	/** Reads a Phase */
+	public Phase readPhase() throws IOException;
+	
+}// interface GameDataInput
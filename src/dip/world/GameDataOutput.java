@@ -0,0 +1,54 @@
+//
+//  @(#)GameDataOutput.java		10/2026
+//
+//  Copyright 2026 the jDip development team. All rights reserved.
+//  Use is subject to license terms.
+//
+//
+//  This program is free software; you can redistribute it and/or modify
+//  it under the terms of the GNU General Public License as published by
+//  the Free Software Foundation; either version 2 of the License, or
+//  (at your option) any later version.
+//
+//  This program is distributed in the hope that it will be useful,
+//  but WITHOUT ANY WARRANTY; without even the implied warranty of
+//  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//  GNU General Public License for more details.
+//
+//  You should have received a copy of the GNU General Public License
+//  along with this program; if not, write to the Free Software
+//  Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+//  Or from http://www.gnu.org/
+//
+package dip.world;
+
+import java.io.IOException;
+import java.io.ObjectOutput;
+
+/**
+*	An ObjectOutput that can also write game data objects (of the Map
+*	being written) as indices, rather than as serialized objects. Used
+*	by the binary World format (see WorldCodec) for hand-written,
+*	reflection-free serialization; see, for example, dip.order.OrderCodec.
+*	<p>
+*	Each method accepts null. Objects written by these methods must be
+*	read by the corresponding GameDataInput methods.
+*/
+public interface GameDataOutput extends ObjectOutput
+{
+	/** Writes a Power of the Map */
+	public void writePower(Power power) throws IOException;
+	
+	/** Writes a Province of the Map */
+	public void writeProvince(Province province) throws IOException;
+	
+	/** Writes a Location of the Map */
+	public void writeLocation(Location location) throws IOException;
+	
+	/** Writes a Unit Type */
+	public void writeUnitType(Unit.Type unitType) throws IOException;
+	
+	/** Writes a Phase */
+	public void writePhase(Phase phase) throws IOException;
+	
+}// interface GameDataOutput
@@ -29,9 +29,10 @@ package dip.world;
 *	contain the nescessary data to restore the game.
 *	<p>
 *	This is a marker interface to maintain better gui/non-gui
-*	separation.
+*	separation. GameSetup objects are saved with the World, so
+*	they must be serializable.
 */
-public interface GameSetup
+public interface GameSetup extends java.io.Serializable
 {
 	
 	// no methods : marker interface
@@ -33,6 +33,9 @@ import dip.misc.Utils;
 *	Locations are immutable. 
 *	Convenience methods are provided for obtaining adjacency 
 *	information.
+*	<p>
+*	A Map has a canonical Location for each Province and Coast; see
+*	Map.getLocation().
 *
 *
 *
@@ -40,8 +43,10 @@ import dip.misc.Utils;
 *
 *
 */
-public class Location implements Cloneable
+public class Location implements Cloneable, java.io.Serializable
 {
+	private static final long serialVersionUID = 1L;
+	
 	/** Constant defining an empty array of Location() objects */
 	public static final Location[] EMPTY = new Location[0];
 	
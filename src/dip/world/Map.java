@@ -43,8 +43,10 @@ import javax.xml.parsers.*;
 public class Map implements Serializable
 {
 	// constants
+	private static final long serialVersionUID = -6975129388283822932L;
 	private static final int MAP_SIZE = 211; 	// should be prime
 	private static final int POWER_SIZE = 17;	// should be prime
+	private static final Unit.Type[] UNIT_TYPES = { Unit.Type.ARMY, Unit.Type.FLEET, Unit.Type.WING };
 	
 	// internal constant arrays
 	// all this data is serialized.
@@ -57,13 +59,21 @@ public class Map implements Serializable
 	// Province-related
 	private transient HashMap nameMap = null; 	// map of all (short & full) names to a province; names in lower case
 	private transient String[] names = null;	// list of all province names [short & full]; names in lower case
+	private transient NameIndex provinceIndex = null;	// index of names, for partial and Levenshtein matching
 	
 	// Power-related
 	private transient HashMap powerNameMap = null;		// created by createMappings()
+	private transient NameIndex powerIndex = null;		// index of lcPowerNames, for partial and Levenshtein matching
+	
+	// flyweights; created by createMappings()
+	private transient Location[][] locations = null;	// canonical Locations, by [province index][coast index]
+	private transient Unit[][][] units = null;			// shared Units, by [power index][UNIT_TYPES index][coast index]
 	
 	// fields created on first-use (by a method)
 	private transient String[] lcPowerNames = null;		// lower case power names & adjectives
 	private transient String[] wsNames = null;			// list of all province names that contain whitespace, "-", or " "
+	private transient short[][] distances = null;		// [src][dest] distances, in moves; -1 if unconnected
+	private transient ConvoyIndex convoyIndex = null;	// sea topology, for convoy path finding
 	
 	
 	
@@ -127,6 +137,14 @@ public class Map implements Serializable
 		// create lcPowerNameList
 		createLCPowerNameList();
 		
+		Power[] lcPowers = new Power[lcPowerNames.length];
+		for(int i=0; i<lcPowerNames.length; i++)
+		{
+			lcPowers[i] = getPower(lcPowerNames[i]);
+		}
+		
+		powerIndex = new NameIndex(lcPowerNames, lcPowers);
+		
 		// province-related namemap
 		//
 		nameMap = new HashMap(MAP_SIZE);
@@ -152,9 +170,128 @@ public class Map implements Serializable
 		
 		// create names array from ArrayList
 		names = (String[]) namesAL.toArray(new String[namesAL.size()]);
+		
+		// index names. Names are indexed with their mapped Province; 
+		// if two Provinces share a name, the last mapped is used.
+		Province[] nameProvinces = new Province[names.length];
+		for(int i=0; i<names.length; i++)
+		{
+			nameProvinces[i] = getProvince(names[i]);
+		}
+		
+		provinceIndex = new NameIndex(names, nameProvinces);
+		
+		createFlyweights();
+		
+		// compile Province borders
+		for(int i=0; i<provinces.length; i++)
+		{
+			provinces[i].createBorderTable();
+		}
 	}// createMappings()
 	
 	
+	/**
+	*	Creates the canonical Locations and shared Units, and replaces 
+	*	the Locations in Province adjacency data with canonical Locations.
+	*/
+	private void createFlyweights()
+	{
+		int nCoasts = 0;
+		while(Coast.getCoast(nCoasts) != null)
+		{
+			nCoasts++;
+		}
+		
+		locations = new Location[provinces.length][nCoasts];
+		for(int i=0; i<provinces.length; i++)
+		{
+			for(int c=0; c<nCoasts; c++)
+			{
+				locations[i][c] = new Location(provinces[i], Coast.getCoast(c));
+			}
+		}
+		
+		units = new Unit[powers.length][UNIT_TYPES.length][nCoasts];
+		for(int i=0; i<powers.length; i++)
+		{
+			for(int t=0; t<UNIT_TYPES.length; t++)
+			{
+				for(int c=0; c<nCoasts; c++)
+				{
+					units[i][t][c] = Unit.createShared(powers[i], UNIT_TYPES[t], Coast.getCoast(c));
+				}
+			}
+		}
+		
+		for(int i=0; i<provinces.length; i++)
+		{
+			provinces[i].internLocations(this);
+		}
+	}// createFlyweights()
+	
+	
+	/**
+	*	Returns the canonical Location for the given Province and Coast. 
+	*	Canonical Locations are created once per Map; using them avoids
+	*	creating Location objects, and they may be compared by identity.
+	*	<p>
+	*	If the Province is not a Province of this Map, a new Location
+	*	is returned.
+	*/
+	public Location getLocation(Province province, Coast coast)
+	{
+		final int idx = province.getIndex();
+		final int coastIdx = coast.getIndex();
+		if( idx < provinces.length && provinces[idx] == province 
+			&& coastIdx >= 0 && coastIdx < locations[idx].length
+			&& locations[idx][coastIdx].getCoast() == coast )
+		{
+			return locations[idx][coastIdx];
+		}
+		
+		return new Location(province, coast);
+	}// getLocation()
+	
+	
+	/**
+	*	Returns the shared Unit of the given Power, Type, and Coast. Shared 
+	*	Units are created once per Map, and are immutable (see Unit.setCoast());
+	*	they may be compared by identity. Positions return shared Units.
+	*
+	*	@throws IllegalArgumentException if the Power is not a Power of this
+	*		Map, or the Type is undefined.
+	*/
+	public Unit getUnit(Power power, Unit.Type unitType, Coast coast)
+	{
+		final int powerIdx = getPowerIndex(power);
+		if(powerIdx < 0)
+		{
+			throw new IllegalArgumentException("unknown power: "+power);
+		}
+		
+		for(int t=0; t<UNIT_TYPES.length; t++)
+		{
+			if(UNIT_TYPES[t] == unitType)
+			{
+				return getUnit(powerIdx, t, coast.getIndex());
+			}
+		}
+		
+		throw new IllegalArgumentException("bad unit type: "+unitType);
+	}// getUnit()
+	
+	
+	/**
+	*	Returns the shared Unit with the given Power index, Type index 
+	*	(ARMY, FLEET, WING: 0, 1, 2), and Coast index.
+	*/
+	Unit getUnit(int powerIdx, int unitTypeIdx, int coastIdx)
+	{
+		return units[powerIdx][unitTypeIdx][coastIdx];
+	}// getUnit()
+	
+	
 	
 	
 	
@@ -169,6 +306,24 @@ public class Map implements Serializable
 	}// getPowers()
 	
 	
+	/** 
+	*	Returns the index of a Power within the array returned by getPowers(), 
+	*	or -1 if the Power is not a Power of this Map. 
+	*/
+	int getPowerIndex(Power power)
+	{
+		for(int i=0; i<powers.length; i++)
+		{
+			if(powers[i] == power)
+			{
+				return i;
+			}
+		}
+		
+		return -1;
+	}// getPowerIndex()
+	
+	
 	/**
 	*	Returns the power that matches name. Returns null if no
 	*	match found.
@@ -225,32 +380,14 @@ public class Map implements Serializable
 		}
 		
 		// 3) perform a Levenshtein match against power names.
+		// If the absolute error rate is too high, discard. If
+		// different powers are equally close, there is no match.
 		// 
-		int bestMatch = Integer.MAX_VALUE;
-		matchPower = null;
-		for(int i=0; i<lcPowerNames.length; i++)
-		{
-			String name = lcPowerNames[i];
-			
-			final int distance = Distance.getLD(powerName, name);
-			if(distance < bestMatch)
-			{
-				matchPower = getPower(name);
-				bestMatch = distance;
-			}
-			else if(distance == bestMatch)
-			{
-				if(matchPower != getPower(name))
-				{
-					matchPower = null;
-				}
-			}	
-		}
-		
-		// if absolute error rate is too high, discard.
-		if(bestMatch <= ((int) (powerName.length() / 2)))
+		Set ties = new HashSet();
+		powerIndex.findClosest(powerName, ((int) (powerName.length() / 2)), ties);
+		if(ties.size() == 1)
 		{
-			return matchPower;
+			return (Power) ties.iterator().next();
 		}
 		
 		// 4) nothing sufficiently close. Return null.
@@ -304,7 +441,7 @@ public class Map implements Serializable
 		{
 			String name = lcPowerNames[i];
 			
-			final int distance = Distance.getLD(powerName, name);
+			final int distance = NameIndex.getLD(powerName, name);
 			if(distance < bestMatch)
 			{
 				bestMatchPowerName = name;
@@ -399,38 +536,13 @@ public class Map implements Serializable
 		// tie list. Use a Set so that we get no dupes
 		Set ties = new HashSet();
 		
-		// compute Levenshteins on the match
+		// find the closest names by Levenshtein distance; if 
+		// absolute error rate is too high, they are discarded.
 		// if there are ties, keep them.. for now
-		ties.clear();
-		int bestDist = Integer.MAX_VALUE;
-		for(int i=0; i<names.length; i++)
-		{
-			String name = names[i];
-			
-			// check closeness. Smaller is better.
-			final int distance = Distance.getLD(input, name);
-			if(distance < bestDist)
-			{
-				ties.clear();
-				ties.add( getProvince(name) );
-				bestDist = distance;
-			}
-			else if(distance == bestDist)
-			{
-				ties.add( getProvince(name) );
-			}	
-		}	
-		
-		/*
-		System.out.println("LD input: "+input);
-		System.out.println("   ties: "+ties);
-		System.out.println("   bestDist: "+bestDist);
-		System.out.println("   maxbest: "+((int) (input.length() / 2)));
-		*/
+		provinceIndex.findClosest(input, ((int) (input.length() / 2)), ties);
 		
-		// if absolute error rate is too high, discard.
 		// if we have >1 unique ties, (or none at all) no match
-		if(bestDist <= ((int) (input.length() / 2)) && ties.size() == 1)
+		if(ties.size() == 1)
 		{
 			// there is but one
 			return (Province) ties.iterator().next(); 
@@ -492,38 +604,13 @@ public class Map implements Serializable
 			// which can return some very odd results.
 			// for short strings...
 			//
-			for(int i=0; i<names.length; i++)
-			{
-				String name = names[i];
-				if(name.startsWith(input))
-				{
-					ties.add(getProvince(name));
-				}
-			}
+			provinceIndex.findPrefixed(input, ties);
 		}
 		else
 		{
-			// compute Levenshteins on the match
+			// find the closest names by Levenshtein distance
 			// if there are ties, keep them.. for now
-			int bestDist = Integer.MAX_VALUE;
-			for(int i=0; i<names.length; i++)
-			{
-				String name = names[i];
-				
-				// check closeness. Smaller is better.
-				final int distance = Distance.getLD(input, name);
-				
-				if(distance < bestDist)
-				{
-					ties.clear();
-					ties.add( getProvince(name) );
-					bestDist = distance;
-				}
-				else if(distance == bestDist)
-				{
-					ties.add( getProvince(name) );
-				}	
-			}	
+			provinceIndex.findClosest(input, Integer.MAX_VALUE, ties);
 		}
 		
 		return ties;
@@ -825,6 +912,98 @@ public class Map implements Serializable
 	}// reverseIndex()
 	
 	
+	/**
+	*	Find shortest distance between src & dest. This uses 'touching'
+	*	adjacency (see Coast.TOUCHING), and the cost of movement between any 
+	*	adjacent Provinces is the same. Thus this is the minimum number of 
+	*	moves from src to dest, regardless of unit type.
+	*	<p>
+	*	This will return -1 in the event that src and dest are not connected.
+	*	<p>
+	*	The distances between all Provinces are computed when this method is 
+	*	first called, and are not serialized.
+	*/
+	public int getDistance(Province src, Province dest)
+	{
+		if(src == null || dest == null)
+		{
+			throw new IllegalArgumentException();
+		}
+		
+		return getDistances()[src.getIndex()][dest.getIndex()];
+	}// getDistance()
+	
+	
+	/** Returns the distance table, creating it if required. */
+	private synchronized short[][] getDistances()
+	{
+		if(distances == null)
+		{
+			distances = createDistances();
+		}
+		
+		return distances;
+	}// getDistances()
+	
+	
+	/** 
+	*	Returns the ConvoyIndex for this Map, creating it if required. 
+	*/
+	synchronized ConvoyIndex getConvoyIndex()
+	{
+		if(convoyIndex == null)
+		{
+			convoyIndex = new ConvoyIndex(provinces);
+		}
+		
+		return convoyIndex;
+	}// getConvoyIndex()
+	
+	
+	/** 
+	*	Creates the distance table, by a breadth-first search from 
+	*	each Province. 
+	*/
+	private short[][] createDistances()
+	{
+		final int len = provinces.length;
+		final short[][] dist = new short[len][];
+		final int[] queue = new int[len];
+		
+		for(int src=0; src<len; src++)
+		{
+			final short[] row = new short[len];
+			Arrays.fill(row, (short) -1);
+			row[src] = 0;
+			
+			int head = 0;
+			int tail = 0;
+			queue[tail++] = src;
+			
+			while(head < tail)
+			{
+				final int p = queue[head++];
+				final short nextDist = (short) (row[p] + 1);
+				
+				Location[] locs = provinces[p].getAdjacentLocations(Coast.TOUCHING);
+				for(int i=0; i<locs.length; i++)
+				{
+					final int adj = locs[i].getProvince().getIndex();
+					if(row[adj] < 0)
+					{
+						row[adj] = nextDist;
+						queue[tail++] = adj;
+					}
+				}
+			}
+			
+			dist[src] = row;
+		}
+		
+		return dist;
+	}// createDistances()
+	
+	
 	/** 
 	*	Creats the reverse-sorted power name list required by 
 	*	getFirstPowerToken(), filterPowerNames(), and other methods.
@@ -922,16 +1101,7 @@ public class Map implements Serializable
 	private List findPartialProvinceMatch(String input)
 	{
 		HashSet ties = new HashSet(41);
-		
-		for(int i=0; i<lcPowerNames.length; i++)
-		{
-			String provName = names[i];
-			
-			if(provName.startsWith(input))
-			{
-				ties.add( getProvince(provName) );	// should NEVER be null
-			}
-		}
+		provinceIndex.findPrefixed(input, ties);
 		
 		ArrayList al = new ArrayList(ties.size());
 		al.addAll(ties);
@@ -947,16 +1117,7 @@ public class Map implements Serializable
 	private List findPartialPowerMatch(String input)
 	{
 		HashSet ties = new HashSet(41);
-		
-		for(int i=0; i<lcPowerNames.length; i++)
-		{
-			String powerName = lcPowerNames[i];
-			
-			if(powerName.startsWith(input))
-			{
-				ties.add( getPower(powerName) );	// should NEVER be null
-			}
-		}
+		powerIndex.findPrefixed(input, ties);
 		
 		ArrayList al = new ArrayList(ties.size());
 		al.addAll(ties);
@@ -965,96 +1126,6 @@ public class Map implements Serializable
 	
 	
 	
-	/**
-	*	Gets a Levenshtein Edit Distance
-	*	Code by Michael Gilleland, Merriam Park Software
-	*
-	*/
-	private static class Distance
-	{
-		/** Get minimum of three values */
-		private static int getMin(int a, int b, int c)
-		{
-			int mi;
-			
-			mi = a;
-			if (b < mi) 
-			{
-				mi = b;
-			}
-			
-			if (c < mi)
-			{
-				mi = c;
-			}
-			
-			return mi;
-		}// getMin()
-		
-		/** Compute Levenshtein distance */
-		public static int getLD(String s, String t)
-		{
-			int d[][]; // matrix
-			int n; // length of s
-			int m; // length of t
-			int i; // iterates through s
-			int j; // iterates through t
-			char s_i; // ith character of s
-			char t_j; // jth character of t
-			int cost; // cost
-			
-			// Step 1
-			n = s.length ();
-			m = t.length ();
-			if(n == 0)
-			{
-				return m;
-			}
-			
-			if(m == 0)
-			{
-				return n;
-			}
-			
-			d = new int[n+1][m+1];
-			
-			// Step 2
-			
-			for(i = 0; i <= n; i++)
-			{
-				d[i][0] = i;
-			}
-			
-			for(j = 0; j <= m; j++)
-			{
-				d[0][j] = j;
-			}
-			
-			// Step 3
-			for(i = 1; i <= n; i++)
-			{
-				s_i = s.charAt(i - 1);
-	
-				// Step 4
-				for(j = 1; j <= m; j++)
-				{
-					t_j = t.charAt(j - 1);
-					
-					// Step 5
-					cost = (s_i == t_j) ? 0 : 1;
-					
-					// Step 6
-					d[i][j] = getMin(d[i-1][j]+1, d[i][j-1]+1, d[i-1][j-1] + cost);
-				}// for(j)
-			}// for(i)
-			
-			// Step 7
-			return d[n][m];
-		}// getLD()
-	}// inner class Distance
-	
-	
-	
 	// reserialization: re-create mappings
 	private void readObject(java.io.ObjectInputStream in)
 	throws IOException, ClassNotFoundException
@@ -0,0 +1,329 @@
+//
+//  @(#)NameIndex.java	10/2026
+//
+//  Copyright 2026 the jDip development team. All rights reserved.
+//  Use is subject to license terms.
+//
+//
+//  This program is free software; you can redistribute it and/or modify
+//  it under the terms of the GNU General Public License as published by
+//  the Free Software Foundation; either version 2 of the License, or
+//  (at your option) any later version.
+//
+//  This program is distributed in the hope that it will be useful,
+//  but WITHOUT ANY WARRANTY; without even the implied warranty of
+//  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//  GNU General Public License for more details.
+//
+//  You should have received a copy of the GNU General Public License
+//  along with this program; if not, write to the Free Software
+//  Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+//  Or from http://www.gnu.org/
+//
+package dip.world;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+
+/**
+*	An index of (lower case) names, each of which refers to an object 
+*	(e.g., a Province or Power), for partial and approximate name matching.
+*	<p>
+*	Names are held in sorted order, so that all names beginning with 
+*	a given prefix can be found by a binary search. Names are also held 
+*	in a BK-tree, keyed by Levenshtein distance, so that the closest 
+*	names to an input can be found without computing the distance to 
+*	every name. 
+*	<p>
+*	The index is created once per Map (see Map.createMappings()), and
+*	is immutable once created.
+*/
+final class NameIndex
+{
+	private final String[] sortedNames;
+	private final Object[] sortedValues;
+	private final Node root;				// null if there are no names
+	
+	
+	/** 
+	*	Create a NameIndex. names[i] refers to values[i]. Duplicate 
+	*	names must refer to the same value.
+	*/
+	NameIndex(String[] names, Object[] values)
+	{
+		if(names.length != values.length)
+		{
+			throw new IllegalArgumentException();
+		}
+		
+		// sort names, for prefix matching
+		Integer[] order = new Integer[names.length];
+		for(int i=0; i<order.length; i++)
+		{
+			order[i] = new Integer(i);
+		}
+		
+		final String[] tmpNames = names;
+		Arrays.sort(order, new Comparator()
+		{
+			public int compare(Object o1, Object o2)
+			{
+				return tmpNames[((Integer) o1).intValue()].compareTo(tmpNames[((Integer) o2).intValue()]);
+			}// compare()
+		});
+		
+		sortedNames = new String[names.length];
+		sortedValues = new Object[names.length];
+		for(int i=0; i<order.length; i++)
+		{
+			sortedNames[i] = names[order[i].intValue()];
+			sortedValues[i] = values[order[i].intValue()];
+		}
+		
+		// create BK-tree
+		Node tmpRoot = null;
+		for(int i=0; i<names.length; i++)
+		{
+			if(tmpRoot == null)
+			{
+				tmpRoot = new Node(names[i], values[i]);
+			}
+			else
+			{
+				tmpRoot.add(names[i], values[i]);
+			}
+		}
+		
+		root = tmpRoot;
+	}// NameIndex()
+	
+	
+	/**
+	*	Adds the value of each name that starts with the given prefix 
+	*	to the Collection.
+	*/
+	void findPrefixed(String prefix, Collection values)
+	{
+		// find the first name >= prefix; names beginning with 
+		// the prefix follow it, in order.
+		int idx = Arrays.binarySearch(sortedNames, prefix);
+		if(idx < 0)
+		{
+			idx = -(idx + 1);
+		}
+		
+		while(idx > 0 && sortedNames[idx-1].equals(prefix))
+		{
+			idx--;
+		}
+		
+		while(idx < sortedNames.length && sortedNames[idx].startsWith(prefix))
+		{
+			values.add(sortedValues[idx]);
+			idx++;
+		}
+	}// findPrefixed()
+	
+	
+	/**
+	*	Finds the names with the smallest Levenshtein distance to the 
+	*	input, if that distance is no more than maxDistance. The value
+	*	of each such name (ties) is added to the Collection, which 
+	*	must be empty. 
+	*	<p>
+	*	Returns the smallest distance, or Integer.MAX_VALUE if no name 
+	*	is within maxDistance (in which case nothing is added).
+	*/
+	int findClosest(String input, int maxDistance, Collection values)
+	{
+		int bestDist = Integer.MAX_VALUE;
+		if(root == null)
+		{
+			return bestDist;
+		}
+		
+		ArrayList stack = new ArrayList();
+		stack.add(root);
+		while(!stack.isEmpty())
+		{
+			final Node node = (Node) stack.remove(stack.size() - 1);
+			final int dist = getLD(input, node.name);
+			
+			if(dist <= maxDistance)
+			{
+				if(dist < bestDist)
+				{
+					values.clear();
+					values.add(node.value);
+					bestDist = dist;
+				}
+				else if(dist == bestDist)
+				{
+					values.add(node.value);
+				}
+			}
+			
+			// By the triangle inequality, a name in the subtree at distance k 
+			// from this node can only be within 'radius' of the input
+			// if |k - dist| <= radius.
+			final int radius = Math.min(bestDist, maxDistance);
+			if(node.children != null)
+			{
+				final int start = Math.max(0, dist - radius);
+				for(int k=start; k<node.children.length; k++)
+				{
+					if(k - dist > radius)
+					{
+						break;
+					}
+					
+					if(node.children[k] != null)
+					{
+						stack.add(node.children[k]);
+					}
+				}
+			}
+		}
+		
+		return bestDist;
+	}// findClosest()
+	
+	
+	/** A BK-tree node. children[k] holds names at distance k from this name. */
+	private static final class Node
+	{
+		private final String name;
+		private final Object value;
+		private Node[] children = null;
+		
+		
+		public Node(String name, Object value)
+		{
+			this.name = name;
+			this.value = value;
+		}// Node()
+		
+		
+		/** Add a name to the subtree of this Node. */
+		public void add(String newName, Object newValue)
+		{
+			Node node = this;
+			while(true)
+			{
+				final int dist = getLD(newName, node.name);
+				if(dist == 0)
+				{
+					// duplicate name
+					return;
+				}
+				
+				if(node.children == null || dist >= node.children.length)
+				{
+					Node[] tmp = new Node[dist + 1];
+					if(node.children != null)
+					{
+						System.arraycopy(node.children, 0, tmp, 0, node.children.length);
+					}
+					node.children = tmp;
+				}
+				
+				if(node.children[dist] == null)
+				{
+					node.children[dist] = new Node(newName, newValue);
+					return;
+				}
+				
+				node = node.children[dist];
+			}
+		}// add()
+	}// nested class Node
+	
+	
+	
+	/** Get minimum of three values */
+	private static int getMin(int a, int b, int c)
+	{
+		int mi;
+		
+		mi = a;
+		if (b < mi) 
+		{
+			mi = b;
+		}
+		
+		if (c < mi)
+		{
+			mi = c;
+		}
+		
+		return mi;
+	}// getMin()
+	
+	
+	/** 
+	*	Compute Levenshtein Edit Distance.
+	*	Code by Michael Gilleland, Merriam Park Software
+	*/
+	static int getLD(String s, String t)
+	{
+		int d[][]; // matrix
+		int n; // length of s
+		int m; // length of t
+		int i; // iterates through s
+		int j; // iterates through t
+		char s_i; // ith character of s
+		char t_j; // jth character of t
+		int cost; // cost
+		
+		// Step 1
+		n = s.length ();
+		m = t.length ();
+		if(n == 0)
+		{
+			return m;
+		}
+		
+		if(m == 0)
+		{
+			return n;
+		}
+		
+		d = new int[n+1][m+1];
+		
+		// Step 2
+		
+		for(i = 0; i <= n; i++)
+		{
+			d[i][0] = i;
+		}
+		
+		for(j = 0; j <= m; j++)
+		{
+			d[0][j] = j;
+		}
+		
+		// Step 3
+		for(i = 1; i <= n; i++)
+		{
+			s_i = s.charAt(i - 1);
+			
+			// Step 4
+			for(j = 1; j <= m; j++)
+			{
+				t_j = t.charAt(j - 1);
+				
+				// Step 5
+				cost = (s_i == t_j) ? 0 : 1;
+				
+				// Step 6
+				d[i][j] = getMin(d[i-1][j]+1, d[i][j-1]+1, d[i-1][j-1] + cost);
+			}// for(j)
+		}// for(i)
+		
+		// Step 7
+		return d[n][m];
+	}// getLD()
+	
+}// class NameIndex
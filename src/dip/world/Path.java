@@ -264,7 +264,7 @@ public class Path extends Object
 			
 			// for the second provice, check only if we can reach the source province (not location!),
 			// as we do not know the source coast!
-			if(((i != 1) && (!p.isAdjacent(unit.getCoast(), new Location(route[i-1], lastCoast)))) ||
+			if(((i != 1) && (!p.isAdjacent(unit.getCoast(), pos.map.getLocation(route[i-1], lastCoast)))) ||
 			   ((i == 1) && (!p.isAdjacent(unit.getCoast(), route[i-1]))))
 			{
 				return false;
@@ -417,10 +417,7 @@ public class Path extends Object
 	{
 		if(src.getProvince().isCoastal() && dest.getProvince().isCoastal())
 		{
-			List path = new ArrayList(12);
-			PathEvaluator pe = new AnyConvoyPathEvaluator();
-			
-			return findPathBreadthFirst(src, dest, src, path, pe);
+			return isPathReachable(src, dest, new AnyConvoyPathEvaluator());
 		}
 		
 		return false;
@@ -462,9 +459,7 @@ public class Path extends Object
 	*/
 	public boolean isLegalConvoyRoute(Location src, Location dest)
 	{
-		List path = new ArrayList(12);
-		PathEvaluator pe = new LegalConvoyPathEvaluator(src, dest);
-		return findPathBreadthFirst(src, dest, src, path, pe);
+		return isPathReachable(src, dest, new LegalConvoyPathEvaluator(src, dest));
 	}// isLegalConvoyRoute()
 	
 	
@@ -549,8 +544,17 @@ public class Path extends Object
 		boolean isPathFound = false;
 		
 		// 1st pass: look for a successful route only.
+		// the path is only required if it is to be returned.
 		spe = new SuperConvoyPathEvaluator(src, dest, invalid, false);
-		isPathFound = findPathBreadthFirst(src, dest, src, path, spe);
+		if(validPath == null)
+		{
+			isPathFound = isPathReachable(src, dest, spe);
+		}
+		else
+		{
+			isPathFound = findPathBreadthFirst(src, dest, src, path, spe);
+		}
+		
 		if(isPathFound)
 		{
 			// note: our path, if found, may be longer than required (due to
@@ -573,9 +577,8 @@ public class Path extends Object
 		
 		
 		// 2nd pass: determine unsuccessful vs. uncertain
-		path.clear();
 		spe = new SuperConvoyPathEvaluator(src, dest, invalid, true);
-		isPathFound = findPathBreadthFirst(src, dest, src, path, spe);
+		isPathFound = isPathReachable(src, dest, spe);
 		if(isPathFound)
 		{
 			// TODO: assert that isUncertain() is true here. It should be; 
@@ -677,6 +680,76 @@ public class Path extends Object
 	
 	
 	
+	/**
+	*	Determines if findPathBreadthFirst() would find a path from src to dest,
+	*	without finding the path itself. 
+	*	<p>
+	*	A path exists if there is a chain of adjacent convoyable Provinces, 
+	*	each accepted by the AnyConvoyPathEvaluator, from a Province adjacent 
+	*	to src to a Province touching dest. This is a breadth-first search over 
+	*	the Map's ConvoyIndex; each Province is evaluated at most once.
+	*/
+	private boolean isPathReachable(Location src, Location dest, AnyConvoyPathEvaluator pathEvaluator)
+	{
+		final ConvoyIndex index = position.map.getConvoyIndex();
+		final Province srcProv = src.getProvince();
+		final Province destProv = dest.getProvince();
+		
+		// quick check: no possible route on this map
+		if(!index.isConnectable(srcProv, destProv))
+		{
+			return false;
+		}
+		
+		final boolean[] visited = new boolean[index.getProvinceCount()];
+		final int[] queue = new int[visited.length];
+		int head = 0;
+		int tail = enqueue(index, index.getSuccessors(srcProv.getIndex()), 
+					pathEvaluator, visited, queue, 0);
+		
+		while(head < tail)
+		{
+			final int current = queue[head];
+			head++;
+			
+			if(index.getProvince(current).isTouching(destProv))
+			{
+				return true;
+			}
+			
+			tail = enqueue(index, index.getSuccessors(current), 
+					pathEvaluator, visited, queue, tail);
+		}
+		
+		return false;
+	}// isPathReachable()
+	
+	
+	/** 
+	*	Adds unvisited Provinces that are accepted by the evaluator to the 
+	*	queue; marks them as visited. Returns the new queue tail.
+	*/
+	private static int enqueue(ConvoyIndex index, int[] indices, 
+		AnyConvoyPathEvaluator pathEvaluator, boolean[] visited, int[] queue, int tail)
+	{
+		for(int i=0; i<indices.length; i++)
+		{
+			final int p = indices[i];
+			if(!visited[p])
+			{
+				visited[p] = true;
+				if(pathEvaluator.evaluate(index.getProvince(p)))
+				{
+					queue[tail] = p;
+					tail++;
+				}
+			}
+		}
+		
+		return tail;
+	}// enqueue()
+	
+	
 	protected static interface PathEvaluator
 	{
 		// see if current location has nesc. requirments
@@ -701,7 +774,12 @@ public class Path extends Object
 		// must have a fleet in the desired area
 		public boolean evaluate(Location location)
 		{
-			Province province = location.getProvince();
+			return evaluate(location.getProvince());
+		}// evaluate()
+		
+		// must have a fleet in the desired province
+		public boolean evaluate(Province province)
+		{
 			Unit unit = position.getUnit(province);
 			
 			if(unit != null && (province.isSea() || province.isConvoyableCoast()))
@@ -899,84 +977,12 @@ public class Path extends Object
 	*	not connected. 
 	*	<p>
 	*	Null src/dest Provinces are not allowed
-	*	
+	*	<p>
+	*	Distances are looked up from the Map; see Map.getDistance().
 	*/
 	public int getMinDistance(Province src, Province dest)
 	{
-		// simple case: src adjacent to dest
-		if(src == dest)
-		{
-			return 0;
-		}
-		
-		int dist = 0;
-		
-		HashMap visited = new HashMap(119);
-		visited.put(src, Boolean.TRUE);	
-		
-		ArrayList toCheck = new ArrayList(32);
-		ArrayList nextToCheck = new ArrayList(32);
-		ArrayList swapTmp = null;
-		toCheck.add(src);
-		
-		while(true)
-		{
-			// inc dist
-			dist++;
-			
-			// iterate toCheck, create nextToCheck list
-			for(int z=0; z<toCheck.size(); z++)
-			{
-				Province p = (Province) toCheck.get(z);
-				if(p == dest)
-				{
-					return dist;
-				}
-				
-				/* OLD CODE: before Coast.WING (TOUCHING) available
-				for(int i=0; i<Coast.ALL_COASTS.length; i++)
-				{
-					Location[] locs = p.getAdjacentLocations(Coast.ALL_COASTS[i]);
-					for(int j=0; j<locs.length; j++)
-					{
-						Province ckp = locs[j].getProvince();
-						
-						if(visited.get(ckp) == null)
-						{
-							nextToCheck.add(ckp);
-							visited.put(ckp, Boolean.TRUE);
-						}
-					}
-				}
-				*/
-				
-				// NEW CODE: using Coast.TOUCHING
-				Location[] locs = p.getAdjacentLocations(Coast.TOUCHING);
-				for(int i=0; i<locs.length; i++)
-				{
-					Province ckp = locs[i].getProvince();
-					
-					if(visited.get(ckp) == null)
-					{
-						nextToCheck.add(ckp);
-						visited.put(ckp, Boolean.TRUE);
-					}
-				}
-				// END NEW CODE
-			}
-			
-			// swap lists
-			toCheck.clear();
-			swapTmp = toCheck;
-			toCheck = nextToCheck;
-			nextToCheck = swapTmp;
-			
-			// test for unconnectedness (remember, we are swapped)
-			if(toCheck.isEmpty())
-			{
-				return -1;
-			}
-		}
+		return position.map.getDistance(src, dest);
 	}// getMinDistance()
 	
 	
@@ -994,8 +1000,100 @@ public class Path extends Object
 	*	This is typically very fast. For standard map, gas->lvp takes about
 	*	0.155 ms on a P4/3.0ghz; 10 unique paths are found. More specific 
 	*	FAPEvaluator methods (e.g., that look for a Fleet) will be faster.
+	*	<p>
+	*	If the Map is known, findAllSeaPaths(Map, FAPEvaluator, Province, Province)
+	*	should be used instead.
 	*/
 	public static Province[][] findAllSeaPaths(FAPEvaluator evaluator, Province src, Province dest)
+	{
+		return findSeaPaths(null, evaluator, src, dest);
+	}// findAllSeaPaths()
+	
+	
+	/**
+	*	As findAllSeaPaths(FAPEvaluator, Province, Province), but uses the 
+	*	given Map's ConvoyIndex so that Provinces which cannot lead to dest
+	*	are never added to the tree. The same paths, in the same order, are
+	*	returned. The FAPEvaluator is called at most once for each Province.
+	*/
+	public static Province[][] findAllSeaPaths(Map map, FAPEvaluator evaluator, Province src, Province dest)
+	{
+		if(map == null)
+		{
+			return findSeaPaths(null, evaluator, src, dest);
+		}
+		
+		// check: src/dest
+		if(!src.isLand() || !dest.isLand())
+		{
+			return new Province[0][];
+		}
+		
+		final ConvoyIndex index = map.getConvoyIndex();
+		if(!index.isConnectable(src, dest) && !src.isTouching(dest))
+		{
+			return new Province[0][];
+		}
+		
+		// determine which Provinces can reach dest; this is a breadth-first
+		// search backwards from dest. 
+		final int destIdx = dest.getIndex();
+		final boolean[] canReach = new boolean[index.getProvinceCount()];
+		final boolean[] visited = new boolean[canReach.length];
+		final int[] queue = new int[canReach.length];
+		int head = 0;
+		
+		visited[destIdx] = true;	// dest is never evaluated
+		int tail = markReaching(index, index.getPredecessors(destIdx), 
+					evaluator, visited, canReach, queue, 0);
+		
+		while(head < tail)
+		{
+			final int current = queue[head];
+			head++;
+			
+			tail = markReaching(index, index.getPredecessors(current), 
+					evaluator, visited, canReach, queue, tail);
+		}
+		
+		return findSeaPaths(canReach, evaluator, src, dest);
+	}// findAllSeaPaths()
+	
+	
+	/** 
+	*	Marks unvisited Provinces that are accepted by the evaluator as able to 
+	*	reach the destination, and adds them to the queue. All are marked as 
+	*	visited. Returns the new queue tail.
+	*/
+	private static int markReaching(ConvoyIndex index, int[] indices, FAPEvaluator evaluator, 
+		boolean[] visited, boolean[] canReach, int[] queue, int tail)
+	{
+		for(int i=0; i<indices.length; i++)
+		{
+			final int p = indices[i];
+			if(!visited[p])
+			{
+				visited[p] = true;
+				if(evaluator.evaluate(index.getProvince(p)))
+				{
+					canReach[p] = true;
+					queue[tail] = p;
+					tail++;
+				}
+			}
+		}
+		
+		return tail;
+	}// markReaching()
+	
+	
+	/**
+	*	Finds all sea paths. If canReach is non-null, only Provinces (by index)
+	*	for which canReach is true, which implies they have already been accepted
+	*	by the FAPEvaluator, are considered. Otherwise, all Provinces accepted 
+	*	by the FAPEvaluator are considered.
+	*/
+	private static Province[][] findSeaPaths(boolean[] canReach, FAPEvaluator evaluator, Province src, Province dest)
 	{
 		// check: src/dest
 		if(!src.isLand() || !dest.isLand())
@@ -1045,8 +1143,9 @@ public class Path extends Object
 					TreeNode newNode = new TreeNode(node, p);
 					node.addUniqueChild(newNode);
 				}
-				else if( (p.isConvoyableCoast() || p.isSea())
-						  && evaluator.evaluate(p) )
+				else if( (canReach == null) 
+							? ((p.isConvoyableCoast() || p.isSea()) && evaluator.evaluate(p))
+							: canReach[p.getIndex()] )
 				{
 					TreeNode newNode = new TreeNode(node, p);
 					if(node.addUniqueChild(newNode))
@@ -1059,7 +1158,7 @@ public class Path extends Object
 		
 		// return all paths from root, now that tree is built.
 		return root.getAllBranchesTo(dest);	
-	}// findAllSeaPaths()
+	}// findSeaPaths()
 	
 	
 	
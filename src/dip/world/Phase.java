@@ -58,6 +58,7 @@ public class Phase implements java.io.Serializable, Comparable
 													PhaseType.MOVEMENT, PhaseType.RETREAT, PhaseType.ADJUSTMENT};
 	
 	// formatter to always 4-digit format a year
+	// DecimalFormat is not threadsafe; synchronize on YEAR_FORMAT when used.
 	private static final DecimalFormat YEAR_FORMAT = new DecimalFormat("0000");
 	
 	
@@ -125,7 +126,10 @@ public class Phase implements java.io.Serializable, Comparable
 	{
 		StringBuffer sb = new StringBuffer(6);
 		sb.append(seasonType.getBriefName());
-		sb.append(YEAR_FORMAT.format(yearType.getYear()));
+		synchronized(YEAR_FORMAT)
+		{
+			sb.append(YEAR_FORMAT.format(yearType.getYear()));
+		}
 		sb.append(phaseType.getBriefName());
 		return sb.toString();
 	}// getBriefName()
@@ -26,8 +26,14 @@ import dip.world.Province;
 import dip.world.Power;
 import dip.world.Unit;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
+import java.io.StreamCorruptedException;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.HashMap;
 import java.util.Iterator;
 
@@ -37,7 +43,7 @@ import java.util.Iterator;
 *	Immutable data is retained in the Power/Province/etc. objects; only
 *	mutable data is stored here.
 *	<p>
-*	This object can be cloned, and should be cloned, when creating a new 
+*	This object can be cloned, and should be cloned, when creating a new
 *	Position based upon previous Position data. Several clone methods are
 *	available, each optimized for speed and cloning requirements.
 *	<p>
@@ -47,34 +53,161 @@ import java.util.Iterator;
 *	upon the performance of this class.
 *	<p>
 *	The clone() methods are not strictly implemented; they call a constructor
-*	to assist in cloning rather than call super.clone(). This is done for 
+*	to assist in cloning rather than call super.clone(). This is done for
 *	performance reasons.
+*	<p>
+*	All Province data (units, dislodged units, supply center owners and home
+*	powers, and last occupiers) is kept as bytes, a block of bytes per field, 
+*	indexed by Province index. Powers are stored by their index in the Map 
+*	(plus one; 0 is no Power), and Units by their Power, type, and Coast. 
+*	Units returned are the shared Units of the Map (see Map.getUnit()),
+*	so no Units are created; they cannot be modified, and must be cloned
+*	if a modified Unit is required.
+*	<p>
+*	Each block is divided into fixed-size chunks. A cloned Position shares 
+*	its chunks with the original Position; a chunk is copied (by whichever 
+*	Position is changed) only when it is first changed. Thus cloning is 
+*	proportional to the number of chunks, and a Position derived from another
+*	only holds the chunks that differ. Positions kept for every TurnState of 
+*	a World thus take little more memory than the changes between them.
+*	<p>
+*	For each Power, the Provinces with units, dislodged units, owned supply
+*	centers, and home supply centers are kept as ProvinceSets. These are
+*	created when first needed, and are then updated as the Position changes,
+*	so that the per-Power queries and counts do not scan every Province. 
+*	When a Position is cloned, the ProvinceSets (if created) are copied to
+*	the clone; copying a set copies a few words, which is much cheaper than
+*	re-creating it from the state. The sets returned by the public methods
+*	are copies, so they do not change as the Position changes.
+*	<p>
+*	Cloning does not change the contents of the original Position. It does
+*	mark the shared chunks of the original as not owned, so that a later
+*	change to the original copies the chunk rather than changing the clone.
+*	<p>
+*	A 64-bit Zobrist hash of the Position is maintained as the Position
+*	changes (see getHash()).
+*	<p>
+*	The serialized form is unchanged from earlier versions, which kept
+*	an object for each Province and Power; see writeObject().
 */
 public class Position implements java.io.Serializable, Cloneable
 {
+	private static final long serialVersionUID = -3773865008697719866L;
+	
+	// serialized fields (see writeObject() and readObject())
+	private static final ObjectStreamField[] serialPersistentFields = {
+		new ObjectStreamField("powerMap", Map.class),
+		new ObjectStreamField("provArray", ProvinceData[].class),
+		new ObjectStreamField("map", dip.world.Map.class) };
+	
 	// size constants; these should be prime
 	private static final int POWER_SIZE = 17;
 	
+	// chunk size (a power of 2)
+	private static final int CHUNK_SHIFT = 4;
+	private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+	private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+	
+	// chunk of all zeros; shared, and never changed (it is never owned)
+	private static final byte[] ZERO_CHUNK = new byte[CHUNK_SIZE];
+	
+	// state fields; each field is a block of chunks.
+	// the order is significant: cloneExceptUnits() copies the ownership fields
+	// only, and cloneExceptDislodged() the ownership and unit fields only.
+	private static final int SC_OWNER = 0;
+	private static final int SC_HOME = 1;
+	private static final int LAST_OCCUPIER = 2;
+	private static final int UNIT_POWER = 3;
+	private static final int UNIT_TYPE = 4;
+	private static final int UNIT_COAST = 5;
+	private static final int DISLODGED_POWER = 6;
+	private static final int DISLODGED_TYPE = 7;
+	private static final int DISLODGED_COAST = 8;
+	private static final int N_OWNERSHIP_FIELDS = 3;
+	private static final int N_NON_DISLODGED_FIELDS = 6;
+	private static final int N_FIELDS = 9;
+	
+	// unit type codes; 0 is unused.
+	private static final Unit.Type[] UNIT_TYPES = {
+		null, Unit.Type.ARMY, Unit.Type.FLEET, Unit.Type.WING };
+	
 	// instance variables
-	protected final Map powerMap = new HashMap(POWER_SIZE);
-	protected final ProvinceData[] provArray;
-	protected final dip.world.Map map;
-	private transient Province[] tmpProvArray = null;
+	protected transient dip.world.Map map;
+	private transient Power[] powers;
+	private transient int nProvinces;
+	private transient int nFieldChunks;	// chunks per field
+	private transient byte[][] chunks;
+	private transient boolean[] isOwned;	// chunks not shared with another Position
+	private transient boolean[] eliminated;
+	
+	// Zobrist hashes: of each state field, and of eliminated Powers
+	private transient long[] fieldHashes;
+	private transient long eliminatedHash;
+	
+	// derived data; created on first use (see makePowerSets()), and then
+	// kept up to date by the set() methods. Indexed by Power index; the 
+	// last element is the union of all PowerSets. Kept in a single field, 
+	// so that the sets are published together.
+	private transient PowerSets[] powerSets = null;
 	
 	
 	public Position(dip.world.Map map)
 	{
-		this.map = map;
-		this.provArray = new ProvinceData[map.getProvinces().length];
+		init(map);
+		this.chunks = new byte[N_FIELDS * nFieldChunks][];
+		this.isOwned = new boolean[chunks.length];
+		java.util.Arrays.fill(chunks, ZERO_CHUNK);
+		this.eliminated = new boolean[powers.length];
+		this.fieldHashes = new long[N_FIELDS];
 	}// Position()
 	
 	
+	/** 
+	*	For cloning: shares the chunks of the first nFields state fields; 
+	*	neither Position then owns them.
+	*/
+	private Position(Position pos, int nFields)
+	{
+		this.map = pos.map;
+		this.powers = pos.powers;
+		this.nProvinces = pos.nProvinces;
+		this.nFieldChunks = pos.nFieldChunks;
+		
+		final int nShared = nFields * nFieldChunks;
+		this.chunks = new byte[N_FIELDS * nFieldChunks][];
+		this.isOwned = new boolean[chunks.length];
+		System.arraycopy(pos.chunks, 0, chunks, 0, nShared);
+		java.util.Arrays.fill(chunks, nShared, chunks.length, ZERO_CHUNK);
+		java.util.Arrays.fill(pos.isOwned, 0, nShared, false);
+		
+		this.eliminated = (boolean[]) pos.eliminated.clone();
+		
+		this.fieldHashes = new long[N_FIELDS];
+		System.arraycopy(pos.fieldHashes, 0, fieldHashes, 0, nFields);
+		this.eliminatedHash = pos.eliminatedHash;
+	}// Position()
+	
+	
+	/** Sets the Map and the Map-derived sizes */
+	private void init(dip.world.Map map)
+	{
+		this.map = map;
+		this.powers = map.getPowers();
+		this.nProvinces = map.getProvinces().length;
+		this.nFieldChunks = (nProvinces + CHUNK_MASK) >> CHUNK_SHIFT;
+		
+		if(powers.length > Byte.MAX_VALUE)
+		{
+			throw new IllegalArgumentException("too many powers");
+		}
+	}// init()
+	
 	
 	
 	/** The Number of Provinces in this Position */
 	public final int size()
 	{
-		return provArray.length;
+		return nProvinces;
 	}// size()
 	
 	
@@ -88,10 +221,10 @@ public class Position implements java.io.Serializable, Cloneable
 	/** Returns true if this Power has been eliminated. False by default. */
 	public boolean isEliminated(Power power)
 	{
-		PowerData pd = (PowerData) powerMap.get(power);
-		if(pd != null)
+		final int idx = map.getPowerIndex(power);
+		if(idx >= 0)
 		{
-			return pd.isEliminated();
+			return eliminated[idx];
 		}
 		return false;
 	}// isEliminated()
@@ -100,181 +233,123 @@ public class Position implements java.io.Serializable, Cloneable
 	/** Set whether this Power has been eliminated. */
 	public void setEliminated(Power power, boolean value)
 	{
-		PowerData pd = getPowerData(power);
-		pd.setEliminated(value);
+		setEliminated(getPowerIndex(power), value);
 	}// setEliminated()
 	
 	
-	/** 
+	/**
+	*	Returns a 64-bit Zobrist hash of this Position: units, dislodged units,
+	*	supply center owners and home powers, last occupiers, and eliminated 
+	*	Powers. Positions (of the same Map) with the same contents have the 
+	*	same hash; Positions with different contents are very unlikely to.
+	*	<p>
+	*	The hash is updated in constant time as the Position changes, and 
+	*	thus costs nothing to obtain. It is not persistent; it may differ
+	*	between versions.
+	*/
+	public long getHash()
+	{
+		long hash = eliminatedHash;
+		for(int i=0; i<N_FIELDS; i++)
+		{
+			hash ^= fieldHashes[i];
+		}
+		return hash;
+	}// getHash()
+	
+	
+	/**
 	*	Scans the Position; sets/unsets elimination depending upon if a given
-	* 	Power has any units (including dislodged units) or supply centers on the map 
+	* 	Power has any units (including dislodged units) or supply centers on the map
 	*/
 	public void setEliminationStatus(final Power[] powers)
 	{
-		HashMap pmap = new HashMap(19);
 		for(int i=0; i<powers.length; i++)
 		{
-			pmap.put(powers[i], null);
+			final PowerSets ps = getPowerSets(powers[i]);
+			setEliminated(powers[i],
+				(ps.units.isEmpty() && ps.dislodged.isEmpty() && ps.owned.isEmpty()) );
 		}
-		
-		for(int i=0; i<provArray.length; i++)
-		{
-			ProvinceData pd = provArray[i];
-			Power power = null;
-			
-			if(pd != null)
-			{
-				Unit unit = pd.getUnit();
-				if(unit != null)		// first check non-dislodged units
-				{
-					power = unit.getPower();
-					if(pmap.get(power) == null)
-					{
-						pmap.put(power, new Object());
-					}
-				}
-				
-				// then see if there's a dislodged unit
-				unit = pd.getDislodgedUnit();
-				if(unit != null)
-				{
-					power = unit.getPower();
-					if(pmap.get(power) == null)
-					{
-						pmap.put(power, new Object());
-					}
-				}
-				
-				// finally, see if we own a supply center
-				power = pd.getSCOwner();
-				if(power != null)
-				{
-					if(pmap.get(power) == null)
-					{
-						pmap.put(power, new Object());
-					}
-				}
-			}
-		}
-		
-		for(int i=0; i<powers.length; i++)
-		{
-			if(pmap.get(powers[i]) == null)
-			{
-				setEliminated(powers[i], true);
-			}
-			else
-			{
-				setEliminated(powers[i], false);
-			}
-		}		
 	}// setEliminationStatus()
 	
 	
 	/** Set the owner of the supply center. */
-	public void setSupplyCenterOwner(Province province, Power power)	 		
+	public void setSupplyCenterOwner(Province province, Power power)
 	{
-		ProvinceData pd = getProvinceData(province);
-		pd.setSCOwner(power);
+		setPower(SC_OWNER, province.getIndex(), power);
 	}// setSupplyCenterOwner()
 	
 	
 	/** Set the owner of a home supply center. */
-	public void setSupplyCenterHomePower(Province province, Power power)	 		
+	public void setSupplyCenterHomePower(Province province, Power power)
 	{
-		ProvinceData pd = getProvinceData(province);
-		pd.setSCHomePower(power);
+		setPower(SC_HOME, province.getIndex(), power);
 	}// setSupplyCenterHomePower()
 	
 	
 	/** Determine if this Province contains a supply center */
 	public boolean hasSupplyCenterOwner(Province province)
 	{
-		ProvinceData pd = provArray[province.getIndex()];
-		if(pd != null)
-		{
-			return pd.isSCOwned();
-		}
-		return false;
+		return (get(SC_OWNER, province.getIndex()) != 0);
 	}// hasSupplyCenterOwner()
 	
 	
 	/** Determine if this Province contains a Home supply center */
 	public boolean isSupplyCenterAHome(Province province)
 	{
-		ProvinceData pd = provArray[province.getIndex()];
-		if(pd != null)
-		{
-			return pd.isSCAHome();
-		}
-		return false;
+		return (get(SC_HOME, province.getIndex()) != 0);
 	}// isSupplyCenterAHome()
 	
 	
 	/** Get the home power of the supply center; null if no supply center or home power */
 	public Power getSupplyCenterHomePower(Province province)
 	{
-		ProvinceData pd = provArray[province.getIndex()];
-		if(pd != null)
-		{
-			return pd.getSCHomePower();
-		}
-		return null;
+		return getPower(SC_HOME, province.getIndex());
 	}// getSupplyCenterHomePower()
 	
 	
 	/** Get the owner of the supply center; null if no owner or no supply center. */
-	public Power getSupplyCenterOwner(Province province)	
+	public Power getSupplyCenterOwner(Province province)
 	{
-		ProvinceData pd = provArray[province.getIndex()];
-		if(pd != null)
-		{
-			return pd.getSCOwner();
-		}
-		return null;
+		return getPower(SC_OWNER, province.getIndex());
 	}// getSupplyCenterOwner()
 	
 	
 	
 	
-	// non-dislodged unit	
+	// non-dislodged unit
 	/** Set the unit contained in this province; null to eliminate an existing unit. */
 	public void setUnit(Province province, Unit unit)
 	{
-		ProvinceData pd = getProvinceData(province);
-		pd.setUnit(unit);
+		setUnitState(UNIT_POWER, province.getIndex(), unit);
 	}// setUnit()
 	
 	/** Determines if there is a unit present in this province. */
 	public boolean hasUnit(Province province)
 	{
-		ProvinceData pd = provArray[province.getIndex()];
-		if(pd != null)
-		{
-			return pd.hasUnit();
-		}
-		return false;
+		return (get(UNIT_POWER, province.getIndex()) != 0);
 	}// hasUnit()
 	
 	/** Get the unit contained in this Province. Returns null if no unit exists. */
 	public Unit getUnit(Province province)
 	{
-		ProvinceData pd = provArray[province.getIndex()];
-		if(pd != null)
+		final int idx = province.getIndex();
+		if(get(UNIT_POWER, idx) == 0)
 		{
-			return pd.getUnit();
+			return null;
 		}
-		return null;
+		
+		return makeUnit(UNIT_POWER, idx);
 	}// getUnit()
 	
 	
 	/** Test if the given type of unit is contained in this Province. */
 	public boolean hasUnit(Province province, Unit.Type unitType)
 	{
-		Unit unit = getUnit(province);
-		if(unit != null)
+		final int idx = province.getIndex();
+		if(get(UNIT_POWER, idx) != 0)
 		{
-			return(unit.getType().equals(unitType));
+			return (UNIT_TYPES[get(UNIT_TYPE, idx)] == unitType);
 		}
 		return false;
 	}// hasUnit()
@@ -282,10 +357,10 @@ public class Position implements java.io.Serializable, Cloneable
 	/** Test if the given type of unit is contained in this Province. */
 	public boolean hasDislodgedUnit(Province province, Unit.Type unitType)
 	{
-		Unit unit = getDislodgedUnit(province);
-		if(unit != null)
+		final int idx = province.getIndex();
+		if(get(DISLODGED_POWER, idx) != 0)
 		{
-			return(unit.getType().equals(unitType));
+			return (UNIT_TYPES[get(DISLODGED_TYPE, idx)] == unitType);
 		}
 		return false;
 	}// hasDislodgedUnit()
@@ -293,65 +368,54 @@ public class Position implements java.io.Serializable, Cloneable
 	
 	
 	
-	// dislodged unit	
+	// dislodged unit
 	/** Set the dislodged unit contained in this province; null to eliminate an existing unit. */
 	public void setDislodgedUnit(Province province, Unit unit)
 	{
-		ProvinceData pd = getProvinceData(province);
-		pd.setDislodgedUnit(unit);
+		setUnitState(DISLODGED_POWER, province.getIndex(), unit);
 	}// setDislodgedUnit()
 	
 	
 	/** Get the dislodged unit in this Province. Returns null if no dislodged unit exists. */
 	public Unit getDislodgedUnit(Province province)
 	{
-		ProvinceData pd = provArray[province.getIndex()];
-		if(pd != null)
+		final int idx = province.getIndex();
+		if(get(DISLODGED_POWER, idx) == 0)
 		{
-			return pd.getDislodgedUnit();
+			return null;
 		}
-		return null;
+		
+		return makeUnit(DISLODGED_POWER, idx);
 	}// getDislodgedUnit()
 	
 	
 	// last occupier
-	/** 
+	/**
 	*	Sets the Power that last occupied a given space. Note that this
 	*	is not intended to be used for Supply Center ownership (which only
 	*	changes in the Fall season); use setSupplyCenterOwner() instead.
 	*/
 	public void setLastOccupier(Province province, Power power)
 	{
-		ProvinceData pd = getProvinceData(province);
-		pd.setLastOccupier(power);
+		setPower(LAST_OCCUPIER, province.getIndex(), power);
 	}// setLastOccupier()
 	
 	
-	/** 
+	/**
 	*	Returns the Power that last occupied a given space. Note that this
 	*	is not intended to be used for Supply Center ownership (which only
 	*	changes in the Fall season); use getSupplyCenterOwner() instead.
 	*/
 	public Power getLastOccupier(Province province)
 	{
-		ProvinceData pd = provArray[province.getIndex()];
-		if(pd != null)
-		{
-			return pd.getLastOccupier();
-		}
-		return null;
-	}// getLastOccupier()	
+		return getPower(LAST_OCCUPIER, province.getIndex());
+	}// getLastOccupier()
 	
 	
 	/** Determines if there is a dislodged unit present in this province. */
 	public boolean hasDislodgedUnit(Province province)
 	{
-		ProvinceData pd = provArray[province.getIndex()];
-		if(pd != null)
-		{
-			return pd.hasDislodgedUnit();
-		}
-		return false;
+		return (get(DISLODGED_POWER, province.getIndex()) != 0);
 	}// hasDislodgedUnit()
 	
 	
@@ -360,22 +424,7 @@ public class Position implements java.io.Serializable, Cloneable
 	/** Returns an array of provinces with non-dislodged units */
 	public Province[] getUnitProvinces()
 	{
-		makeTmpProvArray();
-		
-		int arrSize = 0;
-		for(int i=0; i<provArray.length; i++)
-		{
-			ProvinceData pd = provArray[i];
-			if(pd != null && pd.hasUnit())
-			{
-				tmpProvArray[arrSize] = map.reverseIndex(i);
-				arrSize++;
-			}
-		}
-		
-		Province[] p = new Province[arrSize];
-		System.arraycopy(tmpProvArray, 0, p, 0, arrSize);
-		return p;
+		return getAllSets().units.toArray(map.getProvinces());
 	}// getUnitProvinces()
 	
 	
@@ -383,498 +432,901 @@ public class Position implements java.io.Serializable, Cloneable
 	/** Returns an array of provinces with dislodged units */
 	public Province[] getDislodgedUnitProvinces()
 	{
-		makeTmpProvArray();
-		
-		int arrSize = 0;
-		for(int i=0; i<provArray.length; i++)
-		{
-			ProvinceData pd = provArray[i];
-			if(pd != null && pd.hasDislodgedUnit())
-			{
-				tmpProvArray[arrSize] = map.reverseIndex(i);
-				arrSize++;
-			}
-		}
-		
-		Province[] p = new Province[arrSize];
-		System.arraycopy(tmpProvArray, 0, p, 0, arrSize);
-		return p;
+		return getAllSets().dislodged.toArray(map.getProvinces());
 	}// getDislodgedUnitProvinces()
 	
 	
 	/** Returns the number of provinces with non-dislodged units */
 	public int getUnitCount()
 	{
-		int count = 0;		
-		for(int i=0; i<provArray.length; i++)
-		{
-			ProvinceData pd = provArray[i];
-			if(pd != null && pd.hasUnit())
-			{
-				count++;
-			}
-		}
-		
-		return count;
+		return getAllSets().units.size();
 	}// getUnitCount()
 	
 	
 	/** Returns the number of provinces with dislodged units */
 	public int getDislodgedUnitCount()
 	{
-		int count = 0;		
-		for(int i=0; i<provArray.length; i++)
-		{
-			ProvinceData pd = provArray[i];
-			if(pd != null && pd.hasDislodgedUnit())
-			{
-				count++;
-			}
-		}
-		
-		return count;
+		return getAllSets().dislodged.size();
+	}// getDislodgedUnitCount()
+	
+	
+	/** Returns the number of provinces with non-dislodged units of the given Power */
+	public int getUnitCount(Power power)
+	{
+		return getPowerSets(power).units.size();
+	}// getUnitCount()
+	
+	
+	/** Returns the number of provinces with dislodged units of the given Power */
+	public int getDislodgedUnitCount(Power power)
+	{
+		return getPowerSets(power).dislodged.size();
 	}// getDislodgedUnitCount()
 	
 	
 	/** Returns an array of provinces with home supply centers */
 	public Province[] getHomeSupplyCenters()
 	{
-		makeTmpProvArray();
-		
-		int arrSize = 0;
-		for(int i=0; i<provArray.length; i++)
-		{
-			ProvinceData pd = provArray[i];
-			if(pd != null && pd.isSCAHome())
-			{
-				tmpProvArray[arrSize] = map.reverseIndex(i);
-				arrSize++;
-			}
-		}
-		
-		Province[] p = new Province[arrSize];
-		System.arraycopy(tmpProvArray, 0, p, 0, arrSize);
-		return p;
+		return getAllSets().homes.toArray(map.getProvinces());
 	}// getHomeSupplyCenters()
 	
 	
 	/** Returns an Array of the Home Supply Centers for a given power (whether or not they are owned by that power) */
 	public Province[] getHomeSupplyCenters(Power power)
 	{
-		makeTmpProvArray();
-		
-		int arrSize = 0;
-		for(int i=0; i<provArray.length; i++)
-		{
-			ProvinceData pd = provArray[i];
-			if(pd != null && pd.getSCHomePower() == power)
-			{
-				tmpProvArray[arrSize] = map.reverseIndex(i);
-				arrSize++;
-			}
-		}
-		
-		Province[] p = new Province[arrSize];
-		System.arraycopy(tmpProvArray, 0, p, 0, arrSize);
-		return p;
+		return getPowerSets(power).homes.toArray(map.getProvinces());
 	}// getHomeSupplyCenters()
 	
 	
-	/** 
-	*	Determines if a Power has at least one owned Home Supply Center. 
+	/**
+	*	Determines if a Power has at least one owned Home Supply Center.
 	*	<p>
 	*	An owned home supply center need not have a unit present.
 	*/
 	public boolean hasAnOwnedHomeSC(Power power)
 	{
-		for(int i=0; i<provArray.length; i++)
-		{
-			ProvinceData pd = provArray[i];
-			if(pd != null && pd.getSCHomePower() == power && pd.getSCOwner() == power)
-			{
-				return true;
-			}
-		}
-		
-		return false;
+		return (getOwnedHomeSupplyCenterCount(power) > 0);
 	}// hasAnOwnedHomeSC()
 	
 	
 	/** Returns an Array of the owned Supply Centers for a given Power (whether or not they are home supply centers) */
 	public Province[] getOwnedSupplyCenters(Power power)
 	{
-		makeTmpProvArray();
-		
-		int arrSize = 0;
-		for(int i=0; i<provArray.length; i++)
-		{
-			ProvinceData pd = provArray[i];
-			if(pd != null && pd.getSCOwner() == power)
-			{
-				tmpProvArray[arrSize] = map.reverseIndex(i);
-				arrSize++;
-			}
-		}
-		
-		Province[] p = new Province[arrSize];
-		System.arraycopy(tmpProvArray, 0, p, 0, arrSize);
-		return p;
+		return getPowerSets(power).owned.toArray(map.getProvinces());
 	}// getOwnedSupplyCenters()
 	
 	
 	/** Returns an array of provinces with owned supply centers */
 	public Province[] getOwnedSupplyCenters()
 	{
-		makeTmpProvArray();
-		
-		int arrSize = 0;
-		for(int i=0; i<provArray.length; i++)
-		{
-			ProvinceData pd = provArray[i];
-			if(pd != null && pd.isSCOwned())
-			{
-				tmpProvArray[arrSize] = map.reverseIndex(i);
-				arrSize++;
-			}
-		}
-		
-		Province[] p = new Province[arrSize];
-		System.arraycopy(tmpProvArray, 0, p, 0, arrSize);
-		return p;
+		return getAllSets().owned.toArray(map.getProvinces());
 	}// getOwnedSupplyCenters()
 	
 	
+	/** Returns the number of Supply Centers owned by the given Power */
+	public int getOwnedSupplyCenterCount(Power power)
+	{
+		return getPowerSets(power).owned.size();
+	}// getOwnedSupplyCenterCount()
+	
+	
+	/** Returns the number of Supply Centers owned by the given Power, with a non-dislodged unit (of any Power) */
+	public int getOccupiedSupplyCenterCount(Power power)
+	{
+		return getPowerSets(power).owned.sizeOfIntersection(getAllSets().units);
+	}// getOccupiedSupplyCenterCount()
+	
+	
+	/** Returns the number of Home Supply Centers of the given Power that are owned by that Power */
+	public int getOwnedHomeSupplyCenterCount(Power power)
+	{
+		final PowerSets ps = getPowerSets(power);
+		return ps.homes.sizeOfIntersection(ps.owned);
+	}// getOwnedHomeSupplyCenterCount()
+	
+	
+	/** Returns the number of Home Supply Centers of the given Power that are owned by any Power */
+	public int getHomeSupplyCenterWithOwnerCount(Power power)
+	{
+		return getPowerSets(power).homes.sizeOfIntersection(getAllSets().owned);
+	}// getHomeSupplyCenterWithOwnerCount()
+	
 	
 	/** 
-	*	Deep clone of the contents of this Position. 
+	*	Returns the number of Home Supply Centers of the given Power that are owned 
+	*	by any Power, with a non-dislodged unit (of any Power) 
+	*/
+	public int getOccupiedHomeSupplyCenterCount(Power power)
+	{
+		final PowerSets all = getAllSets();
+		return getPowerSets(power).homes.sizeOfIntersection(all.owned, all.units);
+	}// getOccupiedHomeSupplyCenterCount()
+	
+	
+	
+	/**
+	*	The Provinces with non-dislodged units of the given Power.
+	*	<p>
+	*	The returned set is a copy; it does not change as this Position
+	*	changes, and may be modified by the caller.
+	*/
+	public ProvinceSet getUnitProvinceSet(Power power)
+	{
+		return new ProvinceSet(getPowerSets(power).units);
+	}// getUnitProvinceSet()
+	
+	
+	/**
+	*	The Provinces with non-dislodged units.
+	*	The returned set is a copy (see getUnitProvinceSet(Power)).
+	*/
+	public ProvinceSet getUnitProvinceSet()
+	{
+		return new ProvinceSet(getAllSets().units);
+	}// getUnitProvinceSet()
+	
+	
+	/**
+	*	The Provinces with dislodged units of the given Power.
+	*	The returned set is a copy (see getUnitProvinceSet(Power)).
+	*/
+	public ProvinceSet getDislodgedUnitProvinceSet(Power power)
+	{
+		return new ProvinceSet(getPowerSets(power).dislodged);
+	}// getDislodgedUnitProvinceSet()
+	
+	
+	/**
+	*	The supply centers owned by the given Power.
+	*	The returned set is a copy (see getUnitProvinceSet(Power)).
+	*/
+	public ProvinceSet getOwnedSupplyCenterSet(Power power)
+	{
+		return new ProvinceSet(getPowerSets(power).owned);
+	}// getOwnedSupplyCenterSet()
+	
+	
+	/**
+	*	The owned supply centers.
+	*	The returned set is a copy (see getUnitProvinceSet(Power)).
+	*/
+	public ProvinceSet getOwnedSupplyCenterSet()
+	{
+		return new ProvinceSet(getAllSets().owned);
+	}// getOwnedSupplyCenterSet()
+	
+	
+	/**
+	*	The home supply centers of the given Power (whether or not they
+	*	are owned by that Power).
+	*	The returned set is a copy (see getUnitProvinceSet(Power)).
+	*/
+	public ProvinceSet getHomeSupplyCenterSet(Power power)
+	{
+		return new ProvinceSet(getPowerSets(power).homes);
+	}// getHomeSupplyCenterSet()
+	
+	
+	/**
+	*	Deep clone of the contents of this Position.
 	*/
 	public Object clone()
 	{
-		Position pos = new Position(map);
-		
-		for(int i=0; i<provArray.length; i++)
+		Position pos = new Position(this, N_FIELDS);
+		copyPowerSets(pos, true, true);
+		return pos;
+	}// clone()
+	
+	/**
+	*	Copy of the state of this Position, for WorldJournal and WorldCodec.
+	*	Unlike clone(), derived data is not copied.
+	*/
+	Position copyState()
+	{
+		return new Position(this, N_FIELDS);
+	}// copyState()
+	
+	
+	/**
+	*	Deep clone of everything *except* dislodged & non-dislodged units;
+	*	(e.g., SC ownership, Power Info, etc.)
+	*/
+	public Position cloneExceptUnits()
+	{
+		Position pos = new Position(this, N_OWNERSHIP_FIELDS);
+		copyPowerSets(pos, false, false);
+		return pos;
+	}// cloneExceptUnits()
+	
+	
+	/** Deep clone of everything <b>except</b> dislodged units. */
+	public Position cloneExceptDislodged()
+	{
+		Position pos = new Position(this, N_NON_DISLODGED_FIELDS);
+		copyPowerSets(pos, true, false);
+		return pos;
+	}// cloneExceptDislodged()
+	
+	
+	/**
+	*	Gets all the Provinces with non-dislodged
+	*	Units for a particular power.
+	*
+	*/
+	public Province[] getUnitProvinces(Power power)
+	{
+		return getPowerSets(power).units.toArray(map.getProvinces());
+	}// getUnitProvinces()
+	
+	
+	/**
+	*	Gets all the Provinces with dislodged
+	*	Units for a particular power.
+	*/
+	public Province[] getDislodgedUnitProvinces(Power power)
+	{
+		return getPowerSets(power).dislodged.toArray(map.getProvinces());
+	}// getDislodgedUnitProvinces()
+	
+	
+	
+	
+	/** Get the index of a Power; throws an exception if it is not a Power of the Map. */
+	private int getPowerIndex(Power power)
+	{
+		final int idx = map.getPowerIndex(power);
+		if(idx < 0)
 		{
-			ProvinceData pd = provArray[i];
-			
-			if(pd != null)
-			{
-				pos.provArray[i] = pd.normClone();
-			}
+			throw new IllegalArgumentException("unknown power: "+power);
+		}
+		return idx;
+	}// getPowerIndex()
+	
+	
+	/** Get the value of a state field */
+	private int get(int field, int idx)
+	{
+		return chunks[field * nFieldChunks + (idx >> CHUNK_SHIFT)][idx & CHUNK_MASK];
+	}// get()
+	
+	
+	/** 
+	*	Set the value of a state field. A chunk that is not owned
+	*	is copied first, unless the value is unchanged.
+	*/
+	private void set(int field, int idx, int value)
+	{
+		final int c = field * nFieldChunks + (idx >> CHUNK_SHIFT);
+		final int oldValue = chunks[c][idx & CHUNK_MASK];
+		if(oldValue == value)
+		{
+			return;
 		}
 		
-		Iterator iter = powerMap.keySet().iterator();
-		while(iter.hasNext())
+		if(!isOwned[c])
 		{
-			Power key = (Power) iter.next();
-			PowerData pd = (PowerData) powerMap.get(key);
-			
-			pos.powerMap.put(key, pd.normClone());
+			chunks[c] = (byte[]) chunks[c].clone();
+			isOwned[c] = true;
 		}
 		
-		return pos;
-	}// clone()
+		chunks[c][idx & CHUNK_MASK] = (byte) value;
+		fieldHashes[field] ^= getZobristKey(field, idx, oldValue) ^ getZobristKey(field, idx, value);
+	}// set()
+	
+	
+	/** Set the elimination status of the Power with the given index */
+	private void setEliminated(int powerIdx, boolean value)
+	{
+		if(eliminated[powerIdx] != value)
+		{
+			eliminated[powerIdx] = value;
+			eliminatedHash ^= getZobristKey(N_FIELDS, powerIdx, 1);
+		}
+	}// setEliminated()
+	
 	
 	/** 
-	*	Deep clone of everything *except* dislodged & non-dislodged units;
-	*	(e.g., SC ownership, Power Info, etc.)
+	*	The Zobrist key for a value of a state field (or, for field 
+	*	N_FIELDS, an eliminated Power); 0 for a value of 0. Keys are 
+	*	derived by a mixing function (that of SplitMix64) rather than
+	*	kept in a table.
 	*/
-	public Position cloneExceptUnits()
+	private static long getZobristKey(int field, int idx, int value)
 	{
-		Position pos = new Position(map);
+		if(value == 0)
+		{
+			return 0L;
+		}
 		
-		for(int i=0; i<provArray.length; i++)
+		long z = (((long) field << 48) | ((long) idx << 16) | value) * 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}// getZobristKey()
+	
+	
+	/** Get the Power of the given Power field; null if none. */
+	private Power getPower(int field, int idx)
+	{
+		final int value = get(field, idx);
+		return (value == 0) ? null : powers[value - 1];
+	}// getPower()
+	
+	
+	/** Set the Power of the given Power field; null to clear. */
+	private void setPower(int field, int idx, Power power)
+	{
+		final int value = (power == null) ? 0 : (getPowerIndex(power) + 1);
+		updatePowerSets(field, idx, get(field, idx), value);
+		set(field, idx, value);
+	}// setPower()
+	
+	
+	/**
+	*	Set the unit fields (Power, type, and Coast; consecutive fields) 
+	*	starting at the given field; null to clear.
+	*/
+	private void setUnitState(int powerField, int idx, Unit unit)
+	{
+		if(unit == null)
 		{
-			ProvinceData pd = provArray[i];
-			
-			if(pd != null)
+			updatePowerSets(powerField, idx, get(powerField, idx), 0);
+			set(powerField, idx, 0);
+			set(powerField + 1, idx, 0);
+			set(powerField + 2, idx, 0);
+		}
+		else
+		{
+			final int value = getPowerIndex(unit.getPower()) + 1;
+			updatePowerSets(powerField, idx, get(powerField, idx), value);
+			set(powerField, idx, value);
+			set(powerField + 1, idx, getUnitTypeCode(unit.getType()));
+			set(powerField + 2, idx, unit.getCoast().getIndex());
+		}
+	}// setUnitState()
+	
+	
+	/** Get the shared Unit described by the unit fields starting at the given field. */
+	private Unit makeUnit(int powerField, int idx)
+	{
+		// Map UNIT_TYPES indices are one less than unit type codes
+		return map.getUnit(get(powerField, idx) - 1, get(powerField + 1, idx) - 1, 
+			get(powerField + 2, idx));
+	}// makeUnit()
+	
+	
+	/** Get the code for a Unit.Type */
+	private static byte getUnitTypeCode(Unit.Type unitType)
+	{
+		for(int i=1; i<UNIT_TYPES.length; i++)
+		{
+			if(UNIT_TYPES[i] == unitType)
 			{
-				pos.provArray[i] = pd.cloneExceptUnits();
+				return (byte) i;
 			}
 		}
 		
-		Iterator iter = powerMap.keySet().iterator();
-		while(iter.hasNext())
+		throw new IllegalArgumentException("unsupported unit type: "+unitType);
+	}// getUnitTypeCode()
+	
+	
+	/**
+	*	Creates the PowerSets, from the state, if they have not
+	*	yet been created, and returns them.
+	*/
+	private PowerSets[] makePowerSets()
+	{
+		if(powerSets != null)
 		{
-			Power key = (Power) iter.next();
-			PowerData pd = (PowerData) powerMap.get(key);
-			
-			pos.powerMap.put(key, pd.normClone());
+			return powerSets;
 		}
 		
-		return pos;
-	}// cloneExceptUnits()
+		final PowerSets[] sets = new PowerSets[powers.length + 1];
+		for(int i=0; i<sets.length; i++)
+		{
+			sets[i] = new PowerSets(nProvinces);
+		}
+		
+		for(int i=0; i<nProvinces; i++)
+		{
+			updatePowerSets(sets, UNIT_POWER, i, 0, get(UNIT_POWER, i));
+			updatePowerSets(sets, DISLODGED_POWER, i, 0, get(DISLODGED_POWER, i));
+			updatePowerSets(sets, SC_OWNER, i, 0, get(SC_OWNER, i));
+			updatePowerSets(sets, SC_HOME, i, 0, get(SC_HOME, i));
+		}
+		
+		powerSets = sets;
+		return sets;
+	}// makePowerSets()
 	
 	
-	/** Deep clone of everything <b>except</b> dislodged units. */
-	public Position cloneExceptDislodged()
+	/**
+	*	Updates the PowerSets (if they have been created) when the Power
+	*	of the given field changes from oldValue to newValue. Last 
+	*	occupiers are not kept in the PowerSets.
+	*/
+	private void updatePowerSets(int field, int idx, int oldValue, int newValue)
 	{
-		Position pos = new Position(map);
-		
-		for(int i=0; i<provArray.length; i++)
+		if(powerSets != null)
 		{
-			ProvinceData pd = provArray[i];
-			if(pd != null)
-			{
-				pos.provArray[i] = pd.cloneExceptDislodged();
-			}
+			updatePowerSets(powerSets, field, idx, oldValue, newValue);
+		}
+	}// updatePowerSets()
+	
+	
+	/** Updates the given PowerSets; see updatePowerSets(int, int, int, int) */
+	private static void updatePowerSets(PowerSets[] sets, int field, int idx, 
+		int oldValue, int newValue)
+	{
+		if(oldValue == newValue || field == LAST_OCCUPIER)
+		{
+			return;
 		}
 		
-		Iterator iter = powerMap.keySet().iterator();
-		while(iter.hasNext())
+		final PowerSets all = sets[sets.length - 1];
+		
+		if(oldValue != 0)
 		{
-			Power key = (Power) iter.next();
-			PowerData pd = (PowerData) powerMap.get(key);
-			
-			pos.powerMap.put(key, pd.normClone());
+			sets[oldValue - 1].getSet(field).remove(idx);
+			all.getSet(field).remove(idx);
 		}
 		
-		return pos;
-	}// cloneExceptDislodged()
+		if(newValue != 0)
+		{
+			sets[newValue - 1].getSet(field).add(idx);
+			all.getSet(field).add(idx);
+		}
+	}// updatePowerSets()
+	
+	
+	/** Get the PowerSets for a Power */
+	private PowerSets getPowerSets(Power power)
+	{
+		return makePowerSets()[getPowerIndex(power)];
+	}// getPowerSets()
+	
+	
+	/** Get the union of all PowerSets */
+	private PowerSets getAllSets()
+	{
+		return makePowerSets()[powers.length];
+	}// getAllSets()
 	
 	
 	/**
-	*	Gets all the Provinces with non-dislodged 
-	*	Units for a particular power.
-	*
+	*	Copies the PowerSets (if they have been created) to a
+	*	newly-cloned Position; unit and dislodged unit sets are
+	*	left empty unless specified. This Position is not changed.
 	*/
-	public Province[] getUnitProvinces(Power power)
+	private void copyPowerSets(Position pos, boolean withUnits, boolean withDislodged)
 	{
-		makeTmpProvArray();
+		final PowerSets[] sets = powerSets;
+		if(sets == null)
+		{
+			return;
+		}
 		
-		int arrSize = 0;
-		for(int i=0; i<provArray.length; i++)
+		final PowerSets[] copy = new PowerSets[sets.length];
+		for(int i=0; i<sets.length; i++)
 		{
-			ProvinceData pd = provArray[i];
-			if(pd != null)
-			{
-				Unit unit = pd.getUnit();
-				if(unit != null && unit.getPower() == power)
-				{
-					tmpProvArray[arrSize] = map.reverseIndex(i);
-					arrSize++;
-				}
-			}
+			copy[i] = new PowerSets(sets[i], withUnits, withDislodged);
 		}
 		
-		Province[] p = new Province[arrSize];
-		System.arraycopy(tmpProvArray, 0, p, 0, arrSize);
-		return p;
-	}// getUnitProvinces()
+		pos.powerSets = copy;
+	}// copyPowerSets()
 	
 	
 	/**
-	*	Gets all the Provinces with dislodged 
-	*	Units for a particular power.
+	*	Writes the serialized form of earlier versions: an array of
+	*	ProvinceData (null if a Province has no data), and a Map of
+	*	Power to PowerData.
 	*/
-	public Province[] getDislodgedUnitProvinces(Power power)
+	private void writeObject(ObjectOutputStream out)
+	throws IOException
 	{
-		makeTmpProvArray();
-		
-		int arrSize = 0;
-		for(int i=0; i<provArray.length; i++)
+		final ProvinceData[] provArray = new ProvinceData[nProvinces];
+		for(int i=0; i<nProvinces; i++)
 		{
-			ProvinceData pd = provArray[i];
-			if(pd != null)
+			if( get(SC_OWNER, i) != 0
+				|| get(SC_HOME, i) != 0
+				|| get(LAST_OCCUPIER, i) != 0
+				|| get(UNIT_POWER, i) != 0
+				|| get(DISLODGED_POWER, i) != 0 )
 			{
-				Unit unit = pd.getDislodgedUnit();
-				if(unit != null && unit.getPower() == power)
+				ProvinceData pd = new ProvinceData();
+				pd.SCOwner = getPower(SC_OWNER, i);
+				pd.SCHomePower = getPower(SC_HOME, i);
+				pd.lastOccupier = getPower(LAST_OCCUPIER, i);
+				
+				if(get(UNIT_POWER, i) != 0)
+				{
+					pd.unit = (Unit) makeUnit(UNIT_POWER, i).clone();
+				}
+				
+				if(get(DISLODGED_POWER, i) != 0)
 				{
-					tmpProvArray[arrSize] = map.reverseIndex(i);
-					arrSize++;
+					pd.dislodgedUnit = (Unit) makeUnit(DISLODGED_POWER, i).clone();
 				}
+				
+				provArray[i] = pd;
 			}
 		}
 		
-		Province[] p = new Province[arrSize];
-		System.arraycopy(tmpProvArray, 0, p, 0, arrSize);
-		return p;
-	}// getDislodgedUnitProvinces()
+		final HashMap powerMap = new HashMap(POWER_SIZE);
+		for(int i=0; i<powers.length; i++)
+		{
+			PowerData pd = new PowerData();
+			pd.isEliminated = eliminated[i];
+			powerMap.put(powers[i], pd);
+		}
+		
+		ObjectOutputStream.PutField fields = out.putFields();
+		fields.put("powerMap", powerMap);
+		fields.put("provArray", provArray);
+		fields.put("map", map);
+		out.writeFields();
+	}// writeObject()
 	
 	
+	/** Reads the serialized form (see writeObject()) into the state arrays. */
+	private void readObject(ObjectInputStream in)
+	throws IOException, ClassNotFoundException
+	{
+		ObjectInputStream.GetField fields = in.readFields();
+		final Map powerMap = (Map) fields.get("powerMap", null);
+		final ProvinceData[] provArray = (ProvinceData[]) fields.get("provArray", null);
+		
+		init( (dip.world.Map) fields.get("map", null) );
+		chunks = new byte[N_FIELDS * nFieldChunks][];
+		isOwned = new boolean[chunks.length];
+		java.util.Arrays.fill(chunks, ZERO_CHUNK);
+		eliminated = new boolean[powers.length];
+		fieldHashes = new long[N_FIELDS];
+		
+		try
+		{
+			for(int i=0; i<provArray.length; i++)
+			{
+				ProvinceData pd = provArray[i];
+				if(pd != null)
+				{
+					setPower(SC_OWNER, i, pd.SCOwner);
+					setPower(SC_HOME, i, pd.SCHomePower);
+					setPower(LAST_OCCUPIER, i, pd.lastOccupier);
+					setUnitState(UNIT_POWER, i, pd.unit);
+					setUnitState(DISLODGED_POWER, i, pd.dislodgedUnit);
+				}
+			}
+			
+			Iterator iter = powerMap.entrySet().iterator();
+			while(iter.hasNext())
+			{
+				Map.Entry entry = (Map.Entry) iter.next();
+				PowerData pd = (PowerData) entry.getValue();
+				setEliminated(getPowerIndex((Power) entry.getKey()), pd.isEliminated);
+			}
+		}
+		catch(IllegalArgumentException e)
+		{
+			throw new java.io.InvalidObjectException(e.getMessage());
+		}
+	}// readObject()
 	
 	
 	/**
-	*	Call this method FIRST before any set(); thus if ProvinceData
-	*	does not exist, we will add one to the map.
-	*
+	*	Writes the state of this Position (but not the Map) in a compact
+	*	binary form, for WorldCodec. For each Province, a bitmask of the 
+	*	non-zero state fields is written, followed by their values; then 
+	*	the indices of the eliminated Powers.
 	*/
-	private ProvinceData getProvinceData(Province province)
+	void writeState(DataOutput out)
+	throws IOException
 	{
-		int idx = province.getIndex();
-		ProvinceData pd = provArray[idx];
-		if(pd == null)
+		for(int i=0; i<nProvinces; i++)
 		{
-			pd = new ProvinceData();
-			provArray[idx] = pd;
+			writeProvinceState(out, i);
 		}
 		
-		return pd;
-	}// getProvinceData()
+		writeEliminated(out);
+	}// writeState()
+	
 	
-	/** Same type of functionality as getProvinceData() but for PowerData objects */
-	private PowerData getPowerData(Power power)
+	/**
+	*	Reads state written by writeState() into this Position, which
+	*	must be empty (newly created).
+	*
+	*	@throws StreamCorruptedException if the state is not valid for the Map
+	*/
+	void readState(DataInput in)
+	throws IOException
 	{
-		PowerData pd = (PowerData) powerMap.get(power);
-		if(pd == null)
+		for(int i=0; i<nProvinces; i++)
 		{
-			pd = new PowerData();
-			powerMap.put(power, pd);
+			readProvinceState(in, i);
 		}
-		return pd;
-	}// getPowerData()
+		
+		readEliminated(in);
+	}// readState()
 	
 	
-	/** All mutable Province data is kept here */
-	private class ProvinceData implements java.io.Serializable
+	/**
+	*	Writes the differences between the given base Position (of the 
+	*	same Map) and this Position, in the form of writeState(): the 
+	*	number of Provinces that differ, and then, for each, its index
+	*	and state; then the indices of the eliminated Powers.
+	*/
+	void writeDelta(DataOutput out, Position base)
+	throws IOException
 	{
-		// instance variables
-		private Unit 	unit = null;
-		private Unit 	dislodgedUnit = null;
-		private Power 	SCOwner = null;
-		private Power	SCHomePower = null;
-		private Power	lastOccupier = null;
-		
-		// unit set/get
-		public boolean hasUnit() 				{ return (unit != null); }
-		public boolean hasDislodgedUnit()		{ return (dislodgedUnit != null); }
-		
-		public Unit getUnit()					{ return unit; }
-		public Unit getDislodgedUnit()			{ return dislodgedUnit; }
-		
-		public void setUnit(Unit u)  			{ unit = u; }
-		public void setDislodgedUnit(Unit u) 	{ dislodgedUnit = u; }
+		if(base.map != map)
+		{
+			throw new IllegalArgumentException("base Position is of a different Map");
+		}
 		
+		int nChanged = 0;
+		for(int i=0; i<nProvinces; i++)
+		{
+			if(!isProvinceStateEqual(base, i))
+			{
+				nChanged++;
+			}
+		}
 		
-		// SC set/get
-		public boolean isSCAHome() 			{ return (SCHomePower != null); }
-		public boolean isSCOwned()			{ return (SCOwner != null); }
+		out.writeShort(nChanged);
+		for(int i=0; i<nProvinces; i++)
+		{
+			if(!isProvinceStateEqual(base, i))
+			{
+				out.writeShort(i);
+				writeProvinceState(out, i);
+			}
+		}
 		
-		public void setSCOwner(Power p)		{ SCOwner = p; }
-		public void setSCHomePower(Power p)	{ SCHomePower = p; }
+		writeEliminated(out);
+	}// writeDelta()
+	
+	
+	/**
+	*	Reads differences written by writeDelta() into this Position, 
+	*	which must have the same state as the base Position given to 
+	*	writeDelta() (e.g., a clone of it).
+	*
+	*	@throws StreamCorruptedException if the state is not valid for the Map
+	*/
+	void readDelta(DataInput in)
+	throws IOException
+	{
+		final int nChanged = in.readUnsignedShort();
+		if(nChanged > nProvinces)
+		{
+			throw new StreamCorruptedException("bad Province count: "+nChanged);
+		}
 		
-		public Power getSCOwner()			{ return SCOwner; }
-		public Power getSCHomePower()		{ return SCHomePower; }
+		for(int n=0; n<nChanged; n++)
+		{
+			final int idx = in.readUnsignedShort();
+			if(idx >= nProvinces)
+			{
+				throw new StreamCorruptedException("bad Province index: "+idx);
+			}
+			
+			readProvinceState(in, idx);
+		}
 		
-		// occupier set/get
-		public Power getLastOccupier()			{ return lastOccupier; }
-		public void setLastOccupier(Power p)	{ lastOccupier = p; }
+		readEliminated(in);
+	}// readDelta()
+	
+	
+	/** True if all state fields of a Province are the same in the given Position. */
+	private boolean isProvinceStateEqual(Position pos, int idx)
+	{
+		for(int field=0; field<N_FIELDS; field++)
+		{
+			if(get(field, idx) != pos.get(field, idx))
+			{
+				return false;
+			}
+		}
 		
+		return true;
+	}// isProvinceStateEqual()
+	
+	
+	/** Writes a bitmask of the non-zero state fields of a Province, then their values. */
+	private void writeProvinceState(DataOutput out, int idx)
+	throws IOException
+	{
+		int mask = 0;
+		for(int field=0; field<N_FIELDS; field++)
+		{
+			if(get(field, idx) != 0)
+			{
+				mask |= (1 << field);
+			}
+		}
 		
-		// normal clone
-		public ProvinceData normClone()
+		out.writeShort(mask);
+		for(int field=0; field<N_FIELDS; field++)
 		{
-			ProvinceData pd = new ProvinceData();
-			
-			// deep copy unit information
-			if(unit != null)
+			if((mask & (1 << field)) != 0)
 			{
-				pd.unit = (Unit) unit.clone();
+				out.writeByte(get(field, idx));
 			}
-			
-			if(dislodgedUnit != null)
+		}
+	}// writeProvinceState()
+	
+	
+	/** 
+	*	Reads the state of a Province written by writeProvinceState(); 
+	*	fields that were not written are cleared. 
+	*/
+	private void readProvinceState(DataInput in, int idx)
+	throws IOException
+	{
+		final int mask = in.readUnsignedShort();
+		if(mask >= (1 << N_FIELDS))
+		{
+			throw new StreamCorruptedException("bad Position field mask: "+mask);
+		}
+		
+		for(int field=0; field<N_FIELDS; field++)
+		{
+			int value = 0;
+			if((mask & (1 << field)) != 0)
 			{
-				pd.dislodgedUnit = (Unit) dislodgedUnit.clone();
+				value = in.readUnsignedByte();
+				if(!isValidValue(field, value))
+				{
+					throw new StreamCorruptedException("bad Position field value: "+value);
+				}
 			}
 			
-			// shallow copy Powers [Power is immutable]
-			pd.SCOwner = this.SCOwner;
-			pd.SCHomePower = this.SCHomePower;
-			pd.lastOccupier = this.lastOccupier;
-			
-			return pd;
-		}// normClone()
-		
+			updatePowerSets(field, idx, get(field, idx), value);
+			set(field, idx, value);
+		}
 		
-		/** Returns null if no non-ownership information exists */
-		public ProvinceData cloneExceptUnits()
+		// a unit requires all unit fields except the coast (Coast.UNDEFINED has index 0)
+		if( (get(UNIT_POWER, idx) == 0) != (get(UNIT_TYPE, idx) == 0)
+			|| (get(DISLODGED_POWER, idx) == 0) != (get(DISLODGED_TYPE, idx) == 0) )
+		{
+			throw new StreamCorruptedException("incomplete unit in Position");
+		}
+	}// readProvinceState()
+	
+	
+	/** Writes the number of eliminated Powers, and then their indices. */
+	private void writeEliminated(DataOutput out)
+	throws IOException
+	{
+		int nEliminated = 0;
+		for(int i=0; i<eliminated.length; i++)
 		{
-			// don't create an object if there is no ownership info.
-			// this also compacts the Position map!
-			if(SCOwner == null && SCHomePower == null && lastOccupier == null)
+			if(eliminated[i])
 			{
-				return null;
+				nEliminated++;
 			}
-			
-			// create a ProvinceData object
-			ProvinceData pd = new ProvinceData();
-			
-			// shallow copy Power [Power is immutable]
-			pd.SCOwner = this.SCOwner;
-			pd.SCHomePower = this.SCHomePower;
-			pd.lastOccupier = this.lastOccupier;
-			
-			return pd;
-		}// cloneExceptUnits()
+		}
 		
-		/** Returns null if no ownership info/unit exists */
-		public ProvinceData cloneExceptDislodged()
+		out.writeByte(nEliminated);
+		for(int i=0; i<eliminated.length; i++)
 		{
-			// don't create an object if there is no ownership info.
-			// this also compacts the Position map!
-			if(SCOwner == null && SCHomePower == null && unit == null  && lastOccupier == null)
+			if(eliminated[i])
 			{
-				return null;
+				out.writeByte(i);
 			}
-			
-			// create a ProvinceData object
-			ProvinceData pd = new ProvinceData();
-			
-			// shallow copy Power [Power is immutable]
-			pd.SCOwner = this.SCOwner;
-			pd.SCHomePower = this.SCHomePower;
-			pd.lastOccupier = this.lastOccupier;
-			
-			// deep copy unit
-			if(unit != null)
+		}
+	}// writeEliminated()
+	
+	
+	/** Reads the eliminated Powers written by writeEliminated(); other Powers are not eliminated. */
+	private void readEliminated(DataInput in)
+	throws IOException
+	{
+		final boolean[] isEliminated = new boolean[powers.length];
+		final int nEliminated = in.readUnsignedByte();
+		for(int i=0; i<nEliminated; i++)
+		{
+			final int idx = in.readUnsignedByte();
+			if(idx >= powers.length)
 			{
-				pd.unit = (Unit) unit.clone();
+				throw new StreamCorruptedException("bad Power index: "+idx);
 			}
 			
-			return pd;
-		}// cloneExceptUnits()
+			isEliminated[idx] = true;
+		}
 		
+		for(int i=0; i<powers.length; i++)
+		{
+			setEliminated(i, isEliminated[i]);
+		}
+	}// readEliminated()
+	
+	
+	/** Determines if a (non-zero) value is valid for the given state field. */
+	private boolean isValidValue(int field, int value)
+	{
+		switch(field)
+		{
+			case UNIT_TYPE:
+			case DISLODGED_TYPE:
+				return (value < UNIT_TYPES.length);
+			case UNIT_COAST:
+			case DISLODGED_COAST:
+				return (Coast.getCoast(value) != null);
+			default:
+				// Power fields
+				return (value <= powers.length);
+		}
+	}// isValidValue()
+	
+	
+	/** Mutable Province data, as serialized by earlier versions. */
+	private class ProvinceData implements java.io.Serializable
+	{
+		private static final long serialVersionUID = -1654370901771792508L;
 		
+		// instance variables
+		private Unit 	unit = null;
+		private Unit 	dislodgedUnit = null;
+		private Power 	SCOwner = null;
+		private Power	SCHomePower = null;
+		private Power	lastOccupier = null;
 	}// inner class ProvinceData
 	
 	
-	/** All mutable Power data is kept here */
+	/** Mutable Power data, as serialized by earlier versions. */
 	private class PowerData implements java.io.Serializable
 	{
+		private static final long serialVersionUID = 5042765689873295374L;
+		
 		// instance variables
 		private boolean isEliminated = false;
-		
-		
-		public PowerData()
-		{
-		}// PowerData()
-		
-		public boolean isEliminated() 					{ return isEliminated; }
-		public void setEliminated(boolean value)		{ isEliminated = value; }
-		
-		public PowerData normClone()
-		{
-			PowerData pd = new PowerData();
-			pd.isEliminated = this.isEliminated;
-			return pd;
-		}// normClone()
 	}// inner class PowerData
 	
 	
-	/**
-	*	Copying references into a large temporary array, then creating an array
-	*	and copying the temp array into the correctly-sized array via 
-	*	System.arraycopy() is about twice as fast as using an ArrayList, and 
-	*	almost twice as fast as double-iterating (one to gauge the array size,
-	*	and one to copy data).
-	*	<p>
-	*	This method creates a sufficiently large array to hold temporary data.
-	*/
-	private final void makeTmpProvArray()
+	/** The Provinces, as ProvinceSets, associated with a Power. */
+	private static final class PowerSets
 	{
-		if(tmpProvArray == null)
+		private final ProvinceSet units;
+		private final ProvinceSet dislodged;
+		private final ProvinceSet owned;
+		private final ProvinceSet homes;
+		
+		/** Create empty PowerSets */
+		public PowerSets(int nProvinces)
 		{
-			tmpProvArray = new Province[provArray.length];
-		}
-	}// makeTmpProvArray()
+			units = new ProvinceSet(nProvinces);
+			dislodged = new ProvinceSet(nProvinces);
+			owned = new ProvinceSet(nProvinces);
+			homes = new ProvinceSet(nProvinces);
+		}// PowerSets()
+		
+		/** Copy PowerSets; unit and dislodged unit sets are empty unless specified */
+		public PowerSets(PowerSets ps, boolean withUnits, boolean withDislodged)
+		{
+			final int capacity = ps.units.getCapacity();
+			units = (withUnits) ? new ProvinceSet(ps.units) : new ProvinceSet(capacity);
+			dislodged = (withDislodged) ? new ProvinceSet(ps.dislodged) : new ProvinceSet(capacity);
+			owned = new ProvinceSet(ps.owned);
+			homes = new ProvinceSet(ps.homes);
+		}// PowerSets()
+		
+		/** Get the set corresponding to a Power field of the Position state */
+		public ProvinceSet getSet(int field)
+		{
+			switch(field)
+			{
+				case UNIT_POWER:
+					return units;
+				case DISLODGED_POWER:
+					return dislodged;
+				case SC_OWNER:
+					return owned;
+				case SC_HOME:
+					return homes;
+				default:
+					throw new IllegalArgumentException();
+			}
+		}// getSet()
+	}// inner class PowerSets
 }// class Position
-
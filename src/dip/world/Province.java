@@ -68,6 +68,7 @@ import java.util.*;
 */
 public class Province implements java.io.Serializable, Comparable
 {
+	private static final long serialVersionUID = 4248077817013191699L;
 	
 	// immutable persistent fields
 	private final String fullName; 				// fullName MUST BE UNIQUE
@@ -84,14 +85,23 @@ public class Province implements java.io.Serializable, Comparable
 	
 	//  transient fields
 	private transient int hashCode = 0;
+	private transient BorderTable borderTable = null;	// compiled borders; created by the Map; null if not compiled
 	
 	
 	/**
 	* Adjacency maintains the connectivity graph between provinces.
+	* <p>
+	* The adjacency data (a Coast to Location[] mapping) is compiled, 
+	* on first use, into arrays indexed by Coast index, and bitsets of 
+	* adjacent Province indices, also by Coast index. The compiled form 
+	* is not serialized.
 	*/
 	protected static class Adjacency implements java.io.Serializable
 	{
+		private static final long serialVersionUID = -8614120290423596545L;
+		
 		private final HashMap adjLoc;
+		private transient Compiled compiled = null;
 		
 		/**
 		* Creates a new Adjacency object.
@@ -108,6 +118,7 @@ public class Province implements java.io.Serializable, Comparable
 		protected void setLocations(Coast coast, Location[] locations)
 		{
 			adjLoc.put(coast, locations);
+			compiled = null;
 		}// setLocations()
 		
 		
@@ -119,15 +130,52 @@ public class Province implements java.io.Serializable, Comparable
 		*/
 		protected Location[] getLocations(Coast coast)
 		{
-			Location[] locations = (Location[]) adjLoc.get(coast);
-			
-			if(locations == null)
+			return getCompiled().locations[coast.getIndex()];
+		}// getLocations()
+		
+		
+		/** 
+		*	Returns true if the Province with the given index is adjacent
+		*	to the coast.
+		*/
+		private boolean isAdjacent(Coast coast, int provinceIndex)
+		{
+			final long[] bits = getCompiled().provinceBits[coast.getIndex()];
+			final int word = provinceIndex >> 6;
+			return (word < bits.length && (bits[word] & (1L << provinceIndex)) != 0L);
+		}// isAdjacent()
+		
+		
+		/** 
+		*	Replaces all adjacent Locations with the equivalent canonical 
+		*	Locations of the given Map (see Map.getLocation()). 
+		*/
+		private void internLocations(Map map)
+		{
+			Iterator iter = adjLoc.values().iterator();
+			while(iter.hasNext())
+			{
+				Location[] locs = (Location[]) iter.next();
+				for(int i=0; i<locs.length; i++)
+				{
+					locs[i] = map.getLocation(locs[i].getProvince(), locs[i].getCoast());
+				}
+			}
+		}// internLocations()
+		
+		
+		/** Get the compiled adjacency data, compiling it if required. */
+		private Compiled getCompiled()
+		{
+			Compiled c = compiled;
+			if(c == null)
 			{
-				locations = Location.EMPTY;
+				c = new Compiled(adjLoc);
+				compiled = c;
 			}
 			
-			return locations;
-		}// getLocations()
+			return c;
+		}// getCompiled()
 		
 		
 		/**
@@ -221,6 +269,111 @@ public class Province implements java.io.Serializable, Comparable
 	}// inner class Adjacency()
 	
 	
+	/**
+	*	Compiled (array-based) form of Adjacency data. Immutable. 
+	*	<p>
+	*	Compilation is not synchronized; if two threads compile at once, 
+	*	equivalent data is created and either may be used.
+	*/
+	private static final class Compiled
+	{
+		private static final long[] NO_BITS = new long[0];
+		private static final int N_COASTS = countCoasts();
+		
+		/** Locations, by Coast index. Never null. */
+		private final Location[][] locations;
+		/** Bitsets of adjacent Province indices, by Coast index. Never null. */
+		private final long[][] provinceBits;
+		// province type
+		private final boolean isLand;
+		private final boolean isLandLocked;
+		private final boolean isSea;
+		private final boolean isCoastal;
+		private final boolean isMultiCoastal;
+		
+		
+		/** Compile the Coast to Location[] adjacency mapping */
+		private Compiled(HashMap adjLoc)
+		{
+			locations = new Location[N_COASTS][];
+			provinceBits = new long[N_COASTS][];
+			
+			for(int i=0; i<N_COASTS; i++)
+			{
+				Location[] locs = (Location[]) adjLoc.get(Coast.getCoast(i));
+				if(locs == null)
+				{
+					locations[i] = Location.EMPTY;
+					provinceBits[i] = NO_BITS;
+				}
+				else
+				{
+					locations[i] = locs;
+					
+					int maxIndex = -1;
+					for(int j=0; j<locs.length; j++)
+					{
+						maxIndex = Math.max(maxIndex, locs[j].getProvince().getIndex());
+					}
+					
+					final long[] bits = (maxIndex < 0) ? NO_BITS : new long[(maxIndex >> 6) + 1];
+					for(int j=0; j<locs.length; j++)
+					{
+						final int idx = locs[j].getProvince().getIndex();
+						bits[idx >> 6] |= (1L << idx);
+					}
+					
+					provinceBits[i] = bits;
+				}
+			}
+			
+			// province type
+			boolean hasSea = false;
+			boolean hasSeaLocations = false;
+			for(int i=0; i<Coast.ANY_SEA.length; i++)
+			{
+				if(adjLoc.get(Coast.ANY_SEA[i]) != null)
+				{
+					hasSea = true;
+				}
+				
+				if(locations[Coast.ANY_SEA[i].getIndex()].length > 0)
+				{
+					hasSeaLocations = true;
+				}
+			}
+			
+			boolean hasDirectional = false;
+			for(int i=0; i<Coast.ANY_DIRECTIONAL.length; i++)
+			{
+				if(adjLoc.get(Coast.ANY_DIRECTIONAL[i]) != null)
+				{
+					hasDirectional = true;
+				}
+			}
+			
+			isLand = (adjLoc.get(Coast.LAND) != null);
+			isLandLocked = !hasSea;
+			isSea = (!isLand && !hasDirectional);
+			isCoastal = (isLand && hasSeaLocations);
+			isMultiCoastal = (adjLoc.get(Coast.SEA) == null && hasDirectional);
+		}// Compiled()
+		
+		
+		/** The number of Coast indices */
+		private static int countCoasts()
+		{
+			int n = 0;
+			while(Coast.getCoast(n) != null)
+			{
+				n++;
+			}
+			
+			return n;
+		}// countCoasts()
+	}// inner class Compiled
+	
+	
 	/**
 	*	Creates a new Province object. 
 	*	<b>Unless you are a WorldFactory (or subclass), it should (almost) never be nescessary 
@@ -258,15 +411,39 @@ public class Province implements java.io.Serializable, Comparable
 	
 	
 	
+	/**
+	*	Replaces adjacent Locations with the canonical Locations of
+	*	the given Map. Called by the Map, once all Provinces exist.
+	*/
+	void internLocations(Map map)
+	{
+		adjacency.internLocations(map);
+	}// internLocations()
+	
+	
 	/**
 	*	Sets the Border data for this province.
 	*/
 	protected void setBorders(Border[] value)
 	{
 		borders = value;
+		borderTable = null;
 	}// setBorders()
 	
 	
+	/** 
+	*	Compiles the Border data. This is called by the Map when it is
+	*	created (or de-serialized), so that the compiled data is complete
+	*	before the Map, and thus this Province, is shared between threads.
+	*	If there are no Borders, or they cannot be compiled, the Borders
+	*	are checked directly.
+	*/
+	void createBorderTable()
+	{
+		borderTable = (borders == null) ? null : BorderTable.create(borders);
+	}// createBorderTable()
+	
+	
 	/**
 	*	Sets if this province has a supply center.
 	*/
@@ -382,16 +559,7 @@ public class Province implements java.io.Serializable, Comparable
 			}
 		}
 		*/
-		Location[] locations = adjacency.getLocations(Coast.TOUCHING);
-		for(int locIdx=0; locIdx<locations.length; locIdx++)
-		{		
-			if(locations[locIdx].isProvinceEqual(province))
-			{
-				return true;
-			}
-		}
-		
-		return false;
+		return adjacency.isAdjacent(Coast.TOUCHING, province.getIndex());
 	}// isTouching()
 	
 	
@@ -405,16 +573,7 @@ public class Province implements java.io.Serializable, Comparable
 	*/
 	public boolean isAdjacent(Coast sourceCoast, Province dest)
 	{
-		Location[] locations = adjacency.getLocations(sourceCoast);
-		for(int locIdx=0; locIdx<locations.length; locIdx++)
-		{		
-			if(locations[locIdx].getProvince().equals(dest))
-			{
-				return true;
-			}
-		}
-		
-		return false;
+		return adjacency.isAdjacent(sourceCoast, dest.getIndex());
 	}// isAdjacent()
 	
 	
@@ -429,6 +588,11 @@ public class Province implements java.io.Serializable, Comparable
 	*/
 	public boolean isAdjacent(Coast sourceCoast, Location dest)
 	{
+		if(!adjacency.isAdjacent(sourceCoast, dest.getProvince().getIndex()))
+		{
+			return false;
+		}
+		
 		Location[] locations = adjacency.getLocations(sourceCoast);
 		for(int locIdx=0; locIdx<locations.length; locIdx++)
 		{		
@@ -445,80 +609,34 @@ public class Province implements java.io.Serializable, Comparable
 	/** Determines if this Province is landlocked. */
 	public boolean isLandLocked()
 	{
-		for(int i=0; i<Coast.ANY_SEA.length; i++)
-		{
-			if(adjacency.getLocations(Coast.ANY_SEA[i]) != Location.EMPTY) 
-			{
-				return false;
-			}
-		}
-		
-		return true;
+		return adjacency.getCompiled().isLandLocked;
 	}// isLandLocked()
 	
-	// NOTE: this could be made more efficient
 	/** Determines if this Province is coastal (including multi-coastal). */
 	public boolean isCoastal()
 	{
-		if(adjacency.getLocations(Coast.LAND) != Location.EMPTY)
-		{
-			for(int i=0; i<Coast.ANY_SEA.length; i++)
-			{
-				Location[] locations = adjacency.getLocations(Coast.ANY_SEA[i]);
-				if(locations.length > 0)
-				{
-					return true;
-				}
-			}
-		}	
-		
-		return false;
+		return adjacency.getCompiled().isCoastal;
 	}// isCoastal()
 	
 	
 	/** Determines if this Province is a Land province (landlocked OR coastal) */
 	public boolean isLand()
 	{
-		return (adjacency.getLocations(Coast.LAND) != Location.EMPTY);
+		return adjacency.getCompiled().isLand;
 	}// isLand()
 	
 	
 	/** Determines if this Province is a Sea province (no land, not coastal). */
 	public boolean isSea()
 	{
-		if(adjacency.getLocations(Coast.LAND) != Location.EMPTY)
-		{
-			return false;
-		}
-		
-		
-		for(int i=0; i<Coast.ANY_DIRECTIONAL.length; i++)
-		{
-			if(adjacency.getLocations(Coast.ANY_DIRECTIONAL[i]) != Location.EMPTY)
-			{
-				return false;
-			}
-		}
-		
-		return true;
+		return adjacency.getCompiled().isSea;
 	}// isSea()
 	
 	
 	/** Determines if this Province has multiple coasts (e.g., Spain). */
 	public boolean isMultiCoastal()
 	{
-		if(adjacency.getLocations(Coast.SEA) == Location.EMPTY)
-		{
-			for(int i=0; i<Coast.ANY_DIRECTIONAL.length; i++)
-			{
-				if(adjacency.getLocations(Coast.ANY_DIRECTIONAL[i]) != Location.EMPTY)
-				{
-					return true;
-				}
-			}
-		}
-		
-		return false;
+		return adjacency.getCompiled().isMultiCoastal;
 	}// isMultiCoastal()
 	
 	
@@ -592,6 +710,12 @@ public class Province implements java.io.Serializable, Comparable
 	{
 		if(borders != null)
 		{
+			final BorderTable table = borderTable;
+			if(table != null)
+			{
+				return table.getTransit(fromLoc, unit, phase, orderClass);
+			}
+			
 			for(int i=0; i<borders.length; i++)
 			{
 				if(!borders[i].canTransit(fromLoc, unit, phase, orderClass))
@@ -619,6 +743,12 @@ public class Province implements java.io.Serializable, Comparable
 	{
 		if(borders != null)
 		{
+			final BorderTable table = borderTable;
+			if(table != null)
+			{
+				return table.getBaseMoveModifier(fromLoc);
+			}
+			
 			for(int i=0; i<borders.length; i++)
 			{
 				final int baseMoveMod = borders[i].getBaseMoveModifier(fromLoc);
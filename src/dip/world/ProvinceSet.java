@@ -0,0 +1,322 @@
+//
+//  @(#)ProvinceSet.java	10/2026
+//
+//  Copyright 2026 the jDip development team. All rights reserved.
+//  Use is subject to license terms.
+//
+//
+//  This program is free software; you can redistribute it and/or modify
+//  it under the terms of the GNU General Public License as published by
+//  the Free Software Foundation; either version 2 of the License, or
+//  (at your option) any later version.
+//
+//  This program is distributed in the hope that it will be useful,
+//  but WITHOUT ANY WARRANTY; without even the implied warranty of
+//  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//  GNU General Public License for more details.
+//
+//  You should have received a copy of the GNU General Public License
+//  along with this program; if not, write to the Free Software
+//  Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+//  Or from http://www.gnu.org/
+//
+package dip.world;
+
+/**
+*	A set of Provinces, stored as a bitset of Province indices. 
+*	<p>
+*	A ProvinceSet has a fixed capacity, which is the number of Provinces
+*	in the Map; Provinces from different Maps should not be mixed.
+*	<p>
+*	Iteration does not allocate:
+*	<pre>
+*		for(int i=set.nextIndex(0); i&gt;=0; i=set.nextIndex(i+1))
+*		{
+*			Province province = map.reverseIndex(i);
+*			...
+*		}
+*	</pre>
+*	This class is not thread-safe.
+*/
+public final class ProvinceSet
+{
+	private final long[] words;
+	private final int capacity;
+	
+	
+	/** Create an empty ProvinceSet, for Province indices from 0 to capacity-1. */
+	public ProvinceSet(int capacity)
+	{
+		if(capacity < 0)
+		{
+			throw new IllegalArgumentException();
+		}
+		
+		this.capacity = capacity;
+		this.words = new long[(capacity + 63) >> 6];
+	}// ProvinceSet()
+	
+	
+	/** Create a ProvinceSet that is a copy of the given ProvinceSet. */
+	public ProvinceSet(ProvinceSet set)
+	{
+		this.capacity = set.capacity;
+		this.words = (long[]) set.words.clone();
+	}// ProvinceSet()
+	
+	
+	/** The capacity (the number of Province indices) of this ProvinceSet. */
+	public int getCapacity()
+	{
+		return capacity;
+	}// getCapacity()
+	
+	
+	/** Add a Province; returns <code>true</code> if it was not already present. */
+	public boolean add(Province province)
+	{
+		return add(province.getIndex());
+	}// add()
+	
+	
+	/** Add a Province, by index; returns <code>true</code> if it was not already present. */
+	public boolean add(int index)
+	{
+		final int w = index >> 6;
+		final long bit = 1L << index;
+		final boolean isAbsent = ((words[w] & bit) == 0L);
+		words[w] |= bit;
+		return isAbsent;
+	}// add()
+	
+	
+	/** Remove a Province; returns <code>true</code> if it was present. */
+	public boolean remove(Province province)
+	{
+		return remove(province.getIndex());
+	}// remove()
+	
+	
+	/** Remove a Province, by index; returns <code>true</code> if it was present. */
+	public boolean remove(int index)
+	{
+		final int w = index >> 6;
+		final long bit = 1L << index;
+		final boolean isPresent = ((words[w] & bit) != 0L);
+		words[w] &= ~bit;
+		return isPresent;
+	}// remove()
+	
+	
+	/** Returns <code>true</code> if the Province is in this set. */
+	public boolean contains(Province province)
+	{
+		return contains(province.getIndex());
+	}// contains()
+	
+	
+	/** Returns <code>true</code> if the Province with the given index is in this set. */
+	public boolean contains(int index)
+	{
+		return ((words[index >> 6] & (1L << index)) != 0L);
+	}// contains()
+	
+	
+	/** Removes all Provinces. */
+	public void clear()
+	{
+		for(int i=0; i<words.length; i++)
+		{
+			words[i] = 0L;
+		}
+	}// clear()
+	
+	
+	/** Returns <code>true</code> if there are no Provinces in this set. */
+	public boolean isEmpty()
+	{
+		for(int i=0; i<words.length; i++)
+		{
+			if(words[i] != 0L)
+			{
+				return false;
+			}
+		}
+		
+		return true;
+	}// isEmpty()
+	
+	
+	/** The number of Provinces in this set. */
+	public int size()
+	{
+		int count = 0;
+		for(int i=0; i<words.length; i++)
+		{
+			count += bitCount(words[i]);
+		}
+		
+		return count;
+	}// size()
+	
+	
+	/** The number of Provinces in both this set and the given set. */
+	public int sizeOfIntersection(ProvinceSet set)
+	{
+		final long[] other = set.words;
+		final int len = Math.min(words.length, other.length);
+		
+		int count = 0;
+		for(int i=0; i<len; i++)
+		{
+			count += bitCount(words[i] & other[i]);
+		}
+		
+		return count;
+	}// sizeOfIntersection()
+	
+	
+	/** The number of Provinces in this set and both of the given sets. */
+	public int sizeOfIntersection(ProvinceSet set1, ProvinceSet set2)
+	{
+		final long[] other1 = set1.words;
+		final long[] other2 = set2.words;
+		final int len = Math.min(words.length, Math.min(other1.length, other2.length));
+		
+		int count = 0;
+		for(int i=0; i<len; i++)
+		{
+			count += bitCount(words[i] & other1[i] & other2[i]);
+		}
+		
+		return count;
+	}// sizeOfIntersection()
+	
+	
+	/** 
+	*	Returns the smallest Province index, greater than or equal to 
+	*	the given index, that is in this set; -1 if there is none. 
+	*/
+	public int nextIndex(int fromIndex)
+	{
+		if(fromIndex < 0)
+		{
+			throw new IllegalArgumentException();
+		}
+		
+		int w = fromIndex >> 6;
+		if(w >= words.length)
+		{
+			return -1;
+		}
+		
+		long word = words[w] & (-1L << fromIndex);
+		while(true)
+		{
+			if(word != 0L)
+			{
+				return (w << 6) + numberOfTrailingZeros(word);
+			}
+			
+			w++;
+			if(w == words.length)
+			{
+				return -1;
+			}
+			
+			word = words[w];
+		}
+	}// nextIndex()
+	
+	
+	/** 
+	*	Returns the Provinces in this set, in index order. The given array 
+	*	(typically from Map.getProvinces()) is used to find the Province 
+	*	for each index. 
+	*/
+	public Province[] toArray(Province[] provinces)
+	{
+		final Province[] array = new Province[size()];
+		int n = 0;
+		for(int i=nextIndex(0); i>=0; i=nextIndex(i+1))
+		{
+			array[n] = provinces[i];
+			n++;
+		}
+		
+		return array;
+	}// toArray()
+	
+	
+	/** Returns <code>true</code> if the given object is a ProvinceSet with the same Provinces. */
+	public boolean equals(Object obj)
+	{
+		if(obj instanceof ProvinceSet)
+		{
+			final ProvinceSet set = (ProvinceSet) obj;
+			return (capacity == set.capacity && java.util.Arrays.equals(words, set.words));
+		}
+		
+		return false;
+	}// equals()
+	
+	
+	/** Implementation of Object.hashCode() */
+	public int hashCode()
+	{
+		int hash = 1;
+		for(int i=0; i<words.length; i++)
+		{
+			hash = 31 * hash + (int) (words[i] ^ (words[i] >>> 32));
+		}
+		
+		return hash;
+	}// hashCode()
+	
+	
+	/** For debugging: the set of Province indices */
+	public String toString()
+	{
+		StringBuffer sb = new StringBuffer(64);
+		sb.append('[');
+		for(int i=nextIndex(0); i>=0; i=nextIndex(i+1))
+		{
+			if(sb.length() > 1)
+			{
+				sb.append(',');
+			}
+			sb.append(i);
+		}
+		sb.append(']');
+		return sb.toString();
+	}// toString()
+	
+	
+	/** 
+	*	The number of one-bits in the given value. Long.bitCount() is not 
+	*	available before Java 5. 
+	*/
+	static int bitCount(long value)
+	{
+		long x = value - ((value >>> 1) & 0x5555555555555555L);
+		x = (x & 0x3333333333333333L) + ((x >>> 2) & 0x3333333333333333L);
+		x = (x + (x >>> 4)) & 0x0f0f0f0f0f0f0f0fL;
+		x = x + (x >>> 8);
+		x = x + (x >>> 16);
+		x = x + (x >>> 32);
+		return ((int) x) & 0x7f;
+	}// bitCount()
+	
+	
+	/** 
+	*	The number of zero-bits below the lowest one-bit of the given value;
+	*	64 if the value is zero. Long.numberOfTrailingZeros() is not 
+	*	available before Java 5. 
+	*/
+	static int numberOfTrailingZeros(long value)
+	{
+		// the lowest one-bit, less one, has a one-bit for each trailing zero
+		return bitCount((value & -value) - 1L);
+	}// numberOfTrailingZeros()
+	
+}// class ProvinceSet
@@ -63,6 +63,8 @@ import dip.order.result.OrderResult;
 */
 public class TurnState implements Serializable
 {
+	private static final long serialVersionUID = -507830632257884049L;
+	
 	// instance variables (we serialize all of this)
 	private Phase 		phase = null;				
 	private List     	resultList = null; 				// order results, post-adjudication
@@ -73,6 +75,8 @@ public class TurnState implements Serializable
 	private boolean 	isEnded = false;				// true if game over (won, draw, etc.)
 	private boolean 	isResolved = false;				// true if phase has been adjudicated
 	private transient 	HashMap resultMap = null;		// transient result map
+	private transient	int modCount = 0;				// see getModificationCount()
+	private transient	WorldArchive.Entry archiveEntry = null;	// if read from an archive
 	
 	
 	/** Creates a TurnState object. */
@@ -130,6 +134,7 @@ public class TurnState implements Serializable
 			throw new IllegalArgumentException("null phase");
 		}
 		this.phase = phase;
+		modified();
 	}// setPhase()
 	
 	
@@ -149,6 +154,7 @@ public class TurnState implements Serializable
 		}
 		
 		this.position = position;
+		modified();
 	}// setPosition()
 	
 	
@@ -168,6 +174,7 @@ public class TurnState implements Serializable
 		}
 		
 		resultList = list;
+		modified();
 	}// setResultList()
 	
 	
@@ -190,6 +197,7 @@ public class TurnState implements Serializable
 	public void setSCOwnerChanged(boolean value)
 	{
 		isSCOwnerChanged = value;
+		modified();
 	}// setSCOwnerChanged()
 	
 	
@@ -226,6 +234,7 @@ public class TurnState implements Serializable
 	public void clearAllOrders()
 	{
 		orderMap.clear();
+		modified();
 	}// clearAllOrders()
 	
 	
@@ -261,20 +270,77 @@ public class TurnState implements Serializable
 		}
 		
 		orderMap.put(power, list);
+		modified();
 	}// setOrders()
 	
+	/** Returns the Map of Power to order List (not a copy); used by WorldCodec. */
+	Map getOrderMap()
+	{
+		return orderMap;
+	}// getOrderMap()
+	
+	/**
+	*	Returns a copy of this TurnState, which is not changed by later 
+	*	changes to this TurnState; used by WorldArchive. The order and result
+	*	Lists, and the Position (see Position.copyState()), are copied; the
+	*	orders and results themselves are shared.
+	*/
+	TurnState copyState()
+	{
+		final TurnState ts = new TurnState(phase);
+		ts.resultList = new ArrayList(resultList);
+		ts.isSCOwnerChanged = isSCOwnerChanged;
+		ts.position = (position == null) ? null : position.copyState();
+		ts.isEnded = isEnded;
+		ts.isResolved = isResolved;
+		
+		Iterator iter = orderMap.entrySet().iterator();
+		while(iter.hasNext())
+		{
+			Map.Entry entry = (Map.Entry) iter.next();
+			ts.orderMap.put(entry.getKey(), new ArrayList((List) entry.getValue()));
+		}
+		
+		return ts;
+	}// copyState()
+	
 	/** Set if game has ended for any reason */
-	public void setEnded(boolean value)		{ isEnded = value; }
+	public void setEnded(boolean value)		{ isEnded = value; modified(); }
 	
 	/** Returns <code>true</code> if game has ended */
 	public boolean isEnded()				{ return isEnded; }
 		
 	/** Set if the turn has been adjudicated. */
-	public void setResolved(boolean value)		{ isResolved = value; }
+	public void setResolved(boolean value)		{ isResolved = value; modified(); }
 	
 	/** Returns the turn has been adjudicated */
 	public boolean isResolved()					{ return isResolved; }
 	
+	/**
+	*	Returns the number of times this TurnState has been changed by its
+	*	set methods (and clearAllOrders()); e.g., when a resolution is undone
+	*	and the TurnState is resolved again. Changes made through the Lists 
+	*	returned by getOrders() and getResultList(), or to the Position, are
+	*	not counted. Used by WorldJournal and WorldArchive.
+	*/
+	int getModificationCount()					{ return modCount; }
+	
+	/** Sets the archive Entry from which this TurnState was read; used by WorldArchive. */
+	void setArchiveEntry(WorldArchive.Entry entry)	{ archiveEntry = entry; }
+	
+	/** 
+	*	Counts a change (see getModificationCount()). A TurnState read from
+	*	an archive is then kept by the archive, rather than read again.
+	*/
+	private void modified()
+	{
+		modCount++;
+		if(archiveEntry != null)
+		{
+			archiveEntry.setModified(this);
+		}
+	}// modified()
+	
 	/**
 	*	Returns if an order has failed, based on results. Note that
 	*	this only applies once the turnstate has been resolved. If 
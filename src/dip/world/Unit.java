@@ -33,15 +33,20 @@ import dip.misc.Utils;
 *	<p>
 *	Units are placed in Provinces.
 *	<p>
-*	<b>This object is not immutable!</b>
+*	<b>This object is not immutable!</b> However, shared Units (see 
+*	Map.getUnit()), which are returned by Position, cannot be modified; 
+*	they must be cloned first.
 */
 
 public class Unit implements java.io.Serializable, Cloneable
 {
+	private static final long serialVersionUID = -9051046255140798593L;
+	
 	// instance variables
 	protected final Unit.Type type;
 	protected final Power owner;
 	protected Coast coast = Coast.UNDEFINED;
+	private transient boolean isShared = false;	// shared units are immutable
 	
 	
 	/**                                                               
@@ -73,8 +78,19 @@ public class Unit implements java.io.Serializable, Cloneable
 	}// Unit()
 	
 	
+	/** Create a shared (immutable) Unit. See Map.getUnit(). */
+	static Unit createShared(Power power, Unit.Type unitType, Coast coast)
+	{
+		Unit unit = new Unit(power, unitType, coast);
+		unit.isShared = true;
+		return unit;
+	}// createShared()
+	
+	
 	/**
 	*	Set the coast of a unit.
+	*
+	*	@throws IllegalStateException if this is a shared Unit
 	*/
 	public void setCoast(Coast coast)
 	{
@@ -83,6 +99,11 @@ public class Unit implements java.io.Serializable, Cloneable
 			throw new IllegalArgumentException("null coast");
 		}
 		
+		if(isShared)
+		{
+			throw new IllegalStateException("shared Unit cannot be modified; clone() it first");
+		}
+		
 		this.coast = coast;
 	}// setCoast()
 	
@@ -116,7 +137,8 @@ public class Unit implements java.io.Serializable, Cloneable
 	/** 
 	*	Returns a Clone of the unit. Note that this is not a 
 	*	strict implementation of clone(); a constructor is
-	*	invoked for performance reasons.
+	*	invoked for performance reasons. The clone is never
+	*	a shared Unit.
 	*/
 	public Object clone()
 	{
@@ -124,6 +146,13 @@ public class Unit implements java.io.Serializable, Cloneable
 	}// clone()
 	
 	
+	/** True if this is a shared Unit (see Map.getUnit()). */
+	boolean isShared()
+	{
+		return isShared;
+	}// isShared()
+	
+	
 	/** Displays internal object values. For debugging use only! */
 	public String toString()
 	{
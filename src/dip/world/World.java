@@ -45,14 +45,41 @@ import JSX.*;
 *	A World contains:
 *	<ol>
 *		<li>Map (dip.world.Map) object [constant]
-*		<li>TurnState objects [in a linked hash map]
+*		<li>TurnState objects [in an immutable, sorted history; see below]
 *		<li>HashMap of per-power and global state information (used to set various data)
 *	</ol>
+*	<p>
+*	TurnStates are held in an immutable array-based history, sorted by
+*	Phase, which is replaced (copy-on-write) whenever a TurnState is set
+*	or removed. TurnState lookups, including next and previous TurnStates,
+*	therefore do not lock, and getAllTurnStates() and getPhaseSet() return 
+*	unmodifiable views of the current history, rather than copies.
+*	<p>
+*	The TurnStates of a World opened from an archive (see WorldArchive)
+*	are read from the archive when they are first required, and resolved
+*	TurnStates may later be discarded (and read again) if memory is low.
 *
 *
 */
 public class World implements Serializable
 {
+	// The serialVersionUIDs of World, and of the game data classes saved
+	// with it (TurnState, Position, Map, Province, Border, Unit, and the
+	// Results), are those computed for the versions that declared none;
+	// pinning them keeps games saved by those versions readable, as the
+	// classes change in ways that do not change their serialized form.
+	private static final long serialVersionUID = -1114319716356483922L;
+	
+	/** 
+	*	Serialized fields, as in earlier versions. TurnStates are 
+	*	serialized as a (synchronized) SortedMap of Phase to TurnState.
+	*/
+	private static final ObjectStreamField[] serialPersistentFields = {
+		new ObjectStreamField("turnStates", SortedMap.class),
+		new ObjectStreamField("nonTurnData", Map.class),
+		new ObjectStreamField("map", dip.world.Map.class)
+	};
+	
 	// constants for non-turn-data lookup
 	private static final String KEY_GLOBAL_DATA = "_global_data_";
 	private static final String KEY_VICTORY_CONDITIONS = "_victory_conditions_";
@@ -64,25 +91,54 @@ public class World implements Serializable
 	private static final String KEY_VARIANT_INFO = "_variant_info_";
 	
 	// instance variables
-	private SortedMap 				turnStates = null;			// turn data
+	private transient volatile History	history = History.EMPTY;	// turn data
 	private Map 					nonTurnData = null;			// non-turn data (misc data & per-player data)
-	private final dip.world.Map		map;						// the actual map (constant)
+	private dip.world.Map			map;						// the actual map (constant)
 	
 	
 	/**
-	*	Reads a World object from a file.
+	*	Reads a World object from a file. The format (XML, binary, a journal,
+	*	or an archive; see save(), WorldJournal, and WorldArchive) is detected 
+	*	automatically.
 	*/
 	public static World open(File file)
 	throws IOException
 	{
+		InputStream is = null;
 		JSX.ObjectReader in = null;
 		
 		try
 		{
-			GZIPInputStream gzi = new GZIPInputStream(new BufferedInputStream(new FileInputStream(file), 4096));
+			is = new BufferedInputStream(new FileInputStream(file), 4096);
+			
+			// detect the format
+			final byte[] header = new byte[WorldCodec.getHeaderLength()];
+			is.mark(header.length);
+			int nRead = 0;
+			int n = 0;
+			while(nRead < header.length && (n = is.read(header, nRead, header.length - nRead)) >= 0)
+			{
+				nRead += n;
+			}
+			is.reset();
+			
+			if(WorldCodec.isBinary(header, nRead))
+			{
+				return WorldCodec.read(is);
+			}
+			else if(WorldJournal.isJournal(header, nRead))
+			{
+				return WorldJournal.read(is);
+			}
+			else if(WorldArchive.isArchive(header, nRead))
+			{
+				return WorldArchive.open(file);
+			}
+			
+			GZIPInputStream gzi = new GZIPInputStream(is);
 			in =  new JSX.ObjectReader(gzi);
 			World w = (World) in.readObject();
-			return (World) w;
+			return w;
 		}
 		catch(IOException ioe)
 		{
@@ -100,17 +156,43 @@ public class World implements Serializable
 			if(in != null)
 			{
 				in.close();
-			}	
+			}
+			else if(is != null)
+			{
+				is.close();
+			}
 		}
 	}// open()
 	
 	
 	/**
-	*	Saves a World object to a file.
+	*	Saves a World object to a file, in the (GZIP compressed)
+	*	XML format.
 	*/
 	public static void save(File file, World world)
 	throws IOException
 	{
+		save(file, world, false);
+	}// save()
+	
+	
+	/**
+	*	Saves a World object to a file, in either the (GZIP compressed) 
+	*	XML format, or a binary format. The binary format is much smaller, 
+	*	and much faster to save and open, but cannot be opened by earlier 
+	*	versions. Either format may be opened by open().
+	*/
+	public static void save(File file, World world, boolean isBinary)
+	throws IOException
+	{
+		world.detachArchive(file);
+		
+		if(isBinary)
+		{
+			saveBinary(file, world);
+			return;
+		}
+		
 		GZIPOutputStream gzos = null;
 		
 		try
@@ -143,6 +225,28 @@ public class World implements Serializable
 	}// save()
 	
 	
+	/** Saves a World object to a file, in binary format (see WorldCodec). */
+	private static void saveBinary(File file, World world)
+	throws IOException
+	{
+		OutputStream os = null;
+		
+		try
+		{
+			os = new BufferedOutputStream(new FileOutputStream(file), 8192);
+			WorldCodec.write(world, os);
+			os.flush();
+		}
+		finally
+		{
+			if(os != null)
+			{
+				os.close();
+			}
+		}
+	}// saveBinary()
+	
+	
 	
 	
 	
@@ -153,7 +257,6 @@ public class World implements Serializable
 	protected World(dip.world.Map map)
 	{
 		this.map = map;
-		turnStates = Collections.synchronizedSortedMap(new TreeMap());	// synchronize on TreeMap
 		nonTurnData = new HashMap(17);
 	}// World()
 	
@@ -210,38 +313,59 @@ public class World implements Serializable
 	}// getVictoryConditions()	
 	
 	
-	/** Gets the first TurnState object */
+	/** 
+	*	Gets the first TurnState object 
+	*
+	*	@throws NoSuchElementException if there are no TurnStates
+	*/
 	public TurnState getInitialTurnState()
 	{
-		TurnState ts = (TurnState) turnStates.get(turnStates.firstKey());
-		if(ts != null)
+		final History h = history;
+		if(h.phases.length == 0)
 		{
-			ts.setWorld(this);
+			throw new NoSuchElementException();
 		}
-		return ts;
+		
+		return getTurnState(h, 0);
 	}// getInitialTurnState()
 	
 	
-	/** Gets the most current (last in the list) TurnState. */
+	/** 
+	*	Gets the most current (last in the list) TurnState. 
+	*
+	*	@throws NoSuchElementException if there are no TurnStates
+	*/
 	public TurnState getLastTurnState()
 	{
-		TurnState ts = (TurnState) turnStates.get(turnStates.lastKey());
-		if(ts != null)
+		final History h = history;
+		if(h.phases.length == 0)
 		{
-			ts.setWorld(this);
+			throw new NoSuchElementException();
 		}
-		return ts;
+		
+		return getTurnState(h, h.phases.length - 1);
 	}// getLastTurnState()
 	
 	
 	/** Gets the TurnState associated with the specified Phase */
 	public TurnState getTurnState(Phase phase)
 	{
-		TurnState ts = (TurnState) turnStates.get(phase);
-		if(ts != null)
-		{
-			ts.setWorld(this);
-		}
+		final History h = history;
+		final int idx = h.indexOf(phase);
+		return (idx < 0) ? null : getTurnState(h, idx);
+	}// getTurnState()
+	
+	
+	/** 
+	*	Gets the TurnState at the given History index (reading it from 
+	*	the archive, if required), and sets its World. 
+	*/
+	private TurnState getTurnState(History h, int idx)
+	{
+		final Object obj = h.turnStates[idx];
+		final TurnState ts = (obj instanceof TurnState) ? (TurnState) obj 
+			: ((WorldArchive.Entry) obj).getTurnState(this);
+		ts.setWorld(this);
 		return ts;
 	}// getTurnState()
 	
@@ -260,46 +384,27 @@ public class World implements Serializable
 			return null;
 		}
 		
-		Phase next = null;
-		Iterator iter = turnStates.keySet().iterator();
-		while(iter.hasNext())
-		{
-			Phase phase = (Phase) iter.next();
-			if(current.compareTo(phase) == 0)
-			{
-				if(iter.hasNext())
-				{
-					next = (Phase) iter.next();
-				}
-				
-				break;
-			}
-		}
-		
-		if(next == null)
+		final History h = history;
+		final int idx = h.indexOf(current);
+		if(idx < 0 || idx + 1 >= h.phases.length)
 		{
 			return null;
 		}
 		
-		TurnState ts = (TurnState) turnStates.get(next);
-		ts.setWorld(this);
-		return ts;
+		return getTurnState(h, idx + 1);
 	}// getNextTurnState()
 	
 	
 	/**
-	*	Get all TurnStates. Note that the returned List
-	*	may be modified, without modifications being reflected
-	*	in the World object. However, modifications to individual
-	*	TurnState objects will be reflected in the World object
-	*	(TurnStates are not cloned here).
+	*	Get all TurnStates, in Phase order. The returned List is an
+	*	unmodifiable view of the TurnStates at the time of the call; 
+	*	TurnStates later set or removed are not reflected. However, 
+	*	modifications to individual TurnState objects will be reflected 
+	*	in the World object (TurnStates are not cloned here).
 	*/
 	public List getAllTurnStates()
 	{
-		Collection values = turnStates.values();
-		ArrayList al = new ArrayList(values.size());
-		al.addAll(values);
-		return al;
+		return new TurnStateList(history);
 	}// getAllTurnStates()
 	
 	
@@ -307,7 +412,9 @@ public class World implements Serializable
 	*	<p>
 	*	Note that the previous phase may not be (due to phase skipping) the
 	*	same phase generated by phase.getPrevious(). This will return null
-	*	iff we are at the first (initial) Phase.
+	*	iff we are at the first (initial) Phase. If the TurnState is not
+	*	in this World, the TurnState with the closest preceding Phase is 
+	*	returned.
 	*/
 	public TurnState getPreviousTurnState(TurnState state)
 	{
@@ -318,36 +425,27 @@ public class World implements Serializable
 		}
 		
 		
-		Phase previous = null;
-		Iterator iter = turnStates.keySet().iterator();
-		while(iter.hasNext())
+		final History h = history;
+		int idx = h.indexOf(current);
+		if(idx < 0)
 		{
-			Phase phase = (Phase) iter.next();
-			if(phase.compareTo(current) != 0)
-			{
-				previous = phase;
-			}
-			else
-			{
-				break;
-			}
+			// not found; use the insertion point
+			idx = -(idx + 1);
 		}
 		
-		if(previous == null)
+		if(idx == 0)
 		{
 			return null;
 		}
 		
-		TurnState ts = (TurnState) turnStates.get(previous);
-		ts.setWorld(this);
-		return ts;
+		return getTurnState(h, idx - 1);
 	}// getPreviousTurnState()
 	
 	
 	/** If a TurnState with the given phase already exists, it is replaced. */
-	public void setTurnState(TurnState turnState)
+	public synchronized void setTurnState(TurnState turnState)
 	{
-		turnStates.put(turnState.getPhase(), turnState);
+		history = history.put(turnState);
 	}// setTurnState()
 	
 	
@@ -355,23 +453,133 @@ public class World implements Serializable
 	*	Removes a turnstate from the world. This should 
 	*	be used with caution!
 	*/
-	public void removeTurnState(TurnState turnState)
+	public synchronized void removeTurnState(TurnState turnState)
 	{
-		turnStates.remove(turnState.getPhase());
+		history = history.remove(turnState.getPhase());
 	}// removeTurnState()
 	
 	
 	/** Removes <b>all</b> TurnStates from the World. */
-	public void removeAllTurnStates()
+	public synchronized void removeAllTurnStates()
 	{
-		turnStates.clear();
+		history = History.EMPTY;
 	}// removeAllTurnStates()
 	
 	
-	/** returns sorted (ascending) set of all Phases */
+	/**
+	*	Replaces all TurnStates and non-turn data; used by WorldCodec.
+	*	The TurnStates must be in ascending Phase order.
+	*
+	*	@throws IllegalArgumentException if TurnStates are not in order
+	*/
+	synchronized void restore(TurnState[] turnStates, Map nonTurnData)
+	{
+		history = History.fromArray(turnStates);
+		this.nonTurnData = nonTurnData;
+	}// restore()
+	
+	
+	/**
+	*	Replaces all TurnStates with entries of an archive, and the non-turn
+	*	data; used by WorldArchive. The Phases must be in ascending order.
+	*
+	*	@throws IllegalArgumentException if Phases are not in order
+	*/
+	synchronized void restore(Phase[] phases, WorldArchive.Entry[] entries, Map nonTurnData)
+	{
+		history = History.fromEntries(phases, entries);
+		this.nonTurnData = nonTurnData;
+	}// restore()
+	
+	
+	/**
+	*	Reads, and keeps, all TurnStates that are held in an archive of the 
+	*	given file. This must be done before the file is replaced or deleted
+	*	(e.g., a recovered autosave file), while the World is in use.
+	*/
+	public synchronized void detachArchive(File file)
+	{
+		final History h = history;
+		Object[] turnStates = null;
+		for(int i=0; i<h.turnStates.length; i++)
+		{
+			if(h.turnStates[i] instanceof WorldArchive.Entry
+				&& ((WorldArchive.Entry) h.turnStates[i]).isOfFile(file))
+			{
+				if(turnStates == null)
+				{
+					turnStates = (Object[]) h.turnStates.clone();
+				}
+				
+				turnStates[i] = getTurnState(h, i);
+			}
+		}
+		
+		if(turnStates != null)
+		{
+			history = new History(h.phases, turnStates);
+		}
+	}// detachArchive()
+	
+	
+	/**
+	*	Gets the Phase at the given index of a List returned by
+	*	getAllTurnStates(), without reading its TurnState from the
+	*	archive; used by WorldArchive.
+	*/
+	static Phase getPhase(List turnStates, int idx)
+	{
+		return ((TurnStateList) turnStates).h.phases[idx];
+	}// getPhase()
+	
+	
+	/**
+	*	Gets the TurnState at the given index of a List returned by
+	*	getAllTurnStates(), if it is in memory; null if it is held in an
+	*	archive, and has not been read (or has been discarded). Used by
+	*	WorldArchive.
+	*/
+	static TurnState peekTurnState(List turnStates, int idx)
+	{
+		final Object obj = ((TurnStateList) turnStates).h.turnStates[idx];
+		return (obj instanceof TurnState) ? (TurnState) obj
+			: ((WorldArchive.Entry) obj).peekTurnState();
+	}// peekTurnState()
+	
+	
+	/**
+	*	Gets the archive Entry at the given index of a List returned by
+	*	getAllTurnStates(); null if the TurnState is not held in an archive.
+	*	Used by WorldArchive.
+	*/
+	static WorldArchive.Entry getArchiveEntry(List turnStates, int idx)
+	{
+		final Object obj = ((TurnStateList) turnStates).h.turnStates[idx];
+		return (obj instanceof WorldArchive.Entry) ? (WorldArchive.Entry) obj : null;
+	}// getArchiveEntry()
+	
+	
+	/** Returns the non-turn data (not a copy); used by WorldCodec. */
+	Map getNonTurnData()
+	{
+		return nonTurnData;
+	}// getNonTurnData()
+	
+	
+	/** Replaces the non-turn data; used by WorldJournal. */
+	synchronized void setNonTurnData(Map nonTurnData)
+	{
+		this.nonTurnData = nonTurnData;
+	}// setNonTurnData()
+	
+	
+	/** 
+	*	Returns sorted (ascending) set of all Phases. The returned Set
+	*	is an unmodifiable view of the Phases at the time of the call.
+	*/
 	public Set getPhaseSet()
 	{
-		return turnStates.keySet();
+		return history.getPhaseSet();
 	}// getPhaseSet()
 	
 	
@@ -509,8 +717,10 @@ public class World implements Serializable
 	*	Variant Info is a class which holds information about 
 	*	the variant, map, symbols, and symbol options.
 	*/
-	public static class VariantInfo
+	public static class VariantInfo implements Serializable
 	{
+		private static final long serialVersionUID = 1L;
+		
 		private String variantName;
 		private String mapName;
 		private String symbolsName;
@@ -577,4 +787,239 @@ public class World implements Serializable
 	}// nested class VariantInfo
 	
 	
+	/**
+	*	An immutable history of TurnStates, sorted by Phase. Setting or 
+	*	removing a TurnState creates a new History.
+	*/
+	private static final class History
+	{
+		private static final History EMPTY = new History(new Phase[0], new Object[0]);
+		
+		private final Phase[] phases;			// ascending
+		private final Object[] turnStates;		// TurnState or WorldArchive.Entry with Phase phases[i]
+		private Set phaseSet = null;			// created on demand
+		
+		
+		private History(Phase[] phases, Object[] turnStates)
+		{
+			this.phases = phases;
+			this.turnStates = turnStates;
+		}// History()
+		
+		
+		/** 
+		*	Returns the index of the Phase, or, if not found, 
+		*	(-(insertion point) - 1), as per Arrays.binarySearch().
+		*/
+		public int indexOf(Phase phase)
+		{
+			return Arrays.binarySearch(phases, phase);
+		}// indexOf()
+		
+		
+		/** Returns a History with the given TurnState added or replaced */
+		public History put(TurnState ts)
+		{
+			final Phase phase = ts.getPhase();
+			int idx = indexOf(phase);
+			if(idx >= 0)
+			{
+				Phase[] newPhases = (Phase[]) phases.clone();
+				Object[] newTurnStates = (Object[]) turnStates.clone();
+				newPhases[idx] = phase;
+				newTurnStates[idx] = ts;
+				return new History(newPhases, newTurnStates);
+			}
+			
+			idx = -(idx + 1);
+			Phase[] newPhases = new Phase[phases.length + 1];
+			Object[] newTurnStates = new Object[phases.length + 1];
+			System.arraycopy(phases, 0, newPhases, 0, idx);
+			System.arraycopy(turnStates, 0, newTurnStates, 0, idx);
+			newPhases[idx] = phase;
+			newTurnStates[idx] = ts;
+			System.arraycopy(phases, idx, newPhases, idx + 1, phases.length - idx);
+			System.arraycopy(turnStates, idx, newTurnStates, idx + 1, phases.length - idx);
+			return new History(newPhases, newTurnStates);
+		}// put()
+		
+		
+		/** Returns a History without the given Phase */
+		public History remove(Phase phase)
+		{
+			final int idx = indexOf(phase);
+			if(idx < 0)
+			{
+				return this;
+			}
+			
+			Phase[] newPhases = new Phase[phases.length - 1];
+			Object[] newTurnStates = new Object[phases.length - 1];
+			System.arraycopy(phases, 0, newPhases, 0, idx);
+			System.arraycopy(turnStates, 0, newTurnStates, 0, idx);
+			System.arraycopy(phases, idx + 1, newPhases, idx, phases.length - idx - 1);
+			System.arraycopy(turnStates, idx + 1, newTurnStates, idx, phases.length - idx - 1);
+			return new History(newPhases, newTurnStates);
+		}// remove()
+		
+		
+		/** An unmodifiable (ascending) Set view of the Phases */
+		public Set getPhaseSet()
+		{
+			Set set = phaseSet;
+			if(set == null)
+			{
+				final List list = Collections.unmodifiableList(Arrays.asList(phases));
+				set = new AbstractSet()
+				{
+					public Iterator iterator()
+					{
+						return list.iterator();
+					}// iterator()
+					
+					public int size()
+					{
+						return list.size();
+					}// size()
+					
+					public boolean contains(Object obj)
+					{
+						return (obj instanceof Phase && indexOf((Phase) obj) >= 0);
+					}// contains()
+				};
+				
+				phaseSet = set;
+			}
+			
+			return set;
+		}// getPhaseSet()
+		
+		
+		/** 
+		*	The TurnStates, of the given World, as a SortedMap of Phase to 
+		*	TurnState (as serialized). 
+		*/
+		public SortedMap toMap(World world)
+		{
+			SortedMap sm = new TreeMap();
+			for(int i=0; i<phases.length; i++)
+			{
+				sm.put(phases[i], world.getTurnState(this, i));
+			}
+			
+			return Collections.synchronizedSortedMap(sm);
+		}// toMap()
+		
+		
+		/** Create a History from a SortedMap of Phase to TurnState */
+		public static History fromMap(SortedMap sm)
+		{
+			if(sm == null || sm.isEmpty())
+			{
+				return EMPTY;
+			}
+			
+			synchronized(sm)
+			{
+				Phase[] phases = (Phase[]) sm.keySet().toArray(new Phase[sm.size()]);
+				Object[] turnStates = sm.values().toArray();
+				return new History(phases, turnStates);
+			}
+		}// fromMap()
+		
+		
+		/** 
+		*	A History of the given TurnStates, which must be in ascending 
+		*	Phase order. The array is not copied.
+		*/
+		public static History fromArray(TurnState[] turnStates)
+		{
+			final Phase[] phases = new Phase[turnStates.length];
+			for(int i=0; i<turnStates.length; i++)
+			{
+				phases[i] = turnStates[i].getPhase();
+				if(i > 0 && phases[i-1].compareTo(phases[i]) >= 0)
+				{
+					throw new IllegalArgumentException("TurnStates not in Phase order");
+				}
+			}
+			
+			return new History(phases, turnStates);
+		}// fromArray()
+		
+		
+		/** 
+		*	A History of the given archive entries, whose Phases (which must 
+		*	be in ascending order) are given. The arrays are not copied.
+		*/
+		public static History fromEntries(Phase[] phases, WorldArchive.Entry[] entries)
+		{
+			for(int i=1; i<phases.length; i++)
+			{
+				if(phases[i-1].compareTo(phases[i]) >= 0)
+				{
+					throw new IllegalArgumentException("Phases not in order");
+				}
+			}
+			
+			final Object[] turnStates = new Object[entries.length];
+			System.arraycopy(entries, 0, turnStates, 0, entries.length);
+			return new History(phases, turnStates);
+		}// fromEntries()
+	}// nested class History
+	
+	
+	/** 
+	*	An unmodifiable List view of the TurnStates of a History; 
+	*	TurnStates are read from the archive, if required, when accessed. 
+	*/
+	private final class TurnStateList extends AbstractList implements RandomAccess
+	{
+		private final History h;
+		
+		public TurnStateList(History h)
+		{
+			this.h = h;
+		}// TurnStateList()
+		
+		public Object get(int idx)
+		{
+			if(idx < 0 || idx >= h.turnStates.length)
+			{
+				throw new IndexOutOfBoundsException(String.valueOf(idx));
+			}
+			
+			return getTurnState(h, idx);
+		}// get()
+		
+		public int size()
+		{
+			return h.turnStates.length;
+		}// size()
+	}// inner class TurnStateList
+	
+	
+	/** Serialize, in the same form as earlier versions. */
+	private void writeObject(ObjectOutputStream out)
+	throws IOException
+	{
+		ObjectOutputStream.PutField fields = out.putFields();
+		fields.put("turnStates", history.toMap(this));
+		fields.put("nonTurnData", nonTurnData);
+		fields.put("map", map);
+		out.writeFields();
+	}// writeObject()
+	
+	
+	/** Deserialize; TurnStates are read into a History. */
+	private void readObject(ObjectInputStream in)
+	throws IOException, ClassNotFoundException
+	{
+		ObjectInputStream.GetField fields = in.readFields();
+		history = History.fromMap( (SortedMap) fields.get("turnStates", null) );
+		nonTurnData = (Map) fields.get("nonTurnData", null);
+		map = (dip.world.Map) fields.get("map", null);
+	}// readObject()
+	
+	
 }// class World
@@ -0,0 +1,776 @@
+//
+//  @(#)WorldArchive.java		10/2026
+//
+//  Copyright 2026 the jDip development team. All rights reserved.
+//  Use is subject to license terms.
+//
+//
+//  This program is free software; you can redistribute it and/or modify
+//  it under the terms of the GNU General Public License as published by
+//  the Free Software Foundation; either version 2 of the License, or
+//  (at your option) any later version.
+//
+//  This program is distributed in the hope that it will be useful,
+//  but WITHOUT ANY WARRANTY; without even the implied warranty of
+//  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//  GNU General Public License for more details.
+//
+//  You should have received a copy of the GNU General Public License
+//  along with this program; if not, write to the Free Software
+//  Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+//  Or from http://www.gnu.org/
+//
+package dip.world;
+
+import java.io.*;
+import java.lang.ref.SoftReference;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+*	A random-access World archive. Each TurnState of the World is stored
+*	separately, and an index of the Phases (and where their TurnStates
+*	are stored) is written at the end of the archive. Opening an archive
+*	reads only the Map, the non-turn data, and the index; TurnStates are
+*	read when they are first required (by World.getTurnState(),
+*	getLastTurnState(), getAllTurnStates(), etc.), with positional
+*	FileChannel reads.
+*	<p>
+*	TurnStates that have been read are kept by soft references, and
+*	the most recently used are also kept by strong references; so,
+*	if memory is low, resolved TurnStates that have not been used
+*	recently (and are not otherwise referred to) may be discarded, and
+*	read again when next required. These TurnStates are never discarded:
+*	those that are not resolved (whose orders may be changed in place);
+*	those that have been changed since read (see 
+*	TurnState.getModificationCount(); e.g., when a resolution is undone);
+*	and those whose orders or result Lists are referred to by the non-turn
+*	data (e.g., the undo history) when the archive is opened.
+*	<p>
+*	An archive is written to a new file, which then replaces the file.
+*	A World opened from an archive reads all of its TurnStates before
+*	the archive is replaced by saving the World (in any format) to the
+*	same file. The archive must not otherwise be modified while a World
+*	opened from it is in use; if it is, an IllegalStateException is
+*	thrown when a TurnState is next read.
+*	<p>
+*	A World may also be saved from a Snapshot (see snapshot()), which
+*	may then be saved by another thread while the World is in use.
+*	<p>
+*	The archive layout is:
+*	<ol>
+*		<li>header: MAGIC, and a version byte;
+*		<li>blocks (each deflated, see WorldCodec): each TurnState, the Map,
+*			and the non-turn data;
+*		<li>the index: the offset, length, and CRC-32 checksum of each
+*			block, and the Phases;
+*		<li>trailer: the offset, length, and checksum of the index, and MAGIC.
+*	</ol>
+*/
+public class WorldArchive
+{
+	/** The default number of recently-used TurnStates that are always kept */
+	public static final int DEFAULT_CACHE_SIZE = 8;
+	
+	/** First and last bytes of an archive; cannot be confused with other formats. */
+	private static final byte[] MAGIC = { 'j', 'D', 'W', 'A' };
+	
+	/** The format version written. */
+	private static final int VERSION = 1;
+	
+	/** Header: MAGIC and version */
+	private static final int HEADER_LENGTH = MAGIC.length + 1;
+	
+	/** Trailer: index offset, length, and checksum; and MAGIC */
+	private static final int TRAILER_LENGTH = 16 + MAGIC.length;
+	
+	// instance variables
+	private final File file;
+	private final long fileLength;
+	private final long lastModified;
+	private final long[] offsets;		// TurnState blocks
+	private final int[] lengths;
+	private final int[] checksums;
+	private final SoftReference[] cache;
+	private final TurnState[] pinned;	// TurnStates that are never discarded
+	private final LinkedHashMap recent;	// Integer index -> TurnState, in access order
+	
+	
+	/**
+	*	Saves a World as an archive. The archive is written to a new
+	*	file, which then replaces the given file.
+	*/
+	public static void save(File file, World world)
+	throws IOException
+	{
+		snapshot(world).save(file);
+	}// save()
+	
+	
+	/**
+	*	Takes a Snapshot of a World, which may later be saved as an archive
+	*	(by any thread), without regard to later changes to the World.
+	*	<p>
+	*	Any TurnState in memory may be changed (for example, a resolved 
+	*	TurnState is set as not resolved, and its results cleared, when its
+	*	resolution is undone); so each is copied now (see 
+	*	TurnState.copyState()), which is cheap, and the copies are encoded
+	*	when the Snapshot is saved. TurnStates that are held in an archive,
+	*	and have not been read, are read again from the archive (which does
+	*	not change) when the Snapshot is saved. Only the non-turn data is 
+	*	encoded now. The World must not be modified during this call; the 
+	*	GameSetup, if any, should be updated first.
+	*/
+	public static Snapshot snapshot(World world)
+	throws IOException
+	{
+		return new Snapshot(world);
+	}// snapshot()
+	
+	
+	/**
+	*	Opens a World from an archive. TurnStates are read when required;
+	*	DEFAULT_CACHE_SIZE recently-used TurnStates are always kept.
+	*
+	*	@throws StreamCorruptedException if the file is not a valid archive
+	*/
+	public static World open(File file)
+	throws IOException
+	{
+		return open(file, DEFAULT_CACHE_SIZE);
+	}// open()
+	
+	
+	/**
+	*	Opens a World from an archive. TurnStates are read when required;
+	*	the given number of recently-used TurnStates are always kept.
+	*
+	*	@throws StreamCorruptedException if the file is not a valid archive
+	*/
+	public static World open(File file, int cacheSize)
+	throws IOException
+	{
+		if(cacheSize < 0)
+		{
+			throw new IllegalArgumentException("cacheSize < 0");
+		}
+		
+		final RandomAccessFile raf = new RandomAccessFile(file, "r");
+		try
+		{
+			final FileChannel channel = raf.getChannel();
+			final long fileLength = channel.size();
+			final long lastModified = file.lastModified();
+			if(fileLength < HEADER_LENGTH + TRAILER_LENGTH)
+			{
+				throw new StreamCorruptedException("not a World archive");
+			}
+			
+			// header and trailer
+			final DataInputStream header = new DataInputStream(new ByteArrayInputStream(
+				read(channel, 0L, HEADER_LENGTH)));
+			final DataInputStream trailer = new DataInputStream(new ByteArrayInputStream(
+				read(channel, fileLength - TRAILER_LENGTH, TRAILER_LENGTH)));
+			
+			final byte[] magic = new byte[MAGIC.length];
+			header.readFully(magic);
+			if(!isArchive(magic, magic.length))
+			{
+				throw new StreamCorruptedException("not a World archive");
+			}
+			
+			final int version = header.readUnsignedByte();
+			if(version > VERSION)
+			{
+				throw new InvalidClassException(World.class.getName(),
+					"archive format version "+version+" is not supported");
+			}
+			
+			final long indexOffset = trailer.readLong();
+			final int indexLength = trailer.readInt();
+			final int indexChecksum = trailer.readInt();
+			trailer.readFully(magic);
+			if(!isArchive(magic, magic.length) || !isValidBlock(indexOffset, indexLength, fileLength))
+			{
+				throw new StreamCorruptedException("World archive has no index");
+			}
+			
+			// index
+			final DataInputStream index = new DataInputStream(new ByteArrayInputStream(
+				readBlock(channel, indexOffset, indexLength, indexChecksum)));
+			final int nTurnStates = index.readInt();
+			if(nTurnStates < 0 || nTurnStates > indexLength / 16)
+			{
+				throw new StreamCorruptedException("bad TurnState count: "+nTurnStates);
+			}
+			
+			final long[] offsets = new long[nTurnStates + 2];
+			final int[] lengths = new int[nTurnStates + 2];
+			final int[] checksums = new int[nTurnStates + 2];
+			for(int i=0; i<offsets.length; i++)
+			{
+				offsets[i] = index.readLong();
+				lengths[i] = index.readInt();
+				checksums[i] = index.readInt();
+				if(!isValidBlock(offsets[i], lengths[i], indexOffset))
+				{
+					throw new StreamCorruptedException("bad World archive index");
+				}
+			}
+			
+			// Map
+			final byte[] mapData = readBlock(channel, offsets[nTurnStates],
+				lengths[nTurnStates], checksums[nTurnStates]);
+			final World world = new World(WorldCodec.decodeMap(mapData, 0, mapData.length));
+			
+			// Phases
+			final byte[] phaseData = new byte[index.readInt()];
+			index.readFully(phaseData);
+			final Phase[] phases = (Phase[]) WorldCodec.decodeObject(world, phaseData, 0, phaseData.length);
+			if(phases.length != nTurnStates)
+			{
+				throw new StreamCorruptedException("bad World archive index");
+			}
+			
+			// TurnStates (which are not yet read), then the non-turn data, which may refer to them
+			final WorldArchive archive = new WorldArchive(file, fileLength, lastModified,
+				offsets, lengths, checksums, cacheSize);
+			final WorldArchive.Entry[] entries = new WorldArchive.Entry[nTurnStates];
+			for(int i=0; i<nTurnStates; i++)
+			{
+				entries[i] = new Entry(archive, i);
+			}
+			
+			try
+			{
+				world.restore(phases, entries, new HashMap(17));
+			}
+			catch(IllegalArgumentException e)
+			{
+				throw new StreamCorruptedException(e.getMessage());
+			}
+			
+			final byte[] ntdData = readBlock(channel, offsets[nTurnStates + 1],
+				lengths[nTurnStates + 1], checksums[nTurnStates + 1]);
+			world.setNonTurnData( (Map) WorldCodec.decodeObject(world, ntdData, 0, ntdData.length) );
+			
+			// TurnStates read by now are referred to by the non-turn data
+			archive.pinRead();
+			return world;
+		}
+		catch(ClassNotFoundException e)
+		{
+			IOException ioe = new InvalidClassException(e.getMessage());
+			ioe.initCause(e);
+			throw ioe;
+		}
+		catch(ClassCastException e)
+		{
+			IOException ioe = new StreamCorruptedException("bad World archive");
+			ioe.initCause(e);
+			throw ioe;
+		}
+		finally
+		{
+			raf.close();
+		}
+	}// open()
+	
+	
+	/** Determines if the given bytes (the start of a file) begin an archive. */
+	static boolean isArchive(byte[] header, int length)
+	{
+		if(length < MAGIC.length)
+		{
+			return false;
+		}
+		
+		for(int i=0; i<MAGIC.length; i++)
+		{
+			if(header[i] != MAGIC[i])
+			{
+				return false;
+			}
+		}
+		
+		return true;
+	}// isArchive()
+	
+	
+	/** Create a WorldArchive, for reading the TurnStates of an archive */
+	private WorldArchive(File file, long fileLength, long lastModified,
+		long[] offsets, int[] lengths, int[] checksums, int cacheSize)
+	{
+		this.file = file;
+		this.fileLength = fileLength;
+		this.lastModified = lastModified;
+		this.offsets = offsets;
+		this.lengths = lengths;
+		this.checksums = checksums;
+		this.cache = new SoftReference[offsets.length];
+		this.pinned = new TurnState[offsets.length];
+		
+		final int maxRecent = cacheSize;
+		this.recent = new LinkedHashMap(16, 0.75f, true)
+		{
+			protected boolean removeEldestEntry(Map.Entry eldest)
+			{
+				return (size() > maxRecent);
+			}// removeEldestEntry()
+		};
+	}// WorldArchive()
+	
+	
+	/**
+	*	Gets a TurnState; it is read if it has not been read, or has been
+	*	discarded.
+	*
+	*	@throws IllegalStateException if the TurnState cannot be read
+	*/
+	private synchronized TurnState getTurnState(Entry entry, World world)
+	{
+		final int idx = entry.index;
+		TurnState ts = (cache[idx] == null) ? null : (TurnState) cache[idx].get();
+		if(ts == null)
+		{
+			ts = readTurnState(idx, world);
+			ts.setArchiveEntry(entry);
+			cache[idx] = new SoftReference(ts);
+			if(!ts.isResolved())
+			{
+				pinned[idx] = ts;
+			}
+		}
+		
+		recent.put(new Integer(idx), ts);
+		
+		return ts;
+	}// getTurnState()
+	
+	
+	/** 
+	*	Keeps a TurnState that has been changed, so that it is not 
+	*	discarded; unless it has already been replaced by a TurnState
+	*	read again.
+	*/
+	private synchronized void pin(int idx, TurnState ts)
+	{
+		if(cache[idx] != null && cache[idx].get() == ts)
+		{
+			pinned[idx] = ts;
+		}
+	}// pin()
+	
+	
+	/** Keeps all TurnStates that have been read, so that they are not discarded. */
+	private synchronized void pinRead()
+	{
+		for(int i=0; i<cache.length; i++)
+		{
+			final TurnState ts = (cache[i] == null) ? null : (TurnState) cache[i].get();
+			if(ts != null)
+			{
+				pinned[i] = ts;
+			}
+		}
+	}// pinRead()
+	
+	
+	/** Gets a TurnState, if it is in memory; otherwise, null. */
+	private synchronized TurnState peekTurnState(int idx)
+	{
+		if(pinned[idx] != null)
+		{
+			return pinned[idx];
+		}
+		
+		return (cache[idx] == null) ? null : (TurnState) cache[idx].get();
+	}// peekTurnState()
+	
+	
+	/** Reads a TurnState from the archive */
+	private TurnState readTurnState(int idx, World world)
+	{
+		try
+		{
+			if(file.length() != fileLength || file.lastModified() != lastModified)
+			{
+				throw new IOException("archive has been modified: "+file);
+			}
+			
+			final RandomAccessFile raf = new RandomAccessFile(file, "r");
+			try
+			{
+				final byte[] data = readBlock(raf.getChannel(), offsets[idx], lengths[idx], checksums[idx]);
+				return WorldCodec.decodeTurnState(world, data, 0, data.length, null);
+			}
+			finally
+			{
+				raf.close();
+			}
+		}
+		catch(Exception e)
+		{
+			IllegalStateException ise = new IllegalStateException("cannot read TurnState from "+file+": "+e);
+			ise.initCause(e);
+			throw ise;
+		}
+	}// readTurnState()
+	
+	
+	/** Determines if the archive is of the given file */
+	private boolean isOfFile(File f)
+	{
+		try
+		{
+			return file.getCanonicalFile().equals(f.getCanonicalFile());
+		}
+		catch(IOException e)
+		{
+			return file.getAbsoluteFile().equals(f.getAbsoluteFile());
+		}
+	}// isOfFile()
+	
+	
+	/** Writes a block, recording its offset, length, and checksum */
+	private static void writeBlock(CountingOutputStream cos, byte[] data, int idx,
+		long[] offsets, int[] lengths, int[] checksums)
+	throws IOException
+	{
+		offsets[idx] = cos.getCount();
+		lengths[idx] = data.length;
+		checksums[idx] = getChecksum(data, 0, data.length);
+		cos.write(data);
+	}// writeBlock()
+	
+	
+	/** Reads a block, and verifies its checksum */
+	private static byte[] readBlock(FileChannel channel, long offset, int length, int checksum)
+	throws IOException
+	{
+		final byte[] data = read(channel, offset, length);
+		if(getChecksum(data, 0, length) != checksum)
+		{
+			throw new StreamCorruptedException("World archive block at "+offset+" is damaged");
+		}
+		
+		return data;
+	}// readBlock()
+	
+	
+	/** Reads bytes at the given position */
+	private static byte[] read(FileChannel channel, long offset, int length)
+	throws IOException
+	{
+		final byte[] data = new byte[length];
+		final ByteBuffer buffer = ByteBuffer.wrap(data);
+		while(buffer.hasRemaining())
+		{
+			if(channel.read(buffer, offset + buffer.position()) < 0)
+			{
+				throw new EOFException();
+			}
+		}
+		
+		return data;
+	}// read()
+	
+	
+	/** Determines if a block lies within the given limit (after the header) */
+	private static boolean isValidBlock(long offset, int length, long limit)
+	{
+		return (offset >= HEADER_LENGTH && length >= 0 && offset + length <= limit);
+	}// isValidBlock()
+	
+	
+	/** CRC-32 of the given bytes */
+	private static int getChecksum(byte[] data, int offset, int length)
+	{
+		final CRC32 crc = new CRC32();
+		crc.update(data, offset, length);
+		return (int) crc.getValue();
+	}// getChecksum()
+	
+	
+	/**
+	*	A consistent snapshot of a World, which may be saved as an archive;
+	*	see WorldArchive.snapshot(). A Snapshot may be saved by any thread,
+	*	while the World is in use, and may be saved more than once (but
+	*	see save()).
+	*/
+	public static final class Snapshot
+	{
+		private final World world;
+		private final List turnStates;		// as of the snapshot
+		private final TurnState[] copies;	// copies of TurnStates in memory
+		private final List inMemory;		// the copies, in order
+		private final Entry[] archived;		// TurnStates held in an archive, and not read
+		private final byte[] nonTurnData;	// encoded non-turn data
+		private final long time;
+		
+		
+		private Snapshot(World world)
+		throws IOException
+		{
+			this.world = world;
+			this.time = System.currentTimeMillis();
+			this.turnStates = world.getAllTurnStates();
+			
+			final int nTurnStates = turnStates.size();
+			this.copies = new TurnState[nTurnStates];
+			this.archived = new Entry[nTurnStates];
+			
+			// only TurnStates in memory may be referred to by other objects
+			final ArrayList referable = new ArrayList(nTurnStates);
+			this.inMemory = new ArrayList(nTurnStates);
+			for(int i=0; i<nTurnStates; i++)
+			{
+				TurnState ts = World.peekTurnState(turnStates, i);
+				if(ts != null)
+				{
+					referable.add(ts);
+					copies[i] = ts.copyState();
+					inMemory.add(copies[i]);
+				}
+				else
+				{
+					archived[i] = World.getArchiveEntry(turnStates, i);
+				}
+			}
+			
+			// the non-turn data refers to the TurnStates, and their orders and
+			// result Lists, by Phase (see WorldCodec.encodeObject()); thus, also
+			// to those of the copies, which are read in their place.
+			this.nonTurnData = WorldCodec.encodeObject(world, world.getNonTurnData(), referable);
+		}// Snapshot()
+		
+		
+		/** The time (as from System.currentTimeMillis()) the Snapshot was taken. */
+		public long getTime()
+		{
+			return time;
+		}// getTime()
+		
+		
+		/** The number of TurnStates. */
+		public int getTurnStateCount()
+		{
+			return turnStates.size();
+		}// getTurnStateCount()
+		
+		
+		/**
+		*	Saves the Snapshot as an archive. The archive is written to a
+		*	new file, which then replaces the given file. Returns the length
+		*	of the archive, in bytes.
+		*	<p>
+		*	TurnStates that were held in an archive, and not read, when the
+		*	Snapshot was taken are read from the archive (not from the World);
+		*	if that archive has since been replaced, an IOException is thrown.
+		*/
+		public long save(File file)
+		throws IOException
+		{
+			final int nTurnStates = turnStates.size();
+			final Phase[] phases = new Phase[nTurnStates];
+			final long[] offsets = new long[nTurnStates + 2];
+			final int[] lengths = new int[nTurnStates + 2];
+			final int[] checksums = new int[nTurnStates + 2];
+			final long length;
+			
+			final File tmpFile = new File(file.getPath() + ".tmp");
+			final FileOutputStream fos = new FileOutputStream(tmpFile);
+			try
+			{
+				final CountingOutputStream cos = new CountingOutputStream(
+					new BufferedOutputStream(fos, 8192));
+				final DataOutputStream dos = new DataOutputStream(cos);
+				dos.write(MAGIC);
+				dos.write(VERSION);
+				
+				// blocks: TurnStates, then the Map and non-turn data
+				for(int i=0; i<nTurnStates; i++)
+				{
+					phases[i] = World.getPhase(turnStates, i);
+					final byte[] data = (copies[i] != null)
+						? WorldCodec.encodeTurnState(world, copies[i], null, inMemory)
+						: WorldCodec.encodeTurnState(world, readArchived(i), null, Collections.EMPTY_LIST);
+					
+					writeBlock(cos, data, i, offsets, lengths, checksums);
+				}
+				
+				writeBlock(cos, WorldCodec.encodeMap(world.getMap()),
+					nTurnStates, offsets, lengths, checksums);
+				writeBlock(cos, nonTurnData,
+					nTurnStates + 1, offsets, lengths, checksums);
+				
+				// index
+				final ByteArrayOutputStream baos = new ByteArrayOutputStream(1024);
+				final DataOutputStream index = new DataOutputStream(baos);
+				index.writeInt(nTurnStates);
+				for(int i=0; i<offsets.length; i++)
+				{
+					index.writeLong(offsets[i]);
+					index.writeInt(lengths[i]);
+					index.writeInt(checksums[i]);
+				}
+				
+				final byte[] phaseData = WorldCodec.encodeObject(world, phases, Collections.EMPTY_LIST);
+				index.writeInt(phaseData.length);
+				index.write(phaseData);
+				index.flush();
+				
+				final byte[] indexData = baos.toByteArray();
+				final long indexOffset = cos.getCount();
+				dos.write(indexData);
+				
+				// trailer
+				dos.writeLong(indexOffset);
+				dos.writeInt(indexData.length);
+				dos.writeInt(getChecksum(indexData, 0, indexData.length));
+				dos.write(MAGIC);
+				dos.flush();
+				fos.getFD().sync();
+				length = cos.getCount();
+			}
+			finally
+			{
+				fos.close();
+			}
+			
+			// the archive (if any) is about to be replaced
+			world.detachArchive(file);
+			
+			if(!tmpFile.renameTo(file))
+			{
+				// some platforms cannot rename over an existing file
+				file.delete();
+				if(!tmpFile.renameTo(file))
+				{
+					throw new IOException("cannot rename "+tmpFile+" to "+file);
+				}
+			}
+			
+			return length;
+		}// save()
+		
+		
+		/** 
+		*	Reads a TurnState that was held in an archive, and not read, 
+		*	when the Snapshot was taken. The TurnState is not shared with
+		*	the World.
+		*/
+		private TurnState readArchived(int idx)
+		throws IOException
+		{
+			try
+			{
+				return archived[idx].readTurnState(world);
+			}
+			catch(IllegalStateException e)
+			{
+				IOException ioe = new IOException(e.getMessage());
+				ioe.initCause(e);
+				throw ioe;
+			}
+		}// readArchived()
+	}// nested class Snapshot
+	
+	
+	/** A TurnState of a World, held in an archive */
+	static final class Entry
+	{
+		private final WorldArchive archive;
+		private final int index;
+		
+		private Entry(WorldArchive archive, int index)
+		{
+			this.archive = archive;
+			this.index = index;
+		}// Entry()
+		
+		/**
+		*	Gets the TurnState, reading it from the archive if required.
+		*
+		*	@throws IllegalStateException if the TurnState cannot be read
+		*/
+		public TurnState getTurnState(World world)
+		{
+			return archive.getTurnState(this, world);
+		}// getTurnState()
+		
+		/**
+		*	Reads the TurnState from the archive; the TurnState is not kept
+		*	by the archive, and is not returned by getTurnState().
+		*
+		*	@throws IllegalStateException if the TurnState cannot be read
+		*/
+		public TurnState readTurnState(World world)
+		{
+			return archive.readTurnState(index, world);
+		}// readTurnState()
+		
+		/**
+		*	Gets the TurnState, if it is in memory; null if it has not been
+		*	read, or has been discarded.
+		*/
+		public TurnState peekTurnState()
+		{
+			return archive.peekTurnState(index);
+		}// peekTurnState()
+		
+		/** Determines if the archive is of the given file */
+		public boolean isOfFile(File file)
+		{
+			return archive.isOfFile(file);
+		}// isOfFile()
+		
+		/** 
+		*	Called when the TurnState read by getTurnState() is changed; it
+		*	is then never discarded.
+		*/
+		public void setModified(TurnState ts)
+		{
+			archive.pin(index, ts);
+		}// setModified()
+	}// nested class Entry
+	
+	
+	/** An OutputStream that counts the bytes written */
+	private static final class CountingOutputStream extends FilterOutputStream
+	{
+		private long count = 0;
+		
+		public CountingOutputStream(OutputStream out)
+		{
+			super(out);
+		}// CountingOutputStream()
+		
+		public void write(int b)
+		throws IOException
+		{
+			out.write(b);
+			count++;
+		}// write()
+		
+		public void write(byte[] b, int off, int len)
+		throws IOException
+		{
+			out.write(b, off, len);
+			count += len;
+		}// write()
+		
+		public long getCount()
+		{
+			return count;
+		}// getCount()
+	}// nested class CountingOutputStream
+	
+}// class WorldArchive
@@ -0,0 +1,1336 @@
+//
+//  @(#)WorldCodec.java		10/2026
+//
+//  Copyright 2026 the jDip development team. All rights reserved.
+//  Use is subject to license terms.
+//
+//
+//  This program is free software; you can redistribute it and/or modify
+//  it under the terms of the GNU General Public License as published by
+//  the Free Software Foundation; either version 2 of the License, or
+//  (at your option) any later version.
+//
+//  This program is distributed in the hope that it will be useful,
+//  but WITHOUT ANY WARRANTY; without even the implied warranty of
+//  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//  GNU General Public License for more details.
+//
+//  You should have received a copy of the GNU General Public License
+//  along with this program; if not, write to the Free Software
+//  Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+//  Or from http://www.gnu.org/
+//
+package dip.world;
+
+import dip.order.Order;
+import dip.order.OrderCodec;
+import dip.order.result.Result;
+import dip.order.result.ResultCodec;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+*	Reads and writes a World in a compact, versioned, binary format.
+*	This is much smaller, and much faster to read and write, than the
+*	XML format; see World.save() and World.open().
+*	<p>
+*	A binary World consists of a header (MAGIC, and a version byte),
+*	followed by a deflated Java object stream which contains:
+*	<ol>
+*		<li>the Map;
+*		<li>the number of TurnStates, and then each TurnState, in Phase
+*			order: its Phase, flags, Position (see Position.writeState()),
+*			orders (by Power), and results;
+*		<li>the non-turn data (metadata, variant information, etc.).
+*	</ol>
+*	Once the Map has been written, Powers and Provinces are written as
+*	indices into the Map, and the World's TurnStates and Positions (for
+*	example, when referred to by the undo history) as indices into the
+*	TurnStates; Locations are read as the Map's canonical Locations.
+*	The result Lists of TurnStates, when referred to by the non-turn data,
+*	are also written as references, so that (as with orders) the undo
+*	history refers to the TurnState's own List when read.
+*	Strings are written once; equal Strings are written as references
+*	to the first (the object stream acting as the string table).
+*	<p>
+*	Phases, Locations, Units, and the standard Order and Result classes
+*	(see OrderCodec and ResultCodec) are not serialized reflectively; 
+*	their fields are written directly, with Map objects as indices
+*	(see GameDataOutput). Other objects (e.g., the non-turn data) are 
+*	serialized, but the objects above within them are written directly.
+*	<p>
+*	Files with a version later than VERSION are not read. Any change to
+*	the format must increment VERSION.
+*/
+final class WorldCodec
+{
+	/** First bytes of a binary World; cannot be confused with GZIP data. */
+	private static final byte[] MAGIC = { 'j', 'D', 'W', 'B' };
+	
+	/** The format version written. */
+	private static final int VERSION = 1;
+	
+	// buffer size for the deflater/inflater
+	private static final int BUFFER_SIZE = 8192;
+	
+	// TurnState flags
+	private static final int FLAG_SC_OWNER_CHANGED	= 0x01;
+	private static final int FLAG_ENDED				= 0x02;
+	private static final int FLAG_RESOLVED			= 0x04;
+	private static final int FLAG_POSITION			= 0x08;
+	private static final int FLAG_POSITION_DELTA	= 0x10;
+	
+	// Unit.Types, by written index (0 is null); the order must not be changed.
+	private static final Unit.Type[] UNIT_TYPES = {
+		null, Unit.Type.ARMY, Unit.Type.FLEET, Unit.Type.WING, Unit.Type.UNDEFINED };
+	
+	// index of a Power, Province, or Location that is null, or is not of the Map
+	private static final int INDEX_NULL		= -1;
+	private static final int INDEX_OTHER	= -2;
+	
+	
+	/** WorldCodec cannot be instantiated. */
+	private WorldCodec()
+	{
+	}// WorldCodec()
+	
+	
+	/**
+	*	Returns the number of bytes required by isBinary() to
+	*	identify a binary World.
+	*/
+	static int getHeaderLength()
+	{
+		return MAGIC.length;
+	}// getHeaderLength()
+	
+	
+	/**
+	*	Returns true if the given bytes (the start of a file) begin a
+	*	binary World. At least getHeaderLength() bytes are required.
+	*/
+	static boolean isBinary(byte[] header, int length)
+	{
+		if(length < MAGIC.length)
+		{
+			return false;
+		}
+		
+		for(int i=0; i<MAGIC.length; i++)
+		{
+			if(header[i] != MAGIC[i])
+			{
+				return false;
+			}
+		}
+		
+		return true;
+	}// isBinary()
+	
+	
+	/**
+	*	Writes a World, in binary format, to the given stream.
+	*	The stream is not closed.
+	*/
+	static void write(World world, OutputStream os)
+	throws IOException
+	{
+		os.write(MAGIC);
+		os.write(VERSION);
+		
+		final Deflater deflater = new Deflater();
+		try
+		{
+			DeflaterOutputStream dos = new DeflaterOutputStream(os, deflater, BUFFER_SIZE);
+			Output out = new Output(dos, world.getMap());
+			
+			out.writeObject(world.getMap());
+			out.setMapWritten();
+			
+			final List turnStates = world.getAllTurnStates();
+			final int nTurnStates = turnStates.size();
+			for(int i=0; i<nTurnStates; i++)
+			{
+				out.addTurnState((TurnState) turnStates.get(i), new Ref(Ref.TURNSTATE, i), new Ref(Ref.POSITION, i));
+			}
+			
+			out.writeInt(nTurnStates);
+			for(int i=0; i<nTurnStates; i++)
+			{
+				writeTurnState(out, (TurnState) turnStates.get(i), null);
+			}
+			
+			// orders, once written, are written again as back references; result
+			// Lists are written by element (see writeTurnState()), so are not
+			for(int i=0; i<nTurnStates; i++)
+			{
+				out.addContent(((TurnState) turnStates.get(i)).getResultList(), new Ref(Ref.RESULTS, i));
+			}
+			
+			out.writeObject(world.getNonTurnData());
+			out.flush();
+			dos.finish();
+		}
+		finally
+		{
+			deflater.end();
+		}
+	}// write()
+	
+	
+	/**
+	*	Reads a World, in binary format, from the given stream,
+	*	which is not closed.
+	*
+	*	@throws StreamCorruptedException if the data is not a binary World
+	*	@throws InvalidClassException if the data is of a later version
+	*/
+	static World read(InputStream is)
+	throws IOException, ClassNotFoundException
+	{
+		final DataInputStream dis = new DataInputStream(is);
+		final byte[] header = new byte[MAGIC.length];
+		dis.readFully(header);
+		if(!isBinary(header, header.length))
+		{
+			throw new StreamCorruptedException("not a binary World");
+		}
+		
+		final int version = dis.readUnsignedByte();
+		if(version > VERSION)
+		{
+			throw new InvalidClassException(World.class.getName(),
+				"binary format version "+version+" is not supported");
+		}
+		
+		final Inflater inflater = new Inflater();
+		try
+		{
+			Input in = new Input(new InflaterInputStream(is, inflater, BUFFER_SIZE));
+			
+			final dip.world.Map map = (dip.world.Map) in.readObject();
+			in.setMap(map);
+			
+			final World world = new World(map);
+			final int nTurnStates = in.readInt();
+			if(nTurnStates < 0)
+			{
+				throw new StreamCorruptedException("bad TurnState count: "+nTurnStates);
+			}
+			
+			final TurnState[] turnStates = new TurnState[nTurnStates];
+			for(int i=0; i<nTurnStates; i++)
+			{
+				turnStates[i] = readTurnState(in, map, null);
+				turnStates[i].setWorld(world);
+				in.addTurnState(turnStates[i]);
+			}
+			
+			final Map nonTurnData = (Map) in.readObject();
+			
+			try
+			{
+				world.restore(turnStates, nonTurnData);
+			}
+			catch(IllegalArgumentException e)
+			{
+				throw new StreamCorruptedException(e.getMessage());
+			}
+			
+			return world;
+		}
+		finally
+		{
+			inflater.end();
+		}
+	}// read()
+	
+	
+	/** Writes a Map, in binary format, for WorldArchive. */
+	static byte[] encodeMap(dip.world.Map map)
+	throws IOException
+	{
+		final ByteArrayOutputStream baos = new ByteArrayOutputStream(16384);
+		final Deflater deflater = new Deflater();
+		try
+		{
+			DeflaterOutputStream dos = new DeflaterOutputStream(baos, deflater, BUFFER_SIZE);
+			Output out = new Output(dos, map);
+			out.writeObject(map);
+			out.flush();
+			dos.finish();
+		}
+		finally
+		{
+			deflater.end();
+		}
+		
+		return baos.toByteArray();
+	}// encodeMap()
+	
+	
+	/** Reads a Map written by encodeMap(). */
+	static dip.world.Map decodeMap(byte[] data, int offset, int length)
+	throws IOException, ClassNotFoundException
+	{
+		final Inflater inflater = new Inflater();
+		try
+		{
+			Input in = new Input(new InflaterInputStream(
+				new ByteArrayInputStream(data, offset, length), inflater, BUFFER_SIZE));
+			return (dip.world.Map) in.readObject();
+		}
+		finally
+		{
+			inflater.end();
+		}
+	}// decodeMap()
+	
+	
+	/**
+	*	Writes a TurnState, in binary format, for WorldJournal or WorldArchive. The Position
+	*	is written as differences from the given base Position, if any.
+	*	The given TurnStates (which must have distinct Phases) are written
+	*	as references by Phase.
+	*/
+	static byte[] encodeTurnState(World world, TurnState ts, Position base, List turnStates)
+	throws IOException
+	{
+		final ByteArrayOutputStream baos = new ByteArrayOutputStream(1024);
+		final Deflater deflater = new Deflater();
+		try
+		{
+			DeflaterOutputStream dos = new DeflaterOutputStream(baos, deflater, BUFFER_SIZE);
+			Output out = createRecordOutput(dos, world, turnStates);
+			writeTurnState(out, ts, base);
+			out.flush();
+			dos.finish();
+		}
+		finally
+		{
+			deflater.end();
+		}
+		
+		return baos.toByteArray();
+	}// encodeTurnState()
+	
+	
+	/**
+	*	Reads a TurnState written by encodeTurnState(), for the given World.
+	*	The base Position must be equal to the base Position given to
+	*	encodeTurnState(); it is not modified.
+	*/
+	static TurnState decodeTurnState(World world, byte[] data, int offset, int length, Position base)
+	throws IOException, ClassNotFoundException
+	{
+		final Inflater inflater = new Inflater();
+		try
+		{
+			Input in = new Input(new InflaterInputStream(
+				new ByteArrayInputStream(data, offset, length), inflater, BUFFER_SIZE));
+			in.setMap(world.getMap());
+			in.setWorld(world);
+			
+			TurnState ts = readTurnState(in, world.getMap(), base);
+			ts.setWorld(world);
+			return ts;
+		}
+		finally
+		{
+			inflater.end();
+		}
+	}// decodeTurnState()
+	
+	
+	/**
+	*	Writes an object, in binary format, for WorldJournal or WorldArchive. Map objects
+	*	are written as references, as are the given TurnStates (which must
+	*	have distinct Phases), their Positions, orders, and result Lists, by
+	*	Phase. The object must thus be read after the TurnStates, which must
+	*	not have changed.
+	*/
+	static byte[] encodeObject(World world, Object obj, List turnStates)
+	throws IOException
+	{
+		final ByteArrayOutputStream baos = new ByteArrayOutputStream(1024);
+		final Deflater deflater = new Deflater();
+		try
+		{
+			DeflaterOutputStream dos = new DeflaterOutputStream(baos, deflater, BUFFER_SIZE);
+			Output out = createRecordOutput(dos, world, turnStates);
+			addRecordContents(out, world, turnStates);
+			out.writeObject(obj);
+			out.flush();
+			dos.finish();
+		}
+		finally
+		{
+			deflater.end();
+		}
+		
+		return baos.toByteArray();
+	}// encodeObject()
+	
+	
+	/**
+	*	Reads an object written by encodeObject(), for the given World.
+	*	References to TurnStates are resolved to the TurnStates of the World
+	*	with the same Phase.
+	*/
+	static Object decodeObject(World world, byte[] data, int offset, int length)
+	throws IOException, ClassNotFoundException
+	{
+		final Inflater inflater = new Inflater();
+		try
+		{
+			Input in = new Input(new InflaterInputStream(
+				new ByteArrayInputStream(data, offset, length), inflater, BUFFER_SIZE));
+			in.setMap(world.getMap());
+			in.setWorld(world);
+			return in.readObject();
+		}
+		finally
+		{
+			inflater.end();
+		}
+	}// decodeObject()
+	
+	
+	/** Create an Output, for a record, to which the Map has already been written */
+	private static Output createRecordOutput(OutputStream os, World world, List turnStates)
+	throws IOException
+	{
+		final Output out = new Output(os, world.getMap());
+		out.setMapWritten();
+		
+		final int size = turnStates.size();
+		for(int i=0; i<size; i++)
+		{
+			final TurnState ts = (TurnState) turnStates.get(i);
+			out.addTurnState(ts, new PhaseRef(ts.getPhase(), false), new PhaseRef(ts.getPhase(), true));
+		}
+		
+		return out;
+	}// createRecordOutput()
+	
+	
+	/** Add the orders and result Lists of the given TurnStates to an Output, as references by Phase */
+	private static void addRecordContents(Output out, World world, List turnStates)
+	{
+		final dip.world.Map map = world.getMap();
+		final int size = turnStates.size();
+		for(int i=0; i<size; i++)
+		{
+			final TurnState ts = (TurnState) turnStates.get(i);
+			final Phase phase = ts.getPhase();
+			out.addContent(ts.getResultList(), new ContentRef(phase, -1, 0));
+			
+			Iterator iter = ts.getOrderMap().entrySet().iterator();
+			while(iter.hasNext())
+			{
+				final Map.Entry entry = (Map.Entry) iter.next();
+				final int powerIdx = map.getPowerIndex((Power) entry.getKey());
+				if(powerIdx >= 0)
+				{
+					final List orders = (List) entry.getValue();
+					for(int j=0; j<orders.size(); j++)
+					{
+						out.addContent(orders.get(j), new ContentRef(phase, powerIdx, j));
+					}
+				}
+			}
+		}
+	}// addRecordContents()
+	
+	
+	/**
+	*	Write a TurnState. If a base Position is given, the Position is
+	*	written as the differences from it.
+	*/
+	private static void writeTurnState(ObjectOutputStream out, TurnState ts, Position base)
+	throws IOException
+	{
+		out.writeObject(ts.getPhase());
+		
+		final Position position = ts.getPosition();
+		final boolean isDelta = (position != null && base != null);
+		int flags = 0;
+		flags |= (ts.getSCOwnerChanged()) ? FLAG_SC_OWNER_CHANGED : 0;
+		flags |= (ts.isEnded()) ? FLAG_ENDED : 0;
+		flags |= (ts.isResolved()) ? FLAG_RESOLVED : 0;
+		flags |= (position != null) ? FLAG_POSITION : 0;
+		flags |= (isDelta) ? FLAG_POSITION_DELTA : 0;
+		out.writeByte(flags);
+		
+		if(isDelta)
+		{
+			position.writeDelta(out, base);
+		}
+		else if(position != null)
+		{
+			position.writeState(out);
+		}
+		
+		// orders, by Power
+		final Map orderMap = ts.getOrderMap();
+		out.writeInt(orderMap.size());
+		
+		Iterator iter = orderMap.entrySet().iterator();
+		while(iter.hasNext())
+		{
+			Map.Entry entry = (Map.Entry) iter.next();
+			out.writeObject(entry.getKey());
+			writeList(out, (List) entry.getValue());
+		}
+		
+		// results
+		writeList(out, ts.getResultList());
+	}// writeTurnState()
+	
+	
+	/**
+	*	Read a TurnState. The base Position is required if the Position
+	*	was written as differences from a base Position.
+	*/
+	private static TurnState readTurnState(ObjectInputStream in, dip.world.Map map, Position base)
+	throws IOException, ClassNotFoundException
+	{
+		final TurnState ts = new TurnState( (Phase) in.readObject() );
+		
+		final int flags = in.readUnsignedByte();
+		ts.setSCOwnerChanged( (flags & FLAG_SC_OWNER_CHANGED) != 0 );
+		ts.setEnded( (flags & FLAG_ENDED) != 0 );
+		ts.setResolved( (flags & FLAG_RESOLVED) != 0 );
+		
+		if((flags & FLAG_POSITION_DELTA) != 0)
+		{
+			if(base == null)
+			{
+				throw new StreamCorruptedException("Position differences without a base Position");
+			}
+			
+			final Position position = base.copyState();
+			position.readDelta(in);
+			ts.setPosition(position);
+		}
+		else if((flags & FLAG_POSITION) != 0)
+		{
+			final Position position = new Position(map);
+			position.readState(in);
+			ts.setPosition(position);
+		}
+		
+		final int nPowers = in.readInt();
+		for(int i=0; i<nPowers; i++)
+		{
+			final Power power = (Power) in.readObject();
+			ts.setOrders(power, readList(in));
+		}
+		
+		ts.setResultList(readList(in));
+		return ts;
+	}// readTurnState()
+	
+	
+	/** Write the elements of a List */
+	private static void writeList(ObjectOutputStream out, List list)
+	throws IOException
+	{
+		final int size = list.size();
+		out.writeInt(size);
+		for(int i=0; i<size; i++)
+		{
+			out.writeObject(list.get(i));
+		}
+	}// writeList()
+	
+	
+	/** Read the elements written by writeList() into an ArrayList */
+	private static List readList(ObjectInputStream in)
+	throws IOException, ClassNotFoundException
+	{
+		final int size = in.readInt();
+		if(size < 0)
+		{
+			throw new StreamCorruptedException("bad List size: "+size);
+		}
+		
+		final ArrayList list = new ArrayList(size);
+		for(int i=0; i<size; i++)
+		{
+			list.add(in.readObject());
+		}
+		
+		return list;
+	}// readList()
+	
+	
+	/**
+	*	Writes objects, replacing Map objects, and the World's TurnStates
+	*	and Positions, with references; and equal Strings with the first
+	*	such String written.
+	*/
+	private static final class Output extends ObjectOutputStream implements GameDataOutput
+	{
+		private final dip.world.Map map;
+		private final Province[] provinces;
+		private final HashMap strings = new HashMap(1023);
+		private final IdentityHashMap turnStates = new IdentityHashMap(511);
+		private final IdentityHashMap positions = new IdentityHashMap(511);
+		private final IdentityHashMap contents = new IdentityHashMap(1023);
+		private boolean isMapWritten = false;
+		
+		
+		public Output(OutputStream os, dip.world.Map map)
+		throws IOException
+		{
+			super(os);
+			this.map = map;
+			this.provinces = map.getProvinces();
+			enableReplaceObject(true);
+		}// Output()
+		
+		
+		/** Once the Map is written, Map objects are written as references */
+		public void setMapWritten()
+		{
+			isMapWritten = true;
+		}// setMapWritten()
+		
+		
+		/** A TurnState (and its Position) to be written as the given references */
+		public void addTurnState(TurnState ts, Serializable tsRef, Serializable positionRef)
+		{
+			turnStates.put(ts, tsRef);
+			if(ts.getPosition() != null)
+			{
+				positions.put(ts.getPosition(), positionRef);
+			}
+		}// addTurnState()
+		
+		
+		/** 
+		*	An order, or result List, of a TurnState to be written as the 
+		*	given reference. The TurnState itself is written separately.
+		*/
+		public void addContent(Object obj, Serializable ref)
+		{
+			contents.put(obj, ref);
+		}// addContent()
+		
+		
+		protected Object replaceObject(Object obj)
+		throws IOException
+		{
+			if(obj instanceof String)
+			{
+				Object first = strings.get(obj);
+				if(first == null)
+				{
+					strings.put(obj, obj);
+					return obj;
+				}
+				
+				return first;
+			}
+			else if(!isMapWritten)
+			{
+				return obj;
+			}
+			else if(obj == map)
+			{
+				return new Ref(Ref.MAP, 0);
+			}
+			else if(contents.containsKey(obj))
+			{
+				return contents.get(obj);
+			}
+			else if(obj instanceof Power)
+			{
+				final int idx = map.getPowerIndex((Power) obj);
+				return (idx < 0) ? obj : new Ref(Ref.POWER, idx);
+			}
+			else if(obj instanceof Province)
+			{
+				final int idx = ((Province) obj).getIndex();
+				if(idx < provinces.length && provinces[idx] == obj)
+				{
+					return new Ref(Ref.PROVINCE, idx);
+				}
+			}
+			else if(obj instanceof TurnState)
+			{
+				Object ref = turnStates.get(obj);
+				if(ref != null)
+				{
+					return ref;
+				}
+			}
+			else if(obj instanceof Position)
+			{
+				Object ref = positions.get(obj);
+				if(ref != null)
+				{
+					return ref;
+				}
+			}
+			else if(Compact.isCodable(obj, map))
+			{
+				return new Compact(obj);
+			}
+			
+			return obj;
+		}// replaceObject()
+		
+		
+		public void writePower(Power power)
+		throws IOException
+		{
+			final int idx = (power == null) ? INDEX_NULL : map.getPowerIndex(power);
+			writeShort((idx < 0 && power != null) ? INDEX_OTHER : idx);
+			if(idx < 0 && power != null)
+			{
+				writeObject(power);
+			}
+		}// writePower()
+		
+		
+		public void writeProvince(Province province)
+		throws IOException
+		{
+			final int idx = getProvinceIndex(province);
+			writeShort(idx);
+			if(idx == INDEX_OTHER)
+			{
+				writeObject(province);
+			}
+		}// writeProvince()
+		
+		
+		public void writeLocation(Location location)
+		throws IOException
+		{
+			final int idx = (location == null) ? INDEX_NULL : getProvinceIndex(location.getProvince());
+			if(idx < 0 || location.getCoast() == null)
+			{
+				writeShort((location == null) ? INDEX_NULL : INDEX_OTHER);
+				if(location != null)
+				{
+					writeObject(location);
+				}
+			}
+			else
+			{
+				writeShort(idx);
+				writeByte(location.getCoast().getIndex());
+			}
+		}// writeLocation()
+		
+		
+		public void writeUnitType(Unit.Type unitType)
+		throws IOException
+		{
+			for(int i=0; i<UNIT_TYPES.length; i++)
+			{
+				if(UNIT_TYPES[i] == unitType)
+				{
+					writeByte(i);
+					return;
+				}
+			}
+			
+			throw new InvalidObjectException("unknown Unit.Type: "+unitType);
+		}// writeUnitType()
+		
+		
+		public void writePhase(Phase phase)
+		throws IOException
+		{
+			if(phase == null)
+			{
+				writeByte(-1);
+				return;
+			}
+			
+			writeByte(indexOf(Phase.SeasonType.ALL, phase.getSeasonType()));
+			writeByte(indexOf(Phase.PhaseType.ALL, phase.getPhaseType()));
+			writeInt(phase.getYear());
+		}// writePhase()
+		
+		
+		/** Index of a Province of the Map; INDEX_NULL or INDEX_OTHER if not */
+		private int getProvinceIndex(Province province)
+		{
+			if(province == null)
+			{
+				return INDEX_NULL;
+			}
+			
+			final int idx = province.getIndex();
+			return (idx >= 0 && idx < provinces.length && provinces[idx] == province) ? idx : INDEX_OTHER;
+		}// getProvinceIndex()
+		
+		
+		/** Index of an object (by identity) in an array */
+		private int indexOf(Object[] array, Object obj)
+		throws IOException
+		{
+			for(int i=0; i<array.length; i++)
+			{
+				if(array[i] == obj)
+				{
+					return i;
+				}
+			}
+			
+			throw new InvalidObjectException("unknown constant: "+obj);
+		}// indexOf()
+	}// nested class Output
+	
+	
+	/** Reads objects written by Output, resolving references. */
+	private static final class Input extends ObjectInputStream implements GameDataInput
+	{
+		private dip.world.Map map = null;
+		private World world = null;
+		private final ArrayList turnStates = new ArrayList(511);
+		
+		
+		public Input(InputStream is)
+		throws IOException
+		{
+			super(is);
+			enableResolveObject(true);
+		}// Input()
+		
+		
+		/** Set the Map, once read; references to Map objects may then be resolved */
+		public void setMap(dip.world.Map map)
+		{
+			this.map = map;
+		}// setMap()
+		
+		
+		/** Set the World; references by Phase are resolved to its TurnStates. */
+		public void setWorld(World world)
+		{
+			this.world = world;
+		}// setWorld()
+		
+		
+		/** Add a TurnState, once read; references to it may then be resolved. */
+		public void addTurnState(TurnState ts)
+		{
+			turnStates.add(ts);
+		}// addTurnState()
+		
+		
+		protected Object resolveObject(Object obj)
+		throws IOException
+		{
+			if(obj instanceof Location)
+			{
+				// Locations of the Map itself are made canonical by the Map,
+				// once it has been read (they may be referred to before then).
+				Location loc = (Location) obj;
+				if(loc.getProvince() == null || loc.getCoast() == null)
+				{
+					throw new InvalidObjectException("bad Location");
+				}
+				
+				return (map == null) ? loc : map.getLocation(loc.getProvince(), loc.getCoast());
+			}
+			else if(obj instanceof Ref)
+			{
+				return resolve((Ref) obj);
+			}
+			else if(obj instanceof PhaseRef)
+			{
+				return resolve((PhaseRef) obj);
+			}
+			else if(obj instanceof ContentRef)
+			{
+				return resolve((ContentRef) obj);
+			}
+			else if(obj instanceof Compact)
+			{
+				return ((Compact) obj).getObject();
+			}
+			
+			return obj;
+		}// resolveObject()
+		
+		
+		public Power readPower()
+		throws IOException
+		{
+			final int idx = readShort();
+			if(idx == INDEX_NULL)
+			{
+				return null;
+			}
+			else if(idx == INDEX_OTHER)
+			{
+				return (Power) readOther();
+			}
+			
+			final Power[] powers = getMap().getPowers();
+			if(idx < 0 || idx >= powers.length)
+			{
+				throw new StreamCorruptedException("bad Power index: "+idx);
+			}
+			
+			return powers[idx];
+		}// readPower()
+		
+		
+		public Province readProvince()
+		throws IOException
+		{
+			final int idx = readShort();
+			if(idx == INDEX_NULL)
+			{
+				return null;
+			}
+			else if(idx == INDEX_OTHER)
+			{
+				return (Province) readOther();
+			}
+			
+			return getProvince(idx);
+		}// readProvince()
+		
+		
+		public Location readLocation()
+		throws IOException
+		{
+			final int idx = readShort();
+			if(idx == INDEX_NULL)
+			{
+				return null;
+			}
+			else if(idx == INDEX_OTHER)
+			{
+				return (Location) readOther();
+			}
+			
+			final Province province = getProvince(idx);
+			final Coast coast = Coast.getCoast(readUnsignedByte());
+			if(coast == null)
+			{
+				throw new StreamCorruptedException("bad Coast");
+			}
+			
+			return map.getLocation(province, coast);
+		}// readLocation()
+		
+		
+		public Unit.Type readUnitType()
+		throws IOException
+		{
+			final int idx = readUnsignedByte();
+			if(idx >= UNIT_TYPES.length)
+			{
+				throw new StreamCorruptedException("bad Unit.Type: "+idx);
+			}
+			
+			return UNIT_TYPES[idx];
+		}// readUnitType()
+		
+		
+		public Phase readPhase()
+		throws IOException
+		{
+			final int seasonIdx = readByte();
+			if(seasonIdx == -1)
+			{
+				return null;
+			}
+			
+			final int phaseIdx = readByte();
+			final int year = readInt();
+			if(seasonIdx < 0 || seasonIdx >= Phase.SeasonType.ALL.length
+				|| phaseIdx < 0 || phaseIdx >= Phase.PhaseType.ALL.length)
+			{
+				throw new StreamCorruptedException("bad Phase");
+			}
+			
+			try
+			{
+				return new Phase(Phase.SeasonType.ALL[seasonIdx], year, Phase.PhaseType.ALL[phaseIdx]);
+			}
+			catch(IllegalArgumentException e)
+			{
+				throw new StreamCorruptedException("bad Phase: "+e.getMessage());
+			}
+		}// readPhase()
+		
+		
+		/** The Map; game data objects cannot be read before it */
+		private dip.world.Map getMap()
+		throws IOException
+		{
+			if(map == null)
+			{
+				throw new InvalidObjectException("game data before Map");
+			}
+			
+			return map;
+		}// getMap()
+		
+		
+		/** Get a Province of the Map, by index */
+		private Province getProvince(int idx)
+		throws IOException
+		{
+			final Province[] provinces = getMap().getProvinces();
+			if(idx < 0 || idx >= provinces.length)
+			{
+				throw new StreamCorruptedException("bad Province index: "+idx);
+			}
+			
+			return provinces[idx];
+		}// getProvince()
+		
+		
+		/** Read an object that is not of the Map (written by writeObject()) */
+		private Object readOther()
+		throws IOException
+		{
+			try
+			{
+				return readObject();
+			}
+			catch(ClassNotFoundException e)
+			{
+				IOException ioe = new InvalidClassException(e.getMessage());
+				ioe.initCause(e);
+				throw ioe;
+			}
+		}// readOther()
+		
+		
+		/** Get the object to which a Ref refers */
+		private Object resolve(Ref ref)
+		throws IOException
+		{
+			if(map == null)
+			{
+				throw new InvalidObjectException("reference before Map");
+			}
+			
+			final int idx = ref.index;
+			switch(ref.type)
+			{
+				case Ref.MAP:
+					return map;
+				case Ref.POWER:
+					Power[] powers = map.getPowers();
+					if(idx >= 0 && idx < powers.length)
+					{
+						return powers[idx];
+					}
+					break;
+				case Ref.PROVINCE:
+					Province[] provinces = map.getProvinces();
+					if(idx >= 0 && idx < provinces.length)
+					{
+						return provinces[idx];
+					}
+					break;
+				case Ref.TURNSTATE:
+					if(idx >= 0 && idx < turnStates.size())
+					{
+						return turnStates.get(idx);
+					}
+					break;
+				case Ref.POSITION:
+					if(idx >= 0 && idx < turnStates.size())
+					{
+						return ((TurnState) turnStates.get(idx)).getPosition();
+					}
+					break;
+				case Ref.RESULTS:
+					if(idx >= 0 && idx < turnStates.size())
+					{
+						return ((TurnState) turnStates.get(idx)).getResultList();
+					}
+					break;
+				default:
+					break;
+			}
+			
+			throw new InvalidObjectException("bad reference: type "+ref.type+", index "+idx);
+		}// resolve()
+		
+		
+		/** Get the TurnState, or Position, to which a PhaseRef refers */
+		private Object resolve(PhaseRef ref)
+		throws IOException
+		{
+			final TurnState ts = (world == null || ref.phase == null) ? null : world.getTurnState(ref.phase);
+			if(ts == null)
+			{
+				throw new InvalidObjectException("bad reference: phase "+ref.phase);
+			}
+			
+			return (ref.isPosition) ? (Object) ts.getPosition() : ts;
+		}// resolve()
+		
+		
+		/** Get the order, or result List, to which a ContentRef refers */
+		private Object resolve(ContentRef ref)
+		throws IOException
+		{
+			final TurnState ts = (world == null || ref.phase == null) ? null : world.getTurnState(ref.phase);
+			if(ts != null)
+			{
+				if(ref.power == -1)
+				{
+					return ts.getResultList();
+				}
+				
+				final Power[] powers = getMap().getPowers();
+				final List orders = (ref.power >= 0 && ref.power < powers.length)
+					? (List) ts.getOrderMap().get(powers[ref.power]) : null;
+				if(orders != null && ref.index >= 0 && ref.index < orders.size())
+				{
+					return orders.get(ref.index);
+				}
+			}
+			
+			throw new InvalidObjectException("bad reference: phase "+ref.phase+
+				", power "+ref.power+", index "+ref.index);
+		}// resolve()
+	}// nested class Input
+	
+	
+	/**
+	*	Written in place of a game data object, whose fields are written
+	*	directly (see GameDataOutput), rather than by reflection. Only
+	*	objects for which isCodable() is true may be written.
+	*/
+	private static final class Compact implements Externalizable
+	{
+		private static final long serialVersionUID = 1L;
+		
+		// kinds of object
+		private static final int PHASE		= 0;
+		private static final int LOCATION	= 1;
+		private static final int UNIT		= 2;
+		private static final int ORDER		= 3;
+		private static final int RESULT		= 4;
+		
+		private transient Object obj;
+		
+		
+		/** Determines if an object can be written as a Compact, for the given Map */
+		public static boolean isCodable(Object obj, dip.world.Map map)
+		{
+			if(obj instanceof Phase)
+			{
+				return (obj.getClass() == Phase.class);
+			}
+			else if(obj instanceof Location)
+			{
+				// Locations not of the Map are serialized (see writeLocation())
+				final Location loc = (Location) obj;
+				final Province province = loc.getProvince();
+				if(obj.getClass() != Location.class || province == null || loc.getCoast() == null)
+				{
+					return false;
+				}
+				
+				final Province[] provinces = map.getProvinces();
+				final int idx = province.getIndex();
+				return (idx >= 0 && idx < provinces.length && provinces[idx] == province);
+			}
+			else if(obj instanceof Unit)
+			{
+				final Unit unit = (Unit) obj;
+				return (obj.getClass() == Unit.class && map.getPowerIndex(unit.getPower()) >= 0
+					&& unit.getType() != Unit.Type.UNDEFINED);
+			}
+			
+			return (OrderCodec.isCodable(obj) || ResultCodec.isCodable(obj));
+		}// isCodable()
+		
+		
+		/** Create a Compact, when read */
+		public Compact()
+		{
+		}// Compact()
+		
+		
+		/** Create a Compact, to write the given object */
+		public Compact(Object obj)
+		{
+			this.obj = obj;
+		}// Compact()
+		
+		
+		/** The object written, or read */
+		public Object getObject()
+		{
+			return obj;
+		}// getObject()
+		
+		
+		public void writeExternal(ObjectOutput oo)
+		throws IOException
+		{
+			final GameDataOutput out = (GameDataOutput) oo;
+			if(obj instanceof Phase)
+			{
+				out.writeByte(PHASE);
+				out.writePhase((Phase) obj);
+			}
+			else if(obj instanceof Location)
+			{
+				out.writeByte(LOCATION);
+				out.writeLocation((Location) obj);
+			}
+			else if(obj instanceof Unit)
+			{
+				final Unit unit = (Unit) obj;
+				out.writeByte(UNIT);
+				out.writePower(unit.getPower());
+				out.writeUnitType(unit.getType());
+				out.writeByte(unit.getCoast().getIndex());
+				out.writeBoolean(unit.isShared());
+			}
+			else if(obj instanceof Order)
+			{
+				out.writeByte(ORDER);
+				out.writeByte(OrderCodec.getType(obj));
+				OrderCodec.write(out, (Order) obj);
+			}
+			else
+			{
+				out.writeByte(RESULT);
+				out.writeByte(ResultCodec.getType(obj));
+				ResultCodec.write(out, (Result) obj);
+			}
+		}// writeExternal()
+		
+		
+		public void readExternal(ObjectInput oi)
+		throws IOException, ClassNotFoundException
+		{
+			final Input in = (Input) oi;
+			final int kind = in.readUnsignedByte();
+			switch(kind)
+			{
+				case PHASE:
+					obj = in.readPhase();
+					break;
+				case LOCATION:
+					obj = in.readLocation();
+					break;
+				case UNIT:
+					obj = readUnit(in);
+					break;
+				case ORDER:
+					obj = OrderCodec.read(in, in.readUnsignedByte());
+					break;
+				case RESULT:
+					obj = ResultCodec.read(in, in.readUnsignedByte());
+					break;
+				default:
+					throw new StreamCorruptedException("bad object kind: "+kind);
+			}
+		}// readExternal()
+		
+		
+		/** Read a Unit; shared Units are read as the shared Units of the Map */
+		private static Unit readUnit(Input in)
+		throws IOException
+		{
+			final Power power = in.readPower();
+			final Unit.Type unitType = in.readUnitType();
+			final Coast coast = Coast.getCoast(in.readUnsignedByte());
+			final boolean isShared = in.readBoolean();
+			if(power == null || coast == null || unitType == null || unitType == Unit.Type.UNDEFINED)
+			{
+				throw new StreamCorruptedException("bad Unit");
+			}
+			
+			if(isShared)
+			{
+				return in.getMap().getUnit(power, unitType, coast);
+			}
+			
+			final Unit unit = new Unit(power, unitType);
+			unit.setCoast(coast);
+			return unit;
+		}// readUnit()
+	}// nested class Compact
+	
+	
+	/** A reference to an object of the Map, or of the World. */
+	private static final class Ref implements Serializable
+	{
+		private static final long serialVersionUID = 1L;
+		
+		public static final byte MAP = 0;
+		public static final byte POWER = 1;
+		public static final byte PROVINCE = 2;
+		public static final byte TURNSTATE = 3;
+		public static final byte POSITION = 4;
+		public static final byte RESULTS = 5;
+		
+		private final byte type;
+		private final int index;
+		
+		public Ref(byte type, int index)
+		{
+			this.type = type;
+			this.index = index;
+		}// Ref()
+	}// nested class Ref
+	
+	
+	/** A reference to a TurnState, or its Position, of the World, by Phase. */
+	private static final class PhaseRef implements Serializable
+	{
+		private static final long serialVersionUID = 1L;
+		
+		private final Phase phase;
+		private final boolean isPosition;
+		
+		public PhaseRef(Phase phase, boolean isPosition)
+		{
+			this.phase = phase;
+			this.isPosition = isPosition;
+		}// PhaseRef()
+	}// nested class PhaseRef
+	
+	
+	/** A reference to an order, or the result List, of a TurnState of the World, by Phase. */
+	private static final class ContentRef implements Serializable
+	{
+		private static final long serialVersionUID = 1L;
+		
+		private final Phase phase;
+		private final int power;	// Power index of the order; -1 for the result List
+		private final int index;	// index of the order in the orders of the Power
+		
+		public ContentRef(Phase phase, int power, int index)
+		{
+			this.phase = phase;
+			this.power = power;
+			this.index = index;
+		}// ContentRef()
+	}// nested class ContentRef
+	
+}// class WorldCodec
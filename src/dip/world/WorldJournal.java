@@ -0,0 +1,669 @@
+//
+//  @(#)WorldJournal.java		10/2026
+//
+//  Copyright 2026 the jDip development team. All rights reserved.
+//  Use is subject to license terms.
+//
+//
+//  This program is free software; you can redistribute it and/or modify
+//  it under the terms of the GNU General Public License as published by
+//  the Free Software Foundation; either version 2 of the License, or
+//  (at your option) any later version.
+//
+//  This program is distributed in the hope that it will be useful,
+//  but WITHOUT ANY WARRANTY; without even the implied warranty of
+//  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+//  GNU General Public License for more details.
+//
+//  You should have received a copy of the GNU General Public License
+//  along with this program; if not, write to the Free Software
+//  Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+//  Or from http://www.gnu.org/
+//
+package dip.world;
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+*	An append-only journal of a World, for games that are saved often
+*	(e.g., after each adjudication). Saving a World with World.save()
+*	writes every TurnState again; saving it to a WorldJournal writes
+*	only what has changed since it was last saved.
+*	<p>
+*	A journal consists of a header, followed by records; each record
+*	consists of entries. The first record is a snapshot of the World (in
+*	the binary format of World.save()). Each save then appends a record,
+*	with an entry for each TurnState that is new, has been replaced, or 
+*	is not (or was not, when last saved) resolved: its Phase, flags, 
+*	orders, results, and the differences of its Position from the 
+*	Position of the previous TurnState entry. The record also has an 
+*	entry for each TurnState that has been removed, and an entry for the
+*	non-turn data (metadata, press, etc.) if it has changed. A TurnState
+*	that was resolved when saved, and is still resolved, has only changed
+*	if its set methods have been called since (see 
+*	TurnState.getModificationCount()); e.g., if its resolution was undone,
+*	its orders changed, and it was resolved again. The orders and results
+*	of a TurnState that is not resolved can be changed in place, so it is
+*	always written.
+*	<p>
+*	The non-turn data is held in objects (metadata, the undo history, 
+*	press, etc.) that are changed without the World being told, so it is
+*	encoded on every save, and compared to the data last journaled. The
+*	cost of a save thus includes encoding all of the non-turn data, which
+*	grows with the undo history; only the appended record is smaller.
+*	<p>
+*	Opening a journal replays the records to rebuild the World. Each
+*	record has a length and a checksum, so that a record that was only
+*	partly written (for example, if the process is killed during a save)
+*	is detected; it, and anything after it, is ignored, and overwritten
+*	by the next save. The World is then as it was when last saved 
+*	completely.
+*	<p>
+*	Once the records appended after the snapshot are larger than the
+*	snapshot multiplied by the compaction ratio, the journal is compacted:
+*	it is replaced by a new snapshot of the World. The journal is replaced
+*	by renaming a new file, so that a failed compaction does not damage it.
+*	Where a file cannot be renamed over an existing file, the journal is
+*	first renamed to a backup file, which is deleted once the new journal
+*	is in place; if the journal is missing when opened, it is restored 
+*	from the backup.
+*	<p>
+*	A journal may also be read with World.open(). A WorldJournal should
+*	only be used by one thread at a time; it is synchronized, but the
+*	World may not be modified while it is being saved.
+*/
+public class WorldJournal
+{
+	/** The default compaction ratio */
+	public static final float DEFAULT_COMPACTION_RATIO = 1.0f;
+	
+	/** First bytes of a journal; cannot be confused with a binary World or GZIP data. */
+	private static final byte[] MAGIC = { 'j', 'D', 'W', 'J' };
+	
+	/** The format version written. */
+	private static final int VERSION = 1;
+	
+	/** Header: MAGIC and version */
+	private static final int HEADER_LENGTH = MAGIC.length + 1;
+	
+	// entry types
+	private static final byte ENTRY_SNAPSHOT		= 0;
+	private static final byte ENTRY_TURNSTATE		= 1;
+	private static final byte ENTRY_REMOVE			= 2;
+	private static final byte ENTRY_NON_TURN_DATA	= 3;
+	
+	// record length and checksum, before the entries
+	private static final int RECORD_HEADER_LENGTH = 8;
+	
+	// entry type and length, before the data
+	private static final int ENTRY_HEADER_LENGTH = 5;
+	
+	// instance variables
+	private final File file;
+	private float compactionRatio = DEFAULT_COMPACTION_RATIO;
+	private long discardedLength = 0;
+	
+	// the journaled state; world is null if nothing has been journaled
+	private World world = null;
+	private TreeMap journaled = new TreeMap();	// Phase -> JournaledTurnState
+	private Position lastPosition = null;		// base of the next Position differences
+	private byte[] nonTurnData = null;			// as last journaled
+	private long length = 0;					// length of the valid records
+	private long snapshotLength = 0;			// length of the header and snapshot
+	
+	
+	/** Create a WorldJournal for the given file, which need not exist. */
+	public WorldJournal(File file)
+	{
+		if(file == null)
+		{
+			throw new IllegalArgumentException();
+		}
+		
+		this.file = file;
+	}// WorldJournal()
+	
+	
+	/** Returns the file of the journal. */
+	public File getFile()
+	{
+		return file;
+	}// getFile()
+	
+	
+	/**
+	*	Sets the compaction ratio: the journal is compacted when the records
+	*	appended after the snapshot are larger than the snapshot multiplied
+	*	by this ratio.
+	*/
+	public synchronized void setCompactionRatio(float value)
+	{
+		if(value <= 0.0f)
+		{
+			throw new IllegalArgumentException("ratio must be positive");
+		}
+		
+		compactionRatio = value;
+	}// setCompactionRatio()
+	
+	
+	/** Returns the compaction ratio */
+	public synchronized float getCompactionRatio()
+	{
+		return compactionRatio;
+	}// getCompactionRatio()
+	
+	
+	/** Returns the length, in bytes, of the journal; 0 if nothing has been opened or saved. */
+	public synchronized long getLength()
+	{
+		return length;
+	}// getLength()
+	
+	
+	/**
+	*	Returns the number of bytes that were ignored, after the last
+	*	valid record, when the journal was last opened.
+	*/
+	public synchronized long getDiscardedLength()
+	{
+		return discardedLength;
+	}// getDiscardedLength()
+	
+	
+	/**
+	*	Opens the journal, and rebuilds the World from it. Subsequent saves
+	*	of the returned World are appended to the journal.
+	*
+	*	@throws StreamCorruptedException if the file is not a journal
+	*/
+	public synchronized World open()
+	throws IOException
+	{
+		reset();
+		discardedLength = 0;
+		
+		// a compaction was interrupted after the journal was renamed to the backup
+		final File bakFile = getBackupFile();
+		if(!file.exists() && bakFile.exists())
+		{
+			if(!bakFile.renameTo(file))
+			{
+				throw new IOException("cannot rename "+bakFile+" to "+file);
+			}
+		}
+		
+		final byte[] data;
+		final InputStream is = new FileInputStream(file);
+		try
+		{
+			data = readFully(is);
+		}
+		finally
+		{
+			is.close();
+		}
+		
+		final World w = replay(data);
+		
+		nonTurnData = WorldCodec.encodeObject(w, w.getNonTurnData(), w.getAllTurnStates());
+		discardedLength = data.length - length;
+		world = w;
+		return w;
+	}// open()
+	
+	
+	/**
+	*	Saves the World to the journal. If the World is not the World that
+	*	was last opened or saved (or if the file has not been opened or saved),
+	*	or if the journal has grown enough, the journal is compacted;
+	*	otherwise, the changes since the last save are appended.
+	*/
+	public synchronized void save(World w)
+	throws IOException
+	{
+		if(w != world)
+		{
+			compact(w);
+			return;
+		}
+		
+		try
+		{
+			final byte[] record = createRecord(w);
+			if(record == null)
+			{
+				return;
+			}
+			
+			if((length - snapshotLength + record.length) > (snapshotLength * compactionRatio))
+			{
+				compact(w);
+				return;
+			}
+			
+			append(record);
+		}
+		catch(IOException e)
+		{
+			// the journal may not match the journaled state
+			reset();
+			throw e;
+		}
+	}// save()
+	
+	
+	/**
+	*	Replaces the journal with a snapshot of the World. Subsequent saves
+	*	of the World are appended to the journal.
+	*/
+	public synchronized void compact(World w)
+	throws IOException
+	{
+		reset();
+		
+		final ByteArrayOutputStream baos = new ByteArrayOutputStream(16384);
+		baos.write(MAGIC);
+		baos.write(VERSION);
+		
+		final ByteArrayOutputStream snapshot = new ByteArrayOutputStream(16384);
+		WorldCodec.write(w, snapshot);
+		
+		final ByteArrayOutputStream entries = new ByteArrayOutputStream(snapshot.size() + ENTRY_HEADER_LENGTH);
+		final DataOutputStream dos = new DataOutputStream(entries);
+		writeEntry(dos, ENTRY_SNAPSHOT, snapshot.toByteArray());
+		dos.flush();
+		baos.write(createRecord(entries.toByteArray()));
+		
+		final File tmpFile = new File(file.getPath() + ".tmp");
+		FileOutputStream fos = new FileOutputStream(tmpFile);
+		try
+		{
+			baos.writeTo(fos);
+			fos.getFD().sync();
+		}
+		finally
+		{
+			fos.close();
+		}
+		
+		// the archive (if any) that the World was opened from is about to be replaced
+		w.detachArchive(file);
+		
+		if(!tmpFile.renameTo(file))
+		{
+			// some platforms cannot rename over an existing file; keep
+			// the old journal as a backup until the new one is in place
+			final File bakFile = getBackupFile();
+			bakFile.delete();
+			if(!file.renameTo(bakFile))
+			{
+				throw new IOException("cannot rename "+file+" to "+bakFile);
+			}
+			
+			if(!tmpFile.renameTo(file))
+			{
+				bakFile.renameTo(file);
+				throw new IOException("cannot rename "+tmpFile+" to "+file);
+			}
+			
+			bakFile.delete();
+		}
+		
+		final List turnStates = w.getAllTurnStates();
+		for(int i=0; i<turnStates.size(); i++)
+		{
+			setJournaled((TurnState) turnStates.get(i));
+		}
+		
+		nonTurnData = WorldCodec.encodeObject(w, w.getNonTurnData(), turnStates);
+		length = baos.size();
+		snapshotLength = length;
+		world = w;
+	}// compact()
+	
+	
+	/** Determines if the given bytes (the start of a file) begin a journal. */
+	static boolean isJournal(byte[] header, int length)
+	{
+		if(length < MAGIC.length)
+		{
+			return false;
+		}
+		
+		for(int i=0; i<MAGIC.length; i++)
+		{
+			if(header[i] != MAGIC[i])
+			{
+				return false;
+			}
+		}
+		
+		return true;
+	}// isJournal()
+	
+	
+	/** Rebuilds a World from a journal read from the given stream, which is not closed. */
+	static World read(InputStream is)
+	throws IOException
+	{
+		WorldJournal journal = new WorldJournal(new File(""));
+		return journal.replay(readFully(is));
+	}// read()
+	
+	
+	/** The backup file, which holds the journal while it is replaced by compact(). */
+	private File getBackupFile()
+	{
+		return new File(file.getPath() + ".bak");
+	}// getBackupFile()
+	
+	
+	/** Clears the journaled state. */
+	private void reset()
+	{
+		world = null;
+		journaled = new TreeMap();
+		lastPosition = null;
+		nonTurnData = null;
+		length = 0;
+		snapshotLength = 0;
+	}// reset()
+	
+	
+	/** Records a TurnState as journaled; its Position is the base of the next differences */
+	private void setJournaled(TurnState ts)
+	{
+		journaled.put(ts.getPhase(), new JournaledTurnState(ts));
+		if(ts.getPosition() != null)
+		{
+			lastPosition = ts.getPosition().copyState();
+		}
+	}// setJournaled()
+	
+	
+	/** 
+	*	Creates a record of the changes to the journaled World; null if 
+	*	there are no changes.
+	*/
+	private byte[] createRecord(World w)
+	throws IOException
+	{
+		final ByteArrayOutputStream baos = new ByteArrayOutputStream(4096);
+		final DataOutputStream dos = new DataOutputStream(baos);
+		final List turnStates = w.getAllTurnStates();
+		
+		// removed TurnStates
+		Iterator iter = journaled.keySet().iterator();
+		while(iter.hasNext())
+		{
+			Phase phase = (Phase) iter.next();
+			if(w.getTurnState(phase) == null)
+			{
+				writeEntry(dos, ENTRY_REMOVE,
+					WorldCodec.encodeObject(w, phase, Collections.EMPTY_LIST));
+				iter.remove();
+			}
+		}
+		
+		// new, replaced, changed, and unresolved TurnStates
+		for(int i=0; i<turnStates.size(); i++)
+		{
+			final TurnState ts = (TurnState) turnStates.get(i);
+			final JournaledTurnState jts = (JournaledTurnState) journaled.get(ts.getPhase());
+			if(jts == null || jts.turnState != ts || !ts.isResolved()
+				|| jts.modCount != ts.getModificationCount())
+			{
+				writeEntry(dos, ENTRY_TURNSTATE,
+					WorldCodec.encodeTurnState(w, ts, lastPosition, turnStates));
+				setJournaled(ts);
+			}
+		}
+		
+		// non-turn data, if changed; it must be encoded to be compared, as 
+		// its objects can change without the World being told
+		final byte[] ntd = WorldCodec.encodeObject(w, w.getNonTurnData(), turnStates);
+		if(!Arrays.equals(ntd, nonTurnData))
+		{
+			writeEntry(dos, ENTRY_NON_TURN_DATA, ntd);
+			nonTurnData = ntd;
+		}
+		
+		dos.flush();
+		return (baos.size() == 0) ? null : createRecord(baos.toByteArray());
+	}// createRecord()
+	
+	
+	/**
+	*	Appends a record after the last valid record (overwriting anything
+	*	after it), and forces it to the disk.
+	*/
+	private void append(byte[] record)
+	throws IOException
+	{
+		RandomAccessFile raf = new RandomAccessFile(file, "rw");
+		try
+		{
+			raf.setLength(length);
+			raf.seek(length);
+			raf.write(record);
+			raf.getFD().sync();
+		}
+		finally
+		{
+			raf.close();
+		}
+		
+		length += record.length;
+	}// append()
+	
+	
+	/** Creates a record of the given entries: their length and checksum, then the entries */
+	private static byte[] createRecord(byte[] entries)
+	throws IOException
+	{
+		final CRC32 crc = new CRC32();
+		crc.update(entries);
+		
+		final ByteArrayOutputStream baos = new ByteArrayOutputStream(RECORD_HEADER_LENGTH + entries.length);
+		final DataOutputStream dos = new DataOutputStream(baos);
+		dos.writeInt(entries.length);
+		dos.writeInt((int) crc.getValue());
+		dos.write(entries);
+		dos.flush();
+		return baos.toByteArray();
+	}// createRecord()
+	
+	
+	/** Writes an entry: its type and length, then the data */
+	private static void writeEntry(DataOutputStream dos, byte type, byte[] data)
+	throws IOException
+	{
+		dos.writeByte(type);
+		dos.writeInt(data.length);
+		dos.write(data);
+	}// writeEntry()
+	
+	
+	/**
+	*	Rebuilds the World by replaying the records of a journal, up to the
+	*	first record that is incomplete or damaged, and sets the journaled
+	*	state (except the World and non-turn data).
+	*/
+	private World replay(byte[] data)
+	throws IOException
+	{
+		if(!isJournal(data, data.length) || data.length < HEADER_LENGTH)
+		{
+			throw new StreamCorruptedException("not a World journal");
+		}
+		
+		final int version = data[MAGIC.length] & 0xFF;
+		if(version > VERSION)
+		{
+			throw new InvalidClassException(World.class.getName(),
+				"journal format version "+version+" is not supported");
+		}
+		
+		World w = null;
+		int nonTurnDataOffset = -1;
+		int nonTurnDataLength = 0;
+		int pos = HEADER_LENGTH;
+		
+		try
+		{
+			while(pos + RECORD_HEADER_LENGTH < data.length)
+			{
+				final int recordLength = getInt(data, pos);
+				final int checksum = getInt(data, pos + 4);
+				int offset = pos + RECORD_HEADER_LENGTH;
+				if(recordLength < 1 || recordLength > data.length - offset)
+				{
+					break;
+				}
+				
+				final CRC32 crc = new CRC32();
+				crc.update(data, offset, recordLength);
+				if((int) crc.getValue() != checksum)
+				{
+					break;
+				}
+				
+				// entries
+				final int end = offset + recordLength;
+				while(offset < end)
+				{
+					if(end - offset < ENTRY_HEADER_LENGTH)
+					{
+						throw new StreamCorruptedException("bad journal entry");
+					}
+					
+					final byte type = data[offset];
+					final int entryLength = getInt(data, offset + 1);
+					offset += ENTRY_HEADER_LENGTH;
+					if(entryLength < 0 || entryLength > end - offset)
+					{
+						throw new StreamCorruptedException("bad journal entry length: "+entryLength);
+					}
+					
+					if((type == ENTRY_SNAPSHOT) != (w == null))
+					{
+						throw new StreamCorruptedException("journal does not begin with a snapshot");
+					}
+					
+					switch(type)
+					{
+						case ENTRY_SNAPSHOT:
+							w = WorldCodec.read(new ByteArrayInputStream(data, offset, entryLength));
+							final List turnStates = w.getAllTurnStates();
+							for(int i=0; i<turnStates.size(); i++)
+							{
+								setJournaled((TurnState) turnStates.get(i));
+							}
+							snapshotLength = end;
+							break;
+						case ENTRY_TURNSTATE:
+							final TurnState ts = WorldCodec.decodeTurnState(w, data,
+								offset, entryLength, lastPosition);
+							w.setTurnState(ts);
+							setJournaled(ts);
+							break;
+						case ENTRY_REMOVE:
+							final Phase phase = (Phase) WorldCodec.decodeObject(w, data,
+								offset, entryLength);
+							final TurnState removed = w.getTurnState(phase);
+							if(removed != null)
+							{
+								w.removeTurnState(removed);
+							}
+							journaled.remove(phase);
+							break;
+						case ENTRY_NON_TURN_DATA:
+							// read last, as it may refer to TurnStates
+							nonTurnDataOffset = offset;
+							nonTurnDataLength = entryLength;
+							break;
+						default:
+							throw new StreamCorruptedException("bad journal entry type: "+type);
+					}
+					
+					offset += entryLength;
+				}
+				
+				pos = end;
+			}
+			
+			if(w == null)
+			{
+				throw new StreamCorruptedException("journal does not contain a snapshot");
+			}
+			
+			if(nonTurnDataOffset >= 0)
+			{
+				w.setNonTurnData( (Map) WorldCodec.decodeObject(w, data,
+					nonTurnDataOffset, nonTurnDataLength) );
+			}
+		}
+		catch(ClassNotFoundException e)
+		{
+			IOException ioe = new InvalidClassException(e.getMessage());
+			ioe.initCause(e);
+			throw ioe;
+		}
+		catch(ClassCastException e)
+		{
+			IOException ioe = new StreamCorruptedException("bad journal entry");
+			ioe.initCause(e);
+			throw ioe;
+		}
+		
+		length = pos;
+		return w;
+	}// replay()
+	
+	
+	/** Get a (big-endian) int from a byte array */
+	private static int getInt(byte[] data, int offset)
+	{
+		return ((data[offset] & 0xFF) << 24) | ((data[offset+1] & 0xFF) << 16)
+			| ((data[offset+2] & 0xFF) << 8) | (data[offset+3] & 0xFF);
+	}// getInt()
+	
+	
+	/** Reads a stream fully; the stream is not closed */
+	private static byte[] readFully(InputStream is)
+	throws IOException
+	{
+		final ByteArrayOutputStream baos = new ByteArrayOutputStream(16384);
+		final byte[] buffer = new byte[8192];
+		int n = 0;
+		while((n = is.read(buffer)) >= 0)
+		{
+			baos.write(buffer, 0, n);
+		}
+		
+		return baos.toByteArray();
+	}// readFully()
+	
+	
+	/** A journaled TurnState, and its modification count when journaled */
+	private static final class JournaledTurnState
+	{
+		private final TurnState turnState;
+		private final int modCount;
+		
+		public JournaledTurnState(TurnState ts)
+		{
+			this.turnState = ts;
+			this.modCount = ts.getModificationCount();
+		}// JournaledTurnState()
+	}// nested class JournaledTurnState
+	
+}// class WorldJournal